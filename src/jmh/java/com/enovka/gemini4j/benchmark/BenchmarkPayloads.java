@@ -0,0 +1,122 @@
+package com.enovka.gemini4j.benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Realistic JSON payloads shared by the benchmarks. They are generated with a fixed seed, so
+ * every run measures the same documents.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+final class BenchmarkPayloads {
+
+    static final int EMBEDDING_DIMENSION = 768;
+    static final int BATCH_SIZE = 100;
+
+    private static final String PARAGRAPH = "The quick brown fox jumps over the lazy dog while the "
+            + "model explains, step by step, why the answer follows from the question. ";
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * Returns a multi-turn generateContent request with a generation config.
+     *
+     * @return The request JSON.
+     */
+    static String generateRequest() {
+        StringBuilder json = new StringBuilder("{\"contents\":[");
+        for (int turn = 0; turn < 6; turn++) {
+            if (turn > 0) {
+                json.append(',');
+            }
+            json.append("{\"role\":\"").append(turn % 2 == 0 ? "user" : "model").append("\",\"parts\":[{\"text\":\"")
+                    .append(PARAGRAPH.repeat(4)).append("\"}]}");
+        }
+        json.append("],\"generationConfig\":{\"temperature\":0.7,\"topP\":0.95,\"topK\":40,\"maxOutputTokens\":2048,")
+                .append("\"stopSequences\":[\"END\"]}}");
+        return json.toString();
+    }
+
+    /**
+     * Returns a generateContent response with one long candidate, safety ratings and usage
+     * metadata.
+     *
+     * @return The response JSON.
+     */
+    static String generateContentResponse() {
+        return "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\""
+                + PARAGRAPH.repeat(40) + "\"}]},\"finishReason\":\"STOP\",\"index\":0,\"avgLogprobs\":-0.12,"
+                + "\"safetyRatings\":[{\"category\":\"HARM_CATEGORY_HARASSMENT\",\"probability\":\"NEGLIGIBLE\"},"
+                + "{\"category\":\"HARM_CATEGORY_HATE_SPEECH\",\"probability\":\"NEGLIGIBLE\"}]}],"
+                + "\"usageMetadata\":{\"promptTokenCount\":412,\"candidatesTokenCount\":1180,\"totalTokenCount\":1592}}";
+    }
+
+    /**
+     * Returns a generateContent response with {@code candidateCount} candidates, each carrying
+     * safety ratings, citations and grounding attributions, as returned when several candidates
+     * are requested with grounding enabled.
+     *
+     * @param candidateCount The number of candidates.
+     * @return The response JSON.
+     */
+    static String multiCandidateGenerateContentResponse(int candidateCount) {
+        StringBuilder json = new StringBuilder("{\"candidates\":[");
+        for (int i = 0; i < candidateCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\"")
+                    .append(PARAGRAPH.repeat(10)).append("\"}]},\"finishReason\":\"STOP\",\"index\":").append(i)
+                    .append(",\"avgLogprobs\":-0.12,\"safetyRatings\":[");
+            String[] categories = {"HARM_CATEGORY_HARASSMENT", "HARM_CATEGORY_HATE_SPEECH",
+                    "HARM_CATEGORY_SEXUALLY_EXPLICIT", "HARM_CATEGORY_DANGEROUS_CONTENT"};
+            for (int c = 0; c < categories.length; c++) {
+                json.append(c > 0 ? "," : "").append("{\"category\":\"").append(categories[c])
+                        .append("\",\"probability\":\"NEGLIGIBLE\"}");
+            }
+            json.append("],\"citationMetadata\":{\"citationSources\":[");
+            for (int c = 0; c < 5; c++) {
+                json.append(c > 0 ? "," : "").append("{\"startIndex\":").append(c * 100)
+                        .append(",\"endIndex\":").append(c * 100 + 80)
+                        .append(",\"uri\":\"https://example.com/source/").append(c).append("\"}");
+            }
+            json.append("]},\"groundingAttributions\":[");
+            for (int g = 0; g < 5; g++) {
+                json.append(g > 0 ? "," : "").append("{\"sourceId\":{\"groundingPassage\":{\"passageId\":\"p")
+                        .append(g).append("\",\"partIndex\":0}},\"content\":{\"parts\":[{\"text\":\"")
+                        .append(PARAGRAPH).append("\"}]}}");
+            }
+            json.append("]}");
+        }
+        return json.append("],\"usageMetadata\":{\"promptTokenCount\":412,\"candidatesTokenCount\":9440,")
+                .append("\"totalTokenCount\":9852}}").toString();
+    }
+
+    /**
+     * Returns a batchEmbedContents response holding {@link #BATCH_SIZE} embeddings of
+     * {@link #EMBEDDING_DIMENSION} dimensions.
+     *
+     * @return The response JSON.
+     */
+    static String batchEmbedResponse() {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("{\"embeddings\":[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"values\":[");
+            for (int j = 0; j < EMBEDDING_DIMENSION; j++) {
+                if (j > 0) {
+                    json.append(',');
+                }
+                json.append(String.format(Locale.ROOT, "%.9f", random.nextGaussian() * 0.05));
+            }
+            json.append("]}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,118 @@
+package com.enovka.gemini4j.benchmark;
+
+import com.enovka.gemini4j.infrastructure.http.exception.HttpException;
+import com.enovka.gemini4j.infrastructure.http.factory.HttpClientBuilder;
+import com.enovka.gemini4j.infrastructure.http.spec.AsyncCallback;
+import com.enovka.gemini4j.infrastructure.http.spec.HttpClient;
+import com.enovka.gemini4j.infrastructure.http.spec.HttpResponse;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.apache.hc.core5.http.ContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+
+/**
+ * Measures end-to-end round-trips of the {@link HttpClient} built by {@link HttpClientBuilder}
+ * against a local WireMock server, covering request creation, rate limiting, dispatch through
+ * the connection pool and response conversion.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HttpClientBenchmark {
+
+    private static final Map<String, String> HEADERS = Map.of("x-goog-api-key", "benchmark-api-key");
+    private static final AsyncCallback<HttpResponse> NO_OP_CALLBACK = new AsyncCallback<>() {
+        @Override
+        public void onSuccess(HttpResponse result) {
+        }
+
+        @Override
+        public void onError(Throwable exception) {
+        }
+
+        @Override
+        public void onCanceled() {
+        }
+    };
+
+    private WireMockServer wireMockServer;
+    private HttpClient httpClient;
+    private String getUrl;
+    private String postUrl;
+    private String requestBody;
+
+    /**
+     * Starts the server and the client.
+     */
+    @Setup
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/models")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"models\":[]}")));
+        wireMockServer.stubFor(post(urlEqualTo("/generate")).willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(BenchmarkPayloads.generateContentResponse())));
+        httpClient = HttpClientBuilder.builder().build().build();
+        getUrl = wireMockServer.baseUrl() + "/models";
+        postUrl = wireMockServer.baseUrl() + "/generate";
+        requestBody = BenchmarkPayloads.generateRequest();
+    }
+
+    /**
+     * Stops the client and the server.
+     *
+     * @throws IOException If the client cannot be closed.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        httpClient.close();
+        wireMockServer.stop();
+    }
+
+    /**
+     * Sends a synchronous GET request.
+     *
+     * @return The response.
+     * @throws HttpException If the request fails.
+     */
+    @Benchmark
+    @Threads(4)
+    public HttpResponse syncGet() throws HttpException {
+        return httpClient.get(getUrl, HEADERS);
+    }
+
+    /**
+     * Sends an asynchronous POST request and waits for its response.
+     *
+     * @return The response.
+     */
+    @Benchmark
+    @Threads(4)
+    public HttpResponse asyncPost() {
+        return httpClient.postAsync(postUrl, requestBody, HEADERS, ContentType.APPLICATION_JSON, NO_OP_CALLBACK).join();
+    }
+}
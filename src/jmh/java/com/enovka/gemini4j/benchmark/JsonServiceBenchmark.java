@@ -0,0 +1,149 @@
+package com.enovka.gemini4j.benchmark;
+
+import com.enovka.gemini4j.infrastructure.json.builder.JsonServiceBuilder;
+import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
+import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.model.response.BatchEmbedResponse;
+import com.enovka.gemini4j.model.response.GenerateContentResponseView;
+import com.enovka.gemini4j.model.response.GenerateResponse;
+import com.enovka.gemini4j.model.response.internal.GenerateContentResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link JsonService} on the payloads that dominate real traffic: serializing a
+ * multi-turn {@link GenerateRequest}, and deserializing a {@link GenerateContentResponse} and a
+ * 100 x 768 {@link BatchEmbedResponse}.
+ * <p>
+ * The {@code *FirstCandidateText} benchmarks compare binding a response with eight grounded
+ * candidates to reading the text of its first candidate through a
+ * {@link GenerateContentResponseView}.
+ * <p>
+ * The {@code legacy*} benchmarks reproduce the previous implementation, which reconfigured a
+ * private {@link ObjectMapper} on every call, as a baseline. Run with {@code -prof gc} to
+ * compare the allocation rate ({@code gc.alloc.rate.norm}) of both.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonServiceBenchmark {
+
+    private JsonService jsonService;
+    private ObjectMapper legacyObjectMapper;
+    private GenerateRequest generateRequest;
+    private String generateContentResponseJson;
+    private String batchEmbedResponseJson;
+    private byte[] multiCandidateResponseJson;
+
+    /**
+     * Creates the JSON service and the payloads.
+     *
+     * @throws JsonException If the request payload cannot be parsed.
+     */
+    @Setup
+    public void setUp() throws JsonException {
+        jsonService = JsonServiceBuilder.builder().build().build();
+        legacyObjectMapper = new ObjectMapper();
+        generateRequest = jsonService.deserialize(BenchmarkPayloads.generateRequest(), GenerateRequest.class);
+        generateContentResponseJson = BenchmarkPayloads.generateContentResponse();
+        batchEmbedResponseJson = BenchmarkPayloads.batchEmbedResponse();
+        multiCandidateResponseJson = BenchmarkPayloads.multiCandidateGenerateContentResponse(8)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serializes a generateContent request.
+     *
+     * @return The JSON.
+     * @throws JsonException If serialization fails.
+     */
+    @Benchmark
+    public String serializeGenerateRequest() throws JsonException {
+        return jsonService.serialize(generateRequest);
+    }
+
+    /**
+     * Deserializes a generateContent response.
+     *
+     * @return The response.
+     * @throws JsonException If deserialization fails.
+     */
+    @Benchmark
+    public GenerateContentResponse deserializeGenerateContentResponse() throws JsonException {
+        return jsonService.deserialize(generateContentResponseJson, GenerateContentResponse.class);
+    }
+
+    /**
+     * Deserializes a batchEmbedContents response.
+     *
+     * @return The response.
+     * @throws JsonException If deserialization fails.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BatchEmbedResponse deserializeBatchEmbedResponse() throws JsonException {
+        return jsonService.deserialize(batchEmbedResponseJson, BatchEmbedResponse.class);
+    }
+
+    /**
+     * Reads the text of the first candidate by binding the whole multi-candidate response.
+     *
+     * @return The text.
+     * @throws JsonException If deserialization fails.
+     */
+    @Benchmark
+    public String bindFirstCandidateText() throws JsonException {
+        return GenerateResponse.builder()
+                .withGenerateContentResponse(jsonService.deserialize(multiCandidateResponseJson, GenerateContentResponse.class))
+                .build().getGeneratedText();
+    }
+
+    /**
+     * Reads the text of the first candidate of the multi-candidate response through a lazy
+     * view.
+     *
+     * @return The text.
+     */
+    @Benchmark
+    public String viewFirstCandidateText() {
+        return GenerateResponse.of(new GenerateContentResponseView(multiCandidateResponseJson)).getGeneratedText();
+    }
+
+    /**
+     * Serializes a generateContent request the way the previous implementation did.
+     *
+     * @return The JSON.
+     * @throws JsonProcessingException If serialization fails.
+     */
+    @Benchmark
+    public String legacySerializeGenerateRequest() throws JsonProcessingException {
+        legacyObjectMapper.setDefaultPropertyInclusion(JsonInclude.Include.ALWAYS);
+        return legacyObjectMapper.writeValueAsString(generateRequest);
+    }
+
+    /**
+     * Deserializes a generateContent response the way the previous implementation did.
+     *
+     * @return The response.
+     * @throws JsonProcessingException If deserialization fails.
+     */
+    @Benchmark
+    public GenerateContentResponse legacyDeserializeGenerateContentResponse() throws JsonProcessingException {
+        return legacyObjectMapper.readValue(generateContentResponseJson, GenerateContentResponse.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.enovka.gemini4j.benchmark;
+
+import com.enovka.gemini4j.infrastructure.http.RateLimiter;
+import com.enovka.gemini4j.infrastructure.http.SlidingWindowRateLimiter;
+import com.enovka.gemini4j.infrastructure.http.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of acquiring a rate limit permit under contention. The rate is set far
+ * above what the benchmark can consume, so the numbers reflect the synchronization overhead of
+ * each implementation rather than waiting time.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimiterBenchmark {
+
+    @Param({"TOKEN_BUCKET", "SLIDING_WINDOW"})
+    private String limiterType;
+
+    private RateLimiter rateLimiter;
+
+    /**
+     * Creates the rate limiter under test.
+     */
+    @Setup
+    public void setUp() {
+        rateLimiter = "TOKEN_BUCKET".equals(limiterType)
+                ? new TokenBucketRateLimiter(Integer.MAX_VALUE, Duration.ofSeconds(1))
+                : new SlidingWindowRateLimiter(Integer.MAX_VALUE, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Acquires a permit from a single thread.
+     */
+    @Benchmark
+    @Threads(1)
+    public void acquireUncontended() {
+        rateLimiter.acquire();
+    }
+
+    /**
+     * Acquires a permit from eight threads at once.
+     */
+    @Benchmark
+    @Threads(8)
+    public void acquireContended() {
+        rateLimiter.acquire();
+    }
+}
@@ -0,0 +1,106 @@
+package com.enovka.gemini4j.benchmark;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.resource.impl.EmbedResourceImpl;
+import org.apache.hc.core5.http.ContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request work done by every resource before dispatch: building the endpoint
+ * URL and the request headers.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResourceBenchmark {
+
+    private static final Map<String, String> STREAM_PARAMS = Map.of("alt", "sse");
+
+    private GeminiClient geminiClient;
+    private ExposedResource resource;
+
+    /**
+     * Creates a client and a resource. No request is sent.
+     */
+    @Setup
+    public void setUp() {
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("benchmark-api-key")
+                .withModel("models/text-embedding-004")
+                .build();
+        resource = new ExposedResource(geminiClient);
+    }
+
+    /**
+     * Closes the HTTP client.
+     *
+     * @throws IOException If the client cannot be closed.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        geminiClient.getHttpClient().close();
+    }
+
+    /**
+     * Builds a plain endpoint URL.
+     *
+     * @return The URL.
+     */
+    @Benchmark
+    public String buildEndpointUrl() {
+        return resource.endpointUrl("embedContent", null);
+    }
+
+    /**
+     * Builds a streaming endpoint URL with query parameters.
+     *
+     * @return The URL.
+     */
+    @Benchmark
+    public String buildStreamEndpointUrl() {
+        return resource.endpointUrl("streamGenerateContent", STREAM_PARAMS);
+    }
+
+    /**
+     * Builds the request headers.
+     *
+     * @return The headers.
+     */
+    @Benchmark
+    public Map<String, String> buildHeaders() {
+        return resource.headers(ContentType.APPLICATION_JSON);
+    }
+
+    /**
+     * Exposes the protected request-building methods of a resource.
+     */
+    private static final class ExposedResource extends EmbedResourceImpl {
+
+        private ExposedResource(GeminiClient geminiClient) {
+            super(geminiClient);
+        }
+
+        private String endpointUrl(String endpoint, Map<String, ?> queryParams) {
+            return buildEndpointUrl(endpoint, queryParams);
+        }
+
+        private Map<String, String> headers(ContentType contentType) {
+            return buildHeaders(contentType);
+        }
+    }
+}
@@ -3,11 +3,25 @@ package com.enovka.gemini4j.client.builder;
 import com.enovka.gemini4j.client.impl.GeminiClientImpl;
 import com.enovka.gemini4j.client.spec.GeminiClient;
 import com.enovka.gemini4j.infrastructure.Constants;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCache;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCachePolicy;
+import com.enovka.gemini4j.infrastructure.http.CircuitBreakerConfig;
+import com.enovka.gemini4j.infrastructure.http.ConcurrencyLimitConfig;
+import com.enovka.gemini4j.infrastructure.http.HedgingPolicy;
+import com.enovka.gemini4j.infrastructure.http.RateLimiter;
+import com.enovka.gemini4j.infrastructure.http.RejectionPolicy;
+import com.enovka.gemini4j.infrastructure.http.RetryPolicy;
 import com.enovka.gemini4j.infrastructure.http.factory.HttpClientBuilder;
 import com.enovka.gemini4j.infrastructure.http.factory.HttpClientType;
+import com.enovka.gemini4j.infrastructure.http.factory.RateLimiterType;
 import com.enovka.gemini4j.infrastructure.http.spec.HttpClient;
 import com.enovka.gemini4j.infrastructure.json.builder.JsonServiceBuilder;
 import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
+import com.enovka.gemini4j.infrastructure.quota.CalibratedTokenEstimator;
+import com.enovka.gemini4j.infrastructure.quota.QuotaGovernor;
+import com.enovka.gemini4j.resource.calibration.TokenCalibrationConfig;
+import com.enovka.gemini4j.resource.calibration.TokenCalibrator;
+import com.enovka.gemini4j.resource.impl.TokensResourceImpl;
 
 import java.time.Duration;
 
@@ -28,6 +42,18 @@ public class GeminiClientBuilder {
     private Integer responseTimeout = 60000; // Default value
     private Integer requestsPerWindow = Integer.MAX_VALUE; // Default value
     private Duration windowDuration = Duration.ofMinutes(1); // Default value
+    private RateLimiterType rateLimiterType = RateLimiterType.TOKEN_BUCKET; // Default value
+    private RateLimiter customRateLimiter;
+    private Integer maxPendingRequests = 10000; // Default value
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.FAIL_FAST; // Default value
+    private QuotaGovernor quotaGovernor;
+    private RetryPolicy retryPolicy = RetryPolicy.none(); // Default value
+    private HedgingPolicy hedgingPolicy;
+    private CircuitBreakerConfig circuitBreakerConfig;
+    private ConcurrencyLimitConfig concurrencyLimitConfig;
+    private ResponseCachePolicy responseCachePolicy;
+    private CalibratedTokenEstimator calibratedTokenEstimator;
+    private TokenCalibrationConfig tokenCalibrationConfig;
 
     /**
      * Private constructor to enforce a builder pattern.
@@ -129,6 +155,173 @@ public class GeminiClientBuilder {
         return this;
     }
 
+    /**
+     * Sets the type of rate limiter used by the HTTP client.
+     *
+     * @param rateLimiterType The rate limiter type.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withRateLimiterType(RateLimiterType rateLimiterType) {
+        this.rateLimiterType = rateLimiterType;
+        return this;
+    }
+
+    /**
+     * Sets a custom rate limiter for the HTTP client, replacing the built-in implementations.
+     *
+     * @param rateLimiter The rate limiter instance.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withRateLimiter(RateLimiter rateLimiter) {
+        this.customRateLimiter = rateLimiter;
+        this.rateLimiterType = RateLimiterType.CUSTOM;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of asynchronous requests allowed to wait for a rate limit permit
+     * at the same time, and the policy applied once that limit is reached.
+     *
+     * @param maxPendingRequests The maximum number of pending requests.
+     * @param rejectionPolicy    The policy applied when the pending queue is full.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withMaxPendingRequests(int maxPendingRequests,
+                                                      RejectionPolicy rejectionPolicy) {
+        this.maxPendingRequests = maxPendingRequests;
+        this.rejectionPolicy = rejectionPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the policy used to retry requests that failed with a transient error (HTTP 429,
+     * 5xx, connection failures). Requests are not retried by default: a retried POST may be
+     * billed twice, or create a second cached content. {@link RetryPolicy#defaults()} is a
+     * reasonable starting point for callers that accept this.
+     *
+     * @param retryPolicy The retry policy.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Enables a circuit breaker in front of the HTTP client. While the breaker is open,
+     * requests fail immediately with HTTP 503 instead of waiting on a degraded upstream.
+     *
+     * @param circuitBreakerConfig The breaker configuration, or null to disable the breaker.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withCircuitBreaker(CircuitBreakerConfig circuitBreakerConfig) {
+        this.circuitBreakerConfig = circuitBreakerConfig;
+        return this;
+    }
+
+    /**
+     * Enables an adaptive limit on the requests in flight, which shrinks when latency rises or
+     * the upstream reports overload. Requests above the limit fail immediately with HTTP 503.
+     *
+     * @param concurrencyLimitConfig The limit configuration, or null to disable the limit.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withAdaptiveConcurrency(ConcurrencyLimitConfig concurrencyLimitConfig) {
+        this.concurrencyLimitConfig = concurrencyLimitConfig;
+        return this;
+    }
+
+    /**
+     * Enables hedging of idempotent asynchronous requests (content generation and embedding):
+     * a slow request is duplicated after the policy's delay and the first answer wins.
+     *
+     * @param hedgingPolicy The hedging policy, or null to disable hedging.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+        return this;
+    }
+
+    /**
+     * Enables quota governance with the given per-minute quotas. Generation and embedding
+     * requests reserve one request and their estimated tokens before being sent, and the
+     * reservation is reconciled against the usage reported by the API.
+     *
+     * @param requestsPerMinute The requests per minute quota, or zero to leave requests
+     *                          ungoverned.
+     * @param tokensPerMinute   The tokens per minute quota, or zero to leave tokens ungoverned.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withQuota(int requestsPerMinute, int tokensPerMinute) {
+        this.quotaGovernor = new QuotaGovernor(requestsPerMinute, tokensPerMinute);
+        return this;
+    }
+
+    /**
+     * Sets a custom quota governor, for example one sharing its budget with other clients or
+     * using a custom {@link com.enovka.gemini4j.infrastructure.quota.TokenEstimator}.
+     *
+     * @param quotaGovernor The quota governor, or null to disable quota governance.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withQuotaGovernor(QuotaGovernor quotaGovernor) {
+        this.quotaGovernor = quotaGovernor;
+        return this;
+    }
+
+    /**
+     * Caches the responses of deterministic generation requests (temperature explicitly zero)
+     * and of embedding requests in the given cache.
+     *
+     * @param responseCache The response cache, or null to disable caching.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withResponseCache(ResponseCache responseCache) {
+        this.responseCachePolicy = responseCache != null ? ResponseCachePolicy.of(responseCache) : null;
+        return this;
+    }
+
+    /**
+     * Sets the response cache policy, for example to also cache generation requests sampled
+     * with a non-zero temperature.
+     *
+     * @param responseCachePolicy The response cache policy, or null to disable caching.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withResponseCachePolicy(ResponseCachePolicy responseCachePolicy) {
+        this.responseCachePolicy = responseCachePolicy;
+        return this;
+    }
+
+    /**
+     * Calibrates a token estimator against the token counts reported by the API, see
+     * {@link TokenCalibrator}. Pass the same estimator to a {@link QuotaGovernor} to size
+     * reservations with it.
+     *
+     * @param estimator The estimator to calibrate, or null to disable calibration.
+     * @param config    The calibration configuration.
+     * @return The builder instance for method chaining.
+     * @since 0.2.1
+     */
+    public GeminiClientBuilder withTokenCalibration(CalibratedTokenEstimator estimator,
+                                                    TokenCalibrationConfig config) {
+        this.calibratedTokenEstimator = estimator;
+        this.tokenCalibrationConfig = config;
+        return this;
+    }
+
     /**
      * Builds a new {@link GeminiClient} instance based on the configured
      * parameters.
@@ -143,9 +336,25 @@ public class GeminiClientBuilder {
                 .withResponseTimeout(responseTimeout)
                 .withRequestsPerWindow(requestsPerWindow)
                 .withWindowDuration(windowDuration)
+                .withRateLimiterType(rateLimiterType)
+                .withCustomRateLimiter(customRateLimiter)
+                .withMaxPendingRequests(maxPendingRequests)
+                .withRejectionPolicy(rejectionPolicy)
+                .withRetryPolicy(retryPolicy)
+                .withCircuitBreakerConfig(circuitBreakerConfig)
+                .withConcurrencyLimitConfig(concurrencyLimitConfig)
                 .build().build();
 
-        return new GeminiClientImpl(apiKey, model, httpClient, baseUrl,
+        GeminiClientImpl geminiClient = new GeminiClientImpl(apiKey, model, httpClient, baseUrl,
                 jsonService);
+        geminiClient.setQuotaGovernor(quotaGovernor);
+        geminiClient.setHedgingPolicy(hedgingPolicy);
+        geminiClient.setResponseCachePolicy(responseCachePolicy);
+        if (calibratedTokenEstimator != null) {
+            geminiClient.setTokenCalibrator(new TokenCalibrator(new TokensResourceImpl(geminiClient),
+                    calibratedTokenEstimator, tokenCalibrationConfig != null ? tokenCalibrationConfig
+                    : TokenCalibrationConfig.defaults()));
+        }
+        return geminiClient;
     }
 }
\ No newline at end of file
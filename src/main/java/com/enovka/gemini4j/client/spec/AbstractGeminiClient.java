@@ -1,17 +1,22 @@
 package com.enovka.gemini4j.client.spec;
 
 import com.enovka.gemini4j.infrastructure.Constants;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCachePolicy;
+import com.enovka.gemini4j.infrastructure.http.HedgingPolicy;
 import com.enovka.gemini4j.infrastructure.http.factory.HttpClientBuilder;
 import com.enovka.gemini4j.infrastructure.http.factory.HttpClientType;
 import com.enovka.gemini4j.infrastructure.http.spec.HttpClient;
 import com.enovka.gemini4j.infrastructure.json.builder.JsonServiceBuilder;
 import com.enovka.gemini4j.infrastructure.json.builder.JsonServiceType;
 import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
+import com.enovka.gemini4j.infrastructure.quota.QuotaGovernor;
 import com.enovka.gemini4j.infrastructure.tool.BaseClass;
 import com.enovka.gemini4j.model.ListModel;
 import com.enovka.gemini4j.model.Model;
 import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.calibration.TokenCalibrator;
 import com.enovka.gemini4j.resource.impl.ModelResourceImpl;
+import com.enovka.gemini4j.resource.registry.ModelRegistry;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -41,9 +46,44 @@ public abstract class AbstractGeminiClient extends BaseClass
     protected String baseUrl;
     @Setter
     protected JsonService jsonService;
+    /**
+     * The quota governor applied to generation and embedding requests, or null to disable it.
+     *
+     * @since 0.2.1
+     */
+    @Setter
+    protected QuotaGovernor quotaGovernor;
+    /**
+     * The policy used to hedge idempotent asynchronous requests, or null to disable hedging.
+     *
+     * @since 0.2.1
+     */
+    @Setter
+    protected HedgingPolicy hedgingPolicy;
+    /**
+     * The policy used to cache the responses of deterministic requests, or null to disable
+     * caching.
+     *
+     * @since 0.2.1
+     */
+    @Setter
+    protected ResponseCachePolicy responseCachePolicy;
 
-    @Getter
-    protected ListModel listModel;
+    /**
+     * The registry caching the metadata of the available models.
+     *
+     * @since 0.2.1
+     */
+    @Setter
+    protected ModelRegistry modelRegistry;
+    /**
+     * The calibrator fed with the token counts of the generation responses, or null to leave
+     * token estimates uncalibrated.
+     *
+     * @since 0.2.1
+     */
+    @Setter
+    protected TokenCalibrator tokenCalibrator;
 
     /**
      * Constructs a new AbstractGeminiClient with the required API key, model,
@@ -73,14 +113,29 @@ public abstract class AbstractGeminiClient extends BaseClass
         this.jsonService = jsonService != null ? jsonService
                 : JsonServiceBuilder.builder().withJsonServiceType(
                 JsonServiceType.JACKSON).build().build();
+        this.modelRegistry = new ModelRegistry(new ModelResourceImpl(this));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The models are served by the {@link ModelRegistry}, which loads every page once and
+     * refreshes them in the background when they are stale.
+     */
     @Override
     public ListModel getGeminiModels() throws ResourceException {
-        if (this.listModel == null)
-            this.listModel = new ModelResourceImpl(this).listModels();
-        return this.listModel;
+        return modelRegistry.getListModel();
+    }
 
+    /**
+     * Returns the models loaded so far, without sending any request.
+     *
+     * @return The loaded models, or null if they were never loaded.
+     */
+    public ListModel getListModel() {
+        return modelRegistry.findLoadedModels()
+                .map(models -> ListModel.newBuilder().withModels(models).build())
+                .orElse(null);
     }
 
     /**
@@ -99,27 +154,11 @@ public abstract class AbstractGeminiClient extends BaseClass
         this.apiKey = apiKey;
     }
 
-    @Override
-    public Model getModel(String name) throws ResourceException {
-        getGeminiModels();
-        return findModelByName(name);
-    }
-
     /**
-     * Finds a {@link Model} in the list by its name.
-     *
-     * @param modelName The name of the model to search for (e.g., "models/gemini-pro").
-     * @return The {@link Model} with the matching name, or null if not found.
+     * {@inheritDoc}
      */
-    private Model findModelByName(String modelName) throws ResourceException {
-        if (modelName == null || getGeminiModels().getModels() == null) {
-            throw new ResourceException("Model not found");
-        }
-        for (Model model : getGeminiModels().getModels()) {
-            if (modelName.equals(model.getName())) {
-                return model;
-            }
-        }
-        throw new ResourceException("Model not found");
+    @Override
+    public Model getModel(String name) throws ResourceException {
+        return modelRegistry.getModel(name);
     }
-}
\ No newline at end of file
+}
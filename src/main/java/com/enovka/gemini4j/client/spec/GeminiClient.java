@@ -1,10 +1,15 @@
 package com.enovka.gemini4j.client.spec;
 
+import com.enovka.gemini4j.infrastructure.cache.ResponseCachePolicy;
+import com.enovka.gemini4j.infrastructure.http.HedgingPolicy;
 import com.enovka.gemini4j.infrastructure.http.spec.HttpClient;
 import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
+import com.enovka.gemini4j.infrastructure.quota.QuotaGovernor;
 import com.enovka.gemini4j.model.ListModel;
 import com.enovka.gemini4j.model.Model;
+import com.enovka.gemini4j.resource.calibration.TokenCalibrator;
 import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.registry.ModelRegistry;
 
 import java.util.Map;
 
@@ -99,4 +104,58 @@ public interface GeminiClient extends AutoCloseable{
 
     ListModel getGeminiModels() throws ResourceException;
 
+    /**
+     * Returns the quota governor that reserves requests and tokens against the per-minute
+     * quotas before generation and embedding requests are sent.
+     *
+     * @return The quota governor, or null if quotas are not governed by the client.
+     * @since 0.2.1
+     */
+    default QuotaGovernor getQuotaGovernor() {
+        return null;
+    }
+
+    /**
+     * Returns the registry caching the metadata of the available models, which resources
+     * consult to check the capabilities of the client's model without sending a request.
+     *
+     * @return The model registry, or null if the client does not cache models.
+     * @since 0.2.1
+     */
+    default ModelRegistry getModelRegistry() {
+        return null;
+    }
+
+    /**
+     * Returns the calibrator fed with the token counts of the generation responses.
+     *
+     * @return The token calibrator, or null if token estimates are not calibrated.
+     * @since 0.2.1
+     */
+    default TokenCalibrator getTokenCalibrator() {
+        return null;
+    }
+
+    /**
+     * Returns the policy used to hedge idempotent asynchronous requests, such as content
+     * generation and embedding.
+     *
+     * @return The hedging policy, or null if requests are not hedged.
+     * @since 0.2.1
+     */
+    default HedgingPolicy getHedgingPolicy() {
+        return null;
+    }
+
+    /**
+     * Returns the policy used to cache the responses of deterministic generation and
+     * embedding requests.
+     *
+     * @return The response cache policy, or null if responses are not cached.
+     * @since 0.2.1
+     */
+    default ResponseCachePolicy getResponseCachePolicy() {
+        return null;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,319 @@
+package com.enovka.gemini4j.infrastructure.cache;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ResponseCache} persisted as one file per entry in a directory, so cached responses
+ * survive restarts and can be shared by processes on the same host. File names are the
+ * SHA-256 digest of the cache key, and every file is written to a temporary file first and
+ * then atomically moved into place, so readers never see a partial response.
+ * <p>
+ * An entry expires once its time to live has elapsed since its file was last written. When
+ * the directory grows beyond its capacity, the oldest entries are deleted first. The size and
+ * entry count are tracked in memory from a scan made at construction time; they are exact for
+ * a single process and approximate when several processes share the directory.
+ * <p>
+ * I/O errors never fail a request: a response that cannot be read counts as a miss, and one
+ * that cannot be written is simply not cached.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class DiskResponseCache extends BaseClass implements ResponseCache {
+
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long timeToLiveMillis;
+    private final AtomicLong sizeBytes = new AtomicLong();
+    private final AtomicLong entryCount = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong puts = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong hitBytes = new AtomicLong();
+
+    /**
+     * Constructs a new DiskResponseCache, creating the directory if needed and indexing the
+     * entries it already holds.
+     *
+     * @param directory  The directory holding the cached responses.
+     * @param maxBytes   The maximum total size of the cached responses, in bytes.
+     * @param timeToLive How long an entry stays valid after it was written, or null to keep
+     *                   entries until they are evicted.
+     * @throws IOException              If the directory cannot be created or read.
+     * @throws IllegalArgumentException If the size is not positive or the time to live is
+     *                                  negative or zero.
+     * @since 0.2.1
+     */
+    public DiskResponseCache(Path directory, long maxBytes, Duration timeToLive) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be greater than zero.");
+        }
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("timeToLive must be greater than zero.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        this.timeToLiveMillis = timeToLive != null ? timeToLive.toMillis() : Long.MAX_VALUE;
+        for (CachedFile file : listEntries()) {
+            sizeBytes.addAndGet(file.size);
+            entryCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public byte[] get(String key) {
+        Path file = fileFor(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (isExpired(attributes.lastModifiedTime().toMillis())) {
+                if (delete(file, attributes.size())) {
+                    expirations.incrementAndGet();
+                }
+                misses.incrementAndGet();
+                return null;
+            }
+            byte[] response = Files.readAllBytes(file);
+            hits.incrementAndGet();
+            hitBytes.addAndGet(response.length);
+            return response;
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return null;
+        } catch (IOException e) {
+            logWarn("Unable to read cached response " + file + ": " + e.getMessage());
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void put(String key, byte[] response) {
+        if (response == null || response.length > maxBytes) {
+            return;
+        }
+        Path file = fileFor(key);
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(directory, "put-", ".tmp");
+            Files.write(temporary, response);
+            long previousSize = Files.exists(file) ? Files.size(file) : -1;
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (previousSize >= 0) {
+                sizeBytes.addAndGet(response.length - previousSize);
+            } else {
+                sizeBytes.addAndGet(response.length);
+                entryCount.incrementAndGet();
+            }
+            puts.incrementAndGet();
+        } catch (IOException e) {
+            logWarn("Unable to cache response " + file + ": " + e.getMessage());
+            deleteQuietly(temporary);
+            return;
+        }
+        if (sizeBytes.get() > maxBytes) {
+            makeRoom();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void invalidate(String key) {
+        Path file = fileFor(key);
+        try {
+            delete(file, Files.size(file));
+        } catch (IOException e) {
+            // Nothing cached under this key.
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void clear() {
+        try {
+            for (CachedFile file : listEntries()) {
+                delete(file.path, file.size);
+            }
+        } catch (IOException e) {
+            logWarn("Unable to clear response cache " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public ResponseCacheStats getStats() {
+        return ResponseCacheStats.builder()
+                .withHits(hits.get())
+                .withMisses(misses.get())
+                .withPuts(puts.get())
+                .withEvictions(evictions.get())
+                .withExpirations(expirations.get())
+                .withEntryCount(entryCount.get())
+                .withSizeBytes(sizeBytes.get())
+                .withHitBytes(hitBytes.get())
+                .build();
+    }
+
+    /**
+     * Returns the directory holding the cached responses.
+     *
+     * @return The directory.
+     * @since 0.2.1
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Deletes expired entries, then the oldest ones, until the directory fits its capacity
+     * again. Runs one eviction at a time.
+     */
+    private synchronized void makeRoom() {
+        if (sizeBytes.get() <= maxBytes) {
+            return;
+        }
+        List<CachedFile> files;
+        try {
+            files = listEntries();
+        } catch (IOException e) {
+            logWarn("Unable to evict from response cache " + directory + ": " + e.getMessage());
+            return;
+        }
+        files.sort(Comparator.comparingLong(file -> file.lastModified));
+        for (CachedFile file : files) {
+            if (isExpired(file.lastModified)) {
+                if (delete(file.path, file.size)) {
+                    expirations.incrementAndGet();
+                }
+            } else if (sizeBytes.get() > maxBytes && delete(file.path, file.size)) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Lists the entries held in the directory.
+     *
+     * @return The entries.
+     * @throws IOException If the directory cannot be read.
+     */
+    private List<CachedFile> listEntries() throws IOException {
+        List<CachedFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    files.add(new CachedFile(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                } catch (NoSuchFileException e) {
+                    // Deleted concurrently.
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Deletes an entry and updates the size and count.
+     *
+     * @param file The file of the entry.
+     * @param size The size of the file.
+     * @return {@code true} if this call deleted the file.
+     */
+    private boolean delete(Path file, long size) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                sizeBytes.addAndGet(-size);
+                entryCount.decrementAndGet();
+                return true;
+            }
+        } catch (IOException e) {
+            logWarn("Unable to delete cached response " + file + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Deletes a temporary file, ignoring errors.
+     *
+     * @param file The file, may be null.
+     */
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Best effort.
+        }
+    }
+
+    /**
+     * Indicates whether an entry written at the given time has expired.
+     *
+     * @param lastModified The time the entry was written, in milliseconds since the epoch.
+     * @return {@code true} if the entry has expired.
+     */
+    private boolean isExpired(long lastModified) {
+        return System.currentTimeMillis() - lastModified >= timeToLiveMillis;
+    }
+
+    /**
+     * Returns the file holding the entry of the given key.
+     *
+     * @param key The cache key.
+     * @return The file.
+     */
+    private Path fileFor(String key) {
+        return directory.resolve(ResponseCacheKeys.digest(key) + SUFFIX);
+    }
+
+    /**
+     * A file of the cache and its attributes.
+     */
+    private static final class CachedFile {
+
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+
+        private CachedFile(Path path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
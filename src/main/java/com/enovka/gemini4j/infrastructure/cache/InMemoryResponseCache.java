@@ -0,0 +1,189 @@
+package com.enovka.gemini4j.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link ResponseCache} held in memory, bounded by the total size of the cached responses
+ * and evicting the least recently used entries first. Entries expire once their time to live
+ * has elapsed since they were stored and are dropped when they are looked up; entries nobody
+ * looks up again age towards the least recently used end and are evicted first.
+ * <p>
+ * Lookups and updates are serialized on the cache's monitor. They only touch a linked hash map
+ * and never copy the responses, so the critical sections are short.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class InMemoryResponseCache implements ResponseCache {
+
+    private final long maxBytes;
+    private final long timeToLiveNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+    private long expirations;
+    private long hitBytes;
+
+    /**
+     * Constructs a new InMemoryResponseCache.
+     *
+     * @param maxBytes   The maximum total size of the cached responses, in bytes.
+     * @param timeToLive How long an entry stays valid after it was stored, or null to keep
+     *                   entries until they are evicted.
+     * @throws IllegalArgumentException If the size is not positive or the time to live is
+     *                                  negative or zero.
+     * @since 0.2.1
+     */
+    public InMemoryResponseCache(long maxBytes, Duration timeToLive) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be greater than zero.");
+        }
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("timeToLive must be greater than zero.");
+        }
+        this.maxBytes = maxBytes;
+        this.timeToLiveNanos = timeToLive != null ? timeToLive.toNanos() : Long.MAX_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime(), timeToLiveNanos)) {
+            remove(key, entry);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        hitBytes += entry.response.length;
+        return entry.response;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void put(String key, byte[] response) {
+        if (response == null || response.length > maxBytes) {
+            return;
+        }
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            sizeBytes -= previous.response.length;
+        }
+        entries.put(key, new Entry(response, System.nanoTime()));
+        sizeBytes += response.length;
+        puts++;
+        if (sizeBytes > maxBytes) {
+            makeRoom();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void invalidate(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            remove(key, entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized ResponseCacheStats getStats() {
+        return ResponseCacheStats.builder()
+                .withHits(hits)
+                .withMisses(misses)
+                .withPuts(puts)
+                .withEvictions(evictions)
+                .withExpirations(expirations)
+                .withEntryCount(entries.size())
+                .withSizeBytes(sizeBytes)
+                .withHitBytes(hitBytes)
+                .build();
+    }
+
+    /**
+     * Returns the maximum total size of the cached responses.
+     *
+     * @return The capacity, in bytes.
+     * @since 0.2.1
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache fits its capacity again. Must be
+     * called while holding the lock.
+     */
+    private void makeRoom() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (sizeBytes > maxBytes && eldest.hasNext()) {
+            Entry entry = eldest.next().getValue();
+            eldest.remove();
+            sizeBytes -= entry.response.length;
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes an entry. Must be called while holding the lock.
+     *
+     * @param key   The key of the entry.
+     * @param entry The entry.
+     */
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        sizeBytes -= entry.response.length;
+    }
+
+    /**
+     * A cached response and the time it was stored.
+     */
+    private static final class Entry {
+
+        private final byte[] response;
+        private final long storedAt;
+
+        private Entry(byte[] response, long storedAt) {
+            this.response = response;
+            this.storedAt = storedAt;
+        }
+
+        private boolean isExpired(long now, long timeToLiveNanos) {
+            return now - storedAt >= timeToLiveNanos;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.enovka.gemini4j.infrastructure.cache;
+
+/**
+ * A client-side cache of raw API responses, consulted by the resources before a deterministic
+ * request is sent. Entries are the UTF-8 encoded JSON bodies of successful responses, keyed by
+ * a canonical hash of the target model, the endpoint and the serialized request (see
+ * {@link ResponseCacheKeys}), so the same cache serves every response type and a hit costs one
+ * deserialization instead of one round-trip.
+ * <p>
+ * Implementations must be thread-safe. They decide on their own capacity, eviction and
+ * expiration, and report their effectiveness through {@link #getStats()}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public interface ResponseCache {
+
+    /**
+     * Returns the response cached under the given key.
+     *
+     * @param key The cache key.
+     * @return The cached response body, or null if there is no live entry for the key. The
+     * array must not be modified.
+     * @since 0.2.1
+     */
+    byte[] get(String key);
+
+    /**
+     * Caches a response under the given key, replacing any previous entry. Responses larger
+     * than the capacity of the cache are ignored.
+     *
+     * @param key      The cache key.
+     * @param response The response body. The array must not be modified afterwards.
+     * @since 0.2.1
+     */
+    void put(String key, byte[] response);
+
+    /**
+     * Removes the entry cached under the given key, if any.
+     *
+     * @param key The cache key.
+     * @since 0.2.1
+     */
+    void invalidate(String key);
+
+    /**
+     * Removes every entry from the cache. The statistics are kept.
+     *
+     * @since 0.2.1
+     */
+    void clear();
+
+    /**
+     * Returns a snapshot of the statistics of the cache.
+     *
+     * @return The statistics.
+     * @since 0.2.1
+     */
+    ResponseCacheStats getStats();
+}
@@ -0,0 +1,80 @@
+package com.enovka.gemini4j.infrastructure.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the keys under which responses are cached: the hexadecimal SHA-256 digest of the
+ * request scope (base URL, model and endpoint) followed by the serialized request body. The
+ * API key is deliberately left out, so that rotating it does not invalidate a persistent
+ * cache.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public final class ResponseCacheKeys {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ResponseCacheKeys() {
+    }
+
+    /**
+     * Computes the cache key of a request.
+     *
+     * @param scope The scope of the request, identifying the API, model and endpoint.
+     * @param body  The UTF-8 encoded request body, may be null.
+     * @return The cache key, 64 hexadecimal characters.
+     * @since 0.2.1
+     */
+    public static String of(String scope, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update(scope.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        if (body != null) {
+            digest.update(body);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the hexadecimal SHA-256 digest of a string, for example to derive a file name
+     * valid on any file system from an arbitrary key.
+     *
+     * @param text The string, UTF-8 encoded before being digested.
+     * @return The digest, 64 hexadecimal characters.
+     * @since 0.2.1
+     */
+    public static String digest(String text) {
+        return toHex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Creates a SHA-256 digest, which every Java platform is required to support.
+     *
+     * @return A new digest.
+     */
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Encodes bytes as lower case hexadecimal.
+     *
+     * @param bytes The bytes.
+     * @return The hexadecimal string.
+     */
+    static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
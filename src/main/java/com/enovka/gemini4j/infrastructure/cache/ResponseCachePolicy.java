@@ -0,0 +1,43 @@
+package com.enovka.gemini4j.infrastructure.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable description of how the resources use a {@link ResponseCache}. Only resources whose
+ * responses are a pure function of the request, content generation and embedding, consult the
+ * cache. Generation requests are only cached when they are deterministic, that is when their
+ * {@link com.enovka.gemini4j.model.GenerateConfig#getTemperature() temperature} is explicitly
+ * zero, unless {@link #isCacheNonDeterministic() caching is forced}. Streaming requests are
+ * never cached.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class ResponseCachePolicy {
+
+    /**
+     * The cache holding the responses.
+     */
+    private final ResponseCache cache;
+
+    /**
+     * Whether generation requests are cached even when their temperature is not zero, which
+     * freezes the first sampled answer for every identical prompt. Defaults to false.
+     */
+    @Builder.Default
+    private final boolean cacheNonDeterministic = false;
+
+    /**
+     * Returns a policy caching deterministic requests in the given cache.
+     *
+     * @param cache The cache holding the responses.
+     * @return A new policy.
+     * @since 0.2.1
+     */
+    public static ResponseCachePolicy of(ResponseCache cache) {
+        return ResponseCachePolicy.builder().withCache(cache).build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.enovka.gemini4j.infrastructure.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable snapshot of the statistics of a {@link ResponseCache}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@ToString
+@Builder(setterPrefix = "with")
+public class ResponseCacheStats {
+
+    /**
+     * The number of lookups that found a live entry.
+     */
+    private final long hits;
+
+    /**
+     * The number of lookups that found no entry or an expired one.
+     */
+    private final long misses;
+
+    /**
+     * The number of responses stored.
+     */
+    private final long puts;
+
+    /**
+     * The number of entries removed to make room for new ones.
+     */
+    private final long evictions;
+
+    /**
+     * The number of entries removed because their time to live elapsed.
+     */
+    private final long expirations;
+
+    /**
+     * The number of entries currently held.
+     */
+    private final long entryCount;
+
+    /**
+     * The total size of the entries currently held, in bytes.
+     */
+    private final long sizeBytes;
+
+    /**
+     * The total size of the responses served from the cache, in bytes.
+     */
+    private final long hitBytes;
+
+    /**
+     * Returns the ratio of lookups that found a live entry.
+     *
+     * @return The hit rate between 0 and 1, or 0 if the cache was never consulted.
+     * @since 0.2.1
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
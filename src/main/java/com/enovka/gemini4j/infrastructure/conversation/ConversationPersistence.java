@@ -0,0 +1,46 @@
+package com.enovka.gemini4j.infrastructure.conversation;
+
+import com.enovka.gemini4j.infrastructure.tool.ConversationSnapshot;
+
+import java.io.IOException;
+
+/**
+ * The persistent storage behind a {@link ConversationStore}, holding the snapshots of the
+ * conversations that are not in memory. Implementations must be thread-safe; the store never
+ * writes a session concurrently, but may load it while it is being written, in which case the
+ * loaded snapshot is discarded and loaded again.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public interface ConversationPersistence {
+
+    /**
+     * Loads the snapshot of a session.
+     *
+     * @param sessionId The session id.
+     * @return The snapshot, or null if none is stored for the session.
+     * @throws IOException If the snapshot cannot be read.
+     * @since 0.2.1
+     */
+    ConversationSnapshot load(String sessionId) throws IOException;
+
+    /**
+     * Stores the snapshot of a session, replacing any previous one.
+     *
+     * @param sessionId The session id.
+     * @param snapshot  The snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     * @since 0.2.1
+     */
+    void save(String sessionId, ConversationSnapshot snapshot) throws IOException;
+
+    /**
+     * Deletes the snapshot of a session, if any.
+     *
+     * @param sessionId The session id.
+     * @throws IOException If the snapshot cannot be deleted.
+     * @since 0.2.1
+     */
+    void delete(String sessionId) throws IOException;
+}
@@ -0,0 +1,115 @@
+package com.enovka.gemini4j.infrastructure.conversation;
+
+import com.enovka.gemini4j.infrastructure.tool.MultiTurnConversation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Holds the conversations of many sessions, keyed by session id, so that a single
+ * {@link com.enovka.gemini4j.resource.spec.GenerateResource} can serve every user of a chat
+ * server instead of one resource per user.
+ * <p>
+ * Implementations must be thread-safe. They decide how long idle conversations are kept in
+ * memory and whether they are persisted; a conversation evicted and then requested again is
+ * either restored from its persisted state or started anew.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public interface ConversationStore extends Closeable {
+
+    /**
+     * Returns the conversation of a session, restoring or creating it if it is not in memory.
+     * Conversations returned by this method track their history.
+     *
+     * @param sessionId The session id.
+     * @return The conversation of the session.
+     * @throws UncheckedIOException If the persisted conversation cannot be read.
+     * @since 0.2.1
+     */
+    MultiTurnConversation getOrCreate(String sessionId);
+
+    /**
+     * Returns the conversation of a session like {@link #getOrCreate(String)}, and keeps it
+     * in memory until {@link #release(String, MultiTurnConversation)} is called, for example
+     * while a request of the session is in flight, so the turn it records is not lost to an
+     * eviction. Every call must be paired with a release. The default implementation does
+     * not prevent evictions.
+     *
+     * @param sessionId The session id.
+     * @return The conversation of the session.
+     * @throws UncheckedIOException If the persisted conversation cannot be read.
+     * @since 0.2.1
+     */
+    default MultiTurnConversation acquire(String sessionId) {
+        return getOrCreate(sessionId);
+    }
+
+    /**
+     * Releases a conversation returned by {@link #acquire(String)}, which may be evicted
+     * again once no request uses it.
+     *
+     * @param sessionId    The session id.
+     * @param conversation The conversation acquired.
+     * @since 0.2.1
+     */
+    default void release(String sessionId, MultiTurnConversation conversation) {
+    }
+
+    /**
+     * Returns the conversation of a session if it is in memory, without restoring or creating
+     * it.
+     *
+     * @param sessionId The session id.
+     * @return The conversation of the session, or null if it is not in memory.
+     * @since 0.2.1
+     */
+    MultiTurnConversation getIfPresent(String sessionId);
+
+    /**
+     * Ends a session: its conversation is dropped from memory and from the persistent
+     * storage, if any.
+     *
+     * @param sessionId The session id.
+     * @throws UncheckedIOException If the persisted conversation cannot be deleted.
+     * @since 0.2.1
+     */
+    void remove(String sessionId);
+
+    /**
+     * Returns the number of conversations in memory.
+     *
+     * @return The number of conversations in memory.
+     * @since 0.2.1
+     */
+    int size();
+
+    /**
+     * Evicts every conversation idle for longer than the idle timeout of the store, persisting
+     * it first if the store is persistent.
+     *
+     * @return The number of conversations evicted.
+     * @since 0.2.1
+     */
+    int evictIdle();
+
+    /**
+     * Persists every conversation in memory, if the store is persistent. The conversations
+     * stay in memory.
+     *
+     * @throws IOException If a conversation cannot be persisted.
+     * @since 0.2.1
+     */
+    void flush() throws IOException;
+
+    /**
+     * Persists every conversation in memory, if the store is persistent, and drops them.
+     *
+     * @throws IOException If a conversation cannot be persisted.
+     * @since 0.2.1
+     */
+    @Override
+    void close() throws IOException;
+}
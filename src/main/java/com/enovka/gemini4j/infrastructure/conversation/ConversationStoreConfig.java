@@ -0,0 +1,65 @@
+package com.enovka.gemini4j.infrastructure.conversation;
+
+import com.enovka.gemini4j.infrastructure.tool.ConversationHistoryPolicy;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Immutable configuration of an {@link InMemoryConversationStore}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class ConversationStoreConfig {
+
+    /**
+     * The number of independently locked stripes the sessions are spread over, rounded up to
+     * a power of two. More stripes mean less contention between sessions. Defaults to 64.
+     */
+    @Builder.Default
+    private final int stripes = 64;
+
+    /**
+     * How long a conversation stays in memory without being accessed, or null to keep
+     * conversations until they are removed or pushed out by {@link #getMaxSessions()}.
+     * Defaults to 30 minutes.
+     */
+    @Builder.Default
+    private final Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * The maximum number of conversations in memory, or null for no limit. The least recently
+     * used conversations of a stripe are evicted first, so the limit is enforced per stripe
+     * and the store may hold slightly fewer conversations; the number of stripes is reduced
+     * to at most this limit. Conversations in use by a request are not evicted, so the limit
+     * may be exceeded while they are. Defaults to null.
+     */
+    private final Integer maxSessions;
+
+    /**
+     * The history policy of the conversations created by the store. Defaults to
+     * {@link ConversationHistoryPolicy#defaults()}.
+     */
+    @Builder.Default
+    private final ConversationHistoryPolicy historyPolicy = ConversationHistoryPolicy.defaults();
+
+    /**
+     * The storage evicted conversations are saved to and restored from, or null to drop them.
+     * Defaults to null.
+     */
+    private final ConversationPersistence persistence;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static ConversationStoreConfig defaults() {
+        return ConversationStoreConfig.builder().build();
+    }
+}
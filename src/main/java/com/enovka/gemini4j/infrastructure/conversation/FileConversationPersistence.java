@@ -0,0 +1,96 @@
+package com.enovka.gemini4j.infrastructure.conversation;
+
+import com.enovka.gemini4j.infrastructure.cache.ResponseCacheKeys;
+import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
+import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
+import com.enovka.gemini4j.infrastructure.tool.ConversationSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A {@link ConversationPersistence} storing one JSON file per session in a directory. File
+ * names are the SHA-256 digest of the session id, so any id is a valid file name, and every
+ * file is written to a temporary file first and then atomically moved into place, so a crash
+ * never leaves a partial conversation behind.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class FileConversationPersistence implements ConversationPersistence {
+
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final JsonService jsonService;
+
+    /**
+     * Constructs a new FileConversationPersistence, creating the directory if needed.
+     *
+     * @param directory   The directory holding the conversations.
+     * @param jsonService The JSON service used to serialize the snapshots.
+     * @throws IOException If the directory cannot be created.
+     * @since 0.2.1
+     */
+    public FileConversationPersistence(Path directory, JsonService jsonService) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.jsonService = jsonService;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public ConversationSnapshot load(String sessionId) throws IOException {
+        byte[] json;
+        try {
+            json = Files.readAllBytes(fileFor(sessionId));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            return jsonService.deserialize(json, ConversationSnapshot.class);
+        } catch (JsonException e) {
+            throw new IOException("Unable to read the conversation of session " + sessionId + ".", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void save(String sessionId, ConversationSnapshot snapshot) throws IOException {
+        byte[] json;
+        try {
+            json = jsonService.serializeToBytes(snapshot);
+        } catch (JsonException e) {
+            throw new IOException("Unable to write the conversation of session " + sessionId + ".", e);
+        }
+        Path temporary = Files.createTempFile(directory, "save-", ".tmp");
+        try {
+            Files.write(temporary, json);
+            Files.move(temporary, fileFor(sessionId), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void delete(String sessionId) throws IOException {
+        Files.deleteIfExists(fileFor(sessionId));
+    }
+
+    private Path fileFor(String sessionId) {
+        return directory.resolve(ResponseCacheKeys.digest(sessionId) + SUFFIX);
+    }
+}
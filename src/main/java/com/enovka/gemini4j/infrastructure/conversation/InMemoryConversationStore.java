@@ -0,0 +1,548 @@
+package com.enovka.gemini4j.infrastructure.conversation;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.infrastructure.tool.ConversationHistoryPolicy;
+import com.enovka.gemini4j.infrastructure.tool.ConversationSnapshot;
+import com.enovka.gemini4j.infrastructure.tool.MultiTurnConversation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ConversationStore} holding the conversations in memory, spread over independently
+ * locked stripes by the hash of their session id. Every stripe is a linked hash map in access
+ * order, so a lookup is a constant time operation that only contends with the sessions of the
+ * same stripe, and the least recently used conversation of a stripe is always at its head.
+ * <p>
+ * Idle conversations are evicted lazily: every access to a stripe first evicts the idle
+ * conversations at its head, which costs nothing when there are none, and
+ * {@link #evictIdle()} sweeps every stripe, for example from a scheduled task. A conversation
+ * acquired by {@link #acquire(String)} is never evicted until it is released, so a turn
+ * recorded when its response arrives is never lost.
+ * <p>
+ * With a {@link ConversationPersistence}, evicted conversations are saved and restored the
+ * next time their session is accessed. The persistence is called outside the lock of the
+ * stripe, so a slow disk only delays the session being saved or restored. The writes of a
+ * session are performed one at a time, in order, and a session accessed while its snapshot
+ * is still being written is restored from that snapshot rather than from the persistence.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class InMemoryConversationStore extends BaseClass implements ConversationStore {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long idleTimeoutNanos;
+    private final int maxSessionsPerStripe;
+    private final ConversationHistoryPolicy historyPolicy;
+    private final ConversationPersistence persistence;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Constructs a new InMemoryConversationStore with the default configuration.
+     *
+     * @since 0.2.1
+     */
+    public InMemoryConversationStore() {
+        this(ConversationStoreConfig.defaults());
+    }
+
+    /**
+     * Constructs a new InMemoryConversationStore. With a maximum number of sessions lower than
+     * the number of stripes, the number of stripes is reduced so every stripe holds at least
+     * one session.
+     *
+     * @param config The store configuration.
+     * @throws IllegalArgumentException If the number of stripes or the maximum number of
+     *                                  sessions is not positive, or the idle timeout is
+     *                                  negative or zero.
+     * @since 0.2.1
+     */
+    public InMemoryConversationStore(ConversationStoreConfig config) {
+        if (config.getStripes() <= 0) {
+            throw new IllegalArgumentException("stripes must be greater than zero.");
+        }
+        if (config.getMaxSessions() != null && config.getMaxSessions() <= 0) {
+            throw new IllegalArgumentException("maxSessions must be greater than zero.");
+        }
+        if (config.getIdleTimeout() != null
+                && (config.getIdleTimeout().isNegative() || config.getIdleTimeout().isZero())) {
+            throw new IllegalArgumentException("idleTimeout must be greater than zero.");
+        }
+        int count = 1;
+        while (count < config.getStripes()) {
+            count <<= 1;
+        }
+        if (config.getMaxSessions() != null) {
+            while (count > config.getMaxSessions()) {
+                count >>= 1;
+            }
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = count - 1;
+        this.idleTimeoutNanos = config.getIdleTimeout() != null ? config.getIdleTimeout().toNanos() : Long.MAX_VALUE;
+        this.maxSessionsPerStripe = config.getMaxSessions() != null
+                ? config.getMaxSessions() / count : Integer.MAX_VALUE;
+        this.historyPolicy = config.getHistoryPolicy();
+        this.persistence = config.getPersistence();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public MultiTurnConversation getOrCreate(String sessionId) {
+        return get(sessionId, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public MultiTurnConversation acquire(String sessionId) {
+        return get(sessionId, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void release(String sessionId, MultiTurnConversation conversation) {
+        Stripe stripe = stripeFor(sessionId);
+        synchronized (stripe) {
+            Session session = stripe.sessions.get(sessionId);
+            if (session != null && session.conversation == conversation && session.inUse > 0) {
+                session.inUse--;
+                session.lastAccessNanos = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public MultiTurnConversation getIfPresent(String sessionId) {
+        Stripe stripe = stripeFor(sessionId);
+        List<PendingWrite> writes = new ArrayList<>();
+        try {
+            synchronized (stripe) {
+                long now = System.nanoTime();
+                expire(stripe, now, writes);
+                Session session = stripe.sessions.get(sessionId);
+                if (session == null) {
+                    return null;
+                }
+                session.lastAccessNanos = now;
+                return session.conversation;
+            }
+        } finally {
+            performQuietly(stripe, writes);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException If the persisted conversation cannot be deleted.
+     * @since 0.2.1
+     */
+    @Override
+    public void remove(String sessionId) {
+        Stripe stripe = stripeFor(sessionId);
+        PendingWrite write = null;
+        synchronized (stripe) {
+            if (stripe.sessions.remove(sessionId) != null) {
+                size.decrementAndGet();
+            }
+            if (persistence != null) {
+                write = schedule(stripe, sessionId, null);
+            }
+        }
+        if (write != null) {
+            try {
+                perform(stripe, write);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public int evictIdle() {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            List<PendingWrite> writes = new ArrayList<>();
+            synchronized (stripe) {
+                evicted += expire(stripe, System.nanoTime(), writes);
+            }
+            performQuietly(stripe, writes);
+        }
+        return evicted;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void flush() throws IOException {
+        if (persistence == null) {
+            return;
+        }
+        IOException failure = null;
+        for (Stripe stripe : stripes) {
+            List<PendingWrite> writes = new ArrayList<>();
+            synchronized (stripe) {
+                for (Map.Entry<String, Session> entry : stripe.sessions.entrySet()) {
+                    addIfNotNull(writes, schedule(stripe, entry.getKey(), entry.getValue().conversation.toSnapshot()));
+                }
+            }
+            failure = performAll(stripe, writes, failure);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Stripe stripe : stripes) {
+            List<PendingWrite> writes = new ArrayList<>();
+            synchronized (stripe) {
+                Iterator<Map.Entry<String, Session>> iterator = stripe.sessions.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Session> entry = iterator.next();
+                    if (persistence != null) {
+                        addIfNotNull(writes, schedule(stripe, entry.getKey(), entry.getValue().conversation.toSnapshot()));
+                    }
+                    iterator.remove();
+                    size.decrementAndGet();
+                }
+            }
+            failure = performAll(stripe, writes, failure);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the conversation of a session, restoring or creating it if it is not in memory.
+     * The persisted snapshot is loaded outside the lock of the stripe. A conversation
+     * inserted meanwhile by a concurrent access to the same session is used instead, and the
+     * snapshot is loaded again if a write to the stripe was scheduled meanwhile, since it may
+     * then be stale.
+     *
+     * @param sessionId The session id.
+     * @param acquire   Whether the conversation is acquired, and so kept in memory until it
+     *                  is released.
+     * @return The conversation of the session.
+     */
+    private MultiTurnConversation get(String sessionId, boolean acquire) {
+        Stripe stripe = stripeFor(sessionId);
+        List<PendingWrite> writes = new ArrayList<>();
+        try {
+            while (true) {
+                long scheduledWrites;
+                synchronized (stripe) {
+                    long now = System.nanoTime();
+                    expire(stripe, now, writes);
+                    Session session = stripe.sessions.get(sessionId);
+                    if (session != null) {
+                        return access(session, now, acquire);
+                    }
+                    PendingWrite pending = stripe.pending.get(sessionId);
+                    if (persistence == null || pending != null) {
+                        return insert(stripe, sessionId, pending != null ? pending.snapshot : null, acquire, writes);
+                    }
+                    scheduledWrites = stripe.scheduledWrites;
+                }
+                ConversationSnapshot snapshot;
+                try {
+                    snapshot = persistence.load(sessionId);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                synchronized (stripe) {
+                    Session session = stripe.sessions.get(sessionId);
+                    if (session != null) {
+                        return access(session, System.nanoTime(), acquire);
+                    }
+                    if (stripe.scheduledWrites == scheduledWrites) {
+                        return insert(stripe, sessionId, snapshot, acquire, writes);
+                    }
+                }
+            }
+        } finally {
+            performQuietly(stripe, writes);
+        }
+    }
+
+    /**
+     * Records an access to a conversation in memory. The caller holds the lock of its stripe.
+     *
+     * @param session The session.
+     * @param now     The current time, in nanoseconds.
+     * @param acquire Whether the conversation is acquired.
+     * @return The conversation.
+     */
+    private static MultiTurnConversation access(Session session, long now, boolean acquire) {
+        session.lastAccessNanos = now;
+        if (acquire) {
+            session.inUse++;
+        }
+        return session.conversation;
+    }
+
+    /**
+     * Adds a conversation to a stripe, evicting the least recently used conversations not in
+     * use beyond the limit of the stripe. The caller holds the lock of the stripe.
+     *
+     * @param stripe    The stripe.
+     * @param sessionId The session id.
+     * @param snapshot  The snapshot the conversation is restored from, or null to start anew.
+     * @param acquire   Whether the conversation is acquired.
+     * @param writes    The list the writes of the evicted conversations are added to.
+     * @return The conversation.
+     */
+    private MultiTurnConversation insert(Stripe stripe, String sessionId, ConversationSnapshot snapshot,
+                                         boolean acquire, List<PendingWrite> writes) {
+        MultiTurnConversation conversation = new MultiTurnConversation(historyPolicy);
+        conversation.enableMultiTurnConversation(true);
+        if (snapshot != null) {
+            conversation.restore(snapshot);
+        }
+        Session inserted = new Session(conversation, System.nanoTime());
+        if (acquire) {
+            inserted.inUse++;
+        }
+        stripe.sessions.put(sessionId, inserted);
+        size.incrementAndGet();
+        Iterator<Map.Entry<String, Session>> iterator = stripe.sessions.entrySet().iterator();
+        while (stripe.sessions.size() > maxSessionsPerStripe && iterator.hasNext()) {
+            Map.Entry<String, Session> entry = iterator.next();
+            if (entry.getValue().inUse == 0 && entry.getValue() != inserted) {
+                evict(stripe, iterator, entry, writes);
+            }
+        }
+        return conversation;
+    }
+
+    private Stripe stripeFor(String sessionId) {
+        int hash = sessionId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * Evicts the idle conversations at the head of a stripe, skipping the conversations in
+     * use. The caller holds its lock.
+     *
+     * @param stripe The stripe.
+     * @param now    The current time, in nanoseconds.
+     * @param writes The list the writes of the evicted conversations are added to.
+     * @return The number of conversations evicted.
+     */
+    private int expire(Stripe stripe, long now, List<PendingWrite> writes) {
+        int evicted = 0;
+        Iterator<Map.Entry<String, Session>> iterator = stripe.sessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Session> entry = iterator.next();
+            if (entry.getValue().inUse > 0) {
+                continue;
+            }
+            if (now - entry.getValue().lastAccessNanos <= idleTimeoutNanos) {
+                break;
+            }
+            evict(stripe, iterator, entry, writes);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /**
+     * Drops a conversation from its stripe and, if the store is persistent, schedules its
+     * snapshot to be saved once the lock of the stripe is released. The caller holds that
+     * lock.
+     *
+     * @param stripe   The stripe.
+     * @param iterator The iterator positioned on the conversation.
+     * @param entry    The session id and its conversation.
+     * @param writes   The list the write of the conversation is added to.
+     */
+    private void evict(Stripe stripe, Iterator<Map.Entry<String, Session>> iterator,
+                       Map.Entry<String, Session> entry, List<PendingWrite> writes) {
+        if (persistence != null) {
+            addIfNotNull(writes, schedule(stripe, entry.getKey(), entry.getValue().conversation.toSnapshot()));
+        }
+        iterator.remove();
+        size.decrementAndGet();
+    }
+
+    /**
+     * Records the state a session must be persisted in. The caller holds the lock of the
+     * stripe.
+     *
+     * @param stripe    The stripe of the session.
+     * @param sessionId The session id.
+     * @param snapshot  The snapshot to save, or null to delete the persisted conversation.
+     * @return The write the caller must perform once the lock is released, or null if
+     *         another thread is writing the session and performs this write after its own.
+     */
+    private PendingWrite schedule(Stripe stripe, String sessionId, ConversationSnapshot snapshot) {
+        PendingWrite write = new PendingWrite(sessionId, snapshot);
+        stripe.scheduledWrites++;
+        return stripe.pending.put(sessionId, write) == null ? write : null;
+    }
+
+    /**
+     * Performs a write, then every write of the same session scheduled meanwhile, so the
+     * writes of a session never run concurrently nor out of order. Called without the lock of
+     * the stripe.
+     *
+     * @param stripe The stripe of the session.
+     * @param write  The write.
+     * @throws IOException If a write fails. The later writes are performed all the same.
+     */
+    private void perform(Stripe stripe, PendingWrite write) throws IOException {
+        IOException failure = null;
+        while (write != null) {
+            try {
+                if (write.snapshot != null) {
+                    persistence.save(write.sessionId, write.snapshot);
+                } else {
+                    persistence.delete(write.sessionId);
+                }
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+            synchronized (stripe) {
+                PendingWrite next = stripe.pending.get(write.sessionId);
+                if (next == write) {
+                    stripe.pending.remove(write.sessionId);
+                    next = null;
+                }
+                write = next;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Performs the writes of evicted conversations. A conversation that cannot be saved is
+     * dropped all the same.
+     *
+     * @param stripe The stripe of the conversations.
+     * @param writes The writes.
+     */
+    private void performQuietly(Stripe stripe, List<PendingWrite> writes) {
+        for (PendingWrite write : writes) {
+            try {
+                perform(stripe, write);
+            } catch (IOException e) {
+                logWarn("Unable to save the conversation of session " + write.sessionId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private IOException performAll(Stripe stripe, List<PendingWrite> writes, IOException failure) {
+        for (PendingWrite write : writes) {
+            try {
+                perform(stripe, write);
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        return failure;
+    }
+
+    private static void addIfNotNull(List<PendingWrite> writes, PendingWrite write) {
+        if (write != null) {
+            writes.add(write);
+        }
+    }
+
+    /**
+     * A stripe of the store: the sessions whose ids hash to it, least recently used first,
+     * and the latest write scheduled for each of its sessions being written.
+     */
+    private static final class Stripe {
+
+        private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<String, PendingWrite> pending = new HashMap<>();
+        private long scheduledWrites;
+    }
+
+    /**
+     * A conversation in memory, the time of its last access and the number of requests using
+     * it.
+     */
+    private static final class Session {
+
+        private final MultiTurnConversation conversation;
+        private long lastAccessNanos;
+        private int inUse;
+
+        private Session(MultiTurnConversation conversation, long lastAccessNanos) {
+            this.conversation = conversation;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+
+    /**
+     * A snapshot to save for a session, or the deletion of its persisted conversation.
+     */
+    private static final class PendingWrite {
+
+        private final String sessionId;
+        private final ConversationSnapshot snapshot;
+
+        private PendingWrite(String sessionId, ConversationSnapshot snapshot) {
+            this.sessionId = sessionId;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.enovka.gemini4j.infrastructure.embedding;
+
+import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
+import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
+import com.enovka.gemini4j.model.request.EmbedRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Identifies an embedding in an {@link EmbeddingStore}: the SHA-256 digest of everything that
+ * determines the vector the API returns, namely the model, task type, output dimensionality,
+ * title and serialized content of the request.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public final class EmbeddingKey {
+
+    /**
+     * The length of a key, in bytes.
+     */
+    public static final int LENGTH = 32;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final byte[] digest;
+    private final int hashCode;
+
+    private EmbeddingKey(byte[] digest) {
+        this.digest = digest;
+        this.hashCode = Arrays.hashCode(digest);
+    }
+
+    /**
+     * Computes the key of an embedding request.
+     *
+     * @param model       The model producing the embedding, used when the request names none.
+     * @param request     The embedding request.
+     * @param jsonService The JSON service used to serialize the request content.
+     * @return The key of the request.
+     * @throws JsonException If the request content cannot be serialized.
+     * @since 0.2.1
+     */
+    public static EmbeddingKey of(String model, EmbedRequest request, JsonService jsonService) throws JsonException {
+        MessageDigest digest = sha256();
+        update(digest, request.getModel() != null ? request.getModel() : model);
+        update(digest, request.getTaskType() != null ? request.getTaskType().name() : null);
+        update(digest, request.getOutputDimensionality() != null ? request.getOutputDimensionality().toString() : null);
+        update(digest, request.getTitle());
+        if (request.getContent() != null) {
+            digest.update(jsonService.serializeToBytes(request.getContent()));
+        }
+        return new EmbeddingKey(digest.digest());
+    }
+
+    /**
+     * Wraps a digest previously obtained from {@link #toBytes()}.
+     *
+     * @param digest The digest, {@value #LENGTH} bytes long.
+     * @return The key.
+     * @throws IllegalArgumentException If the digest does not have the expected length.
+     * @since 0.2.1
+     */
+    public static EmbeddingKey fromBytes(byte[] digest) {
+        if (digest.length != LENGTH) {
+            throw new IllegalArgumentException("An embedding key must be " + LENGTH + " bytes long.");
+        }
+        return new EmbeddingKey(digest.clone());
+    }
+
+    /**
+     * Returns a copy of the digest of this key.
+     *
+     * @return The digest, {@value #LENGTH} bytes long.
+     * @since 0.2.1
+     */
+    public byte[] toBytes() {
+        return digest.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmbeddingKey)) {
+            return false;
+        }
+        return Arrays.equals(digest, ((EmbeddingKey) o).digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Adds a field followed by a separator to the digest, so adjacent fields cannot be confused.
+     *
+     * @param digest The digest.
+     * @param value  The field, may be null.
+     */
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Creates a SHA-256 digest, which every Java platform is required to support.
+     *
+     * @return A new digest.
+     */
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
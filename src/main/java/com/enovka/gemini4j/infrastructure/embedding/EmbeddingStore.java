@@ -0,0 +1,50 @@
+package com.enovka.gemini4j.infrastructure.embedding;
+
+import java.io.Closeable;
+
+/**
+ * A store of embedding vectors keyed by {@link EmbeddingKey}, consulted before embedding
+ * requests are sent so that content embedded once is never paid for again. Implementations
+ * must be safe for concurrent use.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public interface EmbeddingStore extends Closeable {
+
+    /**
+     * Returns the vector stored under the given key.
+     *
+     * @param key The key of the embedding.
+     * @return A copy of the vector, or null if the store holds none.
+     * @since 0.2.1
+     */
+    float[] get(EmbeddingKey key);
+
+    /**
+     * Stores a vector under the given key. Embeddings are deterministic, so a key that is
+     * already stored keeps its vector.
+     *
+     * @param key    The key of the embedding.
+     * @param vector The vector.
+     * @since 0.2.1
+     */
+    void put(EmbeddingKey key, float[] vector);
+
+    /**
+     * Indicates whether the store holds a vector for the given key.
+     *
+     * @param key The key of the embedding.
+     * @return {@code true} if the key is stored.
+     * @since 0.2.1
+     */
+    boolean contains(EmbeddingKey key);
+
+    /**
+     * Returns the number of vectors held.
+     *
+     * @return The number of vectors.
+     * @since 0.2.1
+     */
+    int size();
+}
@@ -0,0 +1,369 @@
+package com.enovka.gemini4j.infrastructure.embedding;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An {@link EmbeddingStore} persisted in append-only segment files that are memory-mapped, so
+ * vectors survive restarts and are read straight from the page cache without any parsing.
+ * <p>
+ * Each segment starts with a 16 byte header (magic number, format version and the length of
+ * its committed records) followed by records made of the 32 byte {@link EmbeddingKey}, the
+ * vector dimension and the vector itself as little-endian floats. A record only becomes
+ * visible once the header's committed length covers it, so a crash in the middle of an append
+ * leaves the segment readable. A new segment is started when a record does not fit in the
+ * current one.
+ * <p>
+ * Opening a store maps its segments and walks the record headers to rebuild the in-memory
+ * index; the vectors themselves are neither read nor deserialized until they are looked up.
+ * Lookups are lock-free and may run concurrently with appends, which are serialized.
+ * <p>
+ * The mappings are released by the garbage collector once the store is closed and
+ * unreachable, as Java offers no portable way to unmap a file explicitly.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class MappedEmbeddingStore extends BaseClass implements EmbeddingStore {
+
+    /**
+     * The default size of a segment file, 64 MiB.
+     */
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private static final int MAGIC = 0x47344A45;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int COMMITTED_OFFSET = 8;
+    private static final int RECORD_HEADER_BYTES = EmbeddingKey.LENGTH + Integer.BYTES;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".emb";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int dimension;
+    private final ConcurrentHashMap<EmbeddingKey, Long> index = new ConcurrentHashMap<>();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * Opens a store with segments of {@link #DEFAULT_SEGMENT_BYTES}.
+     *
+     * @param directory The directory holding the segment files, created if needed.
+     * @throws IOException If the directory or a segment cannot be opened.
+     * @since 0.2.1
+     */
+    public MappedEmbeddingStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens a store, mapping its existing segments and indexing their records.
+     *
+     * @param directory    The directory holding the segment files, created if needed.
+     * @param segmentBytes The size of new segment files, in bytes.
+     * @throws IOException              If the directory or a segment cannot be opened, or if a
+     *                                  segment is not a valid embedding segment.
+     * @throws IllegalArgumentException If the segment size cannot hold a single record.
+     * @since 0.2.1
+     */
+    public MappedEmbeddingStore(Path directory, int segmentBytes) throws IOException {
+        this(directory, segmentBytes, 0);
+    }
+
+    /**
+     * Opens a store holding vectors of a single dimension, mapping its existing segments and
+     * indexing their records. Segments holding vectors of another dimension, for example
+     * written for another embedding model, are rejected when the store is opened instead of
+     * being served later.
+     *
+     * @param directory    The directory holding the segment files, created if needed.
+     * @param segmentBytes The size of new segment files, in bytes.
+     * @param dimension    The dimension of every vector, or zero to accept any dimension.
+     * @throws IOException              If the directory or a segment cannot be opened, or if a
+     *                                  segment is not a valid embedding segment or holds vectors
+     *                                  of another dimension.
+     * @throws IllegalArgumentException If the segment size cannot hold a single record or the
+     *                                  dimension is negative.
+     * @since 0.2.1
+     */
+    public MappedEmbeddingStore(Path directory, int segmentBytes, int dimension) throws IOException {
+        if (segmentBytes <= HEADER_BYTES + RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("segmentBytes is too small to hold a record.");
+        }
+        if (dimension < 0) {
+            throw new IllegalArgumentException("dimension must not be negative.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.dimension = dimension;
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        try {
+            for (Path file : files) {
+                openSegment(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        logDebug(String.format("Opened embedding store %s with %d vectors in %d segments.",
+                directory, index.size(), segments.size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public float[] get(EmbeddingKey key) {
+        ensureOpen();
+        Long location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        Segment segment = segments.get(segmentOf(location));
+        int offset = offsetOf(location);
+        ByteBuffer reader = segment.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        float[] vector = new float[reader.getInt(offset + EmbeddingKey.LENGTH)];
+        reader.position(offset + RECORD_HEADER_BYTES);
+        reader.asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException If the vector does not fit in a segment or does not have
+     *                                  the dimension of the store.
+     * @throws IllegalStateException    If a new segment cannot be created.
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void put(EmbeddingKey key, float[] vector) {
+        ensureOpen();
+        if (dimension > 0 && vector.length != dimension) {
+            throw new IllegalArgumentException("A vector of " + vector.length
+                    + " dimensions cannot be stored with vectors of " + dimension + " dimensions.");
+        }
+        if (index.containsKey(key)) {
+            return;
+        }
+        long recordBytes = RECORD_HEADER_BYTES + (long) vector.length * Float.BYTES;
+        if (recordBytes > segmentBytes - HEADER_BYTES) {
+            throw new IllegalArgumentException("A vector of " + vector.length
+                    + " dimensions does not fit in a segment of " + segmentBytes + " bytes.");
+        }
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.committed + recordBytes > segment.capacity) {
+            try {
+                segment = createSegment();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to create an embedding segment: " + e.getMessage(), e);
+            }
+        }
+        int offset = segment.committed;
+        ByteBuffer writer = segment.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        writer.position(offset);
+        writer.put(key.toBytes());
+        writer.putInt(vector.length);
+        writer.asFloatBuffer().put(vector);
+        segment.committed = offset + (int) recordBytes;
+        segment.buffer.putLong(COMMITTED_OFFSET, segment.committed);
+        index.put(key, locationOf(segments.size() - 1, offset));
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public boolean contains(EmbeddingKey key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Forces the appended records to the storage device.
+     *
+     * @since 0.2.1
+     */
+    public synchronized void flush() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the segment files. The store cannot be used afterwards.
+     *
+     * @throws IOException If a segment file cannot be closed.
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException failure = null;
+        for (Segment segment : segments) {
+            try {
+                segment.buffer.force();
+                segment.channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the directory holding the segment files.
+     *
+     * @return The directory.
+     * @since 0.2.1
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the number of segment files.
+     *
+     * @return The number of segments.
+     * @since 0.2.1
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Maps an existing segment and indexes its committed records.
+     *
+     * @param file The segment file.
+     * @throws IOException If the file cannot be mapped, is not a valid segment or holds
+     *                     vectors of another dimension than the store.
+     */
+    private void openSegment(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Invalid embedding segment size: " + file);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        long committed = buffer.getLong(COMMITTED_OFFSET);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || committed < HEADER_BYTES || committed > size) {
+            channel.close();
+            throw new IOException("Not an embedding segment: " + file);
+        }
+        Segment segment = new Segment(channel, buffer, (int) size, (int) committed);
+        int segmentIndex = segments.size();
+        segments.add(segment);
+        byte[] digest = new byte[EmbeddingKey.LENGTH];
+        ByteBuffer reader = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int offset = HEADER_BYTES;
+        while (offset < segment.committed) {
+            reader.position(offset);
+            reader.get(digest);
+            int recordDimension = reader.getInt();
+            long end = offset + RECORD_HEADER_BYTES + (long) recordDimension * Float.BYTES;
+            if (recordDimension < 0 || end > segment.committed) {
+                throw new IOException("Corrupt embedding segment: " + file);
+            }
+            if (dimension > 0 && recordDimension != dimension) {
+                throw new IOException(String.format("Embedding segment %s holds vectors of %d dimensions, expected %d.",
+                        file, recordDimension, dimension));
+            }
+            index.putIfAbsent(EmbeddingKey.fromBytes(digest), locationOf(segmentIndex, offset));
+            offset = (int) end;
+        }
+    }
+
+    /**
+     * Creates, maps and registers a new empty segment. Must be called while holding the lock.
+     *
+     * @return The new segment.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    private Segment createSegment() throws IOException {
+        Path file = directory.resolve(String.format("%s%08d%s", PREFIX, segments.size(), SUFFIX));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(COMMITTED_OFFSET, HEADER_BYTES);
+        Segment segment = new Segment(channel, buffer, segmentBytes, HEADER_BYTES);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Fails if the store was closed.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("The embedding store is closed.");
+        }
+    }
+
+    private static long locationOf(int segment, int offset) {
+        return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+
+    /**
+     * A mapped segment file and the length of its committed records.
+     */
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int committed;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer, int capacity, int committed) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.committed = committed;
+        }
+    }
+}
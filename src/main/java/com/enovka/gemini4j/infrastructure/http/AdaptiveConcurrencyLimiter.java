@@ -0,0 +1,159 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An adaptive limit on the number of requests in flight, using additive increase /
+ * multiplicative decrease (AIMD) driven by both errors and latency.
+ * <p>
+ * Two exponential moving averages of the request latency are kept: a short-term one reacting
+ * within a few requests, and a long-term baseline. When the short-term latency exceeds the
+ * baseline by more than the configured tolerance, or when a request fails because of overload
+ * (timeouts, HTTP 429 or 5xx), the upstream is considered congested and the limit is multiplied
+ * by the backoff ratio. Otherwise, as long as the limit is actually being used, it grows by
+ * roughly one per limit-sized batch of successful requests. Requests above the limit are not
+ * queued: {@link #tryAcquire()} fails immediately so that the caller can fail fast.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class AdaptiveConcurrencyLimiter extends BaseClass {
+
+    private static final double SHORT_SMOOTHING = 0.2;
+    private static final double LONG_SMOOTHING = 0.01;
+
+    private final ConcurrencyLimitConfig config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimiter with the default configuration.
+     *
+     * @since 0.2.1
+     */
+    public AdaptiveConcurrencyLimiter() {
+        this(ConcurrencyLimitConfig.defaults());
+    }
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimiter.
+     *
+     * @param config The limiter configuration.
+     * @throws IllegalArgumentException If the limits are inconsistent.
+     * @since 0.2.1
+     */
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitConfig config) {
+        if (config.getMinLimit() <= 0 || config.getMaxLimit() < config.getMinLimit()) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < minLimit <= maxLimit.");
+        }
+        this.config = config;
+        this.estimatedLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), config.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Takes an in-flight slot if the current limit allows it. Every successful acquisition must
+     * be followed by exactly one call to {@link #onSuccess(long)}, {@link #onDropped(long)} or
+     * {@link #onIgnored()}.
+     *
+     * @return {@code true} if the request may be sent, {@code false} if the limit is reached.
+     * @since 0.2.1
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot after a successful request and feeds its latency to the limit.
+     *
+     * @param latencyNanos The latency of the request.
+     * @since 0.2.1
+     */
+    public void onSuccess(long latencyNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(latencyNanos, false, inFlightAtCompletion);
+    }
+
+    /**
+     * Releases a slot after a request failed because of overload, shrinking the limit.
+     *
+     * @param latencyNanos The latency of the request.
+     * @since 0.2.1
+     */
+    public void onDropped(long latencyNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(latencyNanos, true, inFlightAtCompletion);
+    }
+
+    /**
+     * Releases a slot without adjusting the limit, for requests whose outcome says nothing
+     * about the upstream load (for example client errors or cancellations).
+     *
+     * @since 0.2.1
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return The limit.
+     * @since 0.2.1
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of requests currently in flight.
+     *
+     * @return The in-flight count.
+     * @since 0.2.1
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Applies one AIMD step.
+     *
+     * @param latencyNanos         The latency of the completed request.
+     * @param dropped              Whether the request failed because of overload.
+     * @param inFlightAtCompletion The number of requests in flight when it completed.
+     */
+    private synchronized void update(long latencyNanos, boolean dropped, int inFlightAtCompletion) {
+        if (shortLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+        } else {
+            shortLatency += SHORT_SMOOTHING * (latencyNanos - shortLatency);
+            longLatency += LONG_SMOOTHING * (latencyNanos - longLatency);
+        }
+        boolean congested = dropped || shortLatency > longLatency * config.getLatencyTolerance();
+        double previous = estimatedLimit;
+        if (congested) {
+            estimatedLimit = Math.max(config.getMinLimit(), estimatedLimit * config.getBackoffRatio());
+        } else if (inFlightAtCompletion * 2 >= estimatedLimit) {
+            estimatedLimit = Math.min(config.getMaxLimit(), estimatedLimit + 1.0 / estimatedLimit);
+        }
+        int newLimit = (int) estimatedLimit;
+        if (newLimit != (int) previous) {
+            logDebug(String.format("Concurrency limit changed from %d to %d.", (int) previous, newLimit));
+        }
+        limit = newLimit;
+    }
+}
@@ -0,0 +1,236 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A count-based circuit breaker guarding the requests of an
+ * {@link com.enovka.gemini4j.infrastructure.http.spec.HttpClient}.
+ * <p>
+ * While {@link CircuitBreakerState#CLOSED closed}, the outcome and duration of the last
+ * {@code slidingWindowSize} calls are recorded. Once at least {@code minimumCalls} calls have
+ * been recorded and either the failure rate or the slow call rate reaches its threshold, the
+ * breaker {@link CircuitBreakerState#OPEN opens} and rejects every call for
+ * {@code openDuration}. It then turns {@link CircuitBreakerState#HALF_OPEN half-open} and lets
+ * {@code halfOpenCalls} trial calls through: if they are healthy the breaker closes again,
+ * otherwise it reopens. Rejecting calls up front is far cheaper than letting them queue for
+ * minutes in the connection pool of a degraded upstream.
+ * <p>
+ * Permission checks on the closed fast path only read a volatile field; recording takes a short
+ * lock to keep the window counters consistent.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class CircuitBreaker extends BaseClass {
+
+    private static final byte OUTCOME_SUCCESS = 0;
+    private static final byte OUTCOME_FAILURE = 1;
+    private static final byte OUTCOME_SLOW = 2;
+    private static final byte OUTCOME_SLOW_FAILURE = OUTCOME_FAILURE | OUTCOME_SLOW;
+
+    private final CircuitBreakerConfig config;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int failures;
+    private int slowCalls;
+    private int halfOpenPermits;
+    private int halfOpenRecorded;
+    private int halfOpenFailures;
+    private long openedAt;
+    private volatile CircuitBreakerState state = CircuitBreakerState.CLOSED;
+
+    /**
+     * Constructs a new CircuitBreaker with the default configuration.
+     *
+     * @since 0.2.1
+     */
+    public CircuitBreaker() {
+        this(CircuitBreakerConfig.defaults());
+    }
+
+    /**
+     * Constructs a new CircuitBreaker.
+     *
+     * @param config The breaker configuration.
+     * @throws IllegalArgumentException If the window size or the number of half-open calls is
+     *                                  not positive.
+     * @since 0.2.1
+     */
+    public CircuitBreaker(CircuitBreakerConfig config) {
+        if (config.getSlidingWindowSize() <= 0 || config.getHalfOpenCalls() <= 0) {
+            throw new IllegalArgumentException("slidingWindowSize and halfOpenCalls must be greater than zero.");
+        }
+        this.config = config;
+        this.slowCallNanos = config.getSlowCallDuration().toNanos();
+        this.openNanos = config.getOpenDuration().toNanos();
+        this.window = new byte[config.getSlidingWindowSize()];
+    }
+
+    /**
+     * Asks for permission to send a call. Every granted permission must be followed by exactly
+     * one call to {@link #onSuccess(long)}, {@link #onError(long)} or
+     * {@link #releasePermission()}.
+     *
+     * @return {@code true} if the call may proceed, {@code false} if it must be rejected.
+     * @since 0.2.1
+     */
+    public boolean tryAcquirePermission() {
+        if (state == CircuitBreakerState.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == CircuitBreakerState.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                transitionTo(CircuitBreakerState.HALF_OPEN);
+            }
+            if (state == CircuitBreakerState.HALF_OPEN) {
+                if (halfOpenPermits >= config.getHalfOpenCalls()) {
+                    return false;
+                }
+                halfOpenPermits++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Releases a permission whose call was not sent or whose outcome must not be recorded.
+     *
+     * @since 0.2.1
+     */
+    public synchronized void releasePermission() {
+        if (state == CircuitBreakerState.HALF_OPEN && halfOpenPermits > halfOpenRecorded) {
+            halfOpenPermits--;
+        }
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param durationNanos The duration of the call, used to detect slow calls.
+     * @since 0.2.1
+     */
+    public void onSuccess(long durationNanos) {
+        record(durationNanos >= slowCallNanos ? OUTCOME_SLOW : OUTCOME_SUCCESS);
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param durationNanos The duration of the call, used to detect slow calls.
+     * @since 0.2.1
+     */
+    public void onError(long durationNanos) {
+        record(durationNanos >= slowCallNanos ? OUTCOME_SLOW_FAILURE : OUTCOME_FAILURE);
+    }
+
+    /**
+     * Returns the current state. An open breaker whose open duration has elapsed still reports
+     * {@link CircuitBreakerState#OPEN} until the next permission request.
+     *
+     * @return The breaker state.
+     * @since 0.2.1
+     */
+    public CircuitBreakerState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the configuration of this breaker.
+     *
+     * @return The breaker configuration.
+     * @since 0.2.1
+     */
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Records an outcome in the current state and applies the resulting transition.
+     *
+     * @param outcome The outcome flags.
+     */
+    private synchronized void record(byte outcome) {
+        boolean failed = (outcome & OUTCOME_FAILURE) != 0;
+        boolean slow = (outcome & OUTCOME_SLOW) != 0;
+        switch (state) {
+            case CLOSED:
+                if (windowCount == window.length) {
+                    byte evicted = window[windowIndex];
+                    failures -= evicted & OUTCOME_FAILURE;
+                    slowCalls -= (evicted & OUTCOME_SLOW) >> 1;
+                } else {
+                    windowCount++;
+                }
+                window[windowIndex] = outcome;
+                windowIndex = (windowIndex + 1) % window.length;
+                failures += failed ? 1 : 0;
+                slowCalls += slow ? 1 : 0;
+                if (windowCount >= config.getMinimumCalls() && isUnhealthy(failures, slowCalls, windowCount)) {
+                    logWarn(String.format("Circuit breaker opening: %d failures and %d slow calls in %d calls.",
+                            failures, slowCalls, windowCount));
+                    transitionTo(CircuitBreakerState.OPEN);
+                }
+                break;
+            case HALF_OPEN:
+                halfOpenRecorded++;
+                halfOpenFailures += failed || slow ? 1 : 0;
+                if (halfOpenFailures > 0 && isUnhealthy(halfOpenFailures, 0, config.getHalfOpenCalls())) {
+                    logWarn("Circuit breaker trial calls failed. Reopening.");
+                    transitionTo(CircuitBreakerState.OPEN);
+                } else if (halfOpenRecorded >= config.getHalfOpenCalls()) {
+                    logInfo("Circuit breaker trial calls succeeded. Closing.");
+                    transitionTo(CircuitBreakerState.CLOSED);
+                }
+                break;
+            default:
+                // Outcomes of calls admitted before the breaker opened are ignored.
+                break;
+        }
+    }
+
+    /**
+     * Evaluates the failure and slow call rates against their thresholds.
+     *
+     * @param failed The number of failed calls.
+     * @param slow   The number of slow calls.
+     * @param total  The number of calls.
+     * @return {@code true} if either threshold is reached.
+     */
+    private boolean isUnhealthy(int failed, int slow, int total) {
+        return (double) failed / total >= config.getFailureRateThreshold()
+                || (double) slow / total >= config.getSlowCallRateThreshold();
+    }
+
+    /**
+     * Switches to the given state and resets the counters of the state being entered.
+     *
+     * @param newState The new state.
+     */
+    private void transitionTo(CircuitBreakerState newState) {
+        if (newState == CircuitBreakerState.OPEN) {
+            openedAt = System.nanoTime();
+            logDebug(String.format("Circuit breaker open for %d milliseconds.",
+                    TimeUnit.NANOSECONDS.toMillis(openNanos)));
+        }
+        if (newState == CircuitBreakerState.HALF_OPEN) {
+            halfOpenPermits = 0;
+            halfOpenRecorded = 0;
+            halfOpenFailures = 0;
+        }
+        if (newState == CircuitBreakerState.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+        state = newState;
+    }
+}
@@ -0,0 +1,72 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Immutable configuration of a {@link CircuitBreaker}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class CircuitBreakerConfig {
+
+    /**
+     * The failure rate, between 0 and 1, at or above which the breaker opens. Defaults to 0.5.
+     */
+    @Builder.Default
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * The slow call rate, between 0 and 1, at or above which the breaker opens. Defaults to
+     * 0.8.
+     */
+    @Builder.Default
+    private double slowCallRateThreshold = 0.8;
+
+    /**
+     * The duration above which a call is considered slow. Defaults to 60 seconds.
+     */
+    @Builder.Default
+    private Duration slowCallDuration = Duration.ofSeconds(60);
+
+    /**
+     * The number of most recent calls the rates are computed over. Defaults to 50.
+     */
+    @Builder.Default
+    private int slidingWindowSize = 50;
+
+    /**
+     * The number of calls that must be recorded before the rates are evaluated. Defaults to
+     * 20.
+     */
+    @Builder.Default
+    private int minimumCalls = 20;
+
+    /**
+     * How long the breaker stays open before letting trial calls through. Defaults to 30
+     * seconds.
+     */
+    @Builder.Default
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * The number of trial calls allowed while half-open. Defaults to 5.
+     */
+    @Builder.Default
+    private int halfOpenCalls = 5;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return A configuration with the default settings.
+     * @since 0.2.1
+     */
+    public static CircuitBreakerConfig defaults() {
+        return CircuitBreakerConfig.builder().build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+/**
+ * States of a {@link CircuitBreaker}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public enum CircuitBreakerState {
+
+    /**
+     * Requests flow normally while their outcomes are recorded.
+     */
+    CLOSED,
+
+    /**
+     * Requests are rejected immediately until the open duration elapses.
+     */
+    OPEN,
+
+    /**
+     * A limited number of trial requests is let through to decide whether the upstream has
+     * recovered.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,56 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable configuration of an {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * The limit used until enough samples have been observed. Defaults to 20.
+     */
+    @Builder.Default
+    private int initialLimit = 20;
+
+    /**
+     * The lowest limit the limiter may shrink to. Defaults to 1.
+     */
+    @Builder.Default
+    private int minLimit = 1;
+
+    /**
+     * The highest limit the limiter may grow to. Defaults to 200.
+     */
+    @Builder.Default
+    private int maxLimit = 200;
+
+    /**
+     * The factor applied to the limit when congestion is detected. Defaults to 0.9.
+     */
+    @Builder.Default
+    private double backoffRatio = 0.9;
+
+    /**
+     * How much the short-term latency may exceed the long-term baseline before it is treated
+     * as congestion. Defaults to 2.0, i.e. twice the baseline.
+     */
+    @Builder.Default
+    private double latencyTolerance = 2.0;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return A configuration with the default settings.
+     * @since 0.2.1
+     */
+    public static ConcurrencyLimitConfig defaults() {
+        return ConcurrencyLimitConfig.builder().build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Immutable description of how idempotent asynchronous requests are hedged to cut tail
+ * latency. When the first attempt has not completed after the hedge delay, one duplicate is
+ * sent and whichever attempt answers first wins; the other one is cancelled.
+ * <p>
+ * The hedge delay is either {@link #getDelay() fixed} or, when no fixed delay is set, learned
+ * from the latencies recently observed by the hedger: the configured
+ * {@link #getPercentile() percentile} of the last {@link #getSampleSize() samples}, bounded
+ * below by {@link #getMinDelay() the minimum delay}. Hedges are limited by a budget of
+ * {@link #getBudgetRatio() extra requests per request}, so hedging cannot double the quota
+ * usage when the backend is slow across the board.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class HedgingPolicy {
+
+    /**
+     * A fixed hedge delay. When null (the default), the delay is derived from recent latencies.
+     */
+    private Duration delay;
+
+    /**
+     * The latency percentile used as hedge delay when no fixed delay is set. Defaults to 0.95.
+     */
+    @Builder.Default
+    private double percentile = 0.95;
+
+    /**
+     * The lower bound of the learned hedge delay. Defaults to 50 milliseconds.
+     */
+    @Builder.Default
+    private Duration minDelay = Duration.ofMillis(50);
+
+    /**
+     * The number of recent latencies kept to compute the percentile. Defaults to 128.
+     */
+    @Builder.Default
+    private int sampleSize = 128;
+
+    /**
+     * The number of latencies that must be observed before learned hedging starts. Defaults to
+     * 20.
+     */
+    @Builder.Default
+    private int minSamples = 20;
+
+    /**
+     * The number of hedges earned by every request. Defaults to 0.1, which caps hedging at 10%
+     * extra requests in steady state.
+     */
+    @Builder.Default
+    private double budgetRatio = 0.1;
+
+    /**
+     * The number of hedges that may be spent in a burst. Defaults to 5.
+     */
+    @Builder.Default
+    private int budgetBurst = 5;
+
+    /**
+     * Returns a hedging policy using the given fixed delay and default budget.
+     *
+     * @param delay The hedge delay.
+     * @return A new hedging policy.
+     * @since 0.2.1
+     */
+    public static HedgingPolicy fixedDelay(Duration delay) {
+        return HedgingPolicy.builder().withDelay(delay).build();
+    }
+
+    /**
+     * Returns a hedging policy that learns its delay from the given latency percentile.
+     *
+     * @param percentile The latency percentile, between 0 and 1.
+     * @return A new hedging policy.
+     * @since 0.2.1
+     */
+    public static HedgingPolicy percentile(double percentile) {
+        return HedgingPolicy.builder().withPercentile(percentile).build();
+    }
+}
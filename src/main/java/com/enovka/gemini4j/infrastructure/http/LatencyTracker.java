@@ -0,0 +1,75 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the most recent request latencies in a fixed-size ring buffer and computes percentiles
+ * over them. Recording is a lock-free slot write; percentiles copy and sort the buffer, which
+ * is cheap for the small sample sizes used for hedging.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class LatencyTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    /**
+     * Constructs a new LatencyTracker.
+     *
+     * @param sampleSize The number of recent latencies to keep.
+     * @throws IllegalArgumentException If the sample size is not positive.
+     * @since 0.2.1
+     */
+    public LatencyTracker(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("sampleSize must be greater than zero.");
+        }
+        this.samples = new AtomicLongArray(sampleSize);
+    }
+
+    /**
+     * Records a latency, replacing the oldest one once the buffer is full.
+     *
+     * @param latencyNanos The latency in nanoseconds.
+     * @since 0.2.1
+     */
+    public void record(long latencyNanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), latencyNanos);
+    }
+
+    /**
+     * Returns the number of latencies currently held, at most the sample size.
+     *
+     * @return The number of samples.
+     * @since 0.2.1
+     */
+    public int getSampleCount() {
+        return (int) Math.min(recorded.get(), samples.length());
+    }
+
+    /**
+     * Computes a percentile of the recorded latencies.
+     *
+     * @param percentile The percentile, between 0 and 1.
+     * @return The latency in nanoseconds, or -1 if nothing was recorded yet.
+     * @since 0.2.1
+     */
+    public long percentile(double percentile) {
+        int count = getSampleCount();
+        if (count == 0) {
+            return -1;
+        }
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = samples.get(i);
+        }
+        Arrays.sort(values);
+        int rank = (int) Math.ceil(Math.min(1.0, Math.max(0.0, percentile)) * count) - 1;
+        return values[Math.max(0, rank)];
+    }
+}
@@ -1,85 +1,43 @@
 package com.enovka.gemini4j.infrastructure.http;
 
-import com.enovka.gemini4j.infrastructure.tool.BaseClass;
-
-import java.time.Duration;
-import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * A rate limiter that controls the rate of requests based on a sliding window
- * time frame. This rate limiter allows a fixed number of requests within a
- * specified time window and tracks the timestamps of requests to enforce the
- * rate limit.
+ * Contract for rate limiters guarding the requests sent by an
+ * {@link com.enovka.gemini4j.infrastructure.http.spec.HttpClient}. Implementations must be
+ * thread-safe, since a single limiter is shared by every caller of the client.
+ * <p>
+ * Three acquisition styles are offered: {@link #acquire()} blocks the calling thread,
+ * {@link #tryAcquire()} never waits, and {@link #acquireAsync()} returns a future completed once
+ * the permit is granted, allowing asynchronous callers to wait without holding a thread.
  *
  * @author Everson Novka &lt;enovka@gmail.com&gt;
  * @since 0.1.1
  */
-public class RateLimiter extends BaseClass {
-
-    private final int requestsPerWindow;
-    private final Duration windowDuration;
-    private final Queue<Instant> requestTimestamps;
+public interface RateLimiter {
 
     /**
-     * Constructs a new RateLimiter with the specified rate limit parameters.
+     * Acquires a permit, blocking the calling thread if necessary until one becomes available
+     * within the rate limit.
      *
-     * @param requestsPerWindow The maximum number of requests allowed within
-     *                          the time window.
-     * @param windowDuration    The duration of the sliding time window.
+     * @since 0.1.1
      */
-    public RateLimiter(int requestsPerWindow, Duration windowDuration) {
-        this.requestsPerWindow = requestsPerWindow;
-        this.windowDuration = windowDuration;
-        this.requestTimestamps = new LinkedList<>();
-    }
+    void acquire();
 
     /**
-     * Acquires a permit from the rate limiter, blocking if necessary until a
-     * permit becomes available within the rate limit. This method ensures that
-     * the rate of requests does not exceed the configured limit.
+     * Acquires a permit only if one is available right now.
+     *
+     * @return {@code true} if the permit was granted, {@code false} otherwise.
+     * @since 0.2.1
      */
-    public synchronized void acquire() {
-        logDebug("Acquiring permit from rate limiter.");
-        cleanupExpiredTimestamps();
-
-        while (requestTimestamps.size() >= requestsPerWindow) {
-            Duration timeToWait = Duration.between(requestTimestamps.peek(),
-                    Instant.now());
-            long waitMillis = timeToWait.toMillis();
-            if (waitMillis > 0) {
-                logInfo(String.format(
-                        "Rate limit reached. Waiting for %d milliseconds.",
-                        waitMillis));
-                try {
-                    wait(waitMillis);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logError(
-                            "Interrupted while waiting for rate limiter permit.",
-                            e);
-                    // Rethrow as RuntimeException to avoid checked exceptions
-                    throw new RuntimeException(e);
-                }
-            }
-            cleanupExpiredTimestamps();
-        }
-
-        requestTimestamps.offer(Instant.now());
-        logDebug("Permit acquired.");
-    }
+    boolean tryAcquire();
 
     /**
-     * Removes timestamps from the queue that are older than the specified time
-     * window. This method ensures that only timestamps within the current
-     * sliding window are considered for rate limiting.
+     * Acquires a permit without blocking the calling thread. The returned future completes once
+     * the permit has been granted.
+     *
+     * @return A {@link CompletableFuture} completed when the permit is available.
+     * @since 0.2.1
      */
-    private void cleanupExpiredTimestamps() {
-        Instant now = Instant.now();
-        while (!requestTimestamps.isEmpty() && Duration.between(
-                requestTimestamps.peek(), now).compareTo(windowDuration) > 0) {
-            requestTimestamps.poll();
-        }
-    }
-}
\ No newline at end of file
+    CompletableFuture<Void> acquireAsync();
+}
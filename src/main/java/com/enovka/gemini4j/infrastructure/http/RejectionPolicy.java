@@ -0,0 +1,19 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+/**
+ * Policy applied by an asynchronous HTTP call when the queue of requests waiting for a rate
+ * limit permit is full. An asynchronous call never blocks its thread, so a full queue can only
+ * reject the request; callers that want back-pressure bound their own in-flight requests.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Fails the returned future immediately with an
+     * {@link com.enovka.gemini4j.infrastructure.http.exception.HttpException} carrying status
+     * code 429, without sending the request.
+     */
+    FAIL_FAST
+}
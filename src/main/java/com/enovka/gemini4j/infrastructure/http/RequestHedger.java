@@ -0,0 +1,172 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executes idempotent asynchronous requests according to a {@link HedgingPolicy}. The first
+ * attempt is dispatched immediately; if it is still pending after the hedge delay and the hedge
+ * budget allows it, a second attempt is dispatched. The first successful attempt completes the
+ * returned future and every other attempt is cancelled, which aborts the underlying HTTP
+ * exchange. The request fails only once every dispatched attempt has failed.
+ * <p>
+ * A hedger keeps its own latency history, so one instance should be used per kind of request
+ * (for example, per resource) to learn a meaningful delay. Every successful request records the
+ * latency its caller saw, measured from the dispatch of the first attempt. When a hedge wins,
+ * this is also the time the slow first attempt had been running when it was cancelled, so the
+ * tail of the history keeps the latency of the requests that needed a hedge instead of the
+ * shorter latency of the hedge alone.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class RequestHedger extends BaseClass {
+
+    private final HedgingPolicy policy;
+    private final LatencyTracker latencyTracker;
+    private final RetryBudget hedgeBudget;
+
+    /**
+     * Constructs a new RequestHedger.
+     *
+     * @param policy The hedging policy.
+     * @since 0.2.1
+     */
+    public RequestHedger(HedgingPolicy policy) {
+        this.policy = policy;
+        this.latencyTracker = new LatencyTracker(policy.getSampleSize());
+        this.hedgeBudget = new RetryBudget(policy.getBudgetRatio(), policy.getBudgetBurst());
+    }
+
+    /**
+     * Returns the hedging policy of this hedger.
+     *
+     * @return The hedging policy.
+     * @since 0.2.1
+     */
+    public HedgingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the latencies observed by this hedger.
+     *
+     * @return The latency tracker.
+     * @since 0.2.1
+     */
+    public LatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    /**
+     * Executes a request, hedging it when it is slower than the hedge delay.
+     *
+     * @param dispatcher Supplies the future of one attempt; invoked once per attempt.
+     * @param <T>        The result type of the request.
+     * @return A {@link CompletableFuture} completed with the first successful attempt.
+     * @since 0.2.1
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> dispatcher) {
+        return execute(dispatcher, dispatcher);
+    }
+
+    /**
+     * Executes a request, hedging it when it is slower than the hedge delay, with a separate
+     * dispatcher for the hedge. The hedge dispatcher may decline to send the hedge, for
+     * example when the quota it needs is not available.
+     *
+     * @param dispatcher      Supplies the future of the first attempt.
+     * @param hedgeDispatcher Supplies the future of the hedge, or null to skip it.
+     * @param <T>             The result type of the request.
+     * @return A {@link CompletableFuture} completed with the first successful attempt.
+     * @since 0.2.1
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> dispatcher,
+                                            Supplier<CompletableFuture<T>> hedgeDispatcher) {
+        hedgeBudget.recordRequest();
+        long start = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        List<CompletableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger();
+        result.whenComplete((response, exception) -> attempts.forEach(attempt -> {
+            if (!attempt.isDone()) {
+                attempt.cancel(true);
+            }
+        }));
+
+        dispatch(dispatcher, start, result, attempts, pending);
+
+        long delayNanos = hedgeDelayNanos();
+        if (delayNanos >= 0) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                if (result.isDone() || !hedgeBudget.tryAcquireRetry()) {
+                    return;
+                }
+                logDebug(String.format("Request pending after %d milliseconds. Sending hedge.",
+                        TimeUnit.NANOSECONDS.toMillis(delayNanos)));
+                dispatch(hedgeDispatcher, start, result, attempts, pending);
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Dispatches one attempt and wires its outcome to the shared result.
+     *
+     * @param dispatcher Supplies the future of the attempt, or null to skip it.
+     * @param start      The time the request was executed, in nanoseconds.
+     * @param result     The future returned to the caller.
+     * @param attempts   All attempts dispatched so far.
+     * @param pending    The number of attempts still in flight.
+     * @param <T>        The result type of the request.
+     * @since 0.2.1
+     */
+    private <T> void dispatch(Supplier<CompletableFuture<T>> dispatcher, long start, CompletableFuture<T> result,
+                              List<CompletableFuture<T>> attempts, AtomicInteger pending) {
+        pending.incrementAndGet();
+        CompletableFuture<T> attempt = dispatcher.get();
+        if (attempt == null) {
+            logDebug("Hedge declined by its dispatcher.");
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(new IllegalStateException("No attempt was dispatched."));
+            }
+            return;
+        }
+        attempts.add(attempt);
+        if (result.isDone() && !attempt.isDone()) {
+            attempt.cancel(true);
+        }
+        attempt.whenComplete((response, exception) -> {
+            if (exception == null) {
+                if (!result.isDone()) {
+                    latencyTracker.record(System.nanoTime() - start);
+                    result.complete(response);
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(exception);
+            }
+        });
+    }
+
+    /**
+     * Computes the hedge delay for the next request.
+     *
+     * @return The delay in nanoseconds, or -1 if the request must not be hedged.
+     * @since 0.2.1
+     */
+    private long hedgeDelayNanos() {
+        if (policy.getDelay() != null) {
+            return policy.getDelay().toNanos();
+        }
+        if (latencyTracker.getSampleCount() < policy.getMinSamples()) {
+            return -1;
+        }
+        return Math.max(policy.getMinDelay().toNanos(), latencyTracker.percentile(policy.getPercentile()));
+    }
+}
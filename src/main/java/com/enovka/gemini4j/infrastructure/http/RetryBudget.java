@@ -0,0 +1,81 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket that limits retries to a fraction of the regular traffic. Every request
+ * deposits {@code ratio} tokens, up to {@code burst}, and every retry withdraws one. While
+ * the backend is healthy the budget stays full; during an outage, retries quickly drain it and
+ * further failures are returned to the caller instead of multiplying the load. The same
+ * mechanism bounds the duplicates sent by a {@link RequestHedger}.
+ * <p>
+ * Balances are kept in thousandths of a token in an {@link AtomicLong}, so the budget is
+ * lock-free.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    /**
+     * Constructs a new RetryBudget, initially full.
+     *
+     * @param ratio The number of retries earned by every request.
+     * @param burst The maximum number of retries that can be saved up.
+     * @throws IllegalArgumentException If the ratio or the burst is negative.
+     * @since 0.2.1
+     */
+    public RetryBudget(double ratio, int burst) {
+        if (ratio < 0 || burst < 0) {
+            throw new IllegalArgumentException("Retry budget ratio and burst must not be negative.");
+        }
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = burst * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Records a new request, earning its share of retries.
+     *
+     * @since 0.2.1
+     */
+    public void recordRequest() {
+        if (depositPerRequest > 0) {
+            balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+        }
+    }
+
+    /**
+     * Withdraws one retry from the budget if available.
+     *
+     * @return {@code true} if the retry may proceed.
+     * @since 0.2.1
+     */
+    public boolean tryAcquireRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of whole retries currently available.
+     *
+     * @return The available retries.
+     * @since 0.2.1
+     */
+    public long getAvailableRetries() {
+        return balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,292 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import com.enovka.gemini4j.infrastructure.http.exception.HttpException;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Immutable description of how an
+ * {@link com.enovka.gemini4j.infrastructure.http.spec.HttpClient} retries failed requests.
+ * <p>
+ * A failure is retried when the server answered with one of the
+ * {@link #getRetryableStatusCodes() retryable status codes}, or when no response was received
+ * because of an I/O error. A request the client stopped waiting for may still be processed, and
+ * billed, upstream, so client-side timeouts are only retried when
+ * {@link #isRetryOnTimeout()} is set. Delays follow the "decorrelated jitter" backoff: each
+ * delay is drawn uniformly between the base delay and three times the previous delay, capped at
+ * the maximum delay. This spreads retries from concurrent clients apart instead of
+ * synchronizing them into waves. When the server sends a {@code Retry-After} header, the delay
+ * is at least the requested time; if that time exceeds the maximum delay, the request is not
+ * retried at all.
+ * <p>
+ * Retries are also limited by a {@link RetryBudget}, which keeps them to a fraction of the
+ * regular traffic so that an outage does not turn into a retry storm.
+ * <p>
+ * HTTP clients do not retry unless a policy is set: a retry re-sends the request whatever its
+ * method, and a POST that failed after reaching the server, for example on a 500 or a
+ * connection reset while reading the response, may already have been billed or, for
+ * {@code cachedContents}, may have created a resource the caller never learns about.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class RetryPolicy {
+
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    /**
+     * The maximum number of attempts, including the first one. A value of one disables retries.
+     * Defaults to 3.
+     */
+    @Builder.Default
+    private int maxAttempts = 3;
+
+    /**
+     * The minimum delay between two attempts. Defaults to 500 milliseconds.
+     */
+    @Builder.Default
+    private Duration baseDelay = Duration.ofMillis(500);
+
+    /**
+     * The maximum delay between two attempts. Defaults to 30 seconds.
+     */
+    @Builder.Default
+    private Duration maxDelay = Duration.ofSeconds(30);
+
+    /**
+     * The HTTP status codes that trigger a retry. Defaults to 408, 429, 500, 502, 503 and 504.
+     */
+    @Builder.Default
+    private Set<Integer> retryableStatusCodes = Set.of(408, 429, 500, 502, 503, 504);
+
+    /**
+     * Whether requests that failed without a response because of an I/O error are retried.
+     * Client-side timeouts are governed by {@link #isRetryOnTimeout()}. Defaults to
+     * {@code true}.
+     */
+    @Builder.Default
+    private boolean retryOnConnectionFailure = true;
+
+    /**
+     * Whether requests the client stopped waiting for after its response timeout are retried.
+     * The timed out request is cancelled, but the server may already be processing it, so a
+     * retry can be billed twice. Defaults to {@code false}.
+     */
+    @Builder.Default
+    private boolean retryOnTimeout = false;
+
+    /**
+     * Whether the {@code Retry-After} response header is honored. Defaults to {@code true}.
+     */
+    @Builder.Default
+    private boolean honorRetryAfter = true;
+
+    /**
+     * The number of retries earned by every request, in steady state. Defaults to 0.2, which
+     * lets retries add at most 20% to the regular traffic.
+     */
+    @Builder.Default
+    private double retryBudgetRatio = 0.2;
+
+    /**
+     * The number of retries that may be spent in a burst, before the budget has to be earned
+     * back by regular requests. Defaults to 10.
+     */
+    @Builder.Default
+    private int retryBudgetBurst = 10;
+
+    /**
+     * Returns a policy that never retries.
+     *
+     * @return A policy with a single attempt.
+     * @since 0.2.1
+     */
+    public static RetryPolicy none() {
+        return RetryPolicy.builder().withMaxAttempts(1).build();
+    }
+
+    /**
+     * Returns a retry policy with the default settings of the builder. HTTP clients do not use
+     * it unless it is set explicitly; their default is {@link #none()}.
+     *
+     * @return A policy with the default settings.
+     * @since 0.2.1
+     */
+    public static RetryPolicy defaults() {
+        return RetryPolicy.builder().build();
+    }
+
+    /**
+     * Creates the retry budget described by this policy.
+     *
+     * @return A new {@link RetryBudget}.
+     * @since 0.2.1
+     */
+    public RetryBudget createBudget() {
+        return new RetryBudget(retryBudgetRatio, retryBudgetBurst);
+    }
+
+    /**
+     * Checks whether the given failure may be retried according to this policy. Only the
+     * failure itself is considered; attempts and budget are checked by the caller.
+     *
+     * @param failure The failure of the last attempt.
+     * @return {@code true} if the failure is retryable.
+     * @since 0.2.1
+     */
+    public boolean isRetryable(Throwable failure) {
+        HttpException httpException = findHttpException(failure);
+        if (httpException != null && httpException.getResponseHeaders() != null) {
+            return retryableStatusCodes.contains(httpException.getStatusCode());
+        }
+        if (isTimeout(failure)) {
+            return retryOnTimeout;
+        }
+        return retryOnConnectionFailure && isConnectionFailure(failure);
+    }
+
+    /**
+     * Computes the delay before the next attempt.
+     *
+     * @param previousDelayMillis The delay used before the last attempt, or zero for the first
+     *                            retry.
+     * @param failure             The failure of the last attempt.
+     * @return The delay in milliseconds, or -1 if the server asked to wait longer than the
+     * maximum delay and the request should not be retried.
+     * @since 0.2.1
+     */
+    public long nextDelayMillis(long previousDelayMillis, Throwable failure) {
+        long base = Math.max(1, baseDelay.toMillis());
+        long cap = Math.max(base, maxDelay.toMillis());
+        long upper = Math.max(base, Math.min(cap, previousDelayMillis * 3));
+        long delay = upper > base ? ThreadLocalRandom.current().nextLong(base, upper + 1) : base;
+        if (honorRetryAfter) {
+            long retryAfter = retryAfterMillis(failure);
+            if (retryAfter > cap) {
+                return -1;
+            }
+            delay = Math.max(delay, retryAfter);
+        }
+        return delay;
+    }
+
+    /**
+     * Extracts the {@code Retry-After} delay from the failure, accepting both the delta-seconds
+     * and the HTTP-date forms.
+     *
+     * @param failure The failure of the last attempt.
+     * @return The requested delay in milliseconds, or zero if none was sent.
+     * @since 0.2.1
+     */
+    static long retryAfterMillis(Throwable failure) {
+        HttpException httpException = findHttpException(failure);
+        String value = httpException != null ? httpException.getResponseHeader(RETRY_AFTER_HEADER) : null;
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        value = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the status code of the error response that caused the failure. Local rejections,
+     * which carry no response headers, are not considered responses.
+     *
+     * @param failure The failure to inspect.
+     * @return The status code, or -1 if no response was received.
+     * @since 0.2.1
+     */
+    public static int responseStatusCode(Throwable failure) {
+        HttpException httpException = findHttpException(failure);
+        return httpException != null && httpException.getResponseHeaders() != null
+                ? httpException.getStatusCode() : -1;
+    }
+
+    /**
+     * Finds the innermost {@link HttpException} carrying response headers in the cause chain,
+     * falling back to the first one found.
+     *
+     * @param failure The failure to inspect.
+     * @return The exception, or null if the chain contains none.
+     */
+    private static HttpException findHttpException(Throwable failure) {
+        HttpException found = null;
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof HttpException) {
+                HttpException httpException = (HttpException) current;
+                if (httpException.getResponseHeaders() != null) {
+                    return httpException;
+                }
+                if (found == null) {
+                    found = httpException;
+                }
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks whether the failure was caused by an I/O error or a timeout, meaning that no
+     * response was received.
+     *
+     * @param failure The failure to inspect.
+     * @return {@code true} for connection failures.
+     * @since 0.2.1
+     */
+    public static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof IOException || current instanceof TimeoutException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the failure is a client-side timeout: the client stopped waiting for a
+     * request that may still be in flight, either for the whole response or for data on the
+     * socket.
+     *
+     * @param failure The failure to inspect.
+     * @return {@code true} for client-side timeouts.
+     * @since 0.2.1
+     */
+    public static boolean isTimeout(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof TimeoutException || current instanceof SocketTimeoutException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rate limiter that controls the rate of requests based on a sliding window
+ * time frame. This rate limiter allows a fixed number of requests within a
+ * specified time window and tracks the timestamps of requests to enforce the
+ * rate limit.
+ * <p>
+ * Every permit is recorded as a timestamp and every operation synchronizes on
+ * the limiter, so memory grows with the window size and callers serialize on a
+ * single monitor. Prefer {@link TokenBucketRateLimiter} for highly concurrent
+ * clients; this implementation is kept for exact sliding window semantics.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.1.1
+ */
+public class SlidingWindowRateLimiter extends BaseClass implements RateLimiter {
+
+    private final int requestsPerWindow;
+    private final Duration windowDuration;
+    private final Queue<Instant> requestTimestamps;
+
+    /**
+     * Constructs a new SlidingWindowRateLimiter with the specified rate limit parameters.
+     *
+     * @param requestsPerWindow The maximum number of requests allowed within
+     *                          the time window.
+     * @param windowDuration    The duration of the sliding time window.
+     */
+    public SlidingWindowRateLimiter(int requestsPerWindow, Duration windowDuration) {
+        this.requestsPerWindow = requestsPerWindow;
+        this.windowDuration = windowDuration;
+        this.requestTimestamps = new LinkedList<>();
+    }
+
+    /**
+     * Acquires a permit from the rate limiter, blocking if necessary until a
+     * permit becomes available within the rate limit. This method ensures that
+     * the rate of requests does not exceed the configured limit.
+     */
+    @Override
+    public synchronized void acquire() {
+        logDebug("Acquiring permit from rate limiter.");
+        cleanupExpiredTimestamps();
+
+        while (requestTimestamps.size() >= requestsPerWindow) {
+            long waitMillis = millisUntilOldestExpires();
+            logInfo(String.format(
+                    "Rate limit reached. Waiting for %d milliseconds.",
+                    waitMillis));
+            try {
+                wait(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logError(
+                        "Interrupted while waiting for rate limiter permit.",
+                        e);
+                // Rethrow as RuntimeException to avoid checked exceptions
+                throw new RuntimeException(e);
+            }
+            cleanupExpiredTimestamps();
+        }
+
+        requestTimestamps.offer(Instant.now());
+        logDebug("Permit acquired.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized boolean tryAcquire() {
+        cleanupExpiredTimestamps();
+        if (requestTimestamps.size() < requestsPerWindow) {
+            requestTimestamps.offer(Instant.now());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When no permit is available, the attempt is retried on a delayed executor once the oldest
+     * recorded request leaves the window, so no thread is held while waiting.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        scheduleAcquire(future);
+        return future;
+    }
+
+    /**
+     * Tries to grant a permit to the given future, rescheduling itself when the window is full.
+     *
+     * @param future The future to complete once a permit is granted.
+     * @since 0.2.1
+     */
+    private void scheduleAcquire(CompletableFuture<Void> future) {
+        if (future.isDone()) {
+            return;
+        }
+        long delay;
+        synchronized (this) {
+            if (tryAcquire()) {
+                future.complete(null);
+                return;
+            }
+            delay = millisUntilOldestExpires();
+        }
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> scheduleAcquire(future));
+    }
+
+    /**
+     * Computes how long it takes for the oldest recorded request to leave the window.
+     *
+     * @return The remaining time in milliseconds, at least one.
+     * @since 0.2.1
+     */
+    private long millisUntilOldestExpires() {
+        Instant oldest = requestTimestamps.peek();
+        if (oldest == null) {
+            return 1;
+        }
+        long elapsed = Duration.between(oldest, Instant.now()).toMillis();
+        return Math.max(1, windowDuration.toMillis() - elapsed);
+    }
+
+    /**
+     * Removes timestamps from the queue that are older than the specified time
+     * window. This method ensures that only timestamps within the current
+     * sliding window are considered for rate limiting.
+     */
+    private void cleanupExpiredTimestamps() {
+        Instant now = Instant.now();
+        while (!requestTimestamps.isEmpty() && Duration.between(
+                requestTimestamps.peek(), now).compareTo(windowDuration) > 0) {
+            requestTimestamps.poll();
+        }
+    }
+}
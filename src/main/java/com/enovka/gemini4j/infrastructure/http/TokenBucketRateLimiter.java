@@ -0,0 +1,139 @@
+package com.enovka.gemini4j.infrastructure.http;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A lock-free token bucket rate limiter implemented with the Generic Cell Rate Algorithm
+ * (GCRA). Instead of recording one timestamp per request, the limiter keeps a single
+ * "theoretical arrival time" in an {@link AtomicLong}, which is advanced by one emission
+ * interval ({@code windowDuration / requestsPerWindow}) for every permit granted. A permit is
+ * available as long as that time does not run more than one window ahead of the clock, which
+ * allows bursts of up to {@code requestsPerWindow} requests and a sustained rate of
+ * {@code requestsPerWindow} per window.
+ * <p>
+ * All operations use a compare-and-set loop, need O(1) memory and never take a lock, so callers
+ * do not serialize on the limiter under high concurrency.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class TokenBucketRateLimiter extends BaseClass implements RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long windowNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * Constructs a new TokenBucketRateLimiter with the specified rate limit parameters.
+     *
+     * @param requestsPerWindow The maximum number of requests allowed within the time window,
+     *                          which is also the maximum burst size.
+     * @param windowDuration    The duration of the time window.
+     * @throws IllegalArgumentException If {@code requestsPerWindow} is not positive or the window
+     *                                  duration is not positive.
+     * @since 0.2.1
+     */
+    public TokenBucketRateLimiter(int requestsPerWindow, Duration windowDuration) {
+        if (requestsPerWindow <= 0) {
+            throw new IllegalArgumentException("requestsPerWindow must be greater than zero.");
+        }
+        if (windowDuration == null || windowDuration.isZero() || windowDuration.isNegative()) {
+            throw new IllegalArgumentException("windowDuration must be positive.");
+        }
+        this.windowNanos = windowDuration.toNanos();
+        this.emissionIntervalNanos = Math.max(1, windowNanos / requestsPerWindow);
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return;
+        }
+        logDebug(String.format("Rate limit reached. Waiting for %d milliseconds.",
+                TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+        long deadline = System.nanoTime() + waitNanos;
+        long remaining = waitNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                RuntimeException exception = new RuntimeException(
+                        new InterruptedException("Interrupted while waiting for rate limiter permit."));
+                logError("Interrupted while waiting for rate limiter permit.", exception);
+                throw exception;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            if (next - now > windowNanos) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The permit is reserved immediately; when it lies in the future, the returned future is
+     * completed by a delayed executor once the reservation becomes due.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS)
+                .execute(() -> future.complete(null));
+        return future;
+    }
+
+    /**
+     * Reserves the next permit unconditionally and returns how long the caller must wait before
+     * using it.
+     *
+     * @return The wait time in nanoseconds, zero or negative if the permit is usable right away.
+     * @since 0.2.1
+     */
+    long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return next - now - windowNanos;
+            }
+        }
+    }
+}
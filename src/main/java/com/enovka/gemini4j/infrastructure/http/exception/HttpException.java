@@ -2,6 +2,9 @@ package com.enovka.gemini4j.infrastructure.http.exception;
 
 import lombok.Getter;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Exception class representing an error during a Gemini API request.
  *
@@ -21,6 +24,7 @@ public class HttpException extends Throwable {
      */
     @Getter
     private final int statusCode;
+    private final Map<String, String> responseHeaders;
 
     /**
      * Constructs a new HttpException with the specified error message.
@@ -51,13 +55,71 @@ public class HttpException extends Throwable {
      * @param statusCode The HTTP status code.
      */
     public HttpException(String message, Throwable cause, int statusCode) {
+        this(message, cause, statusCode, null);
+    }
+
+    public HttpException(String message, int statusCode) {
+        this(message, null, statusCode);
+    }
+
+    /**
+     * Constructs a new HttpException for an error response received from the server, keeping
+     * its headers so that callers can inspect values such as {@code Retry-After}.
+     *
+     * @param message         The error message.
+     * @param statusCode      The HTTP status code.
+     * @param responseHeaders The headers of the error response.
+     * @since 0.2.1
+     */
+    public HttpException(String message, int statusCode, Map<String, String> responseHeaders) {
+        this(message, null, statusCode, responseHeaders);
+    }
+
+    /**
+     * Constructs a new HttpException with the specified error message, cause, HTTP status code
+     * and response headers.
+     *
+     * @param message         The error message.
+     * @param cause           The cause of the exception.
+     * @param statusCode      The HTTP status code.
+     * @param responseHeaders The headers of the error response, or null if no response was
+     *                        received.
+     * @since 0.2.1
+     */
+    public HttpException(String message, Throwable cause, int statusCode, Map<String, String> responseHeaders) {
         this.message = message;
         this.cause = cause;
         this.statusCode = statusCode;
+        this.responseHeaders = responseHeaders != null ? Collections.unmodifiableMap(responseHeaders) : null;
     }
 
-    public HttpException(String message, int statusCode) {
-        this(message, null, statusCode);
+    /**
+     * Returns the headers of the error response.
+     *
+     * @return The response headers, or null if the error did not come from a server response.
+     * @since 0.2.1
+     */
+    public Map<String, String> getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    /**
+     * Returns the value of a response header, matching its name case-insensitively.
+     *
+     * @param name The header name.
+     * @return The header value, or null if absent.
+     * @since 0.2.1
+     */
+    public String getResponseHeader(String name) {
+        if (responseHeaders == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : responseHeaders.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
     }
 
     /**
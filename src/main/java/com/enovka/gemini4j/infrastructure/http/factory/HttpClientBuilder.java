@@ -1,5 +1,14 @@
 package com.enovka.gemini4j.infrastructure.http.factory;
 
+import com.enovka.gemini4j.infrastructure.http.AdaptiveConcurrencyLimiter;
+import com.enovka.gemini4j.infrastructure.http.CircuitBreaker;
+import com.enovka.gemini4j.infrastructure.http.CircuitBreakerConfig;
+import com.enovka.gemini4j.infrastructure.http.ConcurrencyLimitConfig;
+import com.enovka.gemini4j.infrastructure.http.RateLimiter;
+import com.enovka.gemini4j.infrastructure.http.RejectionPolicy;
+import com.enovka.gemini4j.infrastructure.http.RetryPolicy;
+import com.enovka.gemini4j.infrastructure.http.SlidingWindowRateLimiter;
+import com.enovka.gemini4j.infrastructure.http.TokenBucketRateLimiter;
 import com.enovka.gemini4j.infrastructure.http.impl.DefaultHttpClient;
 import com.enovka.gemini4j.infrastructure.http.spec.HttpClient;
 import lombok.Builder;
@@ -74,6 +83,66 @@ public class HttpClientBuilder {
     @Builder.Default
     private Duration windowDuration = Duration.ofMinutes(1);
 
+    /**
+     * The type of rate limiter to use. Defaults to {@link RateLimiterType#TOKEN_BUCKET}, a
+     * lock-free implementation that does not serialize concurrent callers.
+     *
+     * @since 0.2.1
+     */
+    @Builder.Default
+    private RateLimiterType rateLimiterType = RateLimiterType.TOKEN_BUCKET;
+
+    /**
+     * A custom RateLimiter instance to use when {@code rateLimiterType} is set to
+     * {@link RateLimiterType#CUSTOM}.
+     *
+     * @since 0.2.1
+     */
+    private RateLimiter customRateLimiter;
+
+    /**
+     * The maximum number of asynchronous requests allowed to wait for a rate limit permit at the
+     * same time. Defaults to 10.000.
+     *
+     * @since 0.2.1
+     */
+    @Builder.Default
+    private Integer maxPendingRequests = 10000;
+
+    /**
+     * The policy applied to asynchronous requests when the pending queue is full. Defaults to
+     * {@link RejectionPolicy#FAIL_FAST}.
+     *
+     * @since 0.2.1
+     */
+    @Builder.Default
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.FAIL_FAST;
+
+    /**
+     * The retry policy applied to failed requests. Defaults to {@link RetryPolicy#none()}, since
+     * retrying a POST may send a billed or non-idempotent request twice.
+     *
+     * @since 0.2.1
+     */
+    @Builder.Default
+    private RetryPolicy retryPolicy = RetryPolicy.none();
+
+    /**
+     * The configuration of the circuit breaker guarding every request. Defaults to null, which
+     * disables the circuit breaker.
+     *
+     * @since 0.2.1
+     */
+    private CircuitBreakerConfig circuitBreakerConfig;
+
+    /**
+     * The configuration of the adaptive limit on the requests in flight. Defaults to null,
+     * which disables the limit.
+     *
+     * @since 0.2.1
+     */
+    private ConcurrencyLimitConfig concurrencyLimitConfig;
+
     /**
      * Creates a new {@link HttpClient} instance based on the builder configuration.
      *
@@ -85,7 +154,16 @@ public class HttpClientBuilder {
         switch (httpClientType) {
             case DEFAULT:
                 DefaultHttpClient defaultHttpClient = new DefaultHttpClient(connectionTimeout, responseTimeout, requestsPerWindow);
-                defaultHttpClient.setRateLimiter(requestsPerWindow, windowDuration);
+                defaultHttpClient.setRateLimiter(buildRateLimiter());
+                defaultHttpClient.setMaxPendingRequests(maxPendingRequests);
+                defaultHttpClient.setRejectionPolicy(rejectionPolicy);
+                defaultHttpClient.setRetryPolicy(retryPolicy);
+                if (circuitBreakerConfig != null) {
+                    defaultHttpClient.setCircuitBreaker(new CircuitBreaker(circuitBreakerConfig));
+                }
+                if (concurrencyLimitConfig != null) {
+                    defaultHttpClient.setConcurrencyLimiter(new AdaptiveConcurrencyLimiter(concurrencyLimitConfig));
+                }
                 return defaultHttpClient;
             case CUSTOM:
                 if (customClient == null) {
@@ -97,6 +175,30 @@ public class HttpClientBuilder {
         }
     }
 
+    /**
+     * Creates the {@link RateLimiter} described by the builder configuration.
+     *
+     * @return A new {@link RateLimiter} instance.
+     * @throws IllegalArgumentException If an unknown {@link RateLimiterType} is provided, or if
+     *                                  {@link RateLimiterType#CUSTOM} is used without a custom
+     *                                  rate limiter.
+     * @since 0.2.1
+     */
+    public RateLimiter buildRateLimiter() {
+        switch (rateLimiterType) {
+            case TOKEN_BUCKET:
+                return new TokenBucketRateLimiter(requestsPerWindow, windowDuration);
+            case SLIDING_WINDOW:
+                return new SlidingWindowRateLimiter(requestsPerWindow, windowDuration);
+            case CUSTOM:
+                if (customRateLimiter == null) {
+                    throw new IllegalArgumentException("Custom RateLimiter instance is required when using RateLimiterType.CUSTOM.");
+                }
+                return customRateLimiter;
+            default:
+                throw new IllegalArgumentException("Unknown RateLimiterType: " + rateLimiterType);
+        }
+    }
 
     /**
      * Returns the custom client instance. This method is primarily used for testing purposes.
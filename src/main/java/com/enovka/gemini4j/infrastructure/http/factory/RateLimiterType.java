@@ -0,0 +1,13 @@
+package com.enovka.gemini4j.infrastructure.http.factory;
+
+/**
+ * Enum representing the available rate limiter types.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public enum RateLimiterType {
+    TOKEN_BUCKET,
+    SLIDING_WINDOW,
+    CUSTOM
+}
@@ -4,9 +4,11 @@ import com.enovka.gemini4j.infrastructure.http.exception.HttpException;
 import com.enovka.gemini4j.infrastructure.http.spec.AbstractHttpClient;
 import com.enovka.gemini4j.infrastructure.http.spec.AsyncCallback;
 import com.enovka.gemini4j.infrastructure.http.spec.HttpResponse;
+import com.enovka.gemini4j.infrastructure.http.spec.StreamCallback;
 import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
 import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
@@ -30,6 +32,7 @@ import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Default implementation of the {@link com.enovka.gemini4j.infrastructure.http.spec.HttpClient}
@@ -117,7 +120,9 @@ public class DefaultHttpClient extends AbstractHttpClient {
     /**
      * Creates and configures a {@link CloseableHttpAsyncClient} with the provided connection
      * manager and response timeout. This method sets up the I/O reactor configuration and request
-     * configuration for the asynchronous HTTP client.
+     * configuration for the asynchronous HTTP client. Automatic retries of the underlying
+     * client are disabled, since retries are governed by the client's
+     * {@link com.enovka.gemini4j.infrastructure.http.RetryPolicy} and retry budget.
      *
      * @param connectionManager The connection manager to use.
      * @param responseTimeout   The response timeout in milliseconds.
@@ -138,6 +143,7 @@ public class DefaultHttpClient extends AbstractHttpClient {
                 .setConnectionManager(connectionManager)
                 .setDefaultRequestConfig(requestConfig)
                 .setIOReactorConfig(ioReactorConfig)
+                .disableAutomaticRetries()
                 .build();
     }
 
@@ -170,7 +176,7 @@ public class DefaultHttpClient extends AbstractHttpClient {
      * @since 0.2.0
      */
     @Override
-    protected CompletableFuture<HttpResponse> executeAsyncPostRequest(String url, String body, Map<String, String> headers, ContentType contentType) throws HttpException {
+    protected CompletableFuture<HttpResponse> executeAsyncPostRequest(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
         return executeAsyncRequest("POST", url, body, headers, contentType);
     }
 
@@ -180,7 +186,7 @@ public class DefaultHttpClient extends AbstractHttpClient {
      * @since 0.2.0
      */
     @Override
-    protected CompletableFuture<HttpResponse> executeAsyncPatchRequest(String url, String body, Map<String, String> headers, ContentType contentType) throws HttpException {
+    protected CompletableFuture<HttpResponse> executeAsyncPatchRequest(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
         return executeAsyncRequest("PATCH", url, body, headers, contentType);
     }
 
@@ -203,28 +209,18 @@ public class DefaultHttpClient extends AbstractHttpClient {
      *
      * @param method      The HTTP method (GET, POST, PATCH, DELETE).
      * @param url         The request URL.
-     * @param body        The request body (for POST and PATCH).
+     * @param body        The encoded request body (for POST and PATCH).
      * @param headers     The request headers.
      * @param contentType The content type of the request body.
      * @return A {@link CompletableFuture} that will resolve to the {@link HttpResponse}.
      * @since 0.2.0
      */
     private CompletableFuture<HttpResponse> executeAsyncRequest(
-            String method, String url, String body, Map<String, String> headers,
+            String method, String url, byte[] body, Map<String, String> headers,
             ContentType contentType) {
 
         CompletableFuture<HttpResponse> completableFuture = new CompletableFuture<>();
-        URI uri = createURI(url);
-        HttpHost httpHost = new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort());
-        SimpleRequestBuilder requestBuilder = SimpleRequestBuilder.create(method)
-                .setHttpHost(httpHost)
-                .setUri(uri);
-
-        if (body != null) {
-            requestBuilder.setBody(body, contentType);
-        }
-        addHeadersToRequest(requestBuilder, headers);
-        SimpleHttpRequest request = requestBuilder.build();
+        SimpleHttpRequest request = createRequest(method, url, body, headers, contentType);
         Future<SimpleHttpResponse> responseFuture = httpAsyncClient.execute(request, new FutureCallback<>() {
             @Override
             public void completed(SimpleHttpResponse result) {
@@ -255,6 +251,131 @@ public class DefaultHttpClient extends AbstractHttpClient {
         return completableFuture;
     }
 
+    /**
+     * Executes a POST request whose response is consumed as a Server-Sent Events stream. The
+     * response is parsed incrementally by a {@link ServerSentEventConsumer}, so every event is
+     * handed to the callback as soon as its bytes arrive instead of after the whole body has
+     * been buffered. The rate limit permit is acquired without blocking the calling thread.
+     * Streams are never retried, since events may already have reached the callback, and their
+     * duration is not fed to the circuit breaker or the concurrency limiter as latency.
+     * Cancelling the returned future cancels the underlying exchange.
+     *
+     * @param url         The request URL.
+     * @param body        The request body.
+     * @param headers     The request headers.
+     * @param contentType The content type of the request body.
+     * @param callback    The callback receiving every event payload and the terminal signal.
+     * @return A {@link CompletableFuture} completed when the stream ends.
+     * @since 0.2.1
+     */
+    @Override
+    public CompletableFuture<Void> postStream(String url, String body, Map<String, String> headers, ContentType contentType, StreamCallback<String> callback) {
+        return postStream(url, encodeBody(body, contentType), headers, contentType, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public CompletableFuture<Void> postStream(String url, byte[] body, Map<String, String> headers, ContentType contentType, StreamCallback<String> callback) {
+        AtomicBoolean dispatched = new AtomicBoolean();
+        CompletableFuture<Void> future = dispatchWithRateLimit(() -> {
+            dispatched.set(true);
+            return executeStreamRequest(url, body, headers, contentType, callback);
+        }, false);
+        future.whenComplete((result, exception) -> {
+            // Requests rejected or cancelled before dispatch never reach the consumer callbacks.
+            if (exception != null && !dispatched.get()) {
+                if (exception instanceof CancellationException) {
+                    callback.onCanceled();
+                } else {
+                    callback.onError(exception);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Executes the streaming exchange once a rate limit permit has been granted.
+     *
+     * @param url         The request URL.
+     * @param body        The encoded request body.
+     * @param headers     The request headers.
+     * @param contentType The content type of the request body.
+     * @param callback    The callback receiving every event payload and the terminal signal.
+     * @return A {@link CompletableFuture} completed when the stream ends.
+     * @since 0.2.1
+     */
+    private CompletableFuture<Void> executeStreamRequest(String url, byte[] body, Map<String, String> headers, ContentType contentType, StreamCallback<String> callback) {
+        CompletableFuture<Void> completableFuture = new CompletableFuture<>();
+        SimpleHttpRequest request = createRequest("POST", url, body, headers, contentType);
+        ServerSentEventConsumer consumer = new ServerSentEventConsumer(callback);
+        Future<Void> responseFuture = httpAsyncClient.execute(SimpleRequestProducer.create(request), consumer, new FutureCallback<>() {
+            @Override
+            public void completed(Void result) {
+                if (consumer.getStatusCode() >= 400) {
+                    HttpException exception = new HttpException("HTTP Error! Error code " + consumer.getStatusCode() + "\n" + consumer.getErrorBody(),
+                            consumer.getStatusCode(), consumer.getResponseHeaders());
+                    callback.onError(exception);
+                    completableFuture.completeExceptionally(exception);
+                } else {
+                    callback.onComplete();
+                    completableFuture.complete(null);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                HttpException exception = new HttpException("Error executing streaming POST request: " + ex.getMessage(), ex);
+                callback.onError(exception);
+                completableFuture.completeExceptionally(exception);
+            }
+
+            @Override
+            public void cancelled() {
+                callback.onCanceled();
+                completableFuture.cancel(false);
+            }
+        });
+
+        completableFuture.whenComplete((response, exception) -> {
+            if (exception instanceof CancellationException && !responseFuture.isDone()) {
+                responseFuture.cancel(true);
+            }
+        });
+
+        return completableFuture;
+    }
+
+    /**
+     * Builds a {@link SimpleHttpRequest} for the given method, URL, body and headers, setting the
+     * {@link HttpHost} explicitly to avoid the "Target host is not specified" error.
+     *
+     * @param method      The HTTP method.
+     * @param url         The request URL.
+     * @param body        The encoded request body, or null if the request has none. It is sent
+     *                    as is, without being copied.
+     * @param headers     The request headers.
+     * @param contentType The content type of the request body.
+     * @return The request, ready to be executed.
+     * @since 0.2.1
+     */
+    private SimpleHttpRequest createRequest(String method, String url, byte[] body, Map<String, String> headers, ContentType contentType) {
+        URI uri = createURI(url);
+        HttpHost httpHost = new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort());
+        SimpleRequestBuilder requestBuilder = SimpleRequestBuilder.create(method)
+                .setHttpHost(httpHost)
+                .setUri(uri);
+
+        if (body != null) {
+            requestBuilder.setBody(body, contentType);
+        }
+        addHeadersToRequest(requestBuilder, headers);
+        return requestBuilder.build();
+    }
+
     /**
      * Adds the provided headers to the given HTTP request builder. This method iterates over
      * the provided headers map and adds each header to the request builder. It handles the
@@ -294,8 +415,7 @@ public class DefaultHttpClient extends AbstractHttpClient {
      */
     @Override
     public CompletableFuture<HttpResponse> getAsync(String url, Map<String, String> headers, AsyncCallback<HttpResponse> callback) {
-        acquireRateLimitPermit();
-        CompletableFuture<HttpResponse> future = executeAsyncRequest("GET", url, null, headers, ContentType.TEXT_PLAIN);
+        CompletableFuture<HttpResponse> future = dispatchWithRetry(() -> executeAsyncRequest("GET", url, null, headers, ContentType.TEXT_PLAIN));
         future.whenComplete((response, exception) -> handleResponse(response, exception, callback));
         return future;
     }
@@ -306,8 +426,16 @@ public class DefaultHttpClient extends AbstractHttpClient {
      */
     @Override
     public CompletableFuture<HttpResponse> postAsync(String url, String body, Map<String, String> headers, ContentType contentType, AsyncCallback<HttpResponse> callback) {
-        acquireRateLimitPermit();
-        CompletableFuture<HttpResponse> future = executeAsyncRequest("POST", url, body, headers, contentType);
+        return postAsync(url, encodeBody(body, contentType), headers, contentType, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public CompletableFuture<HttpResponse> postAsync(String url, byte[] body, Map<String, String> headers, ContentType contentType, AsyncCallback<HttpResponse> callback) {
+        CompletableFuture<HttpResponse> future = dispatchWithRetry(() -> executeAsyncRequest("POST", url, body, headers, contentType));
         future.whenComplete((response, exception) -> handleResponse(response, exception, callback));
         return future;
     }
@@ -318,8 +446,16 @@ public class DefaultHttpClient extends AbstractHttpClient {
      */
     @Override
     public CompletableFuture<HttpResponse> patchAsync(String url, String body, Map<String, String> headers, ContentType contentType, AsyncCallback<HttpResponse> callback) {
-        acquireRateLimitPermit();
-        CompletableFuture<HttpResponse> future = executeAsyncRequest("PATCH", url, body, headers, contentType);
+        return patchAsync(url, encodeBody(body, contentType), headers, contentType, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public CompletableFuture<HttpResponse> patchAsync(String url, byte[] body, Map<String, String> headers, ContentType contentType, AsyncCallback<HttpResponse> callback) {
+        CompletableFuture<HttpResponse> future = dispatchWithRetry(() -> executeAsyncRequest("PATCH", url, body, headers, contentType));
         future.whenComplete((response, exception) -> handleResponse(response, exception, callback));
         return future;
     }
@@ -330,8 +466,7 @@ public class DefaultHttpClient extends AbstractHttpClient {
      */
     @Override
     public CompletableFuture<HttpResponse> deleteAsync(String url, Map<String, String> headers, AsyncCallback<HttpResponse> callback) {
-        acquireRateLimitPermit();
-        CompletableFuture<HttpResponse> future = executeAsyncRequest("DELETE", url, null, headers, ContentType.TEXT_PLAIN);
+        CompletableFuture<HttpResponse> future = dispatchWithRetry(() -> executeAsyncRequest("DELETE", url, null, headers, ContentType.TEXT_PLAIN));
         future.whenComplete((response, exception) -> handleResponse(response, exception, callback));
         return future;
     }
@@ -0,0 +1,219 @@
+package com.enovka.gemini4j.infrastructure.http.impl;
+
+import com.enovka.gemini4j.infrastructure.http.spec.StreamCallback;
+import org.apache.hc.client5.http.async.methods.AbstractCharResponseConsumer;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.config.CharCodingConfig;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An {@link org.apache.hc.core5.http.nio.AsyncResponseConsumer} that parses a
+ * {@code text/event-stream} response incrementally. Characters are decoded as the I/O reactor
+ * hands them over, split into lines, and every complete event (terminated by a blank line) has
+ * its {@code data} payload forwarded to the supplied {@link StreamCallback} immediately, so the
+ * first element reaches the caller as soon as its bytes arrive.
+ * <p>
+ * Error responses (status code 400 or higher) are not parsed as events; their body is buffered
+ * instead and exposed through {@link #getErrorBody()} so the caller can build a meaningful
+ * exception.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @see <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">Server-Sent Events</a>
+ * @since 0.2.1
+ */
+class ServerSentEventConsumer extends AbstractCharResponseConsumer<Void> {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final String DATA_FIELD = "data";
+
+    private final StreamCallback<String> callback;
+    private final StringBuilder line = new StringBuilder();
+    private final StringBuilder eventData = new StringBuilder();
+    private final StringBuilder errorBody = new StringBuilder();
+    private boolean hasData;
+    private boolean lastCharWasCarriageReturn;
+    private int statusCode;
+    private Map<String, String> responseHeaders = new HashMap<>();
+
+    /**
+     * Constructs a new consumer forwarding the parsed events to the given callback.
+     *
+     * @param callback The callback receiving the {@code data} payload of every event.
+     * @since 0.2.1
+     */
+    ServerSentEventConsumer(StreamCallback<String> callback) {
+        super(BUFFER_SIZE, CharCodingConfig.custom().setCharset(StandardCharsets.UTF_8).build());
+        this.callback = callback;
+    }
+
+    /**
+     * Returns the HTTP status code of the response.
+     *
+     * @return The status code, or zero if the response head has not been received yet.
+     * @since 0.2.1
+     */
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns the headers of the response, so that error responses can be classified from
+     * them, for example by their {@code Retry-After} header.
+     *
+     * @return The response headers, empty if the response head has not been received yet.
+     * @since 0.2.1
+     */
+    Map<String, String> getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    /**
+     * Returns the buffered body of an error response.
+     *
+     * @return The error body, empty for successful responses.
+     * @since 0.2.1
+     */
+    String getErrorBody() {
+        return errorBody.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    protected void start(HttpResponse response, ContentType contentType) {
+        Map<String, String> headers = new HashMap<>();
+        for (Header header : response.getHeaders()) {
+            headers.put(header.getName(), header.getValue());
+        }
+        this.responseHeaders = headers;
+        this.statusCode = response.getCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    protected int capacityIncrement() {
+        return BUFFER_SIZE;
+    }
+
+    /**
+     * Splits the received characters into lines, dispatching events as blank lines are found.
+     * Both {@code \n}, {@code \r} and {@code \r\n} line terminators are accepted.
+     *
+     * @param src         The decoded characters.
+     * @param endOfStream Whether this is the last chunk of the response.
+     * @since 0.2.1
+     */
+    @Override
+    protected void data(CharBuffer src, boolean endOfStream) {
+        if (statusCode >= 400) {
+            errorBody.append(src);
+            return;
+        }
+        while (src.hasRemaining()) {
+            char c = src.get();
+            if (c == '\n' && lastCharWasCarriageReturn) {
+                lastCharWasCarriageReturn = false;
+                continue;
+            }
+            lastCharWasCarriageReturn = c == '\r';
+            if (c == '\n' || c == '\r') {
+                processLine();
+            } else {
+                line.append(c);
+            }
+        }
+        if (endOfStream) {
+            flush();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    protected Void buildResult() {
+        flush();
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void releaseResources() {
+        line.setLength(0);
+        eventData.setLength(0);
+    }
+
+    /**
+     * Interprets a single line of the event stream. Comments and fields other than {@code data}
+     * ({@code event}, {@code id}, {@code retry}) are ignored, since the Gemini API only uses
+     * unnamed data events.
+     *
+     * @since 0.2.1
+     */
+    private void processLine() {
+        if (line.length() == 0) {
+            dispatchEvent();
+            return;
+        }
+        if (line.charAt(0) != ':') {
+            int colon = line.indexOf(":");
+            String field = colon == -1 ? line.toString() : line.substring(0, colon);
+            if (DATA_FIELD.equals(field)) {
+                int valueStart = colon == -1 ? line.length() : colon + 1;
+                if (valueStart < line.length() && line.charAt(valueStart) == ' ') {
+                    valueStart++;
+                }
+                if (hasData) {
+                    eventData.append('\n');
+                }
+                eventData.append(line, valueStart, line.length());
+                hasData = true;
+            }
+        }
+        line.setLength(0);
+    }
+
+    /**
+     * Forwards the accumulated event data to the callback and resets the event buffer.
+     *
+     * @since 0.2.1
+     */
+    private void dispatchEvent() {
+        if (hasData) {
+            String data = eventData.toString();
+            eventData.setLength(0);
+            hasData = false;
+            callback.onNext(data);
+        }
+    }
+
+    /**
+     * Dispatches any event left pending when the stream ends without a trailing blank line.
+     *
+     * @since 0.2.1
+     */
+    private void flush() {
+        if (statusCode >= 400) {
+            return;
+        }
+        if (line.length() > 0) {
+            processLine();
+        }
+        dispatchEvent();
+    }
+}
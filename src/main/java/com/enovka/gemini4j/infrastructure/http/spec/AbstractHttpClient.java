@@ -1,6 +1,12 @@
 package com.enovka.gemini4j.infrastructure.http.spec;
 
+import com.enovka.gemini4j.infrastructure.http.AdaptiveConcurrencyLimiter;
+import com.enovka.gemini4j.infrastructure.http.CircuitBreaker;
 import com.enovka.gemini4j.infrastructure.http.RateLimiter;
+import com.enovka.gemini4j.infrastructure.http.RejectionPolicy;
+import com.enovka.gemini4j.infrastructure.http.RetryBudget;
+import com.enovka.gemini4j.infrastructure.http.RetryPolicy;
+import com.enovka.gemini4j.infrastructure.http.TokenBucketRateLimiter;
 import com.enovka.gemini4j.infrastructure.http.exception.HttpException;
 import com.enovka.gemini4j.infrastructure.tool.BaseClass;
 import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
@@ -8,10 +14,15 @@ import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Abstract base class for HTTP client implementations, providing a foundation for handling
@@ -28,10 +39,18 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
 
     private static final int DEFAULT_CONNECTION_TIMEOUT = 5000;
     private static final int DEFAULT_RESPONSE_TIMEOUT = 10000;
+    private static final int DEFAULT_MAX_PENDING_REQUESTS = 10000;
 
     protected int connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
     protected int responseTimeout = DEFAULT_RESPONSE_TIMEOUT;
-    private RateLimiter rateLimiter;
+    private volatile RateLimiter rateLimiter;
+    private volatile int maxPendingRequests = DEFAULT_MAX_PENDING_REQUESTS;
+    private volatile RejectionPolicy rejectionPolicy = RejectionPolicy.FAIL_FAST;
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+    private volatile RetryPolicy retryPolicy = RetryPolicy.none();
+    private volatile RetryBudget retryBudget = retryPolicy.createBudget();
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     /**
      * {@inheritDoc}
@@ -40,8 +59,7 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      */
     @Override
     public HttpResponse get(String url, Map<String, String> headers) throws HttpException {
-        acquireRateLimitPermit();
-        return executeSyncRequest(() -> {
+        return executeSyncRequestWithRetry(() -> {
             try {
                 return executeGetRequest(url, headers);
             } catch (HttpException e) { // Handle HttpException within the lambda
@@ -57,8 +75,17 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      */
     @Override
     public HttpResponse post(String url, String body, Map<String, String> headers, ContentType contentType) throws HttpException {
-        acquireRateLimitPermit();
-        return executeSyncRequest(() -> {
+        return post(url, encodeBody(body, contentType), headers, contentType);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public HttpResponse post(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
+        return executeSyncRequestWithRetry(() -> {
             try {
                 return executePostRequest(url, body, headers, contentType);
             } catch (HttpException e) {
@@ -74,8 +101,17 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      */
     @Override
     public HttpResponse patch(String url, String body, Map<String, String> headers, ContentType contentType) throws HttpException {
-        acquireRateLimitPermit();
-        return executeSyncRequest(() -> {
+        return patch(url, encodeBody(body, contentType), headers, contentType);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public HttpResponse patch(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
+        return executeSyncRequestWithRetry(() -> {
             try {
                 return executePatchRequest(url, body, headers, contentType);
             } catch (HttpException e) {
@@ -91,8 +127,7 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      */
     @Override
     public HttpResponse delete(String url, Map<String, String> headers) throws HttpException {
-        acquireRateLimitPermit();
-        return executeSyncRequest(() -> {
+        return executeSyncRequestWithRetry(() -> {
             try {
                 return executeDeleteRequest(url, headers);
             } catch (HttpException e) {
@@ -146,20 +181,544 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      * @since 0.0.2
      */
     public void setRateLimiter(int requestsPerWindow, Duration windowDuration) {
-        this.rateLimiter = new RateLimiter(requestsPerWindow, windowDuration);
+        this.rateLimiter = new TokenBucketRateLimiter(requestsPerWindow, windowDuration);
+    }
+
+    /**
+     * Sets the rate limiter for this HTTP client, or removes rate limiting when {@code null}.
+     *
+     * @param rateLimiter The rate limiter to use.
+     * @since 0.2.1
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Returns the rate limiter of this HTTP client.
+     *
+     * @return The rate limiter, or null if rate limiting is disabled.
+     * @since 0.2.1
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
     }
 
     /**
      * Acquires a permit from the rate limiter, blocking if necessary until a permit
      * becomes available within the rate limit. This method is called before each HTTP
-     * request to ensure that the rate limit is not exceeded.
+     * request to ensure that the rate limit is not exceeded. No lock is taken here; thread
+     * safety is delegated to the {@link RateLimiter} implementation.
      *
      * @since 0.1.1
      */
-    protected synchronized void acquireRateLimitPermit() {
-        if (rateLimiter != null) {
-            rateLimiter.acquire();
+    protected void acquireRateLimitPermit() {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            limiter.acquire();
+        }
+    }
+
+    /**
+     * Sets the maximum number of asynchronous requests allowed to wait for a rate limit permit
+     * at the same time.
+     *
+     * @param maxPendingRequests The maximum number of pending requests.
+     * @throws IllegalArgumentException If the value is negative.
+     * @since 0.2.1
+     */
+    public void setMaxPendingRequests(int maxPendingRequests) {
+        if (maxPendingRequests < 0) {
+            throw new IllegalArgumentException("maxPendingRequests must not be negative.");
+        }
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    /**
+     * Returns the maximum number of asynchronous requests allowed to wait for a rate limit
+     * permit at the same time.
+     *
+     * @return The maximum number of pending requests.
+     * @since 0.2.1
+     */
+    public int getMaxPendingRequests() {
+        return maxPendingRequests;
+    }
+
+    /**
+     * Sets the policy applied when the pending request queue is full.
+     *
+     * @param rejectionPolicy The rejection policy.
+     * @since 0.2.1
+     */
+    public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+        this.rejectionPolicy = rejectionPolicy != null ? rejectionPolicy : RejectionPolicy.FAIL_FAST;
+    }
+
+    /**
+     * Returns the policy applied when the pending request queue is full.
+     *
+     * @return The rejection policy.
+     * @since 0.2.1
+     */
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * Returns the number of asynchronous requests currently waiting for a rate limit permit.
+     *
+     * @return The number of pending requests.
+     * @since 0.2.1
+     */
+    public int getPendingRequests() {
+        return pendingRequests.get();
+    }
+
+    /**
+     * Acquires a rate limit permit without blocking the calling thread. When a permit is
+     * immediately available the returned future is already complete; otherwise the request
+     * joins the bounded pending queue and the future completes once the limiter grants the
+     * permit. If the queue is full, the configured {@link RejectionPolicy} is applied.
+     *
+     * @return A {@link CompletableFuture} completed when the permit is granted, or failed with an
+     * {@link HttpException} if the request was rejected.
+     * @since 0.2.1
+     */
+    protected CompletableFuture<Void> acquireRateLimitPermitAsync() {
+        RateLimiter limiter = rateLimiter;
+        if (limiter == null || limiter.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (pendingRequests.incrementAndGet() > maxPendingRequests) {
+            pendingRequests.decrementAndGet();
+            logWarn("Rate limiter pending queue is full. Rejecting request.");
+            return CompletableFuture.failedFuture(new HttpException(
+                    "Rate limiter pending queue is full (" + maxPendingRequests + " requests).", 429));
+        }
+        CompletableFuture<Void> permit = limiter.acquireAsync();
+        permit.whenComplete((result, exception) -> pendingRequests.decrementAndGet());
+        return permit;
+    }
+
+    /**
+     * Dispatches an asynchronous request once a rate limit permit has been granted, without
+     * blocking the calling thread. The returned future mirrors the dispatched request; cancelling
+     * it either prevents the dispatch (while still waiting for the permit) or cancels the
+     * in-flight request.
+     *
+     * @param dispatcher Supplies the future of the actual request; invoked once the permit is
+     *                   granted.
+     * @param <T>        The result type of the request.
+     * @return A {@link CompletableFuture} completed with the outcome of the request.
+     * @since 0.2.1
+     */
+    protected <T> CompletableFuture<T> dispatchWithRateLimit(Supplier<CompletableFuture<T>> dispatcher) {
+        return dispatchWithRateLimit(dispatcher, true);
+    }
+
+    /**
+     * Dispatches an asynchronous request once a rate limit permit has been granted, as
+     * {@link #dispatchWithRateLimit(Supplier)} does, and guards the dispatch with the circuit
+     * breaker and the adaptive concurrency limit when configured.
+     *
+     * @param dispatcher     Supplies the future of the actual request; invoked once the permit
+     *                       is granted.
+     * @param measureLatency Whether the duration of the request reflects the upstream latency.
+     *                       Must be {@code false} for requests whose duration depends on the
+     *                       amount of data produced, such as streams.
+     * @param <T>            The result type of the request.
+     * @return A {@link CompletableFuture} completed with the outcome of the request.
+     * @since 0.2.1
+     */
+    protected <T> CompletableFuture<T> dispatchWithRateLimit(Supplier<CompletableFuture<T>> dispatcher, boolean measureLatency) {
+        Supplier<CompletableFuture<T>> guarded = () -> dispatchGuarded(dispatcher, measureLatency);
+        CompletableFuture<Void> permit = acquireRateLimitPermitAsync();
+        if (permit.isDone() && !permit.isCompletedExceptionally()) {
+            return guarded.get();
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        permit.whenComplete((granted, exception) -> {
+            if (exception != null) {
+                result.completeExceptionally(exception instanceof CompletionException ? exception.getCause() : exception);
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> request = guarded.get();
+            request.whenComplete((response, failure) -> {
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(response);
+                }
+            });
+            result.whenComplete((response, failure) -> {
+                if (failure instanceof CancellationException && !request.isDone()) {
+                    request.cancel(true);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Sets the circuit breaker guarding the requests of this HTTP client, or removes it when
+     * {@code null}.
+     *
+     * @param circuitBreaker The circuit breaker to use.
+     * @since 0.2.1
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Returns the circuit breaker guarding the requests of this HTTP client.
+     *
+     * @return The circuit breaker, or null if none is configured.
+     * @since 0.2.1
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Sets the adaptive limit on the requests in flight of this HTTP client, or removes it when
+     * {@code null}.
+     *
+     * @param concurrencyLimiter The concurrency limiter to use.
+     * @since 0.2.1
+     */
+    public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    /**
+     * Returns the adaptive limit on the requests in flight of this HTTP client.
+     *
+     * @return The concurrency limiter, or null if none is configured.
+     * @since 0.2.1
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Dispatches a request through the circuit breaker and the concurrency limiter. If either
+     * refuses the request, it fails immediately with an {@link HttpException} carrying status
+     * 503 and no response headers, so that it is neither queued nor retried.
+     *
+     * @param dispatcher     Supplies the future of the actual request.
+     * @param measureLatency Whether the duration of the request reflects the upstream latency.
+     * @param <T>            The result type of the request.
+     * @return A {@link CompletableFuture} completed with the outcome of the request.
+     * @since 0.2.1
+     */
+    private <T> CompletableFuture<T> dispatchGuarded(Supplier<CompletableFuture<T>> dispatcher, boolean measureLatency) {
+        CircuitBreaker breaker = circuitBreaker;
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiter;
+        if (breaker == null && limiter == null) {
+            return dispatcher.get();
+        }
+        try {
+            acquireGuard(breaker, limiter);
+        } catch (HttpException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> request;
+        try {
+            request = dispatcher.get();
+        } catch (RuntimeException e) {
+            releaseGuard(breaker, limiter, start, new CancellationException(), measureLatency);
+            throw e;
+        }
+        request.whenComplete((response, exception) -> releaseGuard(breaker, limiter, start, exception, measureLatency));
+        return request;
+    }
+
+    /**
+     * Takes a circuit breaker permission and a concurrency slot for one request.
+     *
+     * @param breaker The circuit breaker, or null.
+     * @param limiter The concurrency limiter, or null.
+     * @throws HttpException If the circuit is open or the concurrency limit is reached.
+     * @since 0.2.1
+     */
+    private void acquireGuard(CircuitBreaker breaker, AdaptiveConcurrencyLimiter limiter) throws HttpException {
+        if (breaker != null && !breaker.tryAcquirePermission()) {
+            throw new HttpException("Circuit breaker is " + breaker.getState() + ". Request rejected.", 503);
         }
+        if (limiter != null && !limiter.tryAcquire()) {
+            if (breaker != null) {
+                breaker.releasePermission();
+            }
+            logWarn("Concurrency limit reached (" + limiter.getLimit() + " requests). Rejecting request.");
+            throw new HttpException("Concurrency limit reached (" + limiter.getLimit() + " requests). Request rejected.", 503);
+        }
+    }
+
+    /**
+     * Reports the outcome of a guarded request to the circuit breaker and the concurrency
+     * limiter. Server errors and requests that got no response count as failures; HTTP 429
+     * shrinks the concurrency limit without tripping the breaker; other client errors count as
+     * healthy responses; cancellations are not recorded.
+     *
+     * @param breaker        The circuit breaker, or null.
+     * @param limiter        The concurrency limiter, or null.
+     * @param startNanos     The time at which the request was dispatched.
+     * @param failure        The failure of the request, or null if it succeeded.
+     * @param measureLatency Whether the duration of the request reflects the upstream latency.
+     * @since 0.2.1
+     */
+    private void releaseGuard(CircuitBreaker breaker, AdaptiveConcurrencyLimiter limiter, long startNanos,
+                              Throwable failure, boolean measureLatency) {
+        long duration = measureLatency ? System.nanoTime() - startNanos : 0;
+        if (failure instanceof CancellationException || failure instanceof CompletionException
+                && failure.getCause() instanceof CancellationException) {
+            if (breaker != null) {
+                breaker.releasePermission();
+            }
+            if (limiter != null) {
+                limiter.onIgnored();
+            }
+            return;
+        }
+        int status = failure != null ? RetryPolicy.responseStatusCode(failure) : -1;
+        boolean serverFailure = failure != null && (status >= 500 || status < 0 && RetryPolicy.isConnectionFailure(failure));
+        if (breaker != null) {
+            if (serverFailure) {
+                breaker.onError(duration);
+            } else {
+                breaker.onSuccess(duration);
+            }
+        }
+        if (limiter != null) {
+            if (serverFailure || status == 429) {
+                limiter.onDropped(duration);
+            } else if (measureLatency && failure == null) {
+                limiter.onSuccess(duration);
+            } else {
+                limiter.onIgnored();
+            }
+        }
+    }
+
+    /**
+     * Sets the retry policy of this HTTP client. A new {@link RetryBudget} is created from the
+     * policy. Requests are not retried until a policy is set.
+     *
+     * @param retryPolicy The retry policy, or null to disable retries.
+     * @since 0.2.1
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        RetryPolicy policy = retryPolicy != null ? retryPolicy : RetryPolicy.none();
+        this.retryBudget = policy.createBudget();
+        this.retryPolicy = policy;
+    }
+
+    /**
+     * Returns the retry policy of this HTTP client.
+     *
+     * @return The retry policy.
+     * @since 0.2.1
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Returns the retry budget shared by all requests of this HTTP client.
+     *
+     * @return The retry budget.
+     * @since 0.2.1
+     */
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Dispatches an asynchronous request, retrying it according to the {@link RetryPolicy}.
+     * Every attempt acquires its own rate limit permit through
+     * {@link #dispatchWithRateLimit(Supplier)}, and the delay between attempts is scheduled on
+     * a delayed executor, so no thread is blocked while waiting. Cancelling the returned future
+     * stops further attempts and cancels the one in flight.
+     *
+     * @param dispatcher Supplies the future of a single attempt; invoked once per attempt.
+     * @return A {@link CompletableFuture} completed with the first successful response, or with
+     * the failure of the last attempt.
+     * @since 0.2.1
+     */
+    protected CompletableFuture<HttpResponse> dispatchWithRetry(Supplier<CompletableFuture<HttpResponse>> dispatcher) {
+        RetryPolicy policy = retryPolicy;
+        if (policy.getMaxAttempts() <= 1) {
+            return dispatchWithRateLimit(dispatcher);
+        }
+        RetryBudget budget = retryBudget;
+        budget.recordRequest();
+        CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<HttpResponse>> inFlight = new AtomicReference<>();
+        result.whenComplete((response, exception) -> {
+            CompletableFuture<HttpResponse> attempt = inFlight.get();
+            if (exception instanceof CancellationException && attempt != null && !attempt.isDone()) {
+                attempt.cancel(true);
+            }
+        });
+        dispatchAttempt(dispatcher, policy, budget, 1, 0, result, inFlight);
+        return result;
+    }
+
+    /**
+     * Dispatches one attempt of a retried request and schedules the next one on failure.
+     *
+     * @param dispatcher    Supplies the future of a single attempt.
+     * @param policy        The retry policy in force when the request started.
+     * @param budget        The retry budget in force when the request started.
+     * @param attempt       The number of this attempt, starting at one.
+     * @param previousDelay The delay used before this attempt, in milliseconds.
+     * @param result        The future returned to the caller.
+     * @param inFlight      Holds the attempt currently in flight, for cancellation.
+     * @since 0.2.1
+     */
+    private void dispatchAttempt(Supplier<CompletableFuture<HttpResponse>> dispatcher, RetryPolicy policy, RetryBudget budget,
+                                 int attempt, long previousDelay, CompletableFuture<HttpResponse> result,
+                                 AtomicReference<CompletableFuture<HttpResponse>> inFlight) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<HttpResponse> future = dispatchWithRateLimit(dispatcher);
+        inFlight.set(future);
+        if (result.isDone()) {
+            future.cancel(true);
+            return;
+        }
+        future.whenComplete((response, exception) -> {
+            if (exception == null) {
+                result.complete(response);
+                return;
+            }
+            Throwable failure = exception instanceof CompletionException && exception.getCause() != null
+                    ? exception.getCause() : exception;
+            long delay = nextRetryDelay(policy, budget, attempt, previousDelay, failure);
+            if (delay < 0) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            logWarn(String.format("Attempt %d failed (%s). Retrying in %d milliseconds.",
+                    attempt, failure.getMessage(), delay));
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() ->
+                    dispatchAttempt(dispatcher, policy, budget, attempt + 1, delay, result, inFlight));
+        });
+    }
+
+    /**
+     * Executes a synchronous request, retrying it according to the {@link RetryPolicy}. Each
+     * attempt acquires its own rate limit permit. Since the caller is blocked for the whole
+     * call anyway, the delay between attempts is spent parked on the calling thread.
+     *
+     * @param callable The callable that starts one attempt.
+     * @return The {@link HttpResponse} of the first successful attempt.
+     * @throws HttpException If the last attempt fails, or if the thread is interrupted while
+     *                       waiting for the next attempt.
+     * @since 0.2.1
+     */
+    private HttpResponse executeSyncRequestWithRetry(Callable<Future<HttpResponse>> callable) throws HttpException {
+        RetryPolicy policy = retryPolicy;
+        RetryBudget budget = retryBudget;
+        if (policy.getMaxAttempts() > 1) {
+            budget.recordRequest();
+        }
+        long previousDelay = 0;
+        for (int attempt = 1; ; attempt++) {
+            acquireRateLimitPermit();
+            try {
+                return executeGuardedSyncRequest(callable);
+            } catch (HttpException e) {
+                long delay = nextRetryDelay(policy, budget, attempt, previousDelay, e);
+                if (delay < 0) {
+                    throw e;
+                }
+                logWarn(String.format("Attempt %d failed (%s). Retrying in %d milliseconds.",
+                        attempt, e.getMessage(), delay));
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new HttpException("HTTP interrupted error: " + interrupted.getMessage(), e, e.getStatusCode());
+                }
+                previousDelay = delay;
+            }
+        }
+    }
+
+    /**
+     * Executes one synchronous attempt through the circuit breaker and the concurrency limiter.
+     * The concurrency slot and the breaker permission are held until the exchange is over: an
+     * attempt that times out is cancelled first, and if its future is still running after
+     * that, the guard is only released once it completes.
+     *
+     * @param callable The callable that starts the attempt.
+     * @return The {@link HttpResponse} of the attempt.
+     * @throws HttpException If the attempt is rejected or fails.
+     * @since 0.2.1
+     */
+    private HttpResponse executeGuardedSyncRequest(Callable<Future<HttpResponse>> callable) throws HttpException {
+        CircuitBreaker breaker = circuitBreaker;
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiter;
+        if (breaker == null && limiter == null) {
+            return executeSyncRequest(callable);
+        }
+        acquireGuard(breaker, limiter);
+        long start = System.nanoTime();
+        Future<HttpResponse> future;
+        try {
+            future = startRequest(callable);
+        } catch (HttpException | RuntimeException e) {
+            releaseGuard(breaker, limiter, start, e, true);
+            throw e;
+        }
+        try {
+            HttpResponse response = awaitResponse(future);
+            releaseGuard(breaker, limiter, start, null, true);
+            return response;
+        } catch (HttpException | RuntimeException e) {
+            if (!future.isDone() && future instanceof CompletableFuture) {
+                ((CompletableFuture<HttpResponse>) future).whenComplete(
+                        (response, exception) -> releaseGuard(breaker, limiter, start, e, true));
+            } else {
+                releaseGuard(breaker, limiter, start, e, true);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Decides whether a failed attempt is retried and how long to wait before doing so.
+     *
+     * @param policy        The retry policy.
+     * @param budget        The retry budget.
+     * @param attempt       The number of the failed attempt, starting at one.
+     * @param previousDelay The delay used before the failed attempt, in milliseconds.
+     * @param failure       The failure of the attempt.
+     * @return The delay in milliseconds, or -1 if the request must not be retried.
+     * @since 0.2.1
+     */
+    private long nextRetryDelay(RetryPolicy policy, RetryBudget budget, int attempt, long previousDelay, Throwable failure) {
+        if (attempt >= policy.getMaxAttempts() || !policy.isRetryable(failure)) {
+            return -1;
+        }
+        long delay = policy.nextDelayMillis(previousDelay, failure);
+        if (delay < 0) {
+            logWarn("Retry-After exceeds the maximum retry delay. Not retrying.");
+            return -1;
+        }
+        if (!budget.tryAcquireRetry()) {
+            logWarn("Retry budget exhausted. Not retrying.");
+            return -1;
+        }
+        return delay;
     }
 
     /**
@@ -176,26 +735,72 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      * @since 0.2.0
      */
     private HttpResponse executeSyncRequest(Callable<Future<HttpResponse>> callable) throws HttpException {
+        return awaitResponse(startRequest(callable));
+    }
+
+    /**
+     * Starts an asynchronous request.
+     *
+     * @param callable The callable that executes the asynchronous request.
+     * @return The future of the response.
+     * @throws HttpException If the request cannot be started.
+     * @since 0.2.1
+     */
+    private Future<HttpResponse> startRequest(Callable<Future<HttpResponse>> callable) throws HttpException {
         try {
-            return callable.call().get(responseTimeout, TimeUnit.MILLISECONDS);
-        } catch (ExecutionException | CompletionException e) { // Catch both ExecutionException and CompletionException
-            Throwable cause = e.getCause();
-            if (cause instanceof HttpException) {
-                HttpException httpException = (HttpException) cause;
-                throw new HttpException("HTTP error: " + httpException.getMessage(), httpException, httpException.getStatusCode());
-            } else {
-                throw new HttpException("HTTP execution error: " + e.getMessage(), e);
-            }
+            return callable.call();
+        } catch (CompletionException e) {
+            throw toHttpException(e);
+        } catch (Exception e) {
+            throw new HttpException("Unexpected error during HTTP request: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Waits for the response of a request for at most the response timeout. A request that
+     * times out or whose waiting thread is interrupted is cancelled, so that it does not keep
+     * running upstream unobserved.
+     *
+     * @param future The future of the response.
+     * @return The {@link HttpResponse} from the completed future.
+     * @throws HttpException If the request fails, times out or the thread is interrupted.
+     * @since 0.2.1
+     */
+    private HttpResponse awaitResponse(Future<HttpResponse> future) throws HttpException {
+        try {
+            return future.get(responseTimeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            throw toHttpException(e);
         } catch (InterruptedException e) {
+            future.cancel(true);
             Thread.currentThread().interrupt();
             throw new HttpException("HTTP interrupted error: " + e.getMessage(), e);
         } catch (TimeoutException e) {
+            future.cancel(true);
             throw new HttpException("HTTP timeout error: " + e.getMessage(), e);
         } catch (Exception e) {
             throw new HttpException("Unexpected error during HTTP request: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Unwraps the failure of a request, keeping the status code and response headers of an
+     * {@link HttpException} cause.
+     *
+     * @param e The {@link ExecutionException} or {@link CompletionException} of the request.
+     * @return The exception to throw.
+     * @since 0.2.1
+     */
+    private static HttpException toHttpException(Exception e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof HttpException) {
+            HttpException httpException = (HttpException) cause;
+            return new HttpException("HTTP error: " + httpException.getMessage(), httpException,
+                    httpException.getStatusCode(), httpException.getResponseHeaders());
+        }
+        return new HttpException("HTTP execution error: " + e.getMessage(), e);
+    }
+
     /**
      * Asynchronously executes a GET request.  Subclasses must implement this method to provide
      * the actual asynchronous execution logic using HttpClient 5's asynchronous API.
@@ -213,28 +818,28 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      * the actual asynchronous execution logic using HttpClient 5's asynchronous API.
      *
      * @param url         The URL to send the request to.
-     * @param body        The request body.
+     * @param body        The encoded request body.
      * @param headers     The request headers.
      * @param contentType The content type of the request.
      * @return A {@link CompletableFuture} representing the asynchronous POST request.
      * @throws HttpException If an error occurs during request setup.
      * @since 0.2.0
      */
-    protected abstract CompletableFuture<HttpResponse> executeAsyncPostRequest(String url, String body, Map<String, String> headers, ContentType contentType) throws HttpException;
+    protected abstract CompletableFuture<HttpResponse> executeAsyncPostRequest(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException;
 
     /**
      * Asynchronously executes a PATCH request. Subclasses must implement this method to
      * provide the actual asynchronous execution logic using HttpClient 5's asynchronous API.
      *
      * @param url         The URL to send the request to.
-     * @param body        The request body.
+     * @param body        The encoded request body.
      * @param headers     The request headers.
      * @param contentType The content type of the request.
      * @return A {@link CompletableFuture} representing the asynchronous PATCH request.
      * @throws HttpException If an error occurs during request setup.
      * @since 0.2.0
      */
-    protected abstract CompletableFuture<HttpResponse> executeAsyncPatchRequest(String url, String body, Map<String, String> headers, ContentType contentType) throws HttpException;
+    protected abstract CompletableFuture<HttpResponse> executeAsyncPatchRequest(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException;
 
     /**
      * Asynchronously executes a DELETE request.  Subclasses must implement this method to
@@ -269,14 +874,14 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      * {@link HttpException}.
      *
      * @param url         The URL to send the request to.
-     * @param body        The request body.
+     * @param body        The encoded request body.
      * @param headers     The request headers.
      * @param contentType The content type of the request.
      * @return A {@link Future} representing the asynchronous POST request.
      * @throws HttpException If an error occurs during request execution.
      * @since 0.2.0
      */
-    protected Future<HttpResponse> executePostRequest(String url, String body, Map<String, String> headers, ContentType contentType) throws HttpException {
+    protected Future<HttpResponse> executePostRequest(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
         return executeAsyncPostRequest(url, body, headers, contentType);
     }
 
@@ -286,14 +891,14 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
      * {@link HttpException}.
      *
      * @param url         The URL to send the request to.
-     * @param body        The request body.
+     * @param body        The encoded request body.
      * @param headers     The request headers.
      * @param contentType The content type of the request.
      * @return A {@link Future} representing the asynchronous PATCH request.
      * @throws HttpException If an error occurs during request execution.
      * @since 0.2.0
      */
-    protected Future<HttpResponse> executePatchRequest(String url, String body, Map<String, String> headers, ContentType contentType) throws HttpException {
+    protected Future<HttpResponse> executePatchRequest(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
         return executeAsyncPatchRequest(url, body, headers, contentType);
     }
 
@@ -314,7 +919,7 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
 
     /**
      * Creates an {@link HttpResponse} from a {@link SimpleHttpResponse}. This method
-     * extracts the status code, headers, and response body from the provided
+     * extracts the status code, headers, and raw response body bytes from the provided
      * `SimpleHttpResponse` and constructs a new `HttpResponse` object, which is used for
      * consistent response handling throughout the library.  It handles potential HTTP errors
      * by throwing a {@link HttpException} and includes the error message and status code
@@ -336,11 +941,27 @@ public abstract class AbstractHttpClient extends BaseClass implements HttpClient
         for (Header header : response.getHeaders()) {
             responseHeaders.put(header.getName(), header.getValue());
         }
-        String responseBody = response.getBodyText();
+        byte[] responseBody = response.getBodyBytes();
+        ContentType responseContentType = response.getContentType();
+        Charset charset = responseContentType != null ? responseContentType.getCharset() : null;
         if (response.getCode() >= 400) {
-            throw new HttpException("HTTP Error! Error code " + response.getCode() + "\n" + responseBody, response.getCode());
+            String errorBody = responseBody != null ? new String(responseBody, charset != null ? charset : StandardCharsets.UTF_8) : null;
+            throw new HttpException("HTTP Error! Error code " + response.getCode() + "\n" + errorBody, response.getCode(), responseHeaders);
         }
-        return new HttpResponse(response.getCode(), responseHeaders, responseBody);
+        return new HttpResponse(response.getCode(), responseHeaders, responseBody, charset);
+    }
+
+    /**
+     * Encodes a request body given as a {@code String} in the charset of its content type, or
+     * UTF-8 if it declares none, so that every request is sent from bytes.
+     *
+     * @param body        The request body, may be null.
+     * @param contentType The content type of the request body.
+     * @return The encoded body, or null.
+     * @since 0.2.1
+     */
+    protected byte[] encodeBody(String body, ContentType contentType) {
+        return body != null ? body.getBytes(HttpClient.bodyCharset(contentType)) : null;
     }
 
     /**
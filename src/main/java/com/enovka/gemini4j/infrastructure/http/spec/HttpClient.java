@@ -4,6 +4,8 @@ import com.enovka.gemini4j.infrastructure.http.exception.HttpException;
 import org.apache.hc.core5.http.ContentType;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -11,7 +13,14 @@ import java.util.concurrent.CompletableFuture;
  * Interface defining the contract for HTTP client implementations, supporting both
  * synchronous and asynchronous request execution.  This interface provides methods
  * for performing various HTTP operations (GET, POST, PATCH, DELETE) with both
- * blocking and non-blocking behavior.
+ * blocking and non-blocking behavior. The asynchronous methods never block the calling
+ * thread, not even to wait for a rate limit permit, which makes them safe to call from event
+ * loop threads.
+ * <p>
+ * Requests with a body can also be sent from already encoded bytes, which lets callers hand
+ * over serialized JSON without converting it to a {@code String} first. The default
+ * implementations of these overloads decode the bytes and delegate to the {@code String}
+ * methods; implementations that send bytes natively should override them.
  *
  * @author Everson Novka &lt;enovka@gmail.com&gt;
  * @since 0.0.1
@@ -154,4 +163,136 @@ public interface HttpClient {
      * @since 0.2.0
      */
     CompletableFuture<HttpResponse> deleteAsync(String url, Map<String, String> headers, AsyncCallback<HttpResponse> callback);
-}
\ No newline at end of file
+
+    /**
+     * Sends a POST request whose response is a Server-Sent Events (SSE) stream and delivers the
+     * {@code data} payload of every event to the callback as soon as it has been received,
+     * without buffering the whole response body.
+     * <p>
+     * The default implementation fails immediately, so custom clients only need to override it
+     * when streaming support is required.
+     *
+     * @param url         The URL to send the request to.
+     * @param body        The request body.
+     * @param headers     The headers to include in the request.
+     * @param contentType The content type of the request body.
+     * @param callback    The callback notified for every event and on termination.
+     * @return A {@link CompletableFuture} completed when the stream ends, which can be used to
+     * cancel the request.
+     * @since 0.2.1
+     */
+    default CompletableFuture<Void> postStream(String url, String body, Map<String, String> headers, ContentType contentType, StreamCallback<String> callback) {
+        HttpException exception = new HttpException("Streaming is not supported by " + getClass().getName());
+        callback.onError(exception);
+        return CompletableFuture.failedFuture(exception);
+    }
+
+    /**
+     * Sends a POST request with an already encoded body synchronously. The bytes are sent as
+     * they are, encoded in the charset of the content type, or UTF-8 if it declares none.
+     *
+     * @param url         The URL to send the request to.
+     * @param body        The encoded request body. The array must not be modified until the
+     *                    request completes.
+     * @param headers     The headers to include in the request.
+     * @param contentType The content type of the request body.
+     * @return The HTTP response wrapped in an {@link HttpResponse}.
+     * @throws HttpException If an error occurs during the request.
+     * @since 0.2.1
+     */
+    default HttpResponse post(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
+        return post(url, decodeBody(body, contentType), headers, contentType);
+    }
+
+    /**
+     * Sends a PATCH request with an already encoded body synchronously.
+     *
+     * @param url         The URL to send the request to.
+     * @param body        The encoded request body. The array must not be modified until the
+     *                    request completes.
+     * @param headers     The headers to include in the request.
+     * @param contentType The content type of the request body.
+     * @return The HTTP response wrapped in an {@link HttpResponse}.
+     * @throws HttpException If an error occurs during the request.
+     * @since 0.2.1
+     */
+    default HttpResponse patch(String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
+        return patch(url, decodeBody(body, contentType), headers, contentType);
+    }
+
+    /**
+     * Sends an asynchronous POST request with an already encoded body.
+     *
+     * @param url         The URL to send the request to.
+     * @param body        The encoded request body. The array must not be modified until the
+     *                    request completes, since retries and hedged attempts resend it.
+     * @param headers     The headers to include in the request.
+     * @param contentType The content type of the request body.
+     * @param callback    The callback to handle the asynchronous response.
+     * @return A {@link CompletableFuture} representing the asynchronous operation, which can be
+     * used to cancel the request.
+     * @since 0.2.1
+     */
+    default CompletableFuture<HttpResponse> postAsync(String url, byte[] body, Map<String, String> headers, ContentType contentType, AsyncCallback<HttpResponse> callback) {
+        return postAsync(url, decodeBody(body, contentType), headers, contentType, callback);
+    }
+
+    /**
+     * Sends an asynchronous PATCH request with an already encoded body.
+     *
+     * @param url         The URL to send the request to.
+     * @param body        The encoded request body. The array must not be modified until the
+     *                    request completes, since retries and hedged attempts resend it.
+     * @param headers     The headers to include in the request.
+     * @param contentType The content type of the request body.
+     * @param callback    The callback to handle the asynchronous response.
+     * @return A {@link CompletableFuture} representing the asynchronous operation, which can be
+     * used to cancel the request.
+     * @since 0.2.1
+     */
+    default CompletableFuture<HttpResponse> patchAsync(String url, byte[] body, Map<String, String> headers, ContentType contentType, AsyncCallback<HttpResponse> callback) {
+        return patchAsync(url, decodeBody(body, contentType), headers, contentType, callback);
+    }
+
+    /**
+     * Sends a streaming POST request with an already encoded body. See
+     * {@link #postStream(String, String, Map, ContentType, StreamCallback)}.
+     *
+     * @param url         The URL to send the request to.
+     * @param body        The encoded request body.
+     * @param headers     The headers to include in the request.
+     * @param contentType The content type of the request body.
+     * @param callback    The callback notified for every event and on termination.
+     * @return A {@link CompletableFuture} completed when the stream ends, which can be used to
+     * cancel the request.
+     * @since 0.2.1
+     */
+    default CompletableFuture<Void> postStream(String url, byte[] body, Map<String, String> headers, ContentType contentType, StreamCallback<String> callback) {
+        return postStream(url, decodeBody(body, contentType), headers, contentType, callback);
+    }
+
+    /**
+     * Returns the charset in which a request body of the given content type is encoded: the
+     * charset it declares, or UTF-8, the encoding of JSON, if it declares none.
+     *
+     * @param contentType The content type, may be null.
+     * @return The charset of the body.
+     * @since 0.2.1
+     */
+    static Charset bodyCharset(ContentType contentType) {
+        Charset charset = contentType != null ? contentType.getCharset() : null;
+        return charset != null ? charset : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Decodes an encoded request body for the {@code String} based methods.
+     *
+     * @param body        The encoded body, may be null.
+     * @param contentType The content type of the body.
+     * @return The decoded body, or null.
+     * @since 0.2.1
+     */
+    private static String decodeBody(byte[] body, ContentType contentType) {
+        return body != null ? new String(body, bodyCharset(contentType)) : null;
+    }
+}
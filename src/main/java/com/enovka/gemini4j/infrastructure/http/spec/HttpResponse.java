@@ -2,10 +2,19 @@ package com.enovka.gemini4j.infrastructure.http.spec;
 
 import lombok.Getter;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
  * Represents an HTTP response.
+ * <p>
+ * The body is kept in the form it was received in. A response built from the raw bytes of the
+ * wire only decodes them into a {@code String} when {@link #getBody()} is first called, so
+ * callers deserializing from {@link #getBodyBytes()} or {@link #getBodyStream()} never
+ * materialize the text.
  *
  * @author Everson Novka &lt;enovka@gmail.com&gt;
  * @since 0.0.1
@@ -26,11 +35,13 @@ public class HttpResponse {
      */
     private final Map<String, String> headers;
     /**
-     * -- GETTER -- Returns the response body.
+     * -- GETTER -- Returns the charset used to decode the response body.
      *
-     * @return The response body.
+     * @return The charset of the response body.
      */
-    private final String body;
+    private final Charset charset;
+    private volatile String body;
+    private volatile byte[] bodyBytes;
 
     /**
      * Constructs a new HttpResponse.
@@ -43,7 +54,67 @@ public class HttpResponse {
                         String body) {
         this.statusCode = statusCode;
         this.headers = headers;
+        this.charset = StandardCharsets.UTF_8;
         this.body = body;
     }
 
-}
\ No newline at end of file
+    /**
+     * Constructs a new HttpResponse around the raw bytes of its body. The array is not copied.
+     *
+     * @param statusCode The HTTP status code.
+     * @param headers    The response headers.
+     * @param bodyBytes  The response body, may be null.
+     * @param charset    The charset of the body, or null for UTF-8.
+     * @since 0.2.1
+     */
+    public HttpResponse(int statusCode, Map<String, String> headers,
+                        byte[] bodyBytes, Charset charset) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.charset = charset != null ? charset : StandardCharsets.UTF_8;
+        this.bodyBytes = bodyBytes;
+    }
+
+    /**
+     * Returns the response body, decoding it on first use if the response was built from
+     * bytes.
+     *
+     * @return The response body.
+     */
+    public String getBody() {
+        String text = body;
+        if (text == null && bodyBytes != null) {
+            text = new String(bodyBytes, charset);
+            body = text;
+        }
+        return text;
+    }
+
+    /**
+     * Returns the raw bytes of the response body, encoding it on first use if the response was
+     * built from a {@code String}. The array is shared with this response and must not be
+     * modified.
+     *
+     * @return The response body bytes, or null if the response has no body.
+     * @since 0.2.1
+     */
+    public byte[] getBodyBytes() {
+        byte[] bytes = bodyBytes;
+        if (bytes == null && body != null) {
+            bytes = body.getBytes(charset);
+            bodyBytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns an input stream over the raw bytes of the response body.
+     *
+     * @return The stream, or null if the response has no body.
+     * @since 0.2.1
+     */
+    public InputStream getBodyStream() {
+        byte[] bytes = getBodyBytes();
+        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.enovka.gemini4j.infrastructure.http.spec;
+
+/**
+ * Callback interface for handling streamed HTTP responses. Unlike {@link AsyncCallback}, which
+ * receives the complete response once, a {@code StreamCallback} is notified once per element as
+ * it arrives on the wire, followed by exactly one terminal notification ({@code onComplete},
+ * {@code onError} or {@code onCanceled}).
+ * <p>
+ * Implementations are invoked on the I/O dispatch thread of the underlying HTTP client and must
+ * therefore return quickly and never block; hand heavy work off to another executor.
+ *
+ * @param <T> The type of the streamed elements.
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public interface StreamCallback<T> {
+
+    /**
+     * Called for every element received from the stream, in arrival order.
+     *
+     * @param element The element received.
+     * @since 0.2.1
+     */
+    void onNext(T element);
+
+    /**
+     * Called once the stream has been fully consumed without errors.
+     *
+     * @since 0.2.1
+     */
+    default void onComplete() {}
+
+    /**
+     * Called when the stream fails, either because the server answered with an HTTP error or
+     * because the connection broke while elements were being received.
+     *
+     * @param exception The exception describing the failure.
+     * @since 0.2.1
+     */
+    void onError(Throwable exception);
+
+    /**
+     * Called when the stream is cancelled before completion.
+     *
+     * @since 0.2.1
+     */
+    default void onCanceled() {}
+}
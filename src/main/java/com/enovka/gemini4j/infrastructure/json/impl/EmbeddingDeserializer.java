@@ -0,0 +1,88 @@
+package com.enovka.gemini4j.infrastructure.json.impl;
+
+import com.enovka.gemini4j.model.Embedding;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Jackson deserializer for {@link Embedding} that reads the {@code values} array straight from
+ * the token stream into a primitive {@code float[]}, without creating an intermediate list of
+ * boxed numbers and without reflection. Unknown fields are skipped.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class EmbeddingDeserializer extends StdDeserializer<Embedding> {
+
+    private static final int INITIAL_CAPACITY = 768;
+
+    /**
+     * Constructs a new EmbeddingDeserializer.
+     *
+     * @since 0.2.1
+     */
+    public EmbeddingDeserializer() {
+        super(Embedding.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public Embedding deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        float[] vector = null;
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("values".equals(field)) {
+                vector = readVector(parser, context, value);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (Embedding) context.handleUnexpectedToken(Embedding.class, parser);
+        }
+        return new Embedding(vector);
+    }
+
+    /**
+     * Reads a JSON array of numbers into a primitive vector.
+     *
+     * @param parser  The parser, positioned on the array.
+     * @param context The deserialization context.
+     * @param token   The current token.
+     * @return The vector, or null for a JSON null.
+     * @throws IOException If the array cannot be read.
+     */
+    private float[] readVector(JsonParser parser, DeserializationContext context, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            return (float[]) context.handleUnexpectedToken(float[].class, parser);
+        }
+        float[] buffer = new float[INITIAL_CAPACITY];
+        int size = 0;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                return (float[]) context.handleUnexpectedToken(float[].class, parser);
+            }
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+            }
+            buffer[size++] = parser.getFloatValue();
+        }
+        return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+    }
+}
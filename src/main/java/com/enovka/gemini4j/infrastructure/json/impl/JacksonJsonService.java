@@ -4,30 +4,77 @@ import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
 import com.enovka.gemini4j.infrastructure.json.spec.AbstractJsonService;
 import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of the {@link JsonService} interface using Jackson.
+ * <p>
+ * All instances share a single {@link ObjectMapper} that is fully configured once, when the
+ * class is loaded, and never mutated afterwards, which is what makes it safe to use from many
+ * threads. Null properties are omitted from serialized JSON, and floating point numbers, which
+ * make up most of an embedding response, are parsed with Jackson's fast parser. Serialization
+ * and deserialization go through immutable {@link ObjectWriter} and {@link ObjectReader}
+ * instances cached per type, so the hot path skips the per-call type resolution of the mapper.
+ * The byte and stream based methods read and write UTF-8 directly, without an intermediate
+ * {@code String}, and leave the streams they are given open.
  *
  * @author Everson Novka &lt;enovka@gmail.com&gt;
  * @since 0.0.1
  */
 public class JacksonJsonService extends AbstractJsonService {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(JsonFactory.builder()
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build())
+            .setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL);
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached {@link ObjectReader} of the shared mapper for the given type.
+     *
+     * @param type The type to read.
+     * @return The reader.
+     * @since 0.2.1
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return READERS.computeIfAbsent(type, OBJECT_MAPPER::readerFor);
+    }
+
+    /**
+     * Returns the cached {@link ObjectWriter} of the shared mapper for the given type.
+     *
+     * @param type The type to write.
+     * @return The writer.
+     * @since 0.2.1
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, OBJECT_MAPPER::writerFor);
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public <T> String serialize(T object) throws JsonException {
-        objectMapper.setDefaultPropertyInclusion(JsonInclude.Include.ALWAYS);
         try {
             if (object == null) {
                 throw new JsonException(
                         "Error serializing object: Object is null");
             }
-            return objectMapper.writeValueAsString(object);
+            return writerFor(object.getClass()).writeValueAsString(object);
         } catch (Exception e) {
             throw new JsonException(
                     "Error serializing object: " + e.getMessage(), e);
@@ -45,10 +92,82 @@ public class JacksonJsonService extends AbstractJsonService {
                         "Error deserializing JSON: Json string is null or empty");
 
             }
-            return objectMapper.readValue(json, type);
+            return readerFor(type).readValue(json);
+        } catch (Exception e) {
+            throw new JsonException(
+                    "Error deserializing JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public <T> byte[] serializeToBytes(T object) throws JsonException {
+        try {
+            if (object == null) {
+                throw new JsonException(
+                        "Error serializing object: Object is null");
+            }
+            return writerFor(object.getClass()).writeValueAsBytes(object);
+        } catch (Exception e) {
+            throw new JsonException(
+                    "Error serializing object: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public <T> void serializeTo(T object, OutputStream output) throws JsonException {
+        try {
+            if (object == null) {
+                throw new JsonException(
+                        "Error serializing object: Object is null");
+            }
+            writerFor(object.getClass()).writeValue(output, object);
+        } catch (Exception e) {
+            throw new JsonException(
+                    "Error serializing object: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public <T> T deserialize(byte[] json, Class<T> type) throws JsonException {
+        try {
+            if (json == null || json.length < 4) {
+                throw new JsonException(
+                        "Error deserializing JSON: Json content is null or empty");
+            }
+            return readerFor(type).readValue(json);
+        } catch (Exception e) {
+            throw new JsonException(
+                    "Error deserializing JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public <T> T deserialize(InputStream json, Class<T> type) throws JsonException {
+        try {
+            if (json == null) {
+                throw new JsonException(
+                        "Error deserializing JSON: Json stream is null");
+            }
+            return readerFor(type).readValue(json);
         } catch (Exception e) {
             throw new JsonException(
                     "Error deserializing JSON: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
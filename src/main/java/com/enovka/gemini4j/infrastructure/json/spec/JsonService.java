@@ -2,8 +2,18 @@ package com.enovka.gemini4j.infrastructure.json.spec;
 
 import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Interface defining the contract for JSON serialization and deserialization.
+ * <p>
+ * Besides the {@code String} based methods, the service exposes byte and stream based
+ * variants that read and write UTF-8 encoded JSON. Their default implementations go through
+ * the {@code String} methods, so existing implementations keep working; implementations able
+ * to work on bytes directly should override them to avoid the intermediate copies.
  *
  * @author Everson Novka &lt;enovka@gmail.com&gt;
  * @since 0.0.1
@@ -30,4 +40,72 @@ public interface JsonService {
      * @throws JsonException If an error occurs during deserialization.
      */
     <T> T deserialize(String json, Class<T> type) throws JsonException;
-}
\ No newline at end of file
+
+    /**
+     * Serializes the given object to UTF-8 encoded JSON.
+     *
+     * @param object The object to serialize.
+     * @param <T>    The type of the object.
+     * @return The UTF-8 encoded JSON representation of the object.
+     * @throws JsonException If an error occurs during serialization.
+     * @since 0.2.1
+     */
+    default <T> byte[] serializeToBytes(T object) throws JsonException {
+        return serialize(object).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serializes the given object as UTF-8 encoded JSON to an output stream. The stream is
+     * neither flushed nor closed.
+     *
+     * @param object The object to serialize.
+     * @param output The stream to write to.
+     * @param <T>    The type of the object.
+     * @throws JsonException If an error occurs during serialization or while writing.
+     * @since 0.2.1
+     */
+    default <T> void serializeTo(T object, OutputStream output) throws JsonException {
+        byte[] json = serializeToBytes(object);
+        try {
+            output.write(json);
+        } catch (IOException e) {
+            throw new JsonException("Error writing serialized object: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deserializes the given UTF-8 encoded JSON to an object of the specified type.
+     *
+     * @param json The UTF-8 encoded JSON to deserialize.
+     * @param type The class of the object to deserialize to.
+     * @param <T>  The type of the object.
+     * @return The deserialized object.
+     * @throws JsonException If an error occurs during deserialization.
+     * @since 0.2.1
+     */
+    default <T> T deserialize(byte[] json, Class<T> type) throws JsonException {
+        return deserialize(json != null ? new String(json, StandardCharsets.UTF_8) : null, type);
+    }
+
+    /**
+     * Deserializes the UTF-8 encoded JSON read from an input stream to an object of the
+     * specified type. The stream is read to its end but not closed.
+     *
+     * @param json The stream to read the JSON from.
+     * @param type The class of the object to deserialize to.
+     * @param <T>  The type of the object.
+     * @return The deserialized object.
+     * @throws JsonException If an error occurs while reading or during deserialization.
+     * @since 0.2.1
+     */
+    default <T> T deserialize(InputStream json, Class<T> type) throws JsonException {
+        if (json == null) {
+            return deserialize((byte[]) null, type);
+        }
+        try {
+            return deserialize(json.readAllBytes(), type);
+        } catch (IOException e) {
+            throw new JsonException("Error reading JSON: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.enovka.gemini4j.infrastructure.quota;
+
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.FunctionDeclaration;
+import com.enovka.gemini4j.model.Part;
+import com.enovka.gemini4j.model.Tool;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An offline {@link TokenEstimator} that scores text with a linear model over a few character
+ * classes, whose coefficients can be fitted per model family against real token counts.
+ * <p>
+ * A single pass over the text counts words, ASCII letters, digits, other ASCII symbols and
+ * non-ASCII code points; whitespace is free. The estimate is the dot product of those counts
+ * with the coefficients of the model family, plus {@value #MEDIA_PART_TOKENS} tokens for every
+ * inline or file data part. Scoring allocates nothing but a small feature array, so a
+ * {@link GenerateRequest} of a few kilobytes is estimated in microseconds, cheap enough to
+ * budget every request before it is sent instead of calling {@code countTokens}.
+ * <p>
+ * Every {@link #observe(String, GenerateRequest, long) observation} of an actual token count,
+ * taken from a {@code countTokens} response or from the {@code UsageMetadata} of a generation,
+ * updates a ridge regression of the family's coefficients: samples are normalized by their
+ * length so each weighs the same, older samples fade out geometrically, and the default
+ * coefficients act as a prior, so a few samples of unusual text cannot push the fit far off.
+ * Families are derived from the model name by its first two hyphen-separated segments, e.g.
+ * "models/gemini-1.5-flash-002" and "gemini-1.5-pro" both calibrate "gemini-1.5".
+ * <p>
+ * JSON bodies passed to {@link #estimate(String)} are scored with the default coefficients,
+ * with field names and punctuation counted as text, so the estimate errs on the high side,
+ * which is the safe direction for quota reservation. Instances are thread-safe; estimates never
+ * block on a concurrent calibration.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class CalibratedTokenEstimator implements TokenEstimator {
+
+    /**
+     * The tokens charged for an inline or file data part, which is what the API charges for
+     * an image.
+     */
+    public static final int MEDIA_PART_TOKENS = 258;
+
+    private static final int WORDS = 0;
+    private static final int LETTERS = 1;
+    private static final int DIGITS = 2;
+    private static final int SYMBOLS = 3;
+    private static final int NON_ASCII = 4;
+    private static final int FEATURES = 5;
+    private static final int LENGTH = FEATURES;
+    private static final int MEDIA = FEATURES + 1;
+
+    private static final double[] DEFAULT_COEFFICIENTS = {0.3, 0.17, 1.0, 0.6, 0.9};
+    private static final double PRIOR_WEIGHT = 1.0;
+    private static final double FORGETTING_FACTOR = 0.99;
+    private static final String DEFAULT_FAMILY = "default";
+    private static final Family PRIOR = new Family();
+
+    private final Map<String, Family> familiesByModel = new ConcurrentHashMap<>();
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+    private final Family defaultFamily = new Family();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public int estimate(String body) {
+        if (body == null || body.isEmpty()) {
+            return 0;
+        }
+        long[] features = new long[FEATURES + 2];
+        scan(body, features);
+        return PRIOR.score(features);
+    }
+
+    /**
+     * Estimates the prompt tokens of a generation request: its system instruction, contents
+     * and function declarations.
+     *
+     * @param model   The model the request is sent to, or null to use the model of the
+     *                request.
+     * @param request The generation request.
+     * @return The estimated number of tokens, never negative.
+     * @since 0.2.1
+     */
+    public int estimate(String model, GenerateRequest request) {
+        if (request == null) {
+            return 0;
+        }
+        return family(model != null ? model : request.getModel()).score(features(request));
+    }
+
+    /**
+     * Estimates the tokens of a list of contents.
+     *
+     * @param model    The model the contents are sent to, or null for the default
+     *                 coefficients.
+     * @param contents The contents, may be null.
+     * @return The estimated number of tokens, never negative.
+     * @since 0.2.1
+     */
+    public int estimate(String model, List<Content> contents) {
+        long[] features = new long[FEATURES + 2];
+        scanContents(contents, features);
+        return family(model).score(features);
+    }
+
+    /**
+     * Estimates the tokens of a single content.
+     *
+     * @param model   The model the content is sent to, or null for the default coefficients.
+     * @param content The content, may be null.
+     * @return The estimated number of tokens, never negative.
+     * @since 0.2.1
+     */
+    public int estimate(String model, Content content) {
+        long[] features = new long[FEATURES + 2];
+        scanContent(content, features);
+        return family(model).score(features);
+    }
+
+    /**
+     * Estimates the tokens of a plain text.
+     *
+     * @param model The model the text is sent to, or null for the default coefficients.
+     * @param text  The text, may be null.
+     * @return The estimated number of tokens, never negative.
+     * @since 0.2.1
+     */
+    public int estimateText(String model, CharSequence text) {
+        long[] features = new long[FEATURES + 2];
+        scan(text, features);
+        return family(model).score(features);
+    }
+
+    /**
+     * Records the actual prompt token count of a generation request and refits the
+     * coefficients of the model's family.
+     *
+     * @param model        The model the request was sent to, or null to use the model of the
+     *                     request.
+     * @param request      The generation request.
+     * @param actualTokens The prompt tokens counted by the API.
+     * @since 0.2.1
+     */
+    public void observe(String model, GenerateRequest request, long actualTokens) {
+        if (request != null) {
+            family(model != null ? model : request.getModel()).observe(features(request), actualTokens);
+        }
+    }
+
+    /**
+     * Records the actual token count of a list of contents and refits the coefficients of the
+     * model's family.
+     *
+     * @param model        The model that counted the tokens.
+     * @param contents     The contents.
+     * @param actualTokens The tokens counted by the API.
+     * @since 0.2.1
+     */
+    public void observe(String model, List<Content> contents, long actualTokens) {
+        long[] features = new long[FEATURES + 2];
+        scanContents(contents, features);
+        family(model).observe(features, actualTokens);
+    }
+
+    /**
+     * Returns the current coefficients of a model's family, in the order words, ASCII
+     * letters, digits, other ASCII symbols and non-ASCII code points.
+     *
+     * @param model The model, or null for the default coefficients.
+     * @return A copy of the coefficients.
+     * @since 0.2.1
+     */
+    public double[] getCoefficients(String model) {
+        return family(model).coefficients.clone();
+    }
+
+    /**
+     * Returns the number of observations recorded for a model's family.
+     *
+     * @param model The model.
+     * @return The number of observations.
+     * @since 0.2.1
+     */
+    public long getSampleCount(String model) {
+        return family(model).getSamples();
+    }
+
+    /**
+     * Returns the model family whose coefficients apply to a model name.
+     *
+     * @param model The model name, with or without the "models/" prefix, may be null.
+     * @return The family, e.g. "gemini-1.5" for "models/gemini-1.5-flash-002".
+     * @since 0.2.1
+     */
+    public static String familyOf(String model) {
+        if (model == null || model.isEmpty()) {
+            return DEFAULT_FAMILY;
+        }
+        int start = model.lastIndexOf('/') + 1;
+        int first = model.indexOf('-', start);
+        int second = first < 0 ? -1 : model.indexOf('-', first + 1);
+        return model.substring(start, second < 0 ? model.length() : second);
+    }
+
+    private Family family(String model) {
+        if (model == null) {
+            return defaultFamily;
+        }
+        Family family = familiesByModel.get(model);
+        if (family == null) {
+            family = familiesByModel.computeIfAbsent(model,
+                    name -> families.computeIfAbsent(familyOf(name), key -> new Family()));
+        }
+        return family;
+    }
+
+    private static long[] features(GenerateRequest request) {
+        long[] features = new long[FEATURES + 2];
+        scanContent(request.getSystemInstruction(), features);
+        scanContents(request.getContents(), features);
+        if (request.getTools() != null) {
+            for (Tool tool : request.getTools()) {
+                if (tool != null && tool.getFunctionDeclarations() != null) {
+                    for (FunctionDeclaration declaration : tool.getFunctionDeclarations()) {
+                        scan(declaration.getName(), features);
+                        scan(declaration.getDescription(), features);
+                    }
+                }
+            }
+        }
+        return features;
+    }
+
+    private static void scanContents(List<Content> contents, long[] features) {
+        if (contents != null) {
+            for (Content content : contents) {
+                scanContent(content, features);
+            }
+        }
+    }
+
+    private static void scanContent(Content content, long[] features) {
+        if (content == null || content.getParts() == null) {
+            return;
+        }
+        for (Part part : content.getParts()) {
+            if (part == null) {
+                continue;
+            }
+            scan(part.getText(), features);
+            if (part.getInlineData() != null || part.getFileData() != null) {
+                features[MEDIA]++;
+            }
+            if (part.getFunctionResponse() != null) {
+                scan(part.getFunctionResponse().getName(), features);
+                scanValue(part.getFunctionResponse().getResponse(), features);
+            }
+        }
+    }
+
+    private static void scanValue(Object value, long[] features) {
+        if (value instanceof CharSequence) {
+            scan((CharSequence) value, features);
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                scanValue(entry.getKey(), features);
+                scanValue(entry.getValue(), features);
+            }
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                scanValue(element, features);
+            }
+        } else if (value != null) {
+            scan(value.toString(), features);
+        }
+    }
+
+    private static void scan(CharSequence text, long[] features) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        boolean inWord = false;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            if (letter) {
+                features[LETTERS]++;
+                if (!inWord) {
+                    features[WORDS]++;
+                }
+            } else if (c >= '0' && c <= '9') {
+                features[DIGITS]++;
+            } else if (c >= 0x80) {
+                if (!Character.isLowSurrogate(c)) {
+                    features[NON_ASCII]++;
+                }
+            } else if (c > ' ') {
+                features[SYMBOLS]++;
+            }
+            inWord = letter;
+        }
+        features[LENGTH] += length;
+    }
+
+    /**
+     * The calibration state of a model family.
+     */
+    private static final class Family {
+
+        private final double[][] gram = new double[FEATURES][FEATURES];
+        private final double[] moment = new double[FEATURES];
+        private long samples;
+        private volatile double[] coefficients = DEFAULT_COEFFICIENTS;
+
+        private int score(long[] features) {
+            double[] current = coefficients;
+            double tokens = features[MEDIA] * (double) MEDIA_PART_TOKENS;
+            for (int i = 0; i < FEATURES; i++) {
+                tokens += current[i] * features[i];
+            }
+            return (int) Math.min(Integer.MAX_VALUE, Math.ceil(tokens));
+        }
+
+        private synchronized long getSamples() {
+            return samples;
+        }
+
+        private synchronized void observe(long[] features, long actualTokens) {
+            long length = features[LENGTH];
+            double textTokens = actualTokens - features[MEDIA] * (double) MEDIA_PART_TOKENS;
+            if (length == 0 || textTokens < 0) {
+                return;
+            }
+            double[] x = new double[FEATURES];
+            for (int i = 0; i < FEATURES; i++) {
+                x[i] = features[i] / (double) length;
+            }
+            double y = textTokens / length;
+            for (int i = 0; i < FEATURES; i++) {
+                for (int j = 0; j < FEATURES; j++) {
+                    gram[i][j] = FORGETTING_FACTOR * gram[i][j] + x[i] * x[j];
+                }
+                moment[i] = FORGETTING_FACTOR * moment[i] + x[i] * y;
+            }
+            samples++;
+            coefficients = solve();
+        }
+
+        /**
+         * Solves (G + λI) w = m + λ w0 by Gaussian elimination with partial pivoting. The
+         * system is symmetric positive definite thanks to the prior, so it is always solvable.
+         */
+        private double[] solve() {
+            double[][] a = new double[FEATURES][FEATURES + 1];
+            for (int i = 0; i < FEATURES; i++) {
+                System.arraycopy(gram[i], 0, a[i], 0, FEATURES);
+                a[i][i] += PRIOR_WEIGHT;
+                a[i][FEATURES] = moment[i] + PRIOR_WEIGHT * DEFAULT_COEFFICIENTS[i];
+            }
+            for (int column = 0; column < FEATURES; column++) {
+                int pivot = column;
+                for (int row = column + 1; row < FEATURES; row++) {
+                    if (Math.abs(a[row][column]) > Math.abs(a[pivot][column])) {
+                        pivot = row;
+                    }
+                }
+                double[] swap = a[column];
+                a[column] = a[pivot];
+                a[pivot] = swap;
+                for (int row = column + 1; row < FEATURES; row++) {
+                    double factor = a[row][column] / a[column][column];
+                    for (int k = column; k <= FEATURES; k++) {
+                        a[row][k] -= factor * a[column][k];
+                    }
+                }
+            }
+            double[] solution = new double[FEATURES];
+            for (int row = FEATURES - 1; row >= 0; row--) {
+                double sum = a[row][FEATURES];
+                for (int k = row + 1; k < FEATURES; k++) {
+                    sum -= a[row][k] * solution[k];
+                }
+                solution[row] = sum / a[row][row];
+            }
+            for (int i = 0; i < FEATURES; i++) {
+                solution[i] = Math.max(0, solution[i]);
+            }
+            return solution;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.enovka.gemini4j.infrastructure.quota;
+
+/**
+ * A {@link TokenEstimator} that assumes a fixed number of characters per token, which is the
+ * rule of thumb published for Gemini models (about four characters per token). Because it is
+ * applied to the whole JSON body, including field names and structure, the estimate errs on the
+ * high side, which is the safe direction for quota reservation.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class CharacterTokenEstimator implements TokenEstimator {
+
+    private static final double DEFAULT_CHARACTERS_PER_TOKEN = 4.0;
+
+    private final double charactersPerToken;
+
+    /**
+     * Constructs a new CharacterTokenEstimator using four characters per token.
+     *
+     * @since 0.2.1
+     */
+    public CharacterTokenEstimator() {
+        this(DEFAULT_CHARACTERS_PER_TOKEN);
+    }
+
+    /**
+     * Constructs a new CharacterTokenEstimator with a custom ratio.
+     *
+     * @param charactersPerToken The average number of characters per token.
+     * @throws IllegalArgumentException If the ratio is not positive.
+     * @since 0.2.1
+     */
+    public CharacterTokenEstimator(double charactersPerToken) {
+        if (!(charactersPerToken > 0)) {
+            throw new IllegalArgumentException("charactersPerToken must be greater than zero.");
+        }
+        this.charactersPerToken = charactersPerToken;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public int estimate(String body) {
+        if (body == null || body.isEmpty()) {
+            return 0;
+        }
+        return (int) Math.ceil(body.length() / charactersPerToken);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The body is measured in bytes instead of characters, which is the same for the ASCII
+     * that makes up most JSON and higher for other text, so the estimate never gets lower.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public int estimateBytes(byte[] body) {
+        if (body == null || body.length == 0) {
+            return 0;
+        }
+        return (int) Math.ceil(body.length / charactersPerToken);
+    }
+}
@@ -0,0 +1,313 @@
+package com.enovka.gemini4j.infrastructure.quota;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Governs the per-minute quotas of the Gemini API along both of their dimensions: requests per
+ * minute (RPM) and tokens per minute (TPM). Before a request is dispatched, the governor
+ * reserves one request and the estimated number of tokens; once the response arrives, the
+ * returned {@link QuotaReservation} is reconciled against the actual
+ * {@link com.enovka.gemini4j.model.UsageMetadata}, refunding over-estimates and charging
+ * under-estimates. This keeps the client close to its TPM ceiling instead of discovering the
+ * limit through bursts of HTTP 429 responses.
+ * <p>
+ * Each dimension is a lock-free token bucket based on the Generic Cell Rate Algorithm, the same
+ * scheme used by {@link com.enovka.gemini4j.infrastructure.http.TokenBucketRateLimiter}, with a
+ * weight per reservation. A single request larger than the whole TPM budget is clamped to the
+ * budget, so it waits for a full window instead of forever.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class QuotaGovernor extends BaseClass {
+
+    private static final Duration QUOTA_WINDOW = Duration.ofMinutes(1);
+
+    private final int requestsPerMinute;
+    private final int tokensPerMinute;
+    private final Bucket requestBucket;
+    private final Bucket tokenBucket;
+    private final TokenEstimator tokenEstimator;
+
+    /**
+     * Constructs a new QuotaGovernor using a {@link CharacterTokenEstimator}.
+     *
+     * @param requestsPerMinute The requests per minute quota, or zero to leave requests
+     *                          ungoverned.
+     * @param tokensPerMinute   The tokens per minute quota, or zero to leave tokens ungoverned.
+     * @since 0.2.1
+     */
+    public QuotaGovernor(int requestsPerMinute, int tokensPerMinute) {
+        this(requestsPerMinute, tokensPerMinute, new CharacterTokenEstimator());
+    }
+
+    /**
+     * Constructs a new QuotaGovernor.
+     *
+     * @param requestsPerMinute The requests per minute quota, or zero to leave requests
+     *                          ungoverned.
+     * @param tokensPerMinute   The tokens per minute quota, or zero to leave tokens ungoverned.
+     * @param tokenEstimator    The estimator used to size token reservations.
+     * @throws IllegalArgumentException If a quota is negative or the estimator is null.
+     * @since 0.2.1
+     */
+    public QuotaGovernor(int requestsPerMinute, int tokensPerMinute, TokenEstimator tokenEstimator) {
+        if (requestsPerMinute < 0 || tokensPerMinute < 0) {
+            throw new IllegalArgumentException("Quotas must not be negative.");
+        }
+        if (tokenEstimator == null) {
+            throw new IllegalArgumentException("tokenEstimator is required.");
+        }
+        this.requestsPerMinute = requestsPerMinute;
+        this.tokensPerMinute = tokensPerMinute;
+        this.requestBucket = requestsPerMinute > 0 ? new Bucket(requestsPerMinute, QUOTA_WINDOW) : null;
+        this.tokenBucket = tokensPerMinute > 0 ? new Bucket(tokensPerMinute, QUOTA_WINDOW) : null;
+        this.tokenEstimator = tokenEstimator;
+    }
+
+    /**
+     * Estimates the tokens consumed by a request body using the configured
+     * {@link TokenEstimator}.
+     *
+     * @param body The serialized request body.
+     * @return The estimated number of tokens.
+     * @since 0.2.1
+     */
+    public int estimateTokens(String body) {
+        return Math.max(0, tokenEstimator.estimate(body));
+    }
+
+    /**
+     * Estimates the tokens consumed by a UTF-8 encoded request body using the configured
+     * {@link TokenEstimator}.
+     *
+     * @param body The serialized request body.
+     * @return The estimated number of tokens.
+     * @since 0.2.1
+     */
+    public int estimateTokens(byte[] body) {
+        return Math.max(0, tokenEstimator.estimateBytes(body));
+    }
+
+    /**
+     * Reserves one request and the given number of tokens, blocking the calling thread until
+     * both are within quota.
+     *
+     * @param estimatedTokens The number of tokens to reserve.
+     * @return The reservation, to be reconciled or released once the request completes.
+     * @throws RuntimeException If the thread is interrupted while waiting.
+     * @since 0.2.1
+     */
+    public QuotaReservation reserve(int estimatedTokens) {
+        QuotaReservation reservation = newReservation(estimatedTokens);
+        long waitNanos = reservation.getWaitNanos();
+        if (waitNanos <= 0) {
+            return reservation;
+        }
+        logDebug(String.format("Quota reached. Waiting for %d milliseconds.",
+                TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+        long deadline = System.nanoTime() + waitNanos;
+        long remaining = waitNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                reservation.release();
+                RuntimeException exception = new RuntimeException(
+                        new InterruptedException("Interrupted while waiting for quota."));
+                logError("Interrupted while waiting for quota.", exception);
+                throw exception;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        return reservation;
+    }
+
+    /**
+     * Reserves one request and the given number of tokens without blocking the calling thread.
+     * The quota is reserved immediately; the returned future completes once the reservation
+     * becomes due.
+     *
+     * @param estimatedTokens The number of tokens to reserve.
+     * @return A {@link CompletableFuture} completed with the reservation when it may be used.
+     * @since 0.2.1
+     */
+    public CompletableFuture<QuotaReservation> reserveAsync(int estimatedTokens) {
+        QuotaReservation reservation = newReservation(estimatedTokens);
+        long waitNanos = reservation.getWaitNanos();
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(reservation);
+        }
+        CompletableFuture<QuotaReservation> future = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS)
+                .execute(() -> future.complete(reservation));
+        future.whenComplete((result, exception) -> {
+            if (exception != null) {
+                reservation.release();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Reserves one request and the given number of tokens only if both are available right
+     * now, for optional requests such as hedges that are better skipped than delayed.
+     *
+     * @param estimatedTokens The number of tokens to reserve.
+     * @return The reservation, or null if the quota is exhausted.
+     * @since 0.2.1
+     */
+    public QuotaReservation tryReserve(int estimatedTokens) {
+        long tokens = Math.max(0, estimatedTokens);
+        if (tokenBucket != null) {
+            tokens = Math.min(tokens, tokensPerMinute);
+        }
+        if (requestBucket != null && !requestBucket.tryReserve(1)) {
+            return null;
+        }
+        if (tokenBucket != null && tokens > 0 && !tokenBucket.tryReserve(tokens)) {
+            if (requestBucket != null) {
+                requestBucket.adjust(-1);
+            }
+            return null;
+        }
+        return new QuotaReservation(this, tokens, 0);
+    }
+
+    /**
+     * Returns the requests per minute quota.
+     *
+     * @return The RPM quota, zero when requests are not governed.
+     * @since 0.2.1
+     */
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    /**
+     * Returns the tokens per minute quota.
+     *
+     * @return The TPM quota, zero when tokens are not governed.
+     * @since 0.2.1
+     */
+    public int getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+
+    /**
+     * Returns the number of tokens that could be reserved right now without waiting.
+     *
+     * @return The available tokens, or {@link Long#MAX_VALUE} when tokens are not governed.
+     * @since 0.2.1
+     */
+    public long getAvailableTokens() {
+        return tokenBucket != null ? tokenBucket.available() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the number of requests that could be reserved right now without waiting.
+     *
+     * @return The available requests, or {@link Long#MAX_VALUE} when requests are not governed.
+     * @since 0.2.1
+     */
+    public long getAvailableRequests() {
+        return requestBucket != null ? requestBucket.available() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Charges (positive delta) or refunds (negative delta) tokens against the TPM budget.
+     *
+     * @param delta The number of tokens to charge or refund.
+     * @since 0.2.1
+     */
+    void adjustTokens(long delta) {
+        if (tokenBucket != null && delta != 0) {
+            tokenBucket.adjust(delta);
+        }
+    }
+
+    /**
+     * Reserves quota in both dimensions and wraps the result in a {@link QuotaReservation}.
+     *
+     * @param estimatedTokens The number of tokens to reserve.
+     * @return The new reservation.
+     * @since 0.2.1
+     */
+    private QuotaReservation newReservation(int estimatedTokens) {
+        long tokens = Math.max(0, estimatedTokens);
+        if (tokenBucket != null) {
+            tokens = Math.min(tokens, tokensPerMinute);
+        }
+        long requestWait = requestBucket != null ? requestBucket.reserve(1) : 0;
+        long tokenWait = tokenBucket != null && tokens > 0 ? tokenBucket.reserve(tokens) : 0;
+        return new QuotaReservation(this, tokens, Math.max(requestWait, tokenWait));
+    }
+
+    /**
+     * A weighted GCRA bucket: every unit reserved advances the theoretical arrival time by one
+     * emission interval, and a reservation is due once that time is no more than one window
+     * ahead of the clock.
+     */
+    private static final class Bucket {
+
+        private final long emissionIntervalNanos;
+        private final long windowNanos;
+        private final AtomicLong theoreticalArrivalTime;
+
+        private Bucket(int unitsPerWindow, Duration window) {
+            this.windowNanos = window.toNanos();
+            this.emissionIntervalNanos = Math.max(1, windowNanos / unitsPerWindow);
+            this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+        }
+
+        private long reserve(long units) {
+            while (true) {
+                long now = System.nanoTime();
+                long current = theoreticalArrivalTime.get();
+                long next = Math.max(current, now) + units * emissionIntervalNanos;
+                if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                    return next - now - windowNanos;
+                }
+            }
+        }
+
+        private boolean tryReserve(long units) {
+            while (true) {
+                long now = System.nanoTime();
+                long current = theoreticalArrivalTime.get();
+                long next = Math.max(current, now) + units * emissionIntervalNanos;
+                if (next - now - windowNanos > 0) {
+                    return false;
+                }
+                if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private void adjust(long units) {
+            while (true) {
+                long now = System.nanoTime();
+                long current = theoreticalArrivalTime.get();
+                long next = units > 0
+                        ? Math.max(current, now) + units * emissionIntervalNanos
+                        : Math.max(current + units * emissionIntervalNanos, Math.min(current, now));
+                if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        private long available() {
+            long now = System.nanoTime();
+            long ahead = Math.max(0, theoreticalArrivalTime.get() - now);
+            return Math.max(0, (windowNanos - ahead) / emissionIntervalNanos);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.enovka.gemini4j.infrastructure.quota;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.model.UsageMetadata;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A quota reservation obtained from a {@link QuotaGovernor}. Every reservation must be settled
+ * exactly once: {@link #reconcile(UsageMetadata)} when the API reported the actual usage,
+ * {@link #release()} when the request failed before consuming tokens. Settling is idempotent,
+ * so only the first call has an effect.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class QuotaReservation extends BaseClass {
+
+    private final QuotaGovernor governor;
+    private final long reservedTokens;
+    private final long waitNanos;
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    /**
+     * Constructs a new QuotaReservation.
+     *
+     * @param governor       The governor that issued the reservation.
+     * @param reservedTokens The number of tokens reserved.
+     * @param waitNanos      How long the holder must wait before using the reservation.
+     * @since 0.2.1
+     */
+    QuotaReservation(QuotaGovernor governor, long reservedTokens, long waitNanos) {
+        this.governor = governor;
+        this.reservedTokens = reservedTokens;
+        this.waitNanos = waitNanos;
+    }
+
+    /**
+     * Returns the number of tokens reserved.
+     *
+     * @return The reserved tokens.
+     * @since 0.2.1
+     */
+    public long getReservedTokens() {
+        return reservedTokens;
+    }
+
+    /**
+     * Returns how long the holder had to wait, at reservation time, before using it.
+     *
+     * @return The wait time in nanoseconds, zero or negative if it was usable immediately.
+     * @since 0.2.1
+     */
+    long getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * Returns whether this reservation has already been reconciled or released.
+     *
+     * @return {@code true} if the reservation is settled.
+     * @since 0.2.1
+     */
+    public boolean isSettled() {
+        return settled.get();
+    }
+
+    /**
+     * Settles the reservation against the usage reported by the API. The total token count is
+     * used when present; otherwise the prompt and candidates counts are added up. When no usage
+     * is reported the estimate is kept as the charge.
+     *
+     * @param usageMetadata The usage metadata returned with the response, may be null.
+     * @since 0.2.1
+     */
+    public void reconcile(UsageMetadata usageMetadata) {
+        if (usageMetadata == null) {
+            settled.set(true);
+            return;
+        }
+        if (usageMetadata.getTotalTokenCount() != null) {
+            reconcile(usageMetadata.getTotalTokenCount());
+            return;
+        }
+        int promptTokens = usageMetadata.getPromptTokenCount() != null ? usageMetadata.getPromptTokenCount() : 0;
+        int candidatesTokens = usageMetadata.getCandidatesTokenCount() != null ? usageMetadata.getCandidatesTokenCount() : 0;
+        reconcile(promptTokens + candidatesTokens);
+    }
+
+    /**
+     * Settles the reservation against the actual number of tokens consumed, charging or
+     * refunding the difference to the estimate.
+     *
+     * @param actualTokens The number of tokens actually consumed.
+     * @since 0.2.1
+     */
+    public void reconcile(long actualTokens) {
+        if (settled.compareAndSet(false, true)) {
+            long delta = Math.max(0, actualTokens) - reservedTokens;
+            if (delta != 0) {
+                logDebug(String.format("Reconciling quota reservation: estimated %d, actual %d tokens.",
+                        reservedTokens, actualTokens));
+                governor.adjustTokens(delta);
+            }
+        }
+    }
+
+    /**
+     * Releases the reservation, refunding the reserved tokens. Used when the request failed
+     * before the API consumed any tokens. The request itself is not refunded, since it still
+     * counts against the requests per minute quota.
+     *
+     * @since 0.2.1
+     */
+    public void release() {
+        if (settled.compareAndSet(false, true) && reservedTokens > 0) {
+            governor.adjustTokens(-reservedTokens);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.enovka.gemini4j.infrastructure.quota;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Estimates how many tokens a request will consume before it is sent, so that a
+ * {@link QuotaGovernor} can reserve them against the tokens-per-minute quota. The estimate
+ * does not need to be exact: every reservation is reconciled against the
+ * {@link com.enovka.gemini4j.model.UsageMetadata} returned by the API once the response
+ * arrives.
+ * <p>
+ * Implementations must be thread-safe and cheap, since they run on the caller thread for every
+ * governed request. Callers that need an exact figure can plug an estimator backed by
+ * {@link com.enovka.gemini4j.resource.spec.TokensResource}, at the cost of one extra request.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@FunctionalInterface
+public interface TokenEstimator {
+
+    /**
+     * Estimates the number of tokens consumed by a request.
+     *
+     * @param body The serialized JSON body of the request.
+     * @return The estimated number of tokens, never negative.
+     * @since 0.2.1
+     */
+    int estimate(String body);
+
+    /**
+     * Estimates the number of tokens consumed by a request from its UTF-8 encoded body. The
+     * default implementation decodes the body and delegates to {@link #estimate(String)};
+     * estimators that only need its size should override it.
+     *
+     * @param body The UTF-8 encoded JSON body of the request, may be null.
+     * @return The estimated number of tokens, never negative.
+     * @since 0.2.1
+     */
+    default int estimateBytes(byte[] body) {
+        return estimate(body != null ? new String(body, StandardCharsets.UTF_8) : null);
+    }
+}
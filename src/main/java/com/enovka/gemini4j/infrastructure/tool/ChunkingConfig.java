@@ -0,0 +1,62 @@
+package com.enovka.gemini4j.infrastructure.tool;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable description of how a {@link TextChunkIterator} cuts a text into chunks.
+ * <p>
+ * A chunk holds at most {@link #getMaxChunkChars()} characters and, when a token counter is
+ * set, at most {@link #getMaxTokens()} tokens. It ends at a paragraph break if one lies in its
+ * second half, otherwise at a line break, otherwise at the end of a sentence, otherwise at
+ * whitespace, so that words are not split. Consecutive chunks share about
+ * {@link #getOverlapChars()} characters, which keeps the context of a passage cut in two when
+ * the chunks are embedded for retrieval.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class ChunkingConfig {
+
+    /**
+     * The maximum number of characters of a chunk. It is also the size of the buffer of the
+     * iterator, which never holds more of the text. Defaults to 8000.
+     */
+    @Builder.Default
+    private final int maxChunkChars = 8000;
+
+    /**
+     * The number of characters at the end of a chunk repeated at the start of the next one,
+     * rounded to a word boundary. Must be less than half of {@link #getMaxChunkChars()}, and
+     * is capped at half of every chunk, so chunks cut short by a token budget overlap less.
+     * Defaults to 0.
+     */
+    @Builder.Default
+    private final int overlapChars = 0;
+
+    /**
+     * The maximum number of tokens of a chunk, or null for no token budget. Only used with a
+     * {@link #getTokenCounter()}. Defaults to null.
+     */
+    private final Integer maxTokens;
+
+    /**
+     * Counts or estimates the tokens of a chunk, or null for no token budget. Defaults to
+     * null.
+     */
+    private final ToIntFunction<String> tokenCounter;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static ChunkingConfig defaults() {
+        return ChunkingConfig.builder().build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.enovka.gemini4j.infrastructure.tool;
+
+import com.enovka.gemini4j.infrastructure.quota.CalibratedTokenEstimator;
+import com.enovka.gemini4j.model.Content;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable description of how much history a {@link MultiTurnConversation} keeps.
+ * <p>
+ * The history is a sliding window of whole turns, a turn being a user content and the model
+ * contents answering it. The oldest turns are evicted once the window holds more than
+ * {@link #getMaxTurns()} turns, or once the system instruction, the summary and the window
+ * together exceed {@link #getMaxTokens()} tokens; the latest turn is always kept. Eviction
+ * goes down to {@link #getEvictionTarget()} of the exceeded limit, so the start of the
+ * history changes once every few turns instead of on every turn, which keeps a cached prefix
+ * of the conversation valid in between. With a {@link #getSummarizer()}, evicted turns are
+ * folded into a running summary in the background.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class ConversationHistoryPolicy {
+
+    private static final CalibratedTokenEstimator DEFAULT_ESTIMATOR = new CalibratedTokenEstimator();
+
+    /**
+     * The maximum number of turns kept, or null for no limit. Defaults to 100.
+     */
+    @Builder.Default
+    private final Integer maxTurns = 100;
+
+    /**
+     * The maximum number of tokens of the system instruction, the summary and the turns kept,
+     * or null for no limit. Defaults to null.
+     */
+    private final Integer maxTokens;
+
+    /**
+     * The fraction of an exceeded limit the history is evicted down to, greater than zero and
+     * at most one. One evicts a single turn at a time. Defaults to 0.75, so a history with the
+     * default 100 turns drops to 75 turns and then grows back for 25 turns.
+     */
+    @Builder.Default
+    private final double evictionTarget = 0.75;
+
+    /**
+     * Counts or estimates the tokens of a content. Defaults to a
+     * {@link CalibratedTokenEstimator} with its default coefficients.
+     */
+    @Builder.Default
+    private final ToIntFunction<Content> tokenCounter = content -> DEFAULT_ESTIMATOR.estimate(null, content);
+
+    /**
+     * Summarizes the evicted turns, or null to drop them. Defaults to null.
+     */
+    private final ConversationSummarizer summarizer;
+
+    /**
+     * Returns the default policy, keeping the last 100 turns.
+     *
+     * @return The default policy.
+     * @since 0.2.1
+     */
+    public static ConversationHistoryPolicy defaults() {
+        return ConversationHistoryPolicy.builder().build();
+    }
+
+    /**
+     * Returns a policy keeping the whole history.
+     *
+     * @return A policy without limits.
+     * @since 0.2.1
+     */
+    public static ConversationHistoryPolicy unbounded() {
+        return ConversationHistoryPolicy.builder().withMaxTurns(null).build();
+    }
+}
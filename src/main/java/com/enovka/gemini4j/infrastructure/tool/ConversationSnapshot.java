@@ -0,0 +1,45 @@
+package com.enovka.gemini4j.infrastructure.tool;
+
+import com.enovka.gemini4j.model.Content;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The state of a {@link MultiTurnConversation} that outlives it: the pinned system
+ * instruction, the summary of the evicted turns and the turns kept. Snapshots are plain JSON
+ * documents, so a conversation can be persisted by a
+ * {@link com.enovka.gemini4j.infrastructure.conversation.ConversationPersistence} and restored
+ * in another process.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Data
+@Builder(setterPrefix = "with", toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSnapshot {
+
+    /**
+     * The pinned system instruction, may be null.
+     */
+    @JsonProperty("systemInstruction")
+    private Content systemInstruction;
+
+    /**
+     * The summary of the evicted turns, may be null.
+     */
+    @JsonProperty("summary")
+    private Content summary;
+
+    /**
+     * The turns kept, oldest first.
+     */
+    @JsonProperty("history")
+    private List<Content> history;
+}
@@ -0,0 +1,28 @@
+package com.enovka.gemini4j.infrastructure.tool;
+
+import com.enovka.gemini4j.model.Content;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Summarizes the turns evicted from a {@link MultiTurnConversation}, so that a bounded history
+ * keeps the gist of the turns it no longer holds.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@FunctionalInterface
+public interface ConversationSummarizer {
+
+    /**
+     * Merges the previous summary and the evicted contents into a new summary. It is called
+     * outside of any lock and must not block: the work is expected to run asynchronously.
+     *
+     * @param previousSummary The previous summary, or null for the first one.
+     * @param evicted         The evicted contents, oldest first.
+     * @return A future completed with the new summary, which replaces the previous one.
+     * @since 0.2.1
+     */
+    CompletableFuture<Content> summarize(Content previousSummary, List<Content> evicted);
+}
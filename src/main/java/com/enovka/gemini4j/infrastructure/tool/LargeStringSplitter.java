@@ -1,16 +1,33 @@
 package com.enovka.gemini4j.infrastructure.tool;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToIntFunction;
 
 /**
  * Utility class for splitting large strings into smaller chunks while preserving whole words.
+ * <p>
+ * The {@code split} methods take the whole text as a string and return every chunk at once.
+ * The {@code chunks} methods return a {@link TextChunkIterator} that reads the text from a
+ * character sequence, a reader or a memory-mapped file and cuts the chunks one at a time, so
+ * that texts larger than the heap can be split.
  *
  * @since 0.1.4
  */
 public class LargeStringSplitter {
 
-    private static final int DEFAULT_CHUNK_SIZE_BYTES = 8000;
+    private static final int DEFAULT_CHUNK_SIZE_CHARS = 8000;
 
     /**
      * Splits a large string into a list of smaller strings, ensuring that words are not split.
@@ -42,14 +59,161 @@ public class LargeStringSplitter {
 
     /**
      * Splits a large string into a list of smaller strings, ensuring that words are not split.
-     * Uses the default chunk size of {@link #DEFAULT_CHUNK_SIZE_BYTES}.
+     * Uses the default chunk size of {@link #DEFAULT_CHUNK_SIZE_CHARS}.
      *
      * @param largeString The input string to be split.
      * @return A list of strings, each smaller than the maximum chunk size.
      * @throws NullPointerException If the input string is null.
      */
     public static List<String> splitLargeString(String largeString) {
-        return splitLargeString(largeString, DEFAULT_CHUNK_SIZE_BYTES);
+        return splitLargeString(largeString, DEFAULT_CHUNK_SIZE_CHARS);
+    }
+
+    /**
+     * Splits a large string into chunks of at most {@code maxTokens} tokens, as counted by the
+     * given token counter. Chunks end at a paragraph break when one lies in the last quarter of
+     * the chunk, otherwise at a line break, otherwise at whitespace, so that words are not
+     * split.
+     * <p>
+     * The text is counted once to derive its average number of characters per token, which
+     * sizes every chunk; each chunk is then counted and shortened if it still exceeds the
+     * budget, for example because it is denser than the text as a whole. The counter is
+     * therefore applied to about twice the length of the text in total.
+     *
+     * @param largeString  The input string to be split.
+     * @param maxTokens    The maximum number of tokens per chunk.
+     * @param tokenCounter Counts or estimates the tokens of a string.
+     * @return The chunks, in order; empty if the input string is empty.
+     * @throws NullPointerException     If the input string or the token counter is null.
+     * @throws IllegalArgumentException If the token budget is not positive.
+     * @since 0.2.1
+     */
+    public static List<String> splitByTokens(String largeString, int maxTokens, ToIntFunction<String> tokenCounter) {
+        if (largeString == null || tokenCounter == null) {
+            throw new NullPointerException("Input string and token counter cannot be null.");
+        }
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("Token budget must be positive.");
+        }
+        List<String> chunks = new ArrayList<>();
+        int length = largeString.length();
+        int totalTokens = tokenCounter.applyAsInt(largeString);
+        if (totalTokens <= maxTokens) {
+            if (length > 0) {
+                chunks.add(largeString);
+            }
+            return chunks;
+        }
+        int chunkSize = Math.max(1, (int) ((long) maxTokens * length / totalTokens));
+        int startIndex = 0;
+        while (startIndex < length) {
+            int size = chunkSize;
+            int endIndex = findPreferredBoundary(largeString, startIndex, size);
+            String chunk = largeString.substring(startIndex, endIndex);
+            int tokens = tokenCounter.applyAsInt(chunk);
+            while (tokens > maxTokens && endIndex - startIndex > 1) {
+                size = Math.max(1, Math.min(endIndex - startIndex - 1,
+                        (int) ((long) (endIndex - startIndex) * maxTokens * 9 / (10L * tokens))));
+                endIndex = findPreferredBoundary(largeString, startIndex, size);
+                chunk = largeString.substring(startIndex, endIndex);
+                tokens = tokenCounter.applyAsInt(chunk);
+            }
+            chunks.add(chunk);
+            startIndex = endIndex;
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns an iterator cutting a character sequence into chunks. The sequence is read in
+     * place, without copying it as a whole.
+     *
+     * @param text   The text to be split.
+     * @param config The chunking configuration.
+     * @return An iterator over the chunks.
+     * @throws NullPointerException     If the text is null.
+     * @throws IllegalArgumentException If the configuration is invalid.
+     * @since 0.2.1
+     */
+    public static TextChunkIterator chunks(CharSequence text, ChunkingConfig config) {
+        if (text == null) {
+            throw new NullPointerException("Input text cannot be null.");
+        }
+        return new TextChunkIterator(new CharSequenceReader(text), config);
+    }
+
+    /**
+     * Returns an iterator cutting the text of a reader into chunks. The reader is closed once
+     * the last chunk has been returned or when the iterator is closed.
+     *
+     * @param reader The reader of the text to be split.
+     * @param config The chunking configuration.
+     * @return An iterator over the chunks.
+     * @throws NullPointerException     If the reader is null.
+     * @throws IllegalArgumentException If the configuration is invalid.
+     * @since 0.2.1
+     */
+    public static TextChunkIterator chunks(Reader reader, ChunkingConfig config) {
+        if (reader == null) {
+            throw new NullPointerException("Reader cannot be null.");
+        }
+        return new TextChunkIterator(reader, config);
+    }
+
+    /**
+     * Returns an iterator cutting the text of a file into chunks. The file is memory-mapped
+     * and decoded one region at a time, so neither its bytes nor its characters are loaded in
+     * the heap. Malformed input is replaced rather than reported. The file is closed once the
+     * last chunk has been returned or when the iterator is closed.
+     *
+     * @param path    The file to be split.
+     * @param charset The charset of the file.
+     * @param config  The chunking configuration.
+     * @return An iterator over the chunks.
+     * @throws IOException              If the file cannot be opened.
+     * @throws IllegalArgumentException If the configuration is invalid.
+     * @since 0.2.1
+     */
+    public static TextChunkIterator chunks(Path path, Charset charset, ChunkingConfig config) throws IOException {
+        MappedFileReader reader = new MappedFileReader(path, charset);
+        try {
+            return new TextChunkIterator(reader, config);
+        } catch (IllegalArgumentException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the end of a chunk, preferring a paragraph break, then a line break, in the last
+     * quarter of the chunk, and falling back to {@link #findNextWordBoundary}.
+     *
+     * @param largeString The input string.
+     * @param startIndex  The starting index for the current chunk.
+     * @param chunkSize   The maximum size of the current chunk.
+     * @return The end index for the current chunk.
+     */
+    private static int findPreferredBoundary(String largeString, int startIndex, int chunkSize) {
+        int endIndex = Math.min(startIndex + chunkSize, largeString.length());
+        if (endIndex == largeString.length()) {
+            return endIndex;
+        }
+        int floor = Math.max(startIndex + 1, startIndex + chunkSize * 3 / 4);
+        int line = -1;
+        for (int i = endIndex - 1; i >= floor; i--) {
+            if (largeString.charAt(i) == '\n') {
+                if (largeString.charAt(i - 1) == '\n') {
+                    return i + 1;
+                }
+                if (line < 0) {
+                    line = i + 1;
+                }
+            }
+        }
+        if (line >= 0) {
+            return line;
+        }
+        return findNextWordBoundary(largeString, startIndex, chunkSize);
     }
 
     /**
@@ -80,4 +244,106 @@ public class LargeStringSplitter {
 
         return endIndex;
     }
-}
\ No newline at end of file
+
+    /**
+     * A reader over a character sequence, copying only the characters requested.
+     */
+    private static final class CharSequenceReader extends Reader {
+
+        private final CharSequence text;
+        private int position;
+
+        private CharSequenceReader(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position >= text.length()) {
+                return -1;
+            }
+            int count = Math.min(len, text.length() - position);
+            if (text instanceof String) {
+                ((String) text).getChars(position, position + count, cbuf, off);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    cbuf[off + i] = text.charAt(position + i);
+                }
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            position = text.length();
+        }
+    }
+
+    /**
+     * A reader decoding a file through memory-mapped regions of at most
+     * {@link #REGION_BYTES} bytes. A character split across two regions is decoded from the
+     * start of the next region, which is mapped from the first byte not yet decoded.
+     */
+    private static final class MappedFileReader extends Reader {
+
+        private static final long REGION_BYTES = 64L << 20;
+
+        private final FileChannel channel;
+        private final long size;
+        private final CharsetDecoder decoder;
+        private long regionStart;
+        private MappedByteBuffer region;
+        private boolean decoded;
+        private boolean flushed;
+
+        private MappedFileReader(Path path, Charset charset) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.size = channel.size();
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (flushed) {
+                return -1;
+            }
+            CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+            while (out.hasRemaining()) {
+                if (decoded) {
+                    if (decoder.flush(out).isOverflow()) {
+                        break;
+                    }
+                    flushed = true;
+                    break;
+                }
+                if (region == null) {
+                    region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                            Math.min(REGION_BYTES, size - regionStart));
+                }
+                boolean last = regionStart + region.limit() == size;
+                CoderResult result = decoder.decode(region, out, last);
+                if (result.isOverflow()) {
+                    break;
+                }
+                if (last) {
+                    decoded = true;
+                } else {
+                    regionStart += region.position();
+                    region = null;
+                }
+            }
+            int count = out.position() - off;
+            return count == 0 && flushed ? -1 : count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            region = null;
+            flushed = true;
+            channel.close();
+        }
+    }
+}
@@ -1,29 +1,71 @@
 package com.enovka.gemini4j.infrastructure.tool;
 
 import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.request.GenerateRequest;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages multi-turn conversations by storing conversation history and
  * providing methods for context tracking and retrieval.
+ * <p>
+ * The history is bounded by a {@link ConversationHistoryPolicy}: every content added evicts the
+ * oldest turns beyond the policy limits, so the size of the requests built from the history
+ * stays bounded however long the conversation runs. Evicted turns are handed to the policy's
+ * {@link ConversationSummarizer}, if any, one batch at a time; the summary is kept as the first
+ * content of the history. Until a summary completes, the turns it covers are neither in the
+ * window nor in the summary, so adding a content never waits for a summarization.
+ * <p>
+ * The system instruction set on the conversation is pinned: it is never evicted, and it is
+ * counted against the token limit. This class is thread-safe.
  *
  * @author Everson Novka &lt;enovka@gmail.com&gt;
  * @since 0.0.3
  */
 public class MultiTurnConversation extends BaseClass {
 
+    private static final String USER_ROLE = "user";
+
     private boolean contextTrackingEnabled;
-    private List<Content> conversationHistory;
+    private ConversationHistoryPolicy policy;
+    private final ArrayDeque<Entry> window = new ArrayDeque<>();
+    private long windowTokens;
+    private int turns;
+    private Content systemInstruction;
+    private int systemInstructionTokens;
+    private Content summary;
+    private int summaryTokens;
+    private List<Content> snapshot;
+    private List<Content> evicted = new ArrayList<>();
+    private boolean summarizing;
+    private CompletableFuture<Void> compaction = CompletableFuture.completedFuture(null);
+    private long epoch;
 
     /**
      * Constructs a new MultiTurnConversation with context tracking disabled by
-     * default and an empty conversation history.
+     * default, an empty conversation history and the default history policy.
      */
     public MultiTurnConversation() {
+        this(ConversationHistoryPolicy.defaults());
+    }
+
+    /**
+     * Constructs a new MultiTurnConversation with context tracking disabled by
+     * default and an empty conversation history.
+     *
+     * @param policy The history policy.
+     * @throws IllegalArgumentException If the eviction target of the policy is not greater
+     *                                  than zero and at most one.
+     * @since 0.2.1
+     */
+    public MultiTurnConversation(ConversationHistoryPolicy policy) {
+        validate(policy);
         this.contextTrackingEnabled = false;
-        this.conversationHistory = new ArrayList<>();
+        this.policy = policy;
     }
 
     /**
@@ -32,7 +74,7 @@ public class MultiTurnConversation extends BaseClass {
      * @param value {@code true} to enable context tracking, {@code false} to
      *              disable it.
      */
-    public void enableMultiTurnConversation(boolean value) {
+    public synchronized void enableMultiTurnConversation(boolean value) {
         this.contextTrackingEnabled = value;
     }
 
@@ -42,46 +84,400 @@ public class MultiTurnConversation extends BaseClass {
      * @return {@code true} if context tracking is enabled, {@code false}
      * otherwise.
      */
-    public boolean isMultiTurnConversationEnabled() {
+    public synchronized boolean isMultiTurnConversationEnabled() {
         return contextTrackingEnabled;
     }
 
+    /**
+     * Returns the history policy.
+     *
+     * @return The history policy.
+     * @since 0.2.1
+     */
+    public synchronized ConversationHistoryPolicy getHistoryPolicy() {
+        return policy;
+    }
+
+    /**
+     * Replaces the history policy and applies it to the current history.
+     *
+     * @param policy The new history policy.
+     * @throws IllegalArgumentException If the eviction target of the policy is not greater
+     *                                  than zero and at most one.
+     * @since 0.2.1
+     */
+    public void setHistoryPolicy(ConversationHistoryPolicy policy) {
+        validate(policy);
+        synchronized (this) {
+            this.policy = policy;
+            systemInstructionTokens = count(systemInstruction);
+            summaryTokens = count(summary);
+            windowTokens = 0;
+            for (Entry entry : window) {
+                entry.tokens = count(entry.content);
+                windowTokens += entry.tokens;
+            }
+            compact();
+        }
+        summarize();
+    }
+
+    /**
+     * Returns the pinned system instruction.
+     *
+     * @return The system instruction, or null if none is set.
+     * @since 0.2.1
+     */
+    public synchronized Content getSystemInstruction() {
+        return systemInstruction;
+    }
+
+    /**
+     * Pins a system instruction to the conversation. It is never evicted and is counted
+     * against the token limit of the policy.
+     *
+     * @param systemInstruction The system instruction, or null to remove it.
+     * @since 0.2.1
+     */
+    public void setSystemInstruction(Content systemInstruction) {
+        synchronized (this) {
+            this.systemInstruction = systemInstruction;
+            this.systemInstructionTokens = count(systemInstruction);
+            compact();
+        }
+        summarize();
+    }
+
+    /**
+     * Returns the summary of the evicted turns.
+     *
+     * @return The summary, or null if no turn was summarized.
+     * @since 0.2.1
+     */
+    public synchronized Content getSummary() {
+        return summary;
+    }
+
+    /**
+     * Returns the estimated number of tokens of the system instruction, the summary and the
+     * turns kept.
+     *
+     * @return The estimated number of tokens.
+     * @since 0.2.1
+     */
+    public synchronized long getHistoryTokens() {
+        return systemInstructionTokens + summaryTokens + windowTokens;
+    }
+
+    /**
+     * Returns the number of turns kept.
+     *
+     * @return The number of turns.
+     * @since 0.2.1
+     */
+    public synchronized int getTurnCount() {
+        return turns;
+    }
+
+    /**
+     * Returns a future completed once every evicted turn has been summarized, or dropped if
+     * its summarization failed.
+     *
+     * @return A future completed when no summarization is pending.
+     * @since 0.2.1
+     */
+    public synchronized CompletableFuture<Void> awaitSummaries() {
+        return compaction;
+    }
+
     /**
      * Adds a new user input or model response to the conversation history if
-     * context tracking is enabled.
+     * context tracking is enabled, evicting the oldest turns beyond the limits of the
+     * history policy.
      *
      * @param content The Content object to add to the history.
      */
     public void addContent(Content content) {
-        if (contextTrackingEnabled) {
-            this.conversationHistory.add(content);
+        synchronized (this) {
+            if (!contextTrackingEnabled) {
+                return;
+            }
+            append(content);
+            compact();
         }
+        summarize();
     }
 
     /**
-     * Returns the entire conversation history as a list of Content objects.
+     * Returns the conversation history as a list of Content objects: the summary of the
+     * evicted turns, if any, followed by the turns kept. The list is an unmodifiable snapshot,
+     * shared by the calls made until the history changes.
      *
      * @return The conversation history.
      */
-    public List<Content> getConversationHistory() {
-        return new ArrayList<>(conversationHistory);
+    public synchronized List<Content> getConversationHistory() {
+        if (snapshot == null) {
+            List<Content> history = new ArrayList<>(window.size() + 1);
+            if (summary != null) {
+                history.add(summary);
+            }
+            for (Entry entry : window) {
+                history.add(entry.content);
+            }
+            snapshot = Collections.unmodifiableList(history);
+        }
+        return snapshot;
     }
 
     /**
-     * Sets the conversation history to the provided list.
+     * Sets the conversation history to the provided list. The summary is discarded and the
+     * history policy is applied to the new history.
      *
      * @param conversationHistoryList The new conversation history.
      */
     public void setConversationHistory(List<Content> conversationHistoryList) {
-        this.conversationHistory = conversationHistoryList != null
-                ? new ArrayList<>(conversationHistoryList) : new ArrayList<>();
+        synchronized (this) {
+            reset();
+            if (conversationHistoryList != null) {
+                conversationHistoryList.forEach(this::append);
+            }
+            compact();
+        }
+        summarize();
     }
 
     /**
-     * Clears the conversation history.
+     * Returns the state of the conversation, to be restored later with
+     * {@link #restore(ConversationSnapshot)}. Turns evicted but not summarized yet are not
+     * part of it.
+     *
+     * @return A snapshot of the conversation.
+     * @since 0.2.1
      */
-    public void clearConversationHistory() {
-        this.conversationHistory.clear();
+    public synchronized ConversationSnapshot toSnapshot() {
+        List<Content> history = new ArrayList<>(window.size());
+        for (Entry entry : window) {
+            history.add(entry.content);
+        }
+        return ConversationSnapshot.builder()
+                .withSystemInstruction(systemInstruction)
+                .withSummary(summary)
+                .withHistory(history)
+                .build();
     }
 
-}
\ No newline at end of file
+    /**
+     * Replaces the state of the conversation with a snapshot. The history policy is applied
+     * to the restored history.
+     *
+     * @param snapshot The snapshot to restore.
+     * @since 0.2.1
+     */
+    public void restore(ConversationSnapshot snapshot) {
+        synchronized (this) {
+            reset();
+            systemInstruction = snapshot.getSystemInstruction();
+            systemInstructionTokens = count(systemInstruction);
+            summary = snapshot.getSummary();
+            summaryTokens = count(summary);
+            if (snapshot.getHistory() != null) {
+                snapshot.getHistory().forEach(this::append);
+            }
+            compact();
+        }
+        summarize();
+    }
+
+    /**
+     * Prepares a request for this conversation. When tracking is enabled, the conversation
+     * history is prepended to the contents of the request, and the pinned system instruction
+     * is used if the request has none. The request itself is not modified.
+     *
+     * @param request The request as given by the caller.
+     * @return The request to send, with the conversation history.
+     * @since 0.2.1
+     */
+    public GenerateRequest prepareRequest(GenerateRequest request) {
+        List<Content> history;
+        Content instruction;
+        synchronized (this) {
+            if (!contextTrackingEnabled) {
+                return request;
+            }
+            history = getConversationHistory();
+            instruction = systemInstruction;
+        }
+        if (history.isEmpty() && (instruction == null || request.getSystemInstruction() != null)) {
+            return request;
+        }
+        List<Content> contents = new ArrayList<>(history.size() + request.getContents().size());
+        contents.addAll(history);
+        contents.addAll(request.getContents());
+        GenerateRequest prepared = request.toBuilder().build();
+        prepared.setContents(contents);
+        if (prepared.getSystemInstruction() == null) {
+            prepared.setSystemInstruction(instruction);
+        }
+        return prepared;
+    }
+
+    /**
+     * Adds a completed turn to the history when tracking is enabled: the contents of the
+     * request as given by the caller, then the content of the response. The turn is added
+     * atomically, so turns recorded concurrently are never interleaved.
+     *
+     * @param request  The request as given by the caller, without the history.
+     * @param response The content of the response, may be null.
+     * @since 0.2.1
+     */
+    public void recordTurn(GenerateRequest request, Content response) {
+        synchronized (this) {
+            if (!contextTrackingEnabled) {
+                return;
+            }
+            request.getContents().forEach(this::append);
+            if (response != null) {
+                append(response);
+            }
+            compact();
+        }
+        summarize();
+    }
+
+    /**
+     * Clears the conversation history and its summary. The pinned system instruction is
+     * kept.
+     */
+    public synchronized void clearConversationHistory() {
+        reset();
+    }
+
+    private void reset() {
+        window.clear();
+        windowTokens = 0;
+        turns = 0;
+        summary = null;
+        summaryTokens = 0;
+        evicted = new ArrayList<>();
+        snapshot = null;
+        epoch++;
+    }
+
+    private void append(Content content) {
+        Entry entry = new Entry(content, count(content));
+        window.addLast(entry);
+        windowTokens += entry.tokens;
+        if (isUserTurn(content)) {
+            turns++;
+        }
+        snapshot = null;
+    }
+
+    /**
+     * Evicts the oldest turns once the history exceeds a limit of the policy, down to the
+     * eviction target of the exceeded limits, keeping at least the latest turn.
+     */
+    private void compact() {
+        Integer maxTurns = policy.getMaxTurns();
+        Integer maxTokens = policy.getMaxTokens();
+        boolean overTurns = maxTurns != null && turns > maxTurns;
+        boolean overTokens = maxTokens != null && getHistoryTokens() > maxTokens;
+        if (!overTurns && !overTokens) {
+            return;
+        }
+        long turnTarget = overTurns ? (long) (maxTurns * policy.getEvictionTarget()) : Long.MAX_VALUE;
+        long tokenTarget = overTokens ? (long) (maxTokens * policy.getEvictionTarget()) : Long.MAX_VALUE;
+        while (turns > 1 && (turns > turnTarget || getHistoryTokens() > tokenTarget)) {
+            do {
+                Entry entry = window.removeFirst();
+                windowTokens -= entry.tokens;
+                if (isUserTurn(entry.content)) {
+                    turns--;
+                }
+                if (policy.getSummarizer() != null) {
+                    evicted.add(entry.content);
+                }
+            } while (!window.isEmpty() && !isUserTurn(window.peekFirst().content));
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Hands the evicted contents to the summarizer, unless a summarization is in flight; its
+     * completion starts the next one.
+     */
+    private void summarize() {
+        List<Content> batch;
+        Content previous;
+        long startEpoch;
+        ConversationSummarizer summarizer;
+        synchronized (this) {
+            summarizer = policy.getSummarizer();
+            if (summarizing) {
+                return;
+            }
+            if (evicted.isEmpty() || summarizer == null) {
+                evicted = new ArrayList<>();
+                compaction.complete(null);
+                return;
+            }
+            if (compaction.isDone()) {
+                compaction = new CompletableFuture<>();
+            }
+            summarizing = true;
+            batch = evicted;
+            evicted = new ArrayList<>();
+            previous = summary;
+            startEpoch = epoch;
+        }
+        CompletableFuture<Content> result;
+        try {
+            result = summarizer.summarize(previous, batch);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((content, exception) -> {
+            synchronized (this) {
+                summarizing = false;
+                if (exception != null) {
+                    logWarn("Dropping " + batch.size() + " evicted contents, summarization failed: "
+                            + exception.getMessage());
+                } else if (content != null && startEpoch == epoch) {
+                    summary = content;
+                    summaryTokens = count(content);
+                    snapshot = null;
+                    compact();
+                }
+            }
+            summarize();
+        });
+    }
+
+    private static void validate(ConversationHistoryPolicy policy) {
+        if (!(policy.getEvictionTarget() > 0 && policy.getEvictionTarget() <= 1)) {
+            throw new IllegalArgumentException("evictionTarget must be greater than zero and at most one.");
+        }
+    }
+
+    private int count(Content content) {
+        return content == null ? 0 : policy.getTokenCounter().applyAsInt(content);
+    }
+
+    private static boolean isUserTurn(Content content) {
+        return content.getRole() == null || USER_ROLE.equals(content.getRole());
+    }
+
+    /**
+     * A content of the window and its estimated number of tokens.
+     */
+    private static final class Entry {
+
+        private final Content content;
+        private int tokens;
+
+        private Entry(Content content, int tokens) {
+            this.content = content;
+            this.tokens = tokens;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.enovka.gemini4j.infrastructure.tool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily cuts the text read from a {@link Reader} into chunks, as described by a
+ * {@link ChunkingConfig}.
+ * <p>
+ * The iterator reads the text into a single buffer of {@link ChunkingConfig#getMaxChunkChars()}
+ * characters, cuts a chunk from its start, moves the rest of the buffer to the front and reads
+ * more. Memory use is therefore bounded by the chunk size whatever the length of the text, and
+ * the only allocations are the chunks themselves. Instances are created by the
+ * {@code chunks} methods of {@link LargeStringSplitter}.
+ * <p>
+ * With a token budget, the chunk size starts from an estimate of the characters per token,
+ * updated after every chunk; a chunk over the budget is shortened and counted again. Reading
+ * errors are thrown as {@link UncheckedIOException}. The reader is closed once the last chunk
+ * has been returned, or by {@link #close()}. This class is not thread-safe.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class TextChunkIterator implements Iterator<String>, Closeable {
+
+    private static final double INITIAL_CHARS_PER_TOKEN = 4.0;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final int overlapChars;
+    private final Integer maxTokens;
+    private final ToIntFunction<String> tokenCounter;
+    private int filled;
+    private boolean endOfInput;
+    private boolean closed;
+    private String nextChunk;
+    private double charsPerToken = INITIAL_CHARS_PER_TOKEN;
+
+    /**
+     * Constructs a new TextChunkIterator.
+     *
+     * @param reader The reader of the text.
+     * @param config The chunking configuration.
+     * @throws IllegalArgumentException If the configuration is invalid.
+     */
+    TextChunkIterator(Reader reader, ChunkingConfig config) {
+        if (config.getMaxChunkChars() <= 1) {
+            throw new IllegalArgumentException("maxChunkChars must be greater than one.");
+        }
+        if (config.getOverlapChars() < 0 || config.getOverlapChars() >= config.getMaxChunkChars() / 2) {
+            throw new IllegalArgumentException("overlapChars must be positive and less than half of maxChunkChars.");
+        }
+        if (config.getTokenCounter() != null && config.getMaxTokens() != null && config.getMaxTokens() <= 0) {
+            throw new IllegalArgumentException("maxTokens must be positive.");
+        }
+        this.reader = reader;
+        this.buffer = new char[config.getMaxChunkChars()];
+        this.overlapChars = config.getOverlapChars();
+        this.maxTokens = config.getTokenCounter() != null ? config.getMaxTokens() : null;
+        this.tokenCounter = config.getTokenCounter();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException If the text cannot be read.
+     * @since 0.2.1
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextChunk == null && !closed) {
+            nextChunk = readChunk();
+            if (nextChunk == null) {
+                closeQuietly();
+            }
+        }
+        return nextChunk != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException If the text cannot be read.
+     * @since 0.2.1
+     */
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String chunk = nextChunk;
+        nextChunk = null;
+        return chunk;
+    }
+
+    /**
+     * Returns the remaining chunks as a sequential stream. Closing the stream closes this
+     * iterator.
+     *
+     * @return The stream of the remaining chunks.
+     * @since 0.2.1
+     */
+    public Stream<String> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::closeQuietly);
+    }
+
+    /**
+     * Closes the reader. No further chunk is returned.
+     *
+     * @throws IOException If the reader cannot be closed.
+     * @since 0.2.1
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            nextChunk = null;
+            reader.close();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Cuts the next chunk from the start of the buffer.
+     *
+     * @return The chunk, or null at the end of the text.
+     */
+    private String readChunk() {
+        fill();
+        if (filled == 0) {
+            return null;
+        }
+        int size = maxTokens == null ? buffer.length
+                : (int) Math.max(1, Math.min(buffer.length, maxTokens * charsPerToken));
+        int end = findBoundary(size);
+        String chunk = new String(buffer, 0, end);
+        if (maxTokens != null) {
+            int tokens = tokenCounter.applyAsInt(chunk);
+            while (tokens > maxTokens && end > 1) {
+                size = Math.max(1, Math.min(end - 1, (int) ((long) end * maxTokens * 9 / (10L * tokens))));
+                end = findBoundary(size);
+                chunk = new String(buffer, 0, end);
+                tokens = tokenCounter.applyAsInt(chunk);
+            }
+            charsPerToken = (charsPerToken + (double) end / Math.max(1, tokens)) / 2;
+        }
+        advance(end);
+        return chunk;
+    }
+
+    /**
+     * Reads until the buffer is full or the text ends.
+     */
+    private void fill() {
+        try {
+            while (filled < buffer.length && !endOfInput) {
+                int read = reader.read(buffer, filled, buffer.length - filled);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    filled += read;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds the end of a chunk of at most {@code size} characters, preferring a paragraph
+     * break, then a line break, then the end of a sentence in the second half of the chunk,
+     * then any whitespace. A chunk without whitespace is cut at the size, but never between
+     * the two halves of a surrogate pair.
+     *
+     * @param size The maximum size of the chunk.
+     * @return The end index of the chunk in the buffer.
+     */
+    private int findBoundary(int size) {
+        int end = Math.min(size, filled);
+        if (end == filled && endOfInput) {
+            return end;
+        }
+        int floor = Math.max(1, size - size / 2);
+        int line = -1;
+        int sentence = -1;
+        for (int i = end - 1; i >= floor; i--) {
+            char c = buffer[i];
+            if (c == '\n') {
+                if (buffer[i - 1] == '\n') {
+                    return i + 1;
+                }
+                if (line < 0) {
+                    line = i + 1;
+                }
+            } else if (sentence < 0 && Character.isWhitespace(c) && isSentenceEnd(buffer[i - 1])) {
+                sentence = i + 1;
+            }
+        }
+        if (line >= 0) {
+            return line;
+        }
+        if (sentence >= 0) {
+            return sentence;
+        }
+        for (int i = end; i > 0; i--) {
+            if (Character.isWhitespace(buffer[i - 1])) {
+                return i;
+            }
+        }
+        return end > 1 && Character.isHighSurrogate(buffer[end - 1]) ? end - 1 : end;
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '。';
+    }
+
+    /**
+     * Drops a chunk of {@code end} characters from the buffer, keeping the overlap with the
+     * next chunk, which starts at a word boundary when the overlap contains one. The overlap
+     * is capped at half of the chunk, so that chunks cut short by a token budget still move
+     * the window forward by at least half of their length.
+     *
+     * @param end The end index of the chunk in the buffer.
+     */
+    private void advance(int end) {
+        if (end == filled && endOfInput) {
+            filled = 0;
+            return;
+        }
+        int start = end;
+        if (overlapChars > 0) {
+            start = Math.max(1, end - Math.min(overlapChars, end / 2));
+            int word = start;
+            while (word < end && !Character.isWhitespace(buffer[word - 1])) {
+                word++;
+            }
+            if (word < end) {
+                start = word;
+            } else if (Character.isLowSurrogate(buffer[start]) && start < end) {
+                start++;
+            }
+        }
+        System.arraycopy(buffer, start, buffer, 0, filled - start);
+        filled -= start;
+    }
+}
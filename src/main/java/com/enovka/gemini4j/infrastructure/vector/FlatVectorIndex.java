@@ -0,0 +1,120 @@
+package com.enovka.gemini4j.infrastructure.vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link VectorIndex} that compares the query with every vector. Results are exact, and
+ * searching costs O(n·d). The normalized vectors are laid out back to back in a single
+ * {@code float[]}, so a search is one sequential pass over memory with no pointer chasing.
+ * <p>
+ * This index is the baseline to measure approximate indexes such as the
+ * {@link HnswVectorIndex} against, and the right choice up to some tens of thousands of
+ * vectors.
+ * <p>
+ * Additions are serialized. Searches take no lock and may run concurrently with additions:
+ * vectors are written before the count that makes them visible is published, and a full array
+ * is replaced by a larger copy rather than modified.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class FlatVectorIndex implements VectorIndex {
+
+    private final int dimension;
+    private volatile Storage storage;
+    private volatile int count;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param dimension The dimension of the vectors.
+     * @throws IllegalArgumentException If the dimension is not positive.
+     * @since 0.2.1
+     */
+    public FlatVectorIndex(int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension must be greater than zero.");
+        }
+        this.dimension = dimension;
+        this.storage = new Storage(new float[dimension * 16], new String[16]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void add(String id, float[] vector) {
+        float[] normalized = Vectors.normalize(vector, dimension);
+        int position = count;
+        Storage current = storage;
+        if (position == current.ids.length) {
+            int capacity = position * 2;
+            current = new Storage(Arrays.copyOf(current.vectors, capacity * dimension),
+                    Arrays.copyOf(current.ids, capacity));
+        }
+        System.arraycopy(normalized, 0, current.vectors, position * dimension, dimension);
+        current.ids[position] = id;
+        storage = current;
+        count = position + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public List<VectorSearchResult> search(float[] query, int k) {
+        Vectors.checkK(k);
+        float[] normalized = Vectors.normalize(query, dimension);
+        int size = count;
+        Storage current = storage;
+        float[] vectors = current.vectors;
+        ScoredQueue best = new ScoredQueue(false, Math.min(k, size) + 1);
+        for (int i = 0, offset = 0; i < size; i++, offset += dimension) {
+            best.offer(i, Vectors.dot(normalized, vectors, offset, dimension), k);
+        }
+        int[] positions = new int[best.size()];
+        float[] scores = new float[best.size()];
+        int found = best.drainDescending(positions, scores);
+        List<VectorSearchResult> results = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            results.add(new VectorSearchResult(current.ids[positions[i]], scores[i]));
+        }
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * The arrays holding the vectors and their ids.
+     */
+    private static final class Storage {
+
+        private final float[] vectors;
+        private final String[] ids;
+
+        private Storage(float[] vectors, String[] ids) {
+            this.vectors = vectors;
+            this.ids = ids;
+        }
+    }
+}
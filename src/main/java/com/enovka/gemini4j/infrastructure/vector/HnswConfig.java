@@ -0,0 +1,53 @@
+package com.enovka.gemini4j.infrastructure.vector;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable configuration of an {@link HnswVectorIndex}. Larger values of every parameter
+ * trade speed and memory for recall.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class HnswConfig {
+
+    /**
+     * The number of neighbors a node keeps on the upper layers; nodes keep twice as many on
+     * the bottom layer. Defaults to 16.
+     */
+    @Builder.Default
+    private final int maxConnections = 16;
+
+    /**
+     * The size of the candidate list explored when a vector is added. Defaults to 200.
+     */
+    @Builder.Default
+    private final int efConstruction = 200;
+
+    /**
+     * The size of the candidate list explored by a search; searches for more than this many
+     * results explore k candidates instead. Defaults to 64.
+     */
+    @Builder.Default
+    private final int efSearch = 64;
+
+    /**
+     * The seed of the random layer assignment, so that an index built from the same vectors in
+     * the same order is always the same. Defaults to 42.
+     */
+    @Builder.Default
+    private final long seed = 42;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static HnswConfig defaults() {
+        return HnswConfig.builder().build();
+    }
+}
@@ -0,0 +1,393 @@
+package com.enovka.gemini4j.infrastructure.vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An approximate {@link VectorIndex} based on a Hierarchical Navigable Small World graph
+ * (Malkov and Yashunin, 2016). Every vector is a node linked to its nearest neighbors on a
+ * random number of layers, sparser towards the top, and a search descends greedily from the
+ * top layer before exploring the bottom one. Searches cost roughly O(log n) distance
+ * computations instead of n, at the price of occasionally missing a true neighbor; the recall
+ * is governed by {@link HnswConfig}.
+ * <p>
+ * Additions are serialized. Searches take no lock and may run concurrently with additions.
+ * Nodes are immutable apart from their neighbor lists, which are replaced as a whole through
+ * an {@link AtomicReferenceArray}, and a node only becomes reachable once the count that
+ * covers it has been published; a search ignores links to nodes beyond the count it read when
+ * it started.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class HnswVectorIndex implements VectorIndex {
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+
+    private final int dimension;
+    private final HnswConfig config;
+    private final int maxConnections;
+    private final int maxConnectionsBottom;
+    private final double levelMultiplier;
+    private final Random random;
+    private volatile Node[] nodes = new Node[16];
+    private volatile int count;
+    private volatile EntryPoint entryPoint;
+
+    /**
+     * Constructs an empty index with the default configuration.
+     *
+     * @param dimension The dimension of the vectors.
+     * @throws IllegalArgumentException If the dimension is not positive.
+     * @since 0.2.1
+     */
+    public HnswVectorIndex(int dimension) {
+        this(dimension, HnswConfig.defaults());
+    }
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param dimension The dimension of the vectors.
+     * @param config    The graph configuration.
+     * @throws IllegalArgumentException If the dimension is not positive or the configuration
+     *                                  holds a value lower than 2 for the connections or 1 for
+     *                                  the candidate lists.
+     * @since 0.2.1
+     */
+    public HnswVectorIndex(int dimension, HnswConfig config) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension must be greater than zero.");
+        }
+        if (config.getMaxConnections() < 2) {
+            throw new IllegalArgumentException("maxConnections must be at least 2.");
+        }
+        if (config.getEfConstruction() < 1 || config.getEfSearch() < 1) {
+            throw new IllegalArgumentException("efConstruction and efSearch must be greater than zero.");
+        }
+        this.dimension = dimension;
+        this.config = config;
+        this.maxConnections = config.getMaxConnections();
+        this.maxConnectionsBottom = config.getMaxConnections() * 2;
+        this.levelMultiplier = 1 / Math.log(config.getMaxConnections());
+        this.random = new Random(config.getSeed());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void add(String id, float[] vector) {
+        float[] normalized = Vectors.normalize(vector, dimension);
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        Node node = new Node(id, normalized, level);
+        int position = count;
+        Node[] current = nodes;
+        if (position == current.length) {
+            current = Arrays.copyOf(current, position * 2);
+        }
+        current[position] = node;
+        nodes = current;
+
+        EntryPoint entry = entryPoint;
+        if (entry == null) {
+            count = position + 1;
+            entryPoint = new EntryPoint(position, level);
+            return;
+        }
+        int nearest = entry.node;
+        float nearestScore = score(normalized, current, nearest);
+        for (int layer = entry.level; layer > level; layer--) {
+            nearest = greedyClosest(normalized, current, position, nearest, nearestScore, layer);
+            nearestScore = score(normalized, current, nearest);
+        }
+        int[] entries = {nearest};
+        for (int layer = Math.min(level, entry.level); layer >= 0; layer--) {
+            ScoredQueue found = searchLayer(normalized, current, position, entries, config.getEfConstruction(), layer);
+            int[] candidates = new int[found.size()];
+            float[] scores = new float[found.size()];
+            found.drainDescending(candidates, scores);
+            int[] neighbors = selectNeighbors(current, candidates, scores, layer == 0 ? maxConnectionsBottom : maxConnections);
+            node.neighbors.set(layer, neighbors);
+            for (int neighbor : neighbors) {
+                link(current, neighbor, position, layer);
+            }
+            entries = candidates;
+        }
+        count = position + 1;
+        if (level > entry.level) {
+            entryPoint = new EntryPoint(position, level);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public List<VectorSearchResult> search(float[] query, int k) {
+        return search(query, k, config.getEfSearch());
+    }
+
+    /**
+     * Returns the vectors most similar to the query, exploring a candidate list of the given
+     * size instead of the configured {@link HnswConfig#getEfSearch()}, to trade speed for
+     * recall on a per-query basis.
+     *
+     * @param query    The query vector.
+     * @param k        The maximum number of results.
+     * @param efSearch The size of the candidate list; k candidates are explored if it is lower.
+     * @return The results, most similar first.
+     * @throws IllegalArgumentException If the query does not have the dimension of the index or
+     *                                  k is not positive.
+     * @since 0.2.1
+     */
+    public List<VectorSearchResult> search(float[] query, int k, int efSearch) {
+        Vectors.checkK(k);
+        float[] normalized = Vectors.normalize(query, dimension);
+        EntryPoint entry = entryPoint;
+        int limit = count;
+        Node[] current = nodes;
+        if (entry == null) {
+            return new ArrayList<>();
+        }
+        int nearest = entry.node;
+        float nearestScore = score(normalized, current, nearest);
+        for (int layer = entry.level; layer > 0; layer--) {
+            nearest = greedyClosest(normalized, current, limit, nearest, nearestScore, layer);
+            nearestScore = score(normalized, current, nearest);
+        }
+        ScoredQueue found = searchLayer(normalized, current, limit, new int[]{nearest},
+                Math.max(efSearch, k), 0);
+        while (found.size() > k) {
+            found.pop();
+        }
+        int[] positions = new int[found.size()];
+        float[] scores = new float[found.size()];
+        int size = found.drainDescending(positions, scores);
+        List<VectorSearchResult> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(new VectorSearchResult(current[positions[i]].id, scores[i]));
+        }
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the configuration of the graph.
+     *
+     * @return The configuration.
+     * @since 0.2.1
+     */
+    public HnswConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Walks a layer from a node towards the query, moving to a better neighbor until none is
+     * found.
+     *
+     * @param query        The normalized query.
+     * @param nodes        The nodes.
+     * @param limit        The number of visible nodes.
+     * @param start        The starting node.
+     * @param startScore   The score of the starting node.
+     * @param layer        The layer.
+     * @return The closest node found.
+     */
+    private int greedyClosest(float[] query, Node[] nodes, int limit, int start, float startScore, int layer) {
+        int best = start;
+        float bestScore = startScore;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : nodes[best].neighbors(layer)) {
+                if (neighbor >= limit) {
+                    continue;
+                }
+                float score = score(query, nodes, neighbor);
+                if (score > bestScore) {
+                    best = neighbor;
+                    bestScore = score;
+                    improved = true;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Explores a layer from the given entry points and keeps the {@code ef} nodes closest to
+     * the query.
+     *
+     * @param query   The normalized query.
+     * @param nodes   The nodes.
+     * @param limit   The number of visible nodes.
+     * @param entries The entry points.
+     * @param ef      The number of nodes kept.
+     * @param layer   The layer.
+     * @return The closest nodes, in a lowest-first queue.
+     */
+    private ScoredQueue searchLayer(float[] query, Node[] nodes, int limit, int[] entries, int ef, int layer) {
+        BitSet visited = new BitSet(limit);
+        ScoredQueue candidates = new ScoredQueue(true, ef * 2);
+        ScoredQueue results = new ScoredQueue(false, ef + 1);
+        for (int entry : entries) {
+            if (entry < limit && !visited.get(entry)) {
+                visited.set(entry);
+                float score = score(query, nodes, entry);
+                candidates.push(entry, score);
+                results.offer(entry, score, ef);
+            }
+        }
+        while (!candidates.isEmpty()) {
+            if (results.size() >= ef && candidates.peekScore() < results.peekScore()) {
+                break;
+            }
+            int candidate = candidates.pop();
+            for (int neighbor : nodes[candidate].neighbors(layer)) {
+                if (neighbor >= limit || visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float score = score(query, nodes, neighbor);
+                if (results.offer(neighbor, score, ef)) {
+                    candidates.push(neighbor, score);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Selects the neighbors of a node among candidates sorted from the closest, preferring
+     * candidates closer to the node than to any neighbor already selected, so that links point
+     * in diverse directions, then filling the remaining slots with the closest candidates left.
+     *
+     * @param nodes      The nodes.
+     * @param candidates The candidates, closest first.
+     * @param scores     The similarity of each candidate to the node.
+     * @param max        The maximum number of neighbors.
+     * @return The selected neighbors.
+     */
+    private int[] selectNeighbors(Node[] nodes, int[] candidates, float[] scores, int max) {
+        if (candidates.length <= max) {
+            return candidates.clone();
+        }
+        int[] selected = new int[max];
+        boolean[] taken = new boolean[candidates.length];
+        int size = 0;
+        for (int i = 0; i < candidates.length && size < max; i++) {
+            float[] candidate = nodes[candidates[i]].vector;
+            boolean diverse = true;
+            for (int j = 0; j < size; j++) {
+                if (Vectors.dot(candidate, nodes[selected[j]].vector, 0, dimension) > scores[i]) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[size++] = candidates[i];
+                taken[i] = true;
+            }
+        }
+        for (int i = 0; i < candidates.length && size < max; i++) {
+            if (!taken[i]) {
+                selected[size++] = candidates[i];
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Adds a link from a neighbor back to a new node, pruning the neighbor's list if it is full.
+     *
+     * @param nodes    The nodes.
+     * @param neighbor The neighbor.
+     * @param node     The new node.
+     * @param layer    The layer.
+     */
+    private void link(Node[] nodes, int neighbor, int node, int layer) {
+        Node target = nodes[neighbor];
+        int[] links = target.neighbors(layer);
+        int max = layer == 0 ? maxConnectionsBottom : maxConnections;
+        if (links.length < max) {
+            int[] extended = Arrays.copyOf(links, links.length + 1);
+            extended[links.length] = node;
+            target.neighbors.set(layer, extended);
+            return;
+        }
+        ScoredQueue ranked = new ScoredQueue(false, links.length + 2);
+        ranked.push(node, score(target.vector, nodes, node));
+        for (int link : links) {
+            ranked.push(link, score(target.vector, nodes, link));
+        }
+        int[] candidates = new int[ranked.size()];
+        float[] scores = new float[ranked.size()];
+        ranked.drainDescending(candidates, scores);
+        target.neighbors.set(layer, selectNeighbors(nodes, candidates, scores, max));
+    }
+
+    private float score(float[] query, Node[] nodes, int node) {
+        return Vectors.dot(query, nodes[node].vector, 0, dimension);
+    }
+
+    /**
+     * A vector of the graph and its neighbors on each of its layers.
+     */
+    private static final class Node {
+
+        private final String id;
+        private final float[] vector;
+        private final AtomicReferenceArray<int[]> neighbors;
+
+        private Node(String id, float[] vector, int level) {
+            this.id = id;
+            this.vector = vector;
+            this.neighbors = new AtomicReferenceArray<>(level + 1);
+            for (int layer = 0; layer <= level; layer++) {
+                neighbors.set(layer, NO_NEIGHBORS);
+            }
+        }
+
+        private int[] neighbors(int layer) {
+            return layer < neighbors.length() ? neighbors.get(layer) : NO_NEIGHBORS;
+        }
+    }
+
+    /**
+     * The node searches start from and the highest layer of the graph.
+     */
+    private static final class EntryPoint {
+
+        private final int node;
+        private final int level;
+
+        private EntryPoint(int node, int level) {
+            this.node = node;
+            this.level = level;
+        }
+    }
+}
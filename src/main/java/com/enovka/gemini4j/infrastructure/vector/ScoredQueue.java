@@ -0,0 +1,142 @@
+package com.enovka.gemini4j.infrastructure.vector;
+
+import java.util.Arrays;
+
+/**
+ * A binary heap of node positions ordered by score, kept in primitive arrays so that searches
+ * do not box. Depending on its mode the head is the lowest score, to keep the k best results
+ * seen so far, or the highest, to expand the most promising candidate first.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+final class ScoredQueue {
+
+    private final boolean highestFirst;
+    private int[] nodes;
+    private float[] scores;
+    private int size;
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param highestFirst Whether the head is the highest score rather than the lowest.
+     * @param capacity     The initial capacity.
+     */
+    ScoredQueue(boolean highestFirst, int capacity) {
+        this.highestFirst = highestFirst;
+        this.nodes = new int[Math.max(capacity, 4)];
+        this.scores = new float[nodes.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int peekNode() {
+        return nodes[0];
+    }
+
+    float peekScore() {
+        return scores[0];
+    }
+
+    /**
+     * Adds a node.
+     *
+     * @param node  The node position.
+     * @param score The node score.
+     */
+    void push(int node, float score) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(score, scores[parent])) {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            scores[i] = scores[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        scores[i] = score;
+    }
+
+    /**
+     * Adds a node if the queue holds fewer than {@code capacity} nodes or the node scores higher
+     * than the lowest one, which is then dropped. Only meaningful in lowest-first mode.
+     *
+     * @param node     The node position.
+     * @param score    The node score.
+     * @param capacity The maximum number of nodes kept.
+     * @return {@code true} if the node was kept.
+     */
+    boolean offer(int node, float score, int capacity) {
+        if (size < capacity) {
+            push(node, score);
+            return true;
+        }
+        if (score <= scores[0]) {
+            return false;
+        }
+        pop();
+        push(node, score);
+        return true;
+    }
+
+    /**
+     * Removes the head.
+     *
+     * @return The node position of the head.
+     */
+    int pop() {
+        int head = nodes[0];
+        int lastNode = nodes[--size];
+        float lastScore = scores[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(scores[child + 1], scores[child])) {
+                child++;
+            }
+            if (!before(scores[child], lastScore)) {
+                break;
+            }
+            nodes[i] = nodes[child];
+            scores[i] = scores[child];
+            i = child;
+        }
+        nodes[i] = lastNode;
+        scores[i] = lastScore;
+        return head;
+    }
+
+    /**
+     * Empties a lowest-first queue into arrays sorted from the highest score to the lowest.
+     *
+     * @param outNodes  Receives the node positions.
+     * @param outScores Receives the scores.
+     * @return The number of nodes written.
+     */
+    int drainDescending(int[] outNodes, float[] outScores) {
+        int count = size;
+        for (int i = count - 1; i >= 0; i--) {
+            outScores[i] = peekScore();
+            outNodes[i] = pop();
+        }
+        return count;
+    }
+
+    private boolean before(float a, float b) {
+        return highestFirst ? a > b : a < b;
+    }
+}
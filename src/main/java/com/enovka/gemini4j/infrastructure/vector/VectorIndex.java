@@ -0,0 +1,104 @@
+package com.enovka.gemini4j.infrastructure.vector;
+
+import com.enovka.gemini4j.model.Embedding;
+
+import java.util.List;
+
+/**
+ * An in-process index of embedding vectors answering top-k cosine similarity queries. Vectors
+ * are normalized when they are added, so their scale does not affect the results. Ids do not
+ * have to be unique, and vectors cannot be removed.
+ * <p>
+ * Implementations must allow searches to run concurrently with each other and with additions;
+ * a search sees every vector whose addition completed before it started.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public interface VectorIndex {
+
+    /**
+     * Adds a vector to the index. The array is copied.
+     *
+     * @param id     The id returned by searches matching the vector.
+     * @param vector The vector.
+     * @throws IllegalArgumentException If the vector does not have the dimension of the index.
+     * @since 0.2.1
+     */
+    void add(String id, float[] vector);
+
+    /**
+     * Adds an embedding returned by the API to the index.
+     *
+     * @param id        The id returned by searches matching the embedding.
+     * @param embedding The embedding.
+     * @throws IllegalArgumentException If the embedding does not have the dimension of the index.
+     * @since 0.2.1
+     */
+    default void add(String id, Embedding embedding) {
+        add(id, embedding.getVector());
+    }
+
+    /**
+     * Adds the embeddings of a batch, for example those of a
+     * {@link com.enovka.gemini4j.model.response.BatchEmbedResponse}, with the id at the same
+     * position.
+     *
+     * @param ids        The ids of the embeddings.
+     * @param embeddings The embeddings.
+     * @throws IllegalArgumentException If the lists differ in size or an embedding does not have
+     *                                  the dimension of the index.
+     * @since 0.2.1
+     */
+    default void addAll(List<String> ids, List<Embedding> embeddings) {
+        if (ids.size() != embeddings.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Got %d ids for %d embeddings.", ids.size(), embeddings.size()));
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            add(ids.get(i), embeddings.get(i));
+        }
+    }
+
+    /**
+     * Returns the vectors most similar to the query.
+     *
+     * @param query The query vector.
+     * @param k     The maximum number of results.
+     * @return The results, most similar first.
+     * @throws IllegalArgumentException If the query does not have the dimension of the index or
+     *                                  k is not positive.
+     * @since 0.2.1
+     */
+    List<VectorSearchResult> search(float[] query, int k);
+
+    /**
+     * Returns the vectors most similar to an embedding returned by the API.
+     *
+     * @param query The query embedding.
+     * @param k     The maximum number of results.
+     * @return The results, most similar first.
+     * @throws IllegalArgumentException If the query does not have the dimension of the index or
+     *                                  k is not positive.
+     * @since 0.2.1
+     */
+    default List<VectorSearchResult> search(Embedding query, int k) {
+        return search(query.getVector(), k);
+    }
+
+    /**
+     * Returns the number of vectors in the index.
+     *
+     * @return The number of vectors.
+     * @since 0.2.1
+     */
+    int size();
+
+    /**
+     * Returns the dimension of the vectors in the index.
+     *
+     * @return The dimension.
+     * @since 0.2.1
+     */
+    int getDimension();
+}
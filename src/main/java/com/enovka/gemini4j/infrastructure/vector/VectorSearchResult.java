@@ -0,0 +1,50 @@
+package com.enovka.gemini4j.infrastructure.vector;
+
+/**
+ * A vector matching a {@link VectorIndex} query.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public final class VectorSearchResult {
+
+    private final String id;
+    private final float score;
+
+    /**
+     * Constructs a new VectorSearchResult.
+     *
+     * @param id    The id of the vector.
+     * @param score The cosine similarity between the vector and the query.
+     * @since 0.2.1
+     */
+    public VectorSearchResult(String id, float score) {
+        this.id = id;
+        this.score = score;
+    }
+
+    /**
+     * Returns the id of the vector.
+     *
+     * @return The id.
+     * @since 0.2.1
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the cosine similarity between the vector and the query.
+     *
+     * @return The similarity, between -1 and 1.
+     * @since 0.2.1
+     */
+    public float getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "VectorSearchResult(id=" + id + ", score=" + score + ")";
+    }
+}
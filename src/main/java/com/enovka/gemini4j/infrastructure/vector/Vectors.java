@@ -0,0 +1,75 @@
+package com.enovka.gemini4j.infrastructure.vector;
+
+/**
+ * Vector arithmetic shared by the {@link VectorIndex} implementations.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+final class Vectors {
+
+    private Vectors() {
+    }
+
+    /**
+     * Returns a unit-length copy of a vector. A zero vector is copied unchanged.
+     *
+     * @param vector    The vector.
+     * @param dimension The expected dimension.
+     * @return The normalized copy.
+     * @throws IllegalArgumentException If the vector does not have the expected dimension.
+     */
+    static float[] normalize(float[] vector, int dimension) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException(String.format("Expected a vector of %d dimensions but got %s.",
+                    dimension, vector == null ? "null" : String.valueOf(vector.length)));
+        }
+        float norm = (float) Math.sqrt(dot(vector, vector, 0, dimension));
+        float[] normalized = new float[dimension];
+        float scale = norm > 0 ? 1 / norm : 1;
+        for (int i = 0; i < dimension; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+
+    /**
+     * Computes the dot product of a query with a vector stored at an offset of a larger array.
+     * Four independent accumulators let the processor overlap the multiply-adds.
+     *
+     * @param query     The query.
+     * @param data      The array holding the vector.
+     * @param offset    The offset of the vector in the array.
+     * @param dimension The dimension of both vectors.
+     * @return The dot product.
+     */
+    static float dot(float[] query, float[] data, int offset, int dimension) {
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        for (int bound = dimension & ~3; i < bound; i += 4) {
+            s0 += query[i] * data[offset + i];
+            s1 += query[i + 1] * data[offset + i + 1];
+            s2 += query[i + 2] * data[offset + i + 2];
+            s3 += query[i + 3] * data[offset + i + 3];
+        }
+        for (; i < dimension; i++) {
+            s0 += query[i] * data[offset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Validates the number of results requested.
+     *
+     * @param k The number of results.
+     * @throws IllegalArgumentException If k is not positive.
+     */
+    static void checkK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be greater than zero.");
+        }
+    }
+}
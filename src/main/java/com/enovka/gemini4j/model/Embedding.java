@@ -1,33 +1,254 @@
 package com.enovka.gemini4j.model;
 
+import com.enovka.gemini4j.infrastructure.json.impl.EmbeddingDeserializer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import lombok.experimental.Accessors;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
+import java.nio.FloatBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
- * Represents an embedding generated by the Gemini API. It contains a list of
- * double-precision floating-point values representing the embedding vector.
+ * Represents an embedding generated by the Gemini API. The embedding vector is stored as a
+ * primitive {@code float[]}, the precision in which the API produces it, which takes a quarter
+ * of the memory of a list of boxed doubles and is filled directly from the JSON stream by the
+ * {@link EmbeddingDeserializer}.
+ * <p>
+ * {@link #getValues()} remains available as a read-only {@code List<Double>} view over the
+ * primitive vector. The view is created lazily on first use and does not copy the values.
  *
  * @author Everson Novka &lt;enovka@gmail.com&gt;
  * @since 0.0.2
  */
-@Data
-@Accessors(chain = true)
-@Builder(setterPrefix = "with", toBuilder = true)
-@NoArgsConstructor
+@JsonDeserialize(using = EmbeddingDeserializer.class)
 public class Embedding {
 
+    private float[] vector;
+    private transient volatile List<Double> valuesView;
+
+    /**
+     * Constructs an empty Embedding without values.
+     */
+    public Embedding() {
+    }
+
+    /**
+     * Constructs a new Embedding from a list of values.
+     *
+     * @param values The embedding values, or null.
+     */
+    public Embedding(List<Double> values) {
+        this.vector = toVector(values);
+    }
+
+    /**
+     * Constructs a new Embedding around a primitive vector. The array is not copied.
+     *
+     * @param vector The embedding vector, or null.
+     * @since 0.2.1
+     */
+    public Embedding(float[] vector) {
+        this.vector = vector;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return A new {@link EmbeddingBuilder}.
+     */
+    public static EmbeddingBuilder builder() {
+        return new EmbeddingBuilder();
+    }
+
     /**
-     * The embedding values.
+     * Creates a builder initialized with the values of this embedding.
+     *
+     * @return A new {@link EmbeddingBuilder}.
+     */
+    public EmbeddingBuilder toBuilder() {
+        return new EmbeddingBuilder().withVector(vector);
+    }
+
+    /**
+     * Returns the embedding values as a read-only list view over the primitive vector.
+     *
+     * @return The embedding values, or null if the embedding has none.
+     */
+    @JsonIgnore
+    public List<Double> getValues() {
+        float[] current = vector;
+        if (current == null) {
+            return null;
+        }
+        List<Double> view = valuesView;
+        if (view == null) {
+            view = new FloatListView(current);
+            valuesView = view;
+        }
+        return view;
+    }
+
+    /**
+     * Replaces the embedding values.
+     *
+     * @param values The embedding values, or null.
+     * @return This embedding, for method chaining.
+     */
+    public Embedding setValues(List<Double> values) {
+        return setVector(toVector(values));
+    }
+
+    /**
+     * Returns the primitive embedding vector. The array is shared with this embedding and must
+     * not be modified while the embedding is in use.
+     *
+     * @return The embedding vector, or null if the embedding has none.
+     * @since 0.2.1
      */
     @JsonProperty("values")
-    private List<Double> values;
+    public float[] getVector() {
+        return vector;
+    }
+
+    /**
+     * Replaces the primitive embedding vector. The array is not copied.
+     *
+     * @param vector The embedding vector, or null.
+     * @return This embedding, for method chaining.
+     * @since 0.2.1
+     */
+    public Embedding setVector(float[] vector) {
+        this.vector = vector;
+        this.valuesView = null;
+        return this;
+    }
+
+    /**
+     * Returns a read-only {@link FloatBuffer} view over the embedding vector, suitable for bulk
+     * copies into off-heap or memory-mapped storage.
+     *
+     * @return The buffer view, or null if the embedding has none.
+     * @since 0.2.1
+     */
+    @JsonIgnore
+    public FloatBuffer asFloatBuffer() {
+        return vector != null ? FloatBuffer.wrap(vector).asReadOnlyBuffer() : null;
+    }
+
+    /**
+     * Returns the number of dimensions of the embedding.
+     *
+     * @return The dimension, or zero if the embedding has no values.
+     * @since 0.2.1
+     */
+    @JsonIgnore
+    public int getDimension() {
+        return vector != null ? vector.length : 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Embedding)) {
+            return false;
+        }
+        return Arrays.equals(vector, ((Embedding) o).vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+
+    @Override
+    public String toString() {
+        return "Embedding(values=" + Arrays.toString(vector) + ")";
+    }
+
+    /**
+     * Converts a list of values to a primitive vector.
+     *
+     * @param values The values, or null.
+     * @return The vector, or null.
+     */
+    private static float[] toVector(List<Double> values) {
+        if (values == null) {
+            return null;
+        }
+        float[] result = new float[values.size()];
+        int i = 0;
+        for (Double value : values) {
+            result[i++] = value.floatValue();
+        }
+        return result;
+    }
+
+    /**
+     * Builder for {@link Embedding} instances.
+     *
+     * @since 0.0.2
+     */
+    public static class EmbeddingBuilder {
+
+        private float[] vector;
+
+        /**
+         * Sets the embedding values.
+         *
+         * @param values The embedding values.
+         * @return This builder.
+         */
+        public EmbeddingBuilder withValues(List<Double> values) {
+            this.vector = toVector(values);
+            return this;
+        }
+
+        /**
+         * Sets the primitive embedding vector. The array is not copied.
+         *
+         * @param vector The embedding vector.
+         * @return This builder.
+         * @since 0.2.1
+         */
+        public EmbeddingBuilder withVector(float[] vector) {
+            this.vector = vector;
+            return this;
+        }
+
+        /**
+         * Builds the embedding.
+         *
+         * @return A new {@link Embedding}.
+         */
+        public Embedding build() {
+            return new Embedding(vector);
+        }
+    }
+
+    /**
+     * A read-only {@code List<Double>} view over a {@code float[]}.
+     */
+    private static final class FloatListView extends AbstractList<Double> implements RandomAccess {
+
+        private final float[] values;
+
+        private FloatListView(float[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(int index) {
+            return (double) values[index];
+        }
 
-    public Embedding(@JsonProperty("values") List<Double> values) {
-        this.values = values;
+        @Override
+        public int size() {
+            return values.length;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,275 @@
+package com.enovka.gemini4j.model.response;
+
+import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
+import com.enovka.gemini4j.infrastructure.json.impl.JacksonJsonService;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.ErrorResponse;
+import com.enovka.gemini4j.model.UsageMetadata;
+import com.enovka.gemini4j.model.response.internal.GenerateContentResponse;
+import com.enovka.gemini4j.model.response.spec.AbstractResponse;
+import com.enovka.gemini4j.model.response.spec.UsageMetadataAware;
+import com.enovka.gemini4j.model.type.FinishReasonEnum;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A lazy, read-only view over the raw JSON of a {@code generateContent} response. Instead of
+ * binding the whole {@link GenerateContentResponse} graph, with every candidate, safety rating,
+ * grounding attribution and log probability, the view keeps the response bytes and extracts
+ * the fields it is asked for with a streaming parser. Subtrees outside the requested path are
+ * skipped token by token without being bound, and parsing stops as soon as the field has been
+ * read, so reading the text of the first candidate costs a fraction of a full deserialization.
+ * <p>
+ * The most common fields have shortcuts, and the usage metadata and error are read once and
+ * cached. Any other field can be read with {@link #read(String, Class)}, and
+ * {@link #toResponse()} binds the complete response on demand. The view is thread-safe.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class GenerateContentResponseView extends AbstractResponse implements UsageMetadataAware {
+
+    private static final JsonPointer CANDIDATES = JsonPointer.compile("/candidates");
+    private static final JsonPointer FIRST_CONTENT = JsonPointer.compile("/candidates/0/content");
+    private static final JsonPointer FIRST_TEXT = JsonPointer.compile("/candidates/0/content/parts/0/text");
+    private static final JsonPointer FIRST_FINISH_REASON = JsonPointer.compile("/candidates/0/finishReason");
+    private static final JsonPointer USAGE_METADATA = JsonPointer.compile("/usageMetadata");
+    private static final JsonPointer ERROR = JsonPointer.compile("/error");
+
+    private final byte[] json;
+    private volatile GenerateContentResponse response;
+    private volatile UsageMetadata usageMetadata;
+    private volatile boolean usageMetadataRead;
+    private volatile boolean errorRead;
+
+    /**
+     * Constructs a new view over UTF-8 encoded JSON. The array is not copied and must not be
+     * modified afterwards.
+     *
+     * @param json The UTF-8 encoded JSON of a {@code generateContent} response.
+     * @throws IllegalArgumentException If the JSON is null.
+     * @since 0.2.1
+     */
+    public GenerateContentResponseView(byte[] json) {
+        if (json == null) {
+            throw new IllegalArgumentException("json must not be null.");
+        }
+        this.json = json;
+    }
+
+    /**
+     * Creates a view over a JSON string.
+     *
+     * @param json The JSON of a {@code generateContent} response.
+     * @return The view.
+     * @throws IllegalArgumentException If the JSON is null.
+     * @since 0.2.1
+     */
+    public static GenerateContentResponseView of(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("json must not be null.");
+        }
+        return new GenerateContentResponseView(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the value at the given JSON Pointer (RFC 6901), for example
+     * {@code /candidates/1/safetyRatings}, binding only that value.
+     *
+     * @param pointer The JSON Pointer of the value.
+     * @param type    The class to bind the value to.
+     * @param <T>     The type of the value.
+     * @return The value, or null if the response has no value at that path or it is null.
+     * @throws JsonException If the pointer is invalid or the JSON cannot be read.
+     * @since 0.2.1
+     */
+    public <T> T read(String pointer, Class<T> type) throws JsonException {
+        JsonPointer compiled;
+        try {
+            compiled = JsonPointer.compile(pointer);
+        } catch (IllegalArgumentException e) {
+            throw new JsonException("Invalid JSON pointer: " + pointer, e);
+        }
+        return read(compiled, type);
+    }
+
+    /**
+     * Reads the value at the given JSON Pointer, binding only that value.
+     *
+     * @param pointer The JSON Pointer of the value.
+     * @param type    The class to bind the value to.
+     * @param <T>     The type of the value.
+     * @return The value, or null if the response has no value at that path or it is null.
+     * @throws JsonException If the JSON cannot be read.
+     * @since 0.2.1
+     */
+    public <T> T read(JsonPointer pointer, Class<T> type) throws JsonException {
+        try (JsonParser parser = openAt(pointer)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return JacksonJsonService.readerFor(type).readValue(parser);
+        } catch (IOException e) {
+            throw new JsonException("Error reading " + pointer + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the text of the first part of the first candidate.
+     *
+     * @return The text, or null if the response has none.
+     * @throws IllegalStateException If the response body is not valid JSON.
+     * @since 0.2.1
+     */
+    public String getFirstCandidateText() {
+        return readOrFail(FIRST_TEXT, String.class);
+    }
+
+    /**
+     * Returns the content of the first candidate, binding only that content.
+     *
+     * @return The content, or null if the response has no candidate.
+     * @throws IllegalStateException If the response body is not valid JSON.
+     * @since 0.2.1
+     */
+    public Content getFirstCandidateContent() {
+        return readOrFail(FIRST_CONTENT, Content.class);
+    }
+
+    /**
+     * Returns the finish reason of the first candidate.
+     *
+     * @return The finish reason, or null if the response has none.
+     * @throws IllegalStateException If the response body is not valid JSON.
+     * @since 0.2.1
+     */
+    public FinishReasonEnum getFirstCandidateFinishReason() {
+        return readOrFail(FIRST_FINISH_REASON, FinishReasonEnum.class);
+    }
+
+    /**
+     * Returns the number of candidates, counting them without binding any.
+     *
+     * @return The number of candidates.
+     * @throws IllegalStateException If the response body is not valid JSON.
+     * @since 0.2.1
+     */
+    public int getCandidateCount() {
+        try (JsonParser parser = openAt(CANDIDATES)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return 0;
+            }
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            throw new IllegalStateException("Error counting candidates: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The usage metadata is read on first use and cached.
+     *
+     * @throws IllegalStateException If the response body is not valid JSON.
+     * @since 0.2.1
+     */
+    @Override
+    public UsageMetadata getUsageMetadata() {
+        if (!usageMetadataRead) {
+            usageMetadata = readOrFail(USAGE_METADATA, UsageMetadata.class);
+            usageMetadataRead = true;
+        }
+        return usageMetadata;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The error is read on first use and cached.
+     *
+     * @throws IllegalStateException If the response body is not valid JSON.
+     * @since 0.2.1
+     */
+    @Override
+    public ErrorResponse getError() {
+        if (!errorRead) {
+            error = readOrFail(ERROR, ErrorResponse.class);
+            errorRead = true;
+        }
+        return error;
+    }
+
+    /**
+     * Binds the complete response. The result is cached, so the JSON is bound at most once.
+     *
+     * @return The complete response.
+     * @throws JsonException If the JSON cannot be bound.
+     * @since 0.2.1
+     */
+    public GenerateContentResponse toResponse() throws JsonException {
+        GenerateContentResponse bound = response;
+        if (bound == null) {
+            try {
+                bound = JacksonJsonService.readerFor(GenerateContentResponse.class).readValue(json);
+            } catch (IOException e) {
+                throw new JsonException("Error deserializing JSON: " + e.getMessage(), e);
+            }
+            response = bound;
+        }
+        return bound;
+    }
+
+    /**
+     * Returns the raw JSON of the response. The array is shared with this view and must not be
+     * modified.
+     *
+     * @return The UTF-8 encoded JSON.
+     * @since 0.2.1
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Opens a parser that only yields the value at the given pointer.
+     *
+     * @param pointer The JSON Pointer of the value.
+     * @return The filtering parser, positioned before the value.
+     * @throws IOException If the parser cannot be created.
+     */
+    private JsonParser openAt(JsonPointer pointer) throws IOException {
+        JsonParser parser = JacksonJsonService.readerFor(GenerateContentResponse.class).createParser(json);
+        return new FilteringParserDelegate(parser, new JsonPointerBasedFilter(pointer),
+                TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false);
+    }
+
+    /**
+     * Reads the value at the given pointer, failing with an unchecked exception if the JSON is
+     * malformed.
+     *
+     * @param pointer The JSON Pointer of the value.
+     * @param type    The class to bind the value to.
+     * @param <T>     The type of the value.
+     * @return The value, or null.
+     */
+    private <T> T readOrFail(JsonPointer pointer, Class<T> type) {
+        try {
+            return read(pointer, type);
+        } catch (JsonException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+}
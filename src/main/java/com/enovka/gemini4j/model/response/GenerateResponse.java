@@ -1,5 +1,6 @@
 package com.enovka.gemini4j.model.response;
 
+import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
 import com.enovka.gemini4j.infrastructure.tool.BaseClass;
 import com.enovka.gemini4j.model.Candidate;
 import com.enovka.gemini4j.model.Content;
@@ -12,6 +13,12 @@ import lombok.Getter;
 /**
  * Represents a result from the Gemini API, providing both the raw
  * {@link GenerateContentResponse} and convenient shortcuts for accessing common data.
+ * <p>
+ * A result built from a {@link GenerateContentResponseView} answers the shortcuts by reading
+ * only the fields they need from the raw JSON, and binds the full
+ * {@link GenerateContentResponse} only if {@link #getGenerateContentResponse()} is called. The
+ * shortcuts do not look for an error object in that case, since a body carrying one has no
+ * candidates or usage metadata and they return null anyway.
  *
  * @author Everson Novka &lt;enovka@gmail.com&gt;
  * @since 0.0.2
@@ -22,6 +29,43 @@ public class GenerateResponse extends BaseClass {
 
     private GenerateContentResponse generateContentResponse;
 
+    /**
+     * -- GETTER -- Returns the lazy view the result was built from.
+     *
+     * @return The view, or null if the result was built from a bound response.
+     * @since 0.2.1
+     */
+    private GenerateContentResponseView responseView;
+
+    /**
+     * Creates a result backed by a lazy response view.
+     *
+     * @param responseView The view over the raw response.
+     * @return The result.
+     * @since 0.2.1
+     */
+    public static GenerateResponse of(GenerateContentResponseView responseView) {
+        return GenerateResponse.builder().withResponseView(responseView).build();
+    }
+
+    /**
+     * Returns the complete response. If the result was built from a
+     * {@link GenerateContentResponseView}, the response is bound from it on first use.
+     *
+     * @return The complete response, or null if not available.
+     * @throws IllegalStateException If the view cannot be bound.
+     */
+    public GenerateContentResponse getGenerateContentResponse() {
+        if (generateContentResponse == null && responseView != null) {
+            try {
+                generateContentResponse = responseView.toResponse();
+            } catch (JsonException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return generateContentResponse;
+    }
+
     /**
      * Returns the first generated text content from the response, if available. This method
      * extracts the text content from the first {@link Candidate} in the
@@ -32,6 +76,9 @@ public class GenerateResponse extends BaseClass {
      */
     public String getGeneratedText() {
         logDebug("Getting generated text from GenerateResponse.");
+        if (generateContentResponse == null && responseView != null) {
+            return responseView.getError() == null ? responseView.getFirstCandidateText() : null;
+        }
         if (generateContentResponse != null
                 && generateContentResponse.getError() == null
                 && generateContentResponse.getCandidates() != null
@@ -60,6 +107,9 @@ public class GenerateResponse extends BaseClass {
      */
     public Content getGeneratedContent() {
         logDebug("Getting generated content from GenerateResponse.");
+        if (generateContentResponse == null && responseView != null) {
+            return responseView.getError() == null ? responseView.getFirstCandidateContent() : null;
+        }
         if (generateContentResponse != null
                 && generateContentResponse.getError() == null
                 && generateContentResponse.getCandidates() != null
@@ -79,6 +129,9 @@ public class GenerateResponse extends BaseClass {
      * @return The {@link UsageMetadata}, or null if not available.
      */
     public UsageMetadata getUsageMetadata() {
+        if (generateContentResponse == null && responseView != null) {
+            return responseView.getError() == null ? responseView.getUsageMetadata() : null;
+        }
         if (generateContentResponse != null
                 && generateContentResponse.getError() == null) {
             return generateContentResponse.getUsageMetadata();
@@ -4,6 +4,7 @@ import com.enovka.gemini4j.model.Candidate;
 import com.enovka.gemini4j.model.PromptFeedback;
 import com.enovka.gemini4j.model.UsageMetadata;
 import com.enovka.gemini4j.model.response.spec.AbstractResponse;
+import com.enovka.gemini4j.model.response.spec.UsageMetadataAware;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -33,7 +34,7 @@ import java.util.List;
 @SuperBuilder(setterPrefix = "with")
 @NoArgsConstructor
 @AllArgsConstructor
-public class GenerateContentResponse extends AbstractResponse {
+public class GenerateContentResponse extends AbstractResponse implements UsageMetadataAware {
 
     /**
      * Candidate responses generated by the model.  This list contains one or
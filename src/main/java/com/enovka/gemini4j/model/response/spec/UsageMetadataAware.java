@@ -0,0 +1,23 @@
+package com.enovka.gemini4j.model.response.spec;
+
+import com.enovka.gemini4j.model.UsageMetadata;
+
+/**
+ * Interface implemented by responses that report the token usage of the request that produced
+ * them. It allows generic infrastructure, such as the
+ * {@link com.enovka.gemini4j.infrastructure.quota.QuotaGovernor}, to read the usage without
+ * knowing the concrete response type.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public interface UsageMetadataAware {
+
+    /**
+     * Returns the token usage reported by the API.
+     *
+     * @return The usage metadata, or null if the API did not report it.
+     * @since 0.2.1
+     */
+    UsageMetadata getUsageMetadata();
+}
@@ -1,7 +1,19 @@
 package com.enovka.gemini4j.resource.builder;
 
 import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.conversation.ConversationStore;
+import com.enovka.gemini4j.infrastructure.embedding.EmbeddingStore;
+import com.enovka.gemini4j.resource.context.ContextCacheConfig;
+import com.enovka.gemini4j.resource.context.ContextCacheManager;
+import com.enovka.gemini4j.resource.conversation.ConversationSessionManager;
+import com.enovka.gemini4j.resource.conversation.GenerateConversationSummarizer;
 import com.enovka.gemini4j.resource.impl.*;
+import com.enovka.gemini4j.resource.pipeline.DocumentPipeline;
+import com.enovka.gemini4j.resource.pipeline.DocumentPipelineConfig;
+import com.enovka.gemini4j.resource.pipeline.EmbeddingPipeline;
+import com.enovka.gemini4j.resource.pipeline.EmbeddingPipelineConfig;
+import com.enovka.gemini4j.resource.registry.ModelRegistry;
+import com.enovka.gemini4j.resource.registry.ModelRegistryConfig;
 import com.enovka.gemini4j.resource.spec.*;
 
 /**
@@ -54,6 +66,31 @@ public class ResourceBuilder {
         return new EmbedResourceImpl(geminiClient);
     }
 
+    /**
+     * Creates a new {@link EmbedResource} that coalesces concurrent single embedding requests
+     * into {@code batchEmbedContents} calls.
+     *
+     * @param policy The batching policy.
+     * @return A new batching {@link EmbedResource} instance.
+     * @since 0.2.1
+     */
+    public EmbedResource buildBatchingEmbedResource(EmbedBatchPolicy policy) {
+        return new BatchingEmbedResourceImpl(new EmbedResourceImpl(geminiClient), policy);
+    }
+
+    /**
+     * Creates a new {@link EmbedResource} that answers requests from the given
+     * {@link EmbeddingStore} when their embedding was stored before, and stores every
+     * embedding it receives.
+     *
+     * @param store The store holding the embeddings.
+     * @return A new storing {@link EmbedResource} instance.
+     * @since 0.2.1
+     */
+    public EmbedResource buildStoredEmbedResource(EmbeddingStore store) {
+        return new StoredEmbedResourceImpl(new EmbedResourceImpl(geminiClient), store);
+    }
+
     /**
      * Creates a new {@link GenerateResource} instance based on the builder
      * configuration.
@@ -64,6 +101,91 @@ public class ResourceBuilder {
         return new GenerateResourceImpl(geminiClient);
     }
 
+    /**
+     * Creates a new {@link GenerateResource} whose requests reuse the cached contents of a
+     * {@link ContextCacheManager}, see {@link #buildContextCacheManager(ContextCacheConfig)}.
+     *
+     * @param contextCacheManager The context cache manager.
+     * @return A new {@link GenerateResource} instance.
+     * @since 0.2.1
+     */
+    public GenerateResource buildGenerationResource(ContextCacheManager contextCacheManager) {
+        return new GenerateResourceImpl(geminiClient, contextCacheManager);
+    }
+
+    /**
+     * Creates a new {@link ContextCacheManager} managing cached contents through a new
+     * {@link CacheResource}.
+     *
+     * @param config The context cache configuration.
+     * @return A new {@link ContextCacheManager} instance.
+     * @since 0.2.1
+     */
+    public ContextCacheManager buildContextCacheManager(ContextCacheConfig config) {
+        return new ContextCacheManager(new CacheResourceImpl(geminiClient), config);
+    }
+
+    /**
+     * Creates a new {@link ModelRegistry} loading the models through a new
+     * {@link ModelResource}. Set it on the client to replace the default registry.
+     *
+     * @param config The model registry configuration.
+     * @return A new {@link ModelRegistry} instance.
+     * @since 0.2.1
+     */
+    public ModelRegistry buildModelRegistry(ModelRegistryConfig config) {
+        return new ModelRegistry(new ModelResourceImpl(geminiClient), config);
+    }
+
+    /**
+     * Creates a new {@link GenerateConversationSummarizer} summarizing the evicted turns of a
+     * conversation through a new {@link GenerateResource}. Set it on a
+     * {@link com.enovka.gemini4j.infrastructure.tool.ConversationHistoryPolicy} to keep the
+     * gist of the turns a bounded history evicts.
+     *
+     * @return A new {@link GenerateConversationSummarizer} instance.
+     * @since 0.2.1
+     */
+    public GenerateConversationSummarizer buildConversationSummarizer() {
+        return new GenerateConversationSummarizer(buildGenerationResource());
+    }
+
+    /**
+     * Creates a new {@link ConversationSessionManager} serving the conversations of many
+     * sessions through a single new {@link GenerateResource}.
+     *
+     * @param conversationStore The store holding the conversations of the sessions.
+     * @return A new {@link ConversationSessionManager} instance.
+     * @since 0.2.1
+     */
+    public ConversationSessionManager buildConversationSessionManager(ConversationStore conversationStore) {
+        return new ConversationSessionManager(buildGenerationResource(), conversationStore);
+    }
+
+    /**
+     * Creates a new {@link DocumentPipeline} processing documents through a new
+     * {@link GenerateResource}.
+     *
+     * @param config The document pipeline configuration.
+     * @return A new {@link DocumentPipeline} instance.
+     * @since 0.2.1
+     */
+    public DocumentPipeline buildDocumentPipeline(DocumentPipelineConfig config) {
+        return new DocumentPipeline(buildGenerationResource(), config);
+    }
+
+    /**
+     * Creates a new {@link EmbeddingPipeline} embedding chunks through a new
+     * {@link EmbedResource}.
+     *
+     * @param config The embedding pipeline configuration.
+     * @return A new {@link EmbeddingPipeline} instance.
+     * @since 0.2.1
+     */
+    public EmbeddingPipeline buildEmbeddingPipeline(EmbeddingPipelineConfig config) {
+        return new EmbeddingPipeline(buildEmbedResource(), config);
+    }
+
     /**
      * Creates a new {@link ModelResource} instance based on the builder
      * configuration.
@@ -0,0 +1,48 @@
+package com.enovka.gemini4j.resource.calibration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable configuration of a {@link TokenCalibrator}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class TokenCalibrationConfig {
+
+    /**
+     * Whether the prompt token counts reported in the usage metadata of generation responses
+     * are used to calibrate the estimator. They come with every response, so they cost
+     * nothing. Defaults to true.
+     */
+    @Builder.Default
+    private final boolean usageCalibration = true;
+
+    /**
+     * The fraction of the generation requests whose usage metadata cannot be used, such as
+     * requests referencing a cached content, that are counted with {@code countTokens} in the
+     * background to calibrate the estimator. Zero disables sampling. Defaults to 0.05.
+     */
+    @Builder.Default
+    private final double sampleRate = 0.05;
+
+    /**
+     * The maximum number of {@code countTokens} samples in flight at once. Requests sampled
+     * while the limit is reached are skipped. Defaults to 1.
+     */
+    @Builder.Default
+    private final int maxConcurrentSamples = 1;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static TokenCalibrationConfig defaults() {
+        return TokenCalibrationConfig.builder().build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.enovka.gemini4j.resource.calibration;
+
+import com.enovka.gemini4j.infrastructure.quota.CalibratedTokenEstimator;
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.model.UsageMetadata;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.model.request.TokensRequest;
+import com.enovka.gemini4j.resource.spec.TokensResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a {@link CalibratedTokenEstimator} calibrated against the token counts of the API,
+ * so that generation requests can be budgeted locally instead of calling {@code countTokens}
+ * before each of them.
+ * <p>
+ * The prompt token count in the usage metadata of every generation response is
+ * {@link #record(GenerateRequest, UsageMetadata) recorded} for free. When it cannot be
+ * attributed to the request, because part of the prompt comes from a cached content or the
+ * response carries no usage metadata, a {@link TokenCalibrationConfig#getSampleRate() sample}
+ * of the requests is counted with {@code countTokens} in the background instead, with at most
+ * {@link TokenCalibrationConfig#getMaxConcurrentSamples()} requests in flight. Calibration
+ * never delays or fails the generation requests: failed samples are logged and dropped.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class TokenCalibrator extends BaseClass {
+
+    private final TokensResource tokensResource;
+    private final CalibratedTokenEstimator estimator;
+    private final TokenCalibrationConfig config;
+    private final AtomicInteger samplesInFlight = new AtomicInteger();
+
+    /**
+     * Constructs a new TokenCalibrator.
+     *
+     * @param tokensResource The resource used to count the tokens of sampled requests.
+     * @param estimator      The estimator to calibrate.
+     * @param config         The calibration configuration.
+     * @since 0.2.1
+     */
+    public TokenCalibrator(TokensResource tokensResource, CalibratedTokenEstimator estimator,
+                           TokenCalibrationConfig config) {
+        this.tokensResource = tokensResource;
+        this.estimator = estimator;
+        this.config = config;
+    }
+
+    /**
+     * Returns the calibrated estimator.
+     *
+     * @return The estimator.
+     * @since 0.2.1
+     */
+    public CalibratedTokenEstimator getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * Estimates the prompt tokens of a generation request with the calibrated coefficients of
+     * its model.
+     *
+     * @param request The generation request.
+     * @return The estimated number of tokens.
+     * @since 0.2.1
+     */
+    public int estimate(GenerateRequest request) {
+        return estimator.estimate(modelOf(request), request);
+    }
+
+    /**
+     * Records the usage reported for a generation request. The prompt token count calibrates
+     * the estimator directly when the whole prompt was sent in the request; otherwise the
+     * request may be sampled with {@code countTokens}.
+     *
+     * @param request       The generation request as sent.
+     * @param usageMetadata The usage metadata of the response, may be null.
+     * @since 0.2.1
+     */
+    public void record(GenerateRequest request, UsageMetadata usageMetadata) {
+        if (request == null) {
+            return;
+        }
+        boolean attributable = request.getCachedContent() == null && usageMetadata != null
+                && usageMetadata.getPromptTokenCount() != null;
+        if (attributable && config.isUsageCalibration()) {
+            estimator.observe(modelOf(request), request, usageMetadata.getPromptTokenCount());
+        } else if (!attributable && config.getSampleRate() > 0
+                && ThreadLocalRandom.current().nextDouble() < config.getSampleRate()) {
+            sample(request);
+        }
+    }
+
+    /**
+     * Counts the tokens of a generation request with {@code countTokens} and calibrates the
+     * estimator with the result, regardless of the sample rate and of the limit of samples in
+     * flight. Requests referencing a cached content are counted by their contents only.
+     *
+     * @param request The generation request.
+     * @return An {@link AsyncResponse} completed with the counted tokens.
+     * @since 0.2.1
+     */
+    public AsyncResponse<Integer> calibrateAsync(GenerateRequest request) {
+        String model = modelOf(request);
+        TokensRequest tokensRequest = request.getCachedContent() == null
+                ? TokensRequest.builder().withModel(model).withGenerateRequest(request).build()
+                : TokensRequest.builder().withModel(model).withContents(request.getContents()).build();
+        return AsyncResponse.fromFuture(tokensResource.executeAsync(tokensRequest).thenApply(response -> {
+            Integer totalTokens = response.getTotalTokens();
+            if (totalTokens != null) {
+                if (request.getCachedContent() == null) {
+                    estimator.observe(model, request, totalTokens);
+                } else {
+                    estimator.observe(model, request.getContents(), totalTokens);
+                }
+            }
+            return totalTokens;
+        }));
+    }
+
+    /**
+     * Returns the model a generation request is sent to: its own model, or the client's model
+     * for requests built without one.
+     *
+     * @param request The generation request.
+     * @return The model name.
+     */
+    private String modelOf(GenerateRequest request) {
+        return request.getModel() != null ? request.getModel() : tokensResource.getGeminiClient().getModelName();
+    }
+
+    /**
+     * Counts a request in the background unless the limit of samples in flight is reached.
+     *
+     * @param request The generation request.
+     */
+    private void sample(GenerateRequest request) {
+        if (samplesInFlight.incrementAndGet() > config.getMaxConcurrentSamples()) {
+            samplesInFlight.decrementAndGet();
+            return;
+        }
+        CompletableFuture<Integer> sample;
+        try {
+            sample = calibrateAsync(request);
+        } catch (RuntimeException e) {
+            samplesInFlight.decrementAndGet();
+            logWarn("Failed to sample the token count: " + e.getMessage());
+            return;
+        }
+        sample.whenComplete((tokens, exception) -> {
+            samplesInFlight.decrementAndGet();
+            if (exception != null) {
+                logWarn("Failed to sample the token count: " + exception.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.enovka.gemini4j.resource.context;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Immutable configuration of a {@link ContextCacheManager}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class ContextCacheConfig {
+
+    /**
+     * The time to live requested for every cached content when it is created or refreshed.
+     * Defaults to one hour.
+     */
+    @Builder.Default
+    private final Duration ttl = Duration.ofHours(1);
+
+    /**
+     * How long before its expiry a cached content used since its last refresh has its time to
+     * live extended again. Cached contents nobody used are left to expire. Defaults to five
+     * minutes.
+     */
+    @Builder.Default
+    private final Duration refreshBefore = Duration.ofMinutes(5);
+
+    /**
+     * The maximum number of prefixes the manager tracks. Registering one more deletes the
+     * cached content of the least recently used prefix. Defaults to 32.
+     */
+    @Builder.Default
+    private final int maxEntries = 32;
+
+    /**
+     * How long a prefix whose cached content could not be created is sent in full before its
+     * creation is attempted again, so that a failing creation is not retried on every request.
+     * Defaults to one minute.
+     */
+    @Builder.Default
+    private final Duration creationRetryBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static ContextCacheConfig defaults() {
+        return ContextCacheConfig.builder().build();
+    }
+}
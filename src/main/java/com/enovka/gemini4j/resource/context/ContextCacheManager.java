@@ -0,0 +1,640 @@
+package com.enovka.gemini4j.resource.context;
+
+import com.enovka.gemini4j.infrastructure.cache.ResponseCacheKeys;
+import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
+import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.model.CacheContent;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Tool;
+import com.enovka.gemini4j.model.ToolConfig;
+import com.enovka.gemini4j.model.request.CacheRequest;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.CacheResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages the lifecycle of server-side cached contents and makes generation requests reuse
+ * them transparently.
+ * <p>
+ * A prefix, that is a system instruction, tools, tool configuration and leading contents for a
+ * model, is {@link #register(CacheContent) registered} once. Prefixes are content-addressed:
+ * registering the same prefix twice tracks it once. Its cached content is created on the
+ * server the first time a generation request starting with that prefix is
+ * {@link #apply(GenerateRequest) applied}, and the request is rewritten to reference it: the
+ * prefix is stripped from the request and {@code cachedContent} is set instead, so the
+ * prefix tokens are neither sent nor billed at the full rate again. When several prefixes
+ * match, the longest one wins.
+ * <p>
+ * Shortly before a cached content expires, its time to live is extended if it was used since
+ * its last refresh; otherwise it is left to expire and is created again on its next use. When
+ * more than {@link ContextCacheConfig#getMaxEntries()} prefixes are registered, the least
+ * recently used one is dropped and its cached content deleted. {@link #close()} deletes every
+ * cached content the manager created.
+ * <p>
+ * Failing to create a cached content never fails a generation request: the request is sent in
+ * full and the failure is logged, and the creation is not attempted again for that prefix
+ * before {@link ContextCacheConfig#getCreationRetryBackoff()} has elapsed. Concurrent requests for a prefix whose cached content is
+ * being created wait for that single creation.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ContextCacheManager extends BaseClass implements AutoCloseable {
+
+    private static final String KEY_SCOPE = "cachedContents";
+    private static final long MAX_EXPIRY_MARGIN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final CacheResource cacheResource;
+    private final JsonService jsonService;
+    private final String ttl;
+    private final long ttlNanos;
+    private final long refreshBeforeNanos;
+    private final long expiryMarginNanos;
+    private final long creationRetryBackoffNanos;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, List<Entry>> entriesByHead = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long creations;
+    private long refreshes;
+    private long evictions;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new ContextCacheManager with the default configuration.
+     *
+     * @param cacheResource The resource used to create, refresh and delete cached contents.
+     * @since 0.2.1
+     */
+    public ContextCacheManager(CacheResource cacheResource) {
+        this(cacheResource, ContextCacheConfig.defaults());
+    }
+
+    /**
+     * Constructs a new ContextCacheManager.
+     *
+     * @param cacheResource The resource used to create, refresh and delete cached contents.
+     * @param config        The configuration.
+     * @throws IllegalArgumentException If the time to live is not positive, the refresh lead
+     *                                  is negative or not shorter than the time to live, the
+     *                                  maximum number of entries is not positive, or the
+     *                                  creation retry backoff is negative.
+     * @since 0.2.1
+     */
+    public ContextCacheManager(CacheResource cacheResource, ContextCacheConfig config) {
+        Duration timeToLive = config.getTtl();
+        Duration refreshBefore = config.getRefreshBefore();
+        if (timeToLive == null || timeToLive.getSeconds() < 1) {
+            throw new IllegalArgumentException("ttl must be at least one second.");
+        }
+        if (refreshBefore == null || refreshBefore.isNegative() || refreshBefore.compareTo(timeToLive) >= 0) {
+            throw new IllegalArgumentException("refreshBefore must be between zero and ttl.");
+        }
+        if (config.getMaxEntries() <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than zero.");
+        }
+        if (config.getCreationRetryBackoff() == null || config.getCreationRetryBackoff().isNegative()) {
+            throw new IllegalArgumentException("creationRetryBackoff must not be negative.");
+        }
+        this.cacheResource = cacheResource;
+        this.jsonService = cacheResource.getGeminiClient().getJsonService();
+        this.ttl = timeToLive.getSeconds() + "s";
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(timeToLive.getSeconds());
+        this.refreshBeforeNanos = refreshBefore.toNanos();
+        this.expiryMarginNanos = Math.min(ttlNanos / 10, MAX_EXPIRY_MARGIN_NANOS);
+        this.maxEntries = config.getMaxEntries();
+        this.creationRetryBackoffNanos = config.getCreationRetryBackoff().toNanos();
+    }
+
+    /**
+     * Registers a prefix whose cached content is created the first time a generation request
+     * starting with it is applied. The name, display name and expiration of the given cached
+     * content are ignored; its model defaults to the client's model.
+     *
+     * @param prefix The system instruction, tools, tool configuration and leading contents to
+     *               cache.
+     * @throws ResourceException If the prefix cannot be serialized.
+     * @since 0.2.1
+     */
+    public void register(CacheContent prefix) throws ResourceException {
+        track(prefix);
+    }
+
+    /**
+     * Stops tracking a prefix and deletes its cached content, if any. Requests starting with
+     * the prefix are sent in full again, unless another registered prefix matches them.
+     *
+     * @param prefix The prefix, as registered.
+     * @throws ResourceException If the prefix cannot be serialized.
+     * @since 0.2.1
+     */
+    public void unregister(CacheContent prefix) throws ResourceException {
+        String key;
+        try {
+            key = keyOf(modelOf(prefix.getModel()), prefix.getSystemInstruction(), prefix.getTools(),
+                    prefix.getToolConfig(), prefix.getContents());
+        } catch (JsonException e) {
+            throw new ResourceException("Error serializing the cached prefix: " + e.getMessage(), e);
+        }
+        String name = null;
+        synchronized (this) {
+            Entry entry = entries.remove(key);
+            if (entry == null) {
+                return;
+            }
+            detach(entry);
+            if (entry.name != null && entry.expiresAt - System.nanoTime() > 0) {
+                name = entry.name;
+            }
+        }
+        if (name != null) {
+            deleteQuietly(name);
+        }
+    }
+
+    /**
+     * Registers a prefix and returns the name of its cached content, creating it if needed.
+     *
+     * @param prefix The system instruction, tools, tool configuration and leading contents to
+     *               cache.
+     * @return The name of the cached content, in the format "cachedContents/{id}".
+     * @throws ResourceException If the prefix cannot be serialized or the cached content
+     *                           cannot be created.
+     * @since 0.2.1
+     */
+    public String acquire(CacheContent prefix) throws ResourceException {
+        AsyncResponse<String> response = acquireAsync(prefix);
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceException("Thread interrupted while waiting for the cached content.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ResourceException) {
+                throw (ResourceException) cause;
+            }
+            throw new ResourceException(cause != null ? cause.getMessage() : e.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Asynchronously registers a prefix and returns the name of its cached content, creating
+     * it if needed.
+     *
+     * @param prefix The system instruction, tools, tool configuration and leading contents to
+     *               cache.
+     * @return An {@link AsyncResponse} completed with the name of the cached content.
+     * @since 0.2.1
+     */
+    public AsyncResponse<String> acquireAsync(CacheContent prefix) {
+        try {
+            Entry entry = track(prefix);
+            entry.lastUsed = System.nanoTime();
+            return AsyncResponse.fromFuture(ensureCreated(entry));
+        } catch (ResourceException e) {
+            return AsyncResponse.fromException(e);
+        }
+    }
+
+    /**
+     * Rewrites a generation request starting with a registered prefix so that it references the
+     * prefix's cached content, creating it if needed. Requests that already reference a cached
+     * content, that match no prefix, or whose cached content cannot be created are returned
+     * unchanged. The given request is never modified.
+     *
+     * @param request The generation request.
+     * @return The request to send.
+     * @since 0.2.1
+     */
+    public GenerateRequest apply(GenerateRequest request) {
+        return applyAsync(request).join();
+    }
+
+    /**
+     * Asynchronously rewrites a generation request, as {@link #apply(GenerateRequest)} does.
+     * The returned future never completes exceptionally.
+     *
+     * @param request The generation request.
+     * @return A future completed with the request to send.
+     * @since 0.2.1
+     */
+    public CompletableFuture<GenerateRequest> applyAsync(GenerateRequest request) {
+        List<Content> contents = request.getContents();
+        if (closed || request.getCachedContent() != null || contents == null || contents.isEmpty()) {
+            return CompletableFuture.completedFuture(request);
+        }
+        Entry entry;
+        try {
+            entry = findLongestPrefix(request);
+        } catch (JsonException e) {
+            logWarn("Could not match the request against the cached prefixes: " + e.getMessage());
+            return CompletableFuture.completedFuture(request);
+        }
+        if (entry == null) {
+            synchronized (this) {
+                misses++;
+            }
+            return CompletableFuture.completedFuture(request);
+        }
+        entry.lastUsed = System.nanoTime();
+        return ensureCreated(entry).handle((name, exception) -> {
+            if (exception != null) {
+                Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                        ? exception.getCause() : exception;
+                logWarn("Could not create the cached content, sending the request in full: " + cause.getMessage());
+                synchronized (this) {
+                    misses++;
+                }
+                return request;
+            }
+            synchronized (this) {
+                hits++;
+            }
+            return rewrite(request, entry.prefixLength, name);
+        });
+    }
+
+    /**
+     * Returns a snapshot of the manager's counters.
+     *
+     * @return The statistics.
+     * @since 0.2.1
+     */
+    public synchronized ContextCacheStats getStats() {
+        return ContextCacheStats.builder()
+                .withHits(hits)
+                .withMisses(misses)
+                .withCreations(creations)
+                .withRefreshes(refreshes)
+                .withEvictions(evictions)
+                .withEntryCount(entries.size())
+                .build();
+    }
+
+    /**
+     * Stops refreshing and deletes every cached content the manager created. Registered
+     * prefixes are forgotten; requests applied afterwards are returned unchanged.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public void close() {
+        List<String> names = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            long now = System.nanoTime();
+            for (Entry entry : entries.values()) {
+                entry.removed = true;
+                if (entry.name != null && entry.expiresAt - now > 0) {
+                    names.add(entry.name);
+                }
+            }
+            entries.clear();
+            entriesByHead.clear();
+        }
+        CompletableFuture.allOf(names.stream().map(this::deleteQuietly).toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Starts tracking a prefix, or returns the entry already tracking it.
+     *
+     * @param prefix The prefix.
+     * @return The entry.
+     * @throws ResourceException If the prefix cannot be serialized.
+     */
+    private Entry track(CacheContent prefix) throws ResourceException {
+        String model = modelOf(prefix.getModel());
+        String key;
+        String headKey;
+        try {
+            key = keyOf(model, prefix.getSystemInstruction(), prefix.getTools(), prefix.getToolConfig(),
+                    prefix.getContents());
+            headKey = keyOf(model, prefix.getSystemInstruction(), prefix.getTools(), prefix.getToolConfig(), null);
+        } catch (JsonException e) {
+            throw new ResourceException("Error serializing the cached prefix: " + e.getMessage(), e);
+        }
+        List<String> evicted = new ArrayList<>();
+        Entry entry;
+        synchronized (this) {
+            if (closed) {
+                throw new ResourceException("The context cache manager is closed.");
+            }
+            entry = entries.get(key);
+            if (entry == null) {
+                CacheContent definition = prefix.toBuilder()
+                        .withModel(model)
+                        .withName(null)
+                        .withExpireTime(null)
+                        .withTtl(null)
+                        .build();
+                int prefixLength = prefix.getContents() != null ? prefix.getContents().size() : 0;
+                entry = new Entry(key, headKey, prefixLength, definition);
+                entries.put(key, entry);
+                entriesByHead.computeIfAbsent(headKey, k -> new ArrayList<>()).add(entry);
+                evictOverflow(evicted);
+            }
+        }
+        evicted.forEach(this::deleteQuietly);
+        return entry;
+    }
+
+    /**
+     * Drops the least recently used entries beyond the maximum. Must be called while holding
+     * the manager's monitor.
+     *
+     * @param evicted Receives the names of the cached contents to delete.
+     */
+    private void evictOverflow(List<String> evicted) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            detach(eldest);
+            if (eldest.name != null && eldest.expiresAt - System.nanoTime() > 0) {
+                evicted.add(eldest.name);
+            }
+            evictions++;
+        }
+    }
+
+    /**
+     * Marks an entry removed from {@code entries} as no longer tracked and drops it from the
+     * prefixes sharing its head. Must be called while holding the manager's monitor.
+     *
+     * @param entry The entry.
+     */
+    private void detach(Entry entry) {
+        entry.removed = true;
+        List<Entry> siblings = entriesByHead.get(entry.headKey);
+        siblings.remove(entry);
+        if (siblings.isEmpty()) {
+            entriesByHead.remove(entry.headKey);
+        }
+    }
+
+    /**
+     * Finds the longest registered prefix the request starts with, leaving at least one
+     * content after it.
+     *
+     * @param request The generation request.
+     * @return The matching entry, or null if none matches.
+     * @throws JsonException If the request cannot be serialized.
+     */
+    private Entry findLongestPrefix(GenerateRequest request) throws JsonException {
+        String model = modelOf(request.getModel());
+        List<Content> contents = request.getContents();
+        String headKey = keyOf(model, request.getSystemInstruction(), request.getTools(), request.getToolConfig(), null);
+        List<Entry> candidates;
+        synchronized (this) {
+            List<Entry> siblings = entriesByHead.get(headKey);
+            if (siblings == null) {
+                return null;
+            }
+            candidates = new ArrayList<>(siblings);
+        }
+        candidates.sort(Comparator.comparingInt((Entry entry) -> entry.prefixLength).reversed());
+        for (Entry candidate : candidates) {
+            if (candidate.prefixLength >= contents.size()) {
+                continue;
+            }
+            String key = candidate.prefixLength == 0 ? headKey
+                    : keyOf(model, request.getSystemInstruction(), request.getTools(), request.getToolConfig(),
+                    contents.subList(0, candidate.prefixLength));
+            if (key.equals(candidate.key)) {
+                synchronized (this) {
+                    if (entries.get(key) == candidate) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the entry's cached content, creating it unless it exists and is not
+     * about to expire. Concurrent callers share a single creation, and a failed creation is
+     * not attempted again before the retry backoff has elapsed.
+     *
+     * @param entry The entry.
+     * @return A future completed with the name of the cached content.
+     */
+    private CompletableFuture<String> ensureCreated(Entry entry) {
+        CompletableFuture<String> creation;
+        synchronized (this) {
+            if (entry.removed) {
+                return CompletableFuture.failedFuture(new ResourceException("The prefix is no longer tracked."));
+            }
+            if (entry.name != null && entry.expiresAt - System.nanoTime() > expiryMarginNanos) {
+                return CompletableFuture.completedFuture(entry.name);
+            }
+            if (entry.creation != null) {
+                return entry.creation;
+            }
+            if (entry.failed && System.nanoTime() - entry.failedAt < creationRetryBackoffNanos) {
+                return CompletableFuture.failedFuture(
+                        new ResourceException("The creation of the cached content failed recently."));
+            }
+            creation = new CompletableFuture<>();
+            entry.creation = creation;
+        }
+        long start = System.nanoTime();
+        CacheRequest request = CacheRequest.builder()
+                .withCacheContent(entry.definition.toBuilder().withTtl(ttl).build())
+                .build();
+        cacheResource.createCachedContentAsync(request).whenComplete((response, exception) -> {
+            String name = exception == null && response != null ? response.getName() : null;
+            boolean orphaned;
+            synchronized (this) {
+                entry.creation = null;
+                orphaned = closed || entry.removed;
+                entry.failed = name == null;
+                entry.failedAt = System.nanoTime();
+                if (name != null) {
+                    entry.name = name;
+                    entry.expiresAt = start + ttlNanos;
+                    entry.lastRefresh = start;
+                    creations++;
+                }
+            }
+            if (name == null) {
+                creation.completeExceptionally(exception != null ? exception
+                        : new ResourceException("The created cached content has no name."));
+                return;
+            }
+            logDebug("Created cached content " + name + " for prefix " + entry.key);
+            if (orphaned) {
+                // The prefix was removed while its cached content was being created: nothing
+                // tracks the new cached content any more, so delete it and send the waiting
+                // requests in full rather than referencing a deleted cached content.
+                deleteQuietly(name);
+                creation.completeExceptionally(
+                        new ResourceException("The prefix was removed while its cached content was being created."));
+                return;
+            }
+            scheduleRefresh(entry, name);
+            creation.complete(name);
+        });
+        return creation;
+    }
+
+    /**
+     * Schedules the refresh of a cached content shortly before it expires.
+     *
+     * @param entry The entry.
+     * @param name  The name of the cached content to refresh.
+     */
+    private void scheduleRefresh(Entry entry, String name) {
+        long delay = Math.max(0, entry.expiresAt - refreshBeforeNanos - System.nanoTime());
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> refresh(entry, name));
+    }
+
+    /**
+     * Extends the time to live of a cached content used since its last refresh.
+     *
+     * @param entry The entry.
+     * @param name  The name of the cached content to refresh.
+     */
+    private void refresh(Entry entry, String name) {
+        if (closed || entry.removed || !name.equals(entry.name)) {
+            return;
+        }
+        if (entry.lastUsed - entry.lastRefresh <= 0) {
+            logDebug("Cached content " + name + " was not used since its last refresh and is left to expire.");
+            return;
+        }
+        long start = System.nanoTime();
+        CacheRequest request = CacheRequest.builder()
+                .withCacheContent(CacheContent.builder().withName(name).withTtl(ttl).build())
+                .build();
+        cacheResource.updateCachedContentAsync(request).whenComplete((response, exception) -> {
+            if (exception != null) {
+                logWarn("Could not refresh cached content " + name + ", it will be created again on its next use: "
+                        + exception.getMessage());
+                return;
+            }
+            synchronized (this) {
+                if (!name.equals(entry.name)) {
+                    return;
+                }
+                entry.expiresAt = start + ttlNanos;
+                entry.lastRefresh = start;
+                refreshes++;
+            }
+            scheduleRefresh(entry, name);
+        });
+    }
+
+    /**
+     * Deletes a cached content, logging failures.
+     *
+     * @param name The name of the cached content.
+     * @return A future completed once the deletion finished, successfully or not.
+     */
+    private CompletableFuture<Void> deleteQuietly(String name) {
+        return cacheResource.deleteCachedContentAsync(name).handle((response, exception) -> {
+            if (exception != null) {
+                logWarn("Could not delete cached content " + name + ": " + exception.getMessage());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns a copy of the request referencing the cached content instead of the prefix.
+     *
+     * @param request      The generation request.
+     * @param prefixLength The number of leading contents held by the cached content.
+     * @param name         The name of the cached content.
+     * @return The rewritten request.
+     */
+    private static GenerateRequest rewrite(GenerateRequest request, int prefixLength, String name) {
+        List<Content> contents = request.getContents();
+        GenerateRequest rewritten = request.toBuilder().build();
+        rewritten.setContents(new ArrayList<>(contents.subList(prefixLength, contents.size())));
+        rewritten.setSystemInstruction(null);
+        rewritten.setTools(null);
+        rewritten.setToolConfig(null);
+        rewritten.setCachedContent(name);
+        return rewritten;
+    }
+
+    /**
+     * Computes the content address of a prefix.
+     *
+     * @param model             The model resource name.
+     * @param systemInstruction The system instruction, or null.
+     * @param tools             The tools, or null.
+     * @param toolConfig        The tool configuration, or null.
+     * @param contents          The leading contents, or null.
+     * @return The hexadecimal key.
+     * @throws JsonException If the prefix cannot be serialized.
+     */
+    private String keyOf(String model, Content systemInstruction, List<Tool> tools, ToolConfig toolConfig,
+                         List<Content> contents) throws JsonException {
+        CacheContent prefix = CacheContent.builder()
+                .withModel(model)
+                .withSystemInstruction(systemInstruction)
+                .withTools(tools == null || tools.isEmpty() ? null : tools)
+                .withToolConfig(toolConfig)
+                .withContents(contents == null || contents.isEmpty() ? null : contents)
+                .withTtl(null)
+                .build();
+        return ResponseCacheKeys.of(KEY_SCOPE, jsonService.serializeToBytes(prefix));
+    }
+
+    /**
+     * Returns the full resource name of a model, defaulting to the client's model.
+     *
+     * @param model The model name, with or without the "models/" prefix, or null.
+     * @return The model resource name.
+     */
+    private String modelOf(String model) {
+        String name = model != null ? model : cacheResource.getGeminiClient().getModelName();
+        return name.startsWith("models/") ? name : "models/" + name;
+    }
+
+    /**
+     * A tracked prefix and the state of its cached content. The mutable fields are written
+     * while holding the manager's monitor and read without it.
+     */
+    private static final class Entry {
+
+        private final String key;
+        private final String headKey;
+        private final int prefixLength;
+        private final CacheContent definition;
+        private volatile String name;
+        private volatile long expiresAt;
+        private volatile long lastRefresh;
+        private volatile long lastUsed;
+        private volatile boolean removed;
+        private volatile boolean failed;
+        private volatile long failedAt;
+        private CompletableFuture<String> creation;
+
+        private Entry(String key, String headKey, int prefixLength, CacheContent definition) {
+            this.key = key;
+            this.headKey = headKey;
+            this.prefixLength = prefixLength;
+            this.definition = definition;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.enovka.gemini4j.resource.context;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable snapshot of the counters of a {@link ContextCacheManager}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@ToString
+@Builder(setterPrefix = "with")
+public class ContextCacheStats {
+
+    /**
+     * The number of generation requests rewritten to reference a cached content.
+     */
+    private final long hits;
+
+    /**
+     * The number of generation requests no tracked prefix matched.
+     */
+    private final long misses;
+
+    /**
+     * The number of cached contents created on the server.
+     */
+    private final long creations;
+
+    /**
+     * The number of times the time to live of a cached content was extended.
+     */
+    private final long refreshes;
+
+    /**
+     * The number of prefixes dropped to make room for others.
+     */
+    private final long evictions;
+
+    /**
+     * The number of prefixes currently tracked.
+     */
+    private final long entryCount;
+
+    /**
+     * Returns the fraction of generation requests that were rewritten.
+     *
+     * @return The hit rate, between 0 and 1.
+     * @since 0.2.1
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,41 @@
+package com.enovka.gemini4j.resource.context;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable configuration of a {@link ConversationCachePromoter}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class ConversationCacheConfig {
+
+    /**
+     * The estimated number of tokens of the conversation history, system instruction
+     * included, from which the history is promoted to a cached content. Must be at least the
+     * minimum size of a cached content for the model. Defaults to 4096.
+     */
+    @Builder.Default
+    private final int promotionThresholdTokens = 4096;
+
+    /**
+     * The estimated number of tokens added to the history since its last promotion from which
+     * the cached content is re-based on the whole history. Lower values send fewer uncached
+     * tokens per turn but create cached contents more often. Defaults to 4096.
+     */
+    @Builder.Default
+    private final int rebaseThresholdTokens = 4096;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static ConversationCacheConfig defaults() {
+        return ConversationCacheConfig.builder().build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.enovka.gemini4j.resource.context;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.infrastructure.tool.MultiTurnConversation;
+import com.enovka.gemini4j.model.CacheContent;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Promotes the history of a long multi-turn conversation to a server-side cached content, so
+ * that each turn sends only the turns added since instead of re-sending the whole history.
+ * <p>
+ * Once the history reaches {@link ConversationCacheConfig#getPromotionThresholdTokens()}, it
+ * is registered as a prefix with a {@link ContextCacheManager}, which creates its cached
+ * content and rewrites the requests starting with it. The history only grows at its end, so
+ * the prefix keeps matching the following turns; once the turns added since reach
+ * {@link ConversationCacheConfig#getRebaseThresholdTokens()}, the prefix is re-based on the
+ * whole history and the previous cached content is deleted. When the head of the history
+ * changes, because the history policy evicted turns, a summary completed or the history was
+ * replaced, the prefix is re-based at once, so a history bounded by a sliding window of turns
+ * creates a cached content on every turn and should be bounded in larger steps, for example
+ * by a summarizer, when promotion is used.
+ * <p>
+ * Token counts are the estimates of the conversation's history policy.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ConversationCachePromoter extends BaseClass {
+
+    private final ContextCacheManager contextCacheManager;
+    private final ConversationCacheConfig config;
+    private CacheContent promoted;
+    private long promotedTokens;
+
+    /**
+     * Constructs a new ConversationCachePromoter.
+     *
+     * @param contextCacheManager The manager creating and applying the cached contents.
+     * @param config              The promotion configuration.
+     * @throws IllegalArgumentException If a threshold is not positive.
+     * @since 0.2.1
+     */
+    public ConversationCachePromoter(ContextCacheManager contextCacheManager, ConversationCacheConfig config) {
+        if (config.getPromotionThresholdTokens() <= 0) {
+            throw new IllegalArgumentException("promotionThresholdTokens must be greater than zero.");
+        }
+        if (config.getRebaseThresholdTokens() <= 0) {
+            throw new IllegalArgumentException("rebaseThresholdTokens must be greater than zero.");
+        }
+        this.contextCacheManager = contextCacheManager;
+        this.config = config;
+    }
+
+    /**
+     * Registers the history carried by a prepared request as a cached prefix when it is long
+     * enough, or re-bases the prefix registered for a previous turn. The request is not
+     * modified; {@link ContextCacheManager#apply(GenerateRequest)} rewrites it afterwards.
+     * Failures are logged and leave the request to be sent in full.
+     *
+     * @param conversation The conversation the history comes from.
+     * @param request      The request as given by the caller, without the history.
+     * @param prepared     The request with the history prepended.
+     * @since 0.2.1
+     */
+    public synchronized void promote(MultiTurnConversation conversation, GenerateRequest request,
+                                     GenerateRequest prepared) {
+        if (prepared.getCachedContent() != null) {
+            return;
+        }
+        List<Content> contents = prepared.getContents();
+        List<Content> history = contents.subList(0, contents.size() - request.getContents().size());
+        long tokens = conversation.getHistoryTokens();
+        if (promoted != null && startsWith(prepared, history, promoted)
+                && tokens - promotedTokens < config.getRebaseThresholdTokens()) {
+            return;
+        }
+        CacheContent previous = promoted;
+        promoted = null;
+        if (!history.isEmpty() && tokens >= config.getPromotionThresholdTokens()) {
+            CacheContent prefix = CacheContent.builder()
+                    .withModel(prepared.getModel())
+                    .withSystemInstruction(prepared.getSystemInstruction())
+                    .withTools(prepared.getTools())
+                    .withToolConfig(prepared.getToolConfig())
+                    .withContents(new ArrayList<>(history))
+                    .build();
+            try {
+                contextCacheManager.register(prefix);
+                promoted = prefix;
+                promotedTokens = tokens;
+                logDebug("Promoted " + history.size() + " contents of the conversation, about " + tokens
+                        + " tokens, to a cached prefix.");
+            } catch (ResourceException e) {
+                logWarn("Could not promote the conversation to a cached prefix: " + e.getMessage());
+            }
+        }
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    /**
+     * Unregisters the prefix promoted last, deleting its cached content.
+     *
+     * @since 0.2.1
+     */
+    public synchronized void reset() {
+        if (promoted != null) {
+            release(promoted);
+            promoted = null;
+        }
+    }
+
+    private void release(CacheContent prefix) {
+        try {
+            contextCacheManager.unregister(prefix);
+        } catch (ResourceException e) {
+            logWarn("Could not release the previous conversation prefix: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks that a request still starts with a promoted prefix. Contents are compared by
+     * identity, since the history hands out the same instances until they are evicted.
+     */
+    private static boolean startsWith(GenerateRequest prepared, List<Content> history, CacheContent prefix) {
+        List<Content> cached = prefix.getContents();
+        if (history.size() < cached.size()
+                || !Objects.equals(prepared.getModel(), prefix.getModel())
+                || !Objects.equals(prepared.getSystemInstruction(), prefix.getSystemInstruction())
+                || !Objects.equals(prepared.getTools(), prefix.getTools())
+                || !Objects.equals(prepared.getToolConfig(), prefix.getToolConfig())) {
+            return false;
+        }
+        for (int i = 0; i < cached.size(); i++) {
+            if (history.get(i) != cached.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
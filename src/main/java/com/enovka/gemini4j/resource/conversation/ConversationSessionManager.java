@@ -0,0 +1,131 @@
+package com.enovka.gemini4j.resource.conversation;
+
+import com.enovka.gemini4j.infrastructure.conversation.ConversationStore;
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.infrastructure.tool.MultiTurnConversation;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.model.response.GenerateContentResponseView;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.GenerateResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+/**
+ * Serves the conversations of many sessions through a single {@link GenerateResource}. The
+ * history of every session is kept in a {@link ConversationStore}: each request is sent with
+ * the history of its session, and the turn is added to that history once the response
+ * arrives. The conversation of a session is acquired from the store while its request is in
+ * flight, so it is not evicted before the turn is recorded.
+ * <p>
+ * The resource must not track a conversation itself, otherwise every session would share its
+ * history. Requests of different sessions run concurrently; turns of the same session sent
+ * concurrently are each recorded atomically, in the order their responses arrive.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ConversationSessionManager extends BaseClass {
+
+    private final GenerateResource generateResource;
+    private final ConversationStore conversationStore;
+
+    /**
+     * Constructs a new ConversationSessionManager.
+     *
+     * @param generateResource  The resource used to send the requests of every session.
+     * @param conversationStore The store holding the conversations of the sessions.
+     * @throws IllegalArgumentException If the resource tracks a conversation.
+     * @since 0.2.1
+     */
+    public ConversationSessionManager(GenerateResource generateResource, ConversationStore conversationStore) {
+        if (generateResource.isMultiTurnConversationEnabled()) {
+            throw new IllegalArgumentException("The session resource must not track a conversation.");
+        }
+        this.generateResource = generateResource;
+        this.conversationStore = conversationStore;
+    }
+
+    /**
+     * Sends a request in a session and waits for the response.
+     *
+     * @param sessionId The session id.
+     * @param request   The request, without the history of the session.
+     * @return The response.
+     * @throws ResourceException If the request fails.
+     * @since 0.2.1
+     */
+    public GenerateContentResponseView executeView(String sessionId, GenerateRequest request) throws ResourceException {
+        MultiTurnConversation conversation = conversationStore.acquire(sessionId);
+        try {
+            GenerateContentResponseView response = generateResource.executeView(conversation.prepareRequest(request));
+            conversation.recordTurn(request, response.getFirstCandidateContent());
+            return response;
+        } finally {
+            conversationStore.release(sessionId, conversation);
+        }
+    }
+
+    /**
+     * Sends a request in a session asynchronously. The turn is added to the history of the
+     * session before the returned response completes.
+     *
+     * @param sessionId The session id.
+     * @param request   The request, without the history of the session.
+     * @return An {@link AsyncResponse} completed with the response. Cancelling it cancels the
+     *         request.
+     * @since 0.2.1
+     */
+    public AsyncResponse<GenerateContentResponseView> executeViewAsync(String sessionId, GenerateRequest request) {
+        MultiTurnConversation conversation = conversationStore.acquire(sessionId);
+        AsyncResponse<GenerateContentResponseView> response;
+        try {
+            response = generateResource.executeViewAsync(conversation.prepareRequest(request));
+        } catch (RuntimeException e) {
+            conversationStore.release(sessionId, conversation);
+            throw e;
+        }
+        AsyncResponse<GenerateContentResponseView> recorded = AsyncResponse.fromFuture(response.thenApply(view -> {
+            conversation.recordTurn(request, view.getFirstCandidateContent());
+            return view;
+        }));
+        recorded.whenComplete((view, exception) -> {
+            if (recorded.isCancelled()) {
+                response.cancel(true);
+            }
+            conversationStore.release(sessionId, conversation);
+        });
+        return recorded;
+    }
+
+    /**
+     * Returns the conversation of a session, restoring or creating it if needed, for example
+     * to pin a system instruction.
+     *
+     * @param sessionId The session id.
+     * @return The conversation of the session.
+     * @since 0.2.1
+     */
+    public MultiTurnConversation getConversation(String sessionId) {
+        return conversationStore.getOrCreate(sessionId);
+    }
+
+    /**
+     * Ends a session, dropping its conversation.
+     *
+     * @param sessionId The session id.
+     * @since 0.2.1
+     */
+    public void endSession(String sessionId) {
+        logDebug("Ending session " + sessionId + ".");
+        conversationStore.remove(sessionId);
+    }
+
+    /**
+     * Returns the store holding the conversations of the sessions.
+     *
+     * @return The conversation store.
+     * @since 0.2.1
+     */
+    public ConversationStore getConversationStore() {
+        return conversationStore;
+    }
+}
@@ -0,0 +1,126 @@
+package com.enovka.gemini4j.resource.conversation;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.infrastructure.tool.ConversationSummarizer;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Part;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.GenerateResource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A {@link ConversationSummarizer} asking the model to summarize the evicted turns of a
+ * conversation, through a {@link GenerateResource} of its own.
+ * <p>
+ * The previous summary and the text of the evicted contents are sent as a transcript with a
+ * summarization instruction; the answer becomes a user content opening the history. The
+ * resource must not track a conversation itself, otherwise the summarization requests would be
+ * added to its history.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class GenerateConversationSummarizer extends BaseClass implements ConversationSummarizer {
+
+    /**
+     * The default summarization instruction.
+     */
+    public static final String DEFAULT_INSTRUCTION = "Summarize the conversation transcript below for "
+            + "the assistant that will continue it. Keep every fact, decision, name, number and open "
+            + "question; drop greetings and repetitions. Reply with the summary only.";
+
+    /**
+     * The text opening every summary, which tells the model what the content is.
+     */
+    public static final String SUMMARY_PREFIX = "Summary of the earlier conversation:\n";
+
+    private static final String USER_ROLE = "user";
+
+    private final GenerateResource generateResource;
+    private final String instruction;
+    private final Integer maxOutputTokens;
+
+    /**
+     * Constructs a new GenerateConversationSummarizer with the default instruction and a
+     * summary of at most 1024 tokens.
+     *
+     * @param generateResource The resource used to send the summarization requests.
+     * @since 0.2.1
+     */
+    public GenerateConversationSummarizer(GenerateResource generateResource) {
+        this(generateResource, DEFAULT_INSTRUCTION, 1024);
+    }
+
+    /**
+     * Constructs a new GenerateConversationSummarizer.
+     *
+     * @param generateResource The resource used to send the summarization requests.
+     * @param instruction      The summarization instruction.
+     * @param maxOutputTokens  The maximum number of tokens of a summary, or null for the model
+     *                         default.
+     * @throws IllegalArgumentException If the resource tracks a conversation.
+     * @since 0.2.1
+     */
+    public GenerateConversationSummarizer(GenerateResource generateResource, String instruction,
+                                          Integer maxOutputTokens) {
+        if (generateResource.isMultiTurnConversationEnabled()) {
+            throw new IllegalArgumentException("The summarization resource must not track a conversation.");
+        }
+        this.generateResource = generateResource;
+        this.instruction = instruction;
+        this.maxOutputTokens = maxOutputTokens;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public CompletableFuture<Content> summarize(Content previousSummary, List<Content> evicted) {
+        StringBuilder transcript = new StringBuilder();
+        if (previousSummary != null) {
+            appendText(transcript.append("Earlier summary:\n"), previousSummary);
+            transcript.append("\n\nLater turns:\n");
+        }
+        for (Content content : evicted) {
+            transcript.append(content.getRole() != null ? content.getRole() : USER_ROLE).append(": ");
+            appendText(transcript, content);
+            transcript.append('\n');
+        }
+        GenerateRequest request = GenerateRequestBuilder.builder()
+                .withModel(generateResource.getGeminiClient().getModelName())
+                .withSystemInstruction(instruction)
+                .withUserContent(transcript.toString())
+                .withOutputLength(maxOutputTokens)
+                .build();
+        logDebug("Summarizing " + evicted.size() + " evicted contents.");
+        return generateResource.executeViewAsync(request).thenApply(view -> {
+            String text = view.getFirstCandidateText();
+            if (text == null) {
+                throw new CompletionException(new ResourceException("The model returned no summary."));
+            }
+            return Content.builder()
+                    .withRole(USER_ROLE)
+                    .withParts(List.of(Part.builder().withText(SUMMARY_PREFIX + text).build()))
+                    .build();
+        });
+    }
+
+    private static void appendText(StringBuilder transcript, Content content) {
+        if (content.getParts() == null) {
+            return;
+        }
+        for (Part part : content.getParts()) {
+            if (part.getText() != null) {
+                String text = part.getText();
+                transcript.append(text.startsWith(SUMMARY_PREFIX) ? text.substring(SUMMARY_PREFIX.length()) : text);
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.enovka.gemini4j.resource.impl;
+
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.model.Embedding;
+import com.enovka.gemini4j.model.request.BatchEmbedRequest;
+import com.enovka.gemini4j.model.request.EmbedRequest;
+import com.enovka.gemini4j.model.response.BatchEmbedResponse;
+import com.enovka.gemini4j.model.response.EmbedResponse;
+import com.enovka.gemini4j.model.type.SupportedModelMethod;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.EmbedResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link EmbedResource} that coalesces concurrent single embedding requests into
+ * {@code batchEmbedContents} calls. Every {@link EmbedRequest} is queued and its caller gets a
+ * future; the queue is sent as one {@link BatchEmbedRequest} once it holds
+ * {@link EmbedBatchPolicy#getMaxBatchSize()} requests or once its oldest request has waited
+ * {@link EmbedBatchPolicy#getMaxDelay()}. The embeddings of the {@link BatchEmbedResponse} are
+ * handed back to each caller in order, so callers embedding one text at a time from many threads
+ * share a single HTTP round-trip.
+ * <p>
+ * Requests targeting another model than the client's are sent on their own, and batch requests
+ * are passed through unchanged. If a batch fails, every request in it fails with the same
+ * cause. A caller cancelling its future before the batch is sent removes its request from the
+ * batch.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class BatchingEmbedResourceImpl extends BaseClass implements EmbedResource {
+
+    private final EmbedResource delegate;
+    private final EmbedBatchPolicy policy;
+    private List<PendingEmbedding> batch = new ArrayList<>();
+    private long batchGeneration;
+
+    /**
+     * Constructs a new BatchingEmbedResourceImpl.
+     *
+     * @param delegate The resource used to send the batches.
+     * @param policy   The batching policy.
+     * @throws IllegalArgumentException If the maximum batch size is not positive.
+     * @since 0.2.1
+     */
+    public BatchingEmbedResourceImpl(EmbedResource delegate, EmbedBatchPolicy policy) {
+        if (policy.getMaxBatchSize() <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than zero.");
+        }
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The request is coalesced with concurrent requests and the calling thread waits for the
+     * batch it joined.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public EmbedResponse execute(EmbedRequest request) throws ResourceException {
+        AsyncResponse<EmbedResponse> response = executeAsync(request);
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResourceException("Thread interrupted while waiting for response.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ResourceException) {
+                throw (ResourceException) cause;
+            }
+            throw new ResourceException(cause != null ? cause.getMessage() : e.getMessage(), cause);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The request is queued and sent as part of the next batch.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public AsyncResponse<EmbedResponse> executeAsync(EmbedRequest request) {
+        String modelName = getGeminiClient().getModelName();
+        if (request.getModel() != null && !request.getModel().equals(modelName)) {
+            return delegate.executeAsync(request);
+        }
+        PendingEmbedding pending = new PendingEmbedding(
+                request.getModel() != null ? request : request.toBuilder().withModel(modelName).build());
+        List<PendingEmbedding> ready = null;
+        long scheduleGeneration = -1;
+        synchronized (this) {
+            batch.add(pending);
+            if (batch.size() >= policy.getMaxBatchSize()) {
+                ready = takeBatch();
+            } else if (batch.size() == 1) {
+                scheduleGeneration = batchGeneration;
+            }
+        }
+        if (ready != null) {
+            dispatch(ready);
+        } else if (scheduleGeneration >= 0) {
+            long generation = scheduleGeneration;
+            CompletableFuture.delayedExecutor(policy.getMaxDelay().toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> flush(generation));
+        }
+        pending.future.whenComplete((response, exception) -> {
+            if (exception instanceof CancellationException) {
+                synchronized (this) {
+                    batch.remove(pending);
+                }
+            }
+        });
+        return AsyncResponse.fromFuture(pending.future);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public BatchEmbedResponse execute(BatchEmbedRequest request) throws ResourceException {
+        return delegate.execute(request);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public AsyncResponse<BatchEmbedResponse> executeAsync(BatchEmbedRequest request) {
+        return delegate.executeAsync(request);
+    }
+
+    /**
+     * Sends the queued requests immediately instead of waiting for the batch to fill up.
+     *
+     * @since 0.2.1
+     */
+    public void flush() {
+        List<PendingEmbedding> ready;
+        synchronized (this) {
+            ready = takeBatch();
+        }
+        dispatch(ready);
+    }
+
+    /**
+     * Returns the number of requests waiting for the next batch.
+     *
+     * @return The number of queued requests.
+     * @since 0.2.1
+     */
+    public synchronized int getQueuedRequests() {
+        return batch.size();
+    }
+
+    /**
+     * Returns the batching policy of this resource.
+     *
+     * @return The batching policy.
+     * @since 0.2.1
+     */
+    public EmbedBatchPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public List<SupportedModelMethod> getSupportedMethods() {
+        return delegate.getSupportedMethods();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public GeminiClient getGeminiClient() {
+        return delegate.getGeminiClient();
+    }
+
+    /**
+     * Sends the batch scheduled by its first request, unless it was already sent because it
+     * filled up.
+     *
+     * @param generation The generation of the batch when its timer was scheduled.
+     */
+    private void flush(long generation) {
+        List<PendingEmbedding> ready;
+        synchronized (this) {
+            if (generation != batchGeneration) {
+                return;
+            }
+            ready = takeBatch();
+        }
+        dispatch(ready);
+    }
+
+    /**
+     * Detaches the current batch and starts a new one. Must be called while holding the lock.
+     *
+     * @return The detached batch.
+     */
+    private List<PendingEmbedding> takeBatch() {
+        List<PendingEmbedding> ready = batch;
+        batch = new ArrayList<>();
+        batchGeneration++;
+        return ready;
+    }
+
+    /**
+     * Sends a batch and completes the future of each of its requests.
+     *
+     * @param ready The requests of the batch.
+     */
+    private void dispatch(List<PendingEmbedding> ready) {
+        ready.removeIf(pending -> pending.future.isDone());
+        if (ready.isEmpty()) {
+            return;
+        }
+        List<EmbedRequest> requests = new ArrayList<>(ready.size());
+        ready.forEach(pending -> requests.add(pending.request));
+        logDebug(String.format("Sending %d coalesced embedding requests.", requests.size()));
+        CompletableFuture<BatchEmbedResponse> response;
+        try {
+            response = delegate.executeAsync(BatchEmbedRequest.builder().withRequests(requests).build());
+        } catch (RuntimeException e) {
+            ready.forEach(pending -> pending.future.completeExceptionally(e));
+            return;
+        }
+        response.whenComplete((batchResponse, exception) -> {
+            if (exception != null) {
+                Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                        ? exception.getCause() : exception;
+                ready.forEach(pending -> pending.future.completeExceptionally(cause));
+                return;
+            }
+            List<Embedding> embeddings = batchResponse.getEmbeddings();
+            if (embeddings == null || embeddings.size() != ready.size()) {
+                ResourceException mismatch = new ResourceException(String.format(
+                        "Batch embedding returned %d embeddings for %d requests.",
+                        embeddings == null ? 0 : embeddings.size(), ready.size()));
+                ready.forEach(pending -> pending.future.completeExceptionally(mismatch));
+                return;
+            }
+            for (int i = 0; i < ready.size(); i++) {
+                ready.get(i).future.complete(new EmbedResponse(embeddings.get(i)));
+            }
+        });
+    }
+
+    /**
+     * A queued request and the future of its caller.
+     */
+    private static final class PendingEmbedding {
+
+        private final EmbedRequest request;
+        private final CompletableFuture<EmbedResponse> future = new CompletableFuture<>();
+
+        private PendingEmbedding(EmbedRequest request) {
+            this.request = request;
+        }
+    }
+}
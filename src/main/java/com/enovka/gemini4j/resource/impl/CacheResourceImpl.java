@@ -12,7 +12,12 @@ import com.enovka.gemini4j.resource.exception.ResourceException;
 import com.enovka.gemini4j.resource.spec.CacheResource;
 import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
 import com.enovka.gemini4j.resource.spec.base.BaseAbstractResource;
+import com.enovka.gemini4j.resource.spec.base.PrefetchingPageIterator;
+import org.apache.hc.core5.http.ContentType;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -60,24 +65,49 @@ public class CacheResourceImpl extends BaseAbstractResource<CacheResponse, Cache
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cached contents are a top-level collection, so unlike the model methods their URL is not
+     * prefixed with the model name.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isModelScoped() {
+        return false;
+    }
+
     @Override
     public CacheResponse createCachedContent(CacheRequest request) throws ResourceException {
-        return post(request, CacheResponse.class);
+        return executeRequest("POST", DEFAULT_CACHE_ENDPOINT, request.getCacheContent(),
+                ContentType.APPLICATION_JSON, CacheResponse.class);
     }
 
     @Override
     public AsyncResponse<CacheResponse> createCachedContentAsync(CacheRequest request) {
-        return postAsync(request, CacheResponse.class);
+        return executeRequestAsync("POST", DEFAULT_CACHE_ENDPOINT, request.getCacheContent(),
+                ContentType.APPLICATION_JSON, CacheResponse.class);
     }
 
     @Override
     public ListCacheResponse listCachedContents(Integer pageSize, String pageToken) throws ResourceException {
-        return null;
+        return get(buildListEndpoint(pageSize, pageToken), ListCacheResponse.class);
     }
 
     @Override
     public AsyncResponse<ListCacheResponse> listCachedContentsAsync(Integer pageSize, String pageToken) {
-        return null;
+        return getAsync(buildListEndpoint(pageSize, pageToken), ListCacheResponse.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public PrefetchingPageIterator<ListCacheResponse, CacheResponse> iterateCachedContents(Integer pageSize) {
+        return new PrefetchingPageIterator<>(pageToken -> listCachedContentsAsync(pageSize, pageToken),
+                ListCacheResponse::getCachedContents, ListCacheResponse::getNextPageToken);
     }
 
     @Override
@@ -92,12 +122,14 @@ public class CacheResourceImpl extends BaseAbstractResource<CacheResponse, Cache
 
     @Override
     public CacheResponse updateCachedContent(CacheRequest cache) throws ResourceException {
-        return patch(cache, CacheResponse.class);
+        return executeRequest("PATCH", buildUpdateEndpoint(cache.getCacheContent()), cache.getCacheContent(),
+                ContentType.APPLICATION_JSON, CacheResponse.class);
     }
 
     @Override
     public AsyncResponse<CacheResponse> updateCachedContentAsync(CacheRequest cache) {
-        return patchAsync(cache, CacheResponse.class);
+        return executeRequestAsync("PATCH", buildUpdateEndpoint(cache.getCacheContent()), cache.getCacheContent(),
+                ContentType.APPLICATION_JSON, CacheResponse.class);
     }
 
     @Override
@@ -110,6 +142,49 @@ public class CacheResourceImpl extends BaseAbstractResource<CacheResponse, Cache
         return deleteAsync(name, EmptyResponse.class);
     }
 
+    /**
+     * Builds the endpoint of a list request.
+     *
+     * @param pageSize  The maximum number of entries per page, or null.
+     * @param pageToken The token of the page to retrieve, or null for the first page.
+     * @return The endpoint, including the query parameters.
+     * @since 0.2.1
+     */
+    private String buildListEndpoint(Integer pageSize, String pageToken) {
+        StringBuilder endpoint = new StringBuilder(DEFAULT_CACHE_ENDPOINT);
+        if (pageSize != null) {
+            endpoint.append("?pageSize=").append(pageSize);
+        }
+        if (pageToken != null && !pageToken.isEmpty()) {
+            endpoint.append(pageSize != null ? "&" : "?").append("pageToken=")
+                    .append(URLEncoder.encode(pageToken, StandardCharsets.UTF_8));
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * Builds the endpoint of a patch request, whose update mask lists the updatable fields set
+     * on the cached content.
+     *
+     * @param cacheContent The cached content to update.
+     * @return The endpoint, including the update mask.
+     * @since 0.2.1
+     */
+    private String buildUpdateEndpoint(CacheContent cacheContent) {
+        List<String> fields = new ArrayList<>();
+        if (cacheContent.getTtl() != null) {
+            fields.add("ttl");
+        }
+        if (cacheContent.getExpireTime() != null) {
+            fields.add("expireTime");
+        }
+        if (cacheContent.getDisplayName() != null) {
+            fields.add("displayName");
+        }
+        return fields.isEmpty() ? cacheContent.getName()
+                : cacheContent.getName() + "?updateMask=" + String.join(",", fields);
+    }
+
     @Override
     public List<SupportedModelMethod> getSupportedMethods() {
         return List.of(SupportedModelMethod.CREATE_CACHED_CONTENT);
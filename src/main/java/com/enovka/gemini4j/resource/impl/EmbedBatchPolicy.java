@@ -0,0 +1,44 @@
+package com.enovka.gemini4j.resource.impl;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Immutable description of how a {@link BatchingEmbedResourceImpl} coalesces concurrent
+ * single embedding requests. A batch is sent as soon as it holds {@link #getMaxBatchSize()}
+ * requests, or {@link #getMaxDelay()} after its first request was queued, whichever comes
+ * first.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class EmbedBatchPolicy {
+
+    /**
+     * The largest number of requests sent in one {@code batchEmbedContents} call. Defaults to
+     * 100, the limit accepted by the API.
+     */
+    @Builder.Default
+    private int maxBatchSize = 100;
+
+    /**
+     * How long the first request of a batch may wait for others to join it. Defaults to 10
+     * milliseconds.
+     */
+    @Builder.Default
+    private Duration maxDelay = Duration.ofMillis(10);
+
+    /**
+     * Returns the default policy.
+     *
+     * @return A policy with the default settings.
+     * @since 0.2.1
+     */
+    public static EmbedBatchPolicy defaults() {
+        return EmbedBatchPolicy.builder().build();
+    }
+}
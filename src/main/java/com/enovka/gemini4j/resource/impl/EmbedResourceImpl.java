@@ -27,8 +27,8 @@ import java.util.List;
  */
 public class EmbedResourceImpl extends BaseAbstractResource<EmbedResponse, EmbedRequest> implements EmbedResource {
 
-    private static final String EMBED_CONTENT_ENDPOINT = "%s:embedContent";
-    private static final String BATCH_EMBED_CONTENTS_ENDPOINT = "%s:batchEmbedContents";
+    private static final String EMBED_CONTENT_ENDPOINT = "embedContent";
+    private static final String BATCH_EMBED_CONTENTS_ENDPOINT = "batchEmbedContents";
     private static final List<SupportedModelMethod> SUPPORTED_METHODS = List.of(SupportedModelMethod.EMBED_CONTENT);
 
     /**
@@ -61,8 +61,7 @@ public class EmbedResourceImpl extends BaseAbstractResource<EmbedResponse, Embed
      */
     @Override
     public AsyncResponse<EmbedResponse> executeAsync(EmbedRequest request){
-        String endpoint = String.format(EMBED_CONTENT_ENDPOINT, geminiClient.getModelName());
-        return executeRequestAsync("POST", endpoint, request, ContentType.APPLICATION_JSON, EmbedResponse.class);
+        return executeRequestAsync("POST", EMBED_CONTENT_ENDPOINT, request, ContentType.APPLICATION_JSON, EmbedResponse.class);
     }
     /**
      * {@inheritDoc}
@@ -70,8 +69,7 @@ public class EmbedResourceImpl extends BaseAbstractResource<EmbedResponse, Embed
      */
     @Override
     public BatchEmbedResponse execute(BatchEmbedRequest request) throws ResourceException {
-        String endpoint = String.format(BATCH_EMBED_CONTENTS_ENDPOINT, geminiClient.getModelName());
-        return executeRequest("POST", endpoint, request, ContentType.APPLICATION_JSON, BatchEmbedResponse.class);
+        return executeRequest("POST", BATCH_EMBED_CONTENTS_ENDPOINT, request, ContentType.APPLICATION_JSON, BatchEmbedResponse.class);
     }
 
     /**
@@ -80,8 +78,43 @@ public class EmbedResourceImpl extends BaseAbstractResource<EmbedResponse, Embed
      */
     @Override
     public AsyncResponse<BatchEmbedResponse> executeAsync(BatchEmbedRequest request) {
-        String endpoint = String.format(BATCH_EMBED_CONTENTS_ENDPOINT, geminiClient.getModelName());
-        return executeRequestAsync("POST", endpoint, request, ContentType.APPLICATION_JSON, BatchEmbedResponse.class);
+        return executeRequestAsync("POST", BATCH_EMBED_CONTENTS_ENDPOINT, request, ContentType.APPLICATION_JSON, BatchEmbedResponse.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Embedding requests count against the tokens per minute quota.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isQuotaGoverned() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Embedding requests have no side effects, so duplicates are safe.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isHedgeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Embeddings are deterministic, so every embedding response is cacheable.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isCacheable() {
+        return true;
     }
 
     /**
@@ -1,10 +1,20 @@
 package com.enovka.gemini4j.resource.impl;
 
 import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.http.spec.HttpResponse;
+import com.enovka.gemini4j.infrastructure.http.spec.StreamCallback;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.GenerateConfig;
+import com.enovka.gemini4j.model.Part;
 import com.enovka.gemini4j.model.request.GenerateRequest;
 import com.enovka.gemini4j.model.request.spec.Request;
+import com.enovka.gemini4j.model.response.GenerateContentResponseView;
 import com.enovka.gemini4j.model.response.internal.GenerateContentResponse;
+import com.enovka.gemini4j.model.response.spec.AbstractResponse;
+import com.enovka.gemini4j.model.response.spec.UsageMetadataAware;
 import com.enovka.gemini4j.model.type.SupportedModelMethod;
+import com.enovka.gemini4j.resource.calibration.TokenCalibrator;
+import com.enovka.gemini4j.resource.context.ContextCacheManager;
 import com.enovka.gemini4j.resource.exception.ResourceException;
 import com.enovka.gemini4j.resource.spec.GenerateResource;
 import com.enovka.gemini4j.resource.spec.base.AbstractMultiTurnConversationResource;
@@ -14,6 +24,8 @@ import org.apache.hc.core5.http.ContentType;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * Implementation of the {@link GenerateResource} interface for interacting with the Generation
@@ -27,9 +39,13 @@ import java.util.Map;
  */
 public class GenerateResourceImpl extends AbstractMultiTurnConversationResource<GenerateRequest, GenerateContentResponse> implements GenerateResource {
 
-    private static final String GENERATE_CONTENT_ENDPOINT = "%s:generateContent";
+    private static final String GENERATE_CONTENT_ENDPOINT = "generateContent";
+    private static final String STREAM_GENERATE_CONTENT_ENDPOINT = "streamGenerateContent";
+    private static final String MODEL_ROLE = "model";
     private static final List<SupportedModelMethod> SUPPORTED_METHODS = List.of(SupportedModelMethod.GENERATE_CONTENT);
 
+    private final ContextCacheManager contextCacheManager;
+
     /**
      * Constructs a new GenerateResourceImpl with the required GeminiClient.
      *
@@ -37,7 +53,21 @@ public class GenerateResourceImpl extends AbstractMultiTurnConversationResource<
      * @since 0.2.0
      */
     public GenerateResourceImpl(GeminiClient geminiClient) {
+        this(geminiClient, null);
+    }
+
+    /**
+     * Constructs a new GenerateResourceImpl whose requests reuse the cached contents of a
+     * {@link ContextCacheManager}. Every request is applied to the manager before it is sent,
+     * so requests starting with a registered prefix reference its cached content instead.
+     *
+     * @param geminiClient        The Gemini client for API communication.
+     * @param contextCacheManager The context cache manager, or null to send requests as given.
+     * @since 0.2.1
+     */
+    public GenerateResourceImpl(GeminiClient geminiClient, ContextCacheManager contextCacheManager) {
         super(geminiClient);
+        this.contextCacheManager = contextCacheManager;
     }
 
     @Override
@@ -45,6 +75,61 @@ public class GenerateResourceImpl extends AbstractMultiTurnConversationResource<
         return GENERATE_CONTENT_ENDPOINT;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Generation requests count against the tokens per minute quota.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isQuotaGoverned() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Generation requests have no side effects, so duplicates are safe.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isHedgeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Non-streaming generation responses are cacheable; whether a given request may be cached
+     * depends on its temperature.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A generation request is deterministic only when its temperature is explicitly set to
+     * zero; the model's default temperature samples.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isDeterministic(Request requestObject) {
+        if (!(requestObject instanceof GenerateRequest)) {
+            return false;
+        }
+        GenerateConfig generateConfig = ((GenerateRequest) requestObject).getGenerateConfig();
+        return generateConfig != null && generateConfig.getTemperature() != null
+                && generateConfig.getTemperature() == 0;
+    }
+
     /**
      * {@inheritDoc}
      * @since 0.2.0
@@ -60,13 +145,258 @@ public class GenerateResourceImpl extends AbstractMultiTurnConversationResource<
         return headers;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With multi-turn conversation enabled, the conversation history is sent with the request
+     * and the turn is added to it once the response arrives.
+     */
     @Override
     public GenerateContentResponse execute(GenerateRequest request) throws ResourceException {
-        return this.post(request, GenerateContentResponse.class);
+        GenerateRequest applied = applyContextCache(prepareMultiTurnRequest(request));
+        GenerateContentResponse response = recordUsage(applied, this.post(applied, GenerateContentResponse.class));
+        recordTurn(request, firstContent(response));
+        return response;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With multi-turn conversation enabled, the conversation history is sent with the request
+     * and the turn is added to it before the returned response completes.
+     */
     @Override
     public AsyncResponse<GenerateContentResponse> executeAsync(GenerateRequest request) {
-        return this.postAsync(request, GenerateContentResponse.class);
+        GenerateRequest prepared = prepareMultiTurnRequest(request);
+        AsyncResponse<GenerateContentResponse> response;
+        if (contextCacheManager == null) {
+            response = recordUsageAsync(prepared, this.postAsync(prepared, GenerateContentResponse.class));
+        } else {
+            response = sendWithContextCacheAsync(prepared, applied -> recordUsageAsync(applied,
+                    this.postAsync(applied, GenerateContentResponse.class)));
+        }
+        return recordTurnAsync(request, response, GenerateResourceImpl::firstContent);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public GenerateContentResponseView executeView(GenerateRequest request) throws ResourceException {
+        GenerateRequest applied = applyContextCache(prepareMultiTurnRequest(request));
+        GenerateContentResponseView response = recordUsage(applied,
+                post(getEndpointForRequest(applied), applied, GenerateContentResponseView.class));
+        if (isMultiTurnConversationEnabled()) {
+            recordTurn(request, response.getFirstCandidateContent());
+        }
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public AsyncResponse<GenerateContentResponseView> executeViewAsync(GenerateRequest request) {
+        GenerateRequest prepared = prepareMultiTurnRequest(request);
+        AsyncResponse<GenerateContentResponseView> response;
+        if (contextCacheManager == null) {
+            response = recordUsageAsync(prepared, postAsync(getEndpointForRequest(prepared), prepared,
+                    GenerateContentResponseView.class));
+        } else {
+            response = sendWithContextCacheAsync(prepared, applied -> recordUsageAsync(applied,
+                    postAsync(getEndpointForRequest(applied), applied, GenerateContentResponseView.class)));
+        }
+        return recordTurnAsync(request, response, GenerateContentResponseView::getFirstCandidateContent);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A {@link GenerateContentResponseView} is built around the raw response bytes instead of
+     * being deserialized.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected <ResponseType extends AbstractResponse> ResponseType deserializeResponse(HttpResponse httpResponse, Class<ResponseType> responseType) throws ResourceException {
+        if (responseType == GenerateContentResponseView.class) {
+            byte[] body = httpResponse.getBodyBytes();
+            if (body == null || body.length == 0) {
+                throw new ResourceException("Error deserializing response: response body is empty");
+            }
+            return responseType.cast(new GenerateContentResponseView(body));
+        }
+        return super.deserializeResponse(httpResponse, responseType);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public AsyncResponse<GenerateContentResponse> executeStream(GenerateRequest request, StreamCallback<GenerateContentResponse> callback) {
+        GenerateRequest prepared = prepareMultiTurnRequest(request);
+        StringBuffer text = new StringBuffer();
+        StreamCallback<GenerateContentResponse> streamCallback = isMultiTurnConversationEnabled()
+                ? accumulateText(callback, text) : callback;
+        AsyncResponse<GenerateContentResponse> response;
+        if (contextCacheManager == null) {
+            response = recordUsageAsync(prepared, executeStreamRequest(STREAM_GENERATE_CONTENT_ENDPOINT, prepared,
+                    GenerateContentResponse.class, streamCallback));
+        } else {
+            response = sendWithContextCacheAsync(prepared, applied -> recordUsageAsync(applied, executeStreamRequest(
+                    STREAM_GENERATE_CONTENT_ENDPOINT, applied, GenerateContentResponse.class, streamCallback)));
+        }
+        return recordTurnAsync(request, response, last -> text.length() == 0 ? null : Content.builder()
+                .withRole(MODEL_ROLE)
+                .withParts(List.of(Part.builder().withText(text.toString()).build()))
+                .build());
+    }
+
+    /**
+     * Applies the context cache to a request and sends it once its cached content is ready.
+     * Cancelling the returned response cancels the request it sent, or prevents the request
+     * from being sent if the cached content is still being created.
+     *
+     * @param prepared The request to send.
+     * @param sender   Sends the request as rewritten by the context cache manager.
+     * @param <T>      The type of the response.
+     * @return The response of the request.
+     * @since 0.2.1
+     */
+    private <T> AsyncResponse<T> sendWithContextCacheAsync(GenerateRequest prepared,
+                                                           Function<GenerateRequest, AsyncResponse<T>> sender) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        contextCacheManager.applyAsync(prepared).thenAccept(applied -> {
+            if (result.isDone()) {
+                return;
+            }
+            AsyncResponse<T> response = sender.apply(applied);
+            response.whenComplete((value, exception) -> {
+                if (exception != null) {
+                    result.completeExceptionally(exception);
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, exception) -> {
+                if (result.isCancelled() && !response.isDone()) {
+                    response.cancel(true);
+                }
+            });
+        });
+        return AsyncResponse.fromFuture(result);
+    }
+
+    /**
+     * Wraps a stream callback to collect the text of the first candidate of every chunk, so
+     * that a streamed turn can be added to the conversation history.
+     *
+     * @param callback The callback of the caller.
+     * @param text     Receives the text of the chunks.
+     * @return The wrapping callback.
+     * @since 0.2.1
+     */
+    private static StreamCallback<GenerateContentResponse> accumulateText(
+            StreamCallback<GenerateContentResponse> callback, StringBuffer text) {
+        return new StreamCallback<>() {
+            @Override
+            public void onNext(GenerateContentResponse element) {
+                Content content = firstContent(element);
+                if (content != null && content.getParts() != null) {
+                    content.getParts().stream()
+                            .filter(part -> part.getText() != null)
+                            .forEach(part -> text.append(part.getText()));
+                }
+                callback.onNext(element);
+            }
+
+            @Override
+            public void onComplete() {
+                callback.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable exception) {
+                callback.onError(exception);
+            }
+
+            @Override
+            public void onCanceled() {
+                callback.onCanceled();
+            }
+        };
+    }
+
+    /**
+     * Returns the content of the first candidate of a response.
+     *
+     * @param response The response.
+     * @return The content, or null if the response has no candidate.
+     * @since 0.2.1
+     */
+    private static Content firstContent(GenerateContentResponse response) {
+        if (response == null || response.getCandidates() == null || response.getCandidates().isEmpty()) {
+            return null;
+        }
+        return response.getCandidates().get(0).getContent();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    protected ContextCacheManager getContextCacheManager() {
+        return contextCacheManager;
+    }
+
+    /**
+     * Rewrites the request to reference a cached content when it starts with a prefix
+     * registered in the context cache manager.
+     *
+     * @param request The generation request.
+     * @return The request to send.
+     * @since 0.2.1
+     */
+    private GenerateRequest applyContextCache(GenerateRequest request) {
+        return contextCacheManager != null ? contextCacheManager.apply(request) : request;
+    }
+
+    /**
+     * Feeds the usage reported for a request to the client's {@link TokenCalibrator}, if any.
+     *
+     * @param request  The request as sent.
+     * @param response The response received.
+     * @param <T>      The type of the response.
+     * @return The response.
+     * @since 0.2.1
+     */
+    private <T extends UsageMetadataAware> T recordUsage(GenerateRequest request, T response) {
+        TokenCalibrator tokenCalibrator = geminiClient.getTokenCalibrator();
+        if (tokenCalibrator != null && response != null) {
+            tokenCalibrator.record(request, response.getUsageMetadata());
+        }
+        return response;
+    }
+
+    /**
+     * Feeds the usage reported for a request to the client's {@link TokenCalibrator}, if any,
+     * once the response arrives. The response itself is returned unchanged, so cancelling it
+     * still cancels the request.
+     *
+     * @param request  The request as sent.
+     * @param response The pending response.
+     * @param <T>      The type of the response.
+     * @return The pending response.
+     * @since 0.2.1
+     */
+    private <T extends UsageMetadataAware> AsyncResponse<T> recordUsageAsync(GenerateRequest request, AsyncResponse<T> response) {
+        if (geminiClient.getTokenCalibrator() != null) {
+            response.thenAccept(result -> recordUsage(request, result));
+        }
+        return response;
     }
 }
\ No newline at end of file
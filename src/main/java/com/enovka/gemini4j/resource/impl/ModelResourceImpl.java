@@ -12,6 +12,8 @@ import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
 import com.enovka.gemini4j.resource.spec.base.BaseAbstractResource;
 import org.apache.hc.core5.http.ContentType;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -67,6 +69,26 @@ public class ModelResourceImpl extends BaseAbstractResource<Model, Request>
         return executeRequestAsync("GET", LIST_MODELS_ENDPOINT, null, ContentType.APPLICATION_JSON, ListModel.class);
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public ListModel listModels(Integer pageSize, String pageToken) throws ResourceException {
+        return executeRequest("GET", buildListEndpoint(pageSize, pageToken), null, ContentType.APPLICATION_JSON,
+                ListModel.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public AsyncResponse<ListModel> listModelsAsync(Integer pageSize, String pageToken) {
+        return executeRequestAsync("GET", buildListEndpoint(pageSize, pageToken), null,
+                ContentType.APPLICATION_JSON, ListModel.class);
+    }
+
     /**
      * {@inheritDoc}
      * @since 0.2.0
@@ -95,4 +117,36 @@ public class ModelResourceImpl extends BaseAbstractResource<Model, Request>
     public List<SupportedModelMethod> getSupportedMethods() {
         return SUPPORTED_METHODS;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Models are a top-level collection, so their URL is not prefixed with the model name.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    protected boolean isModelScoped() {
+        return false;
+    }
+
+    /**
+     * Builds the endpoint of a list request with the given page size and token.
+     *
+     * @param pageSize  The page size, or null.
+     * @param pageToken The page token, or null.
+     * @return The endpoint, including the query parameters.
+     * @since 0.2.1
+     */
+    private String buildListEndpoint(Integer pageSize, String pageToken) {
+        StringBuilder endpoint = new StringBuilder(LIST_MODELS_ENDPOINT);
+        if (pageSize != null) {
+            endpoint.append("?pageSize=").append(pageSize);
+        }
+        if (pageToken != null && !pageToken.isEmpty()) {
+            endpoint.append(pageSize != null ? "&" : "?").append("pageToken=")
+                    .append(URLEncoder.encode(pageToken, StandardCharsets.UTF_8));
+        }
+        return endpoint.toString();
+    }
 }
\ No newline at end of file
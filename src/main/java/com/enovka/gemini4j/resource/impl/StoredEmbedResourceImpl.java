@@ -0,0 +1,269 @@
+package com.enovka.gemini4j.resource.impl;
+
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.embedding.EmbeddingKey;
+import com.enovka.gemini4j.infrastructure.embedding.EmbeddingStore;
+import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.model.Embedding;
+import com.enovka.gemini4j.model.request.BatchEmbedRequest;
+import com.enovka.gemini4j.model.request.EmbedRequest;
+import com.enovka.gemini4j.model.response.BatchEmbedResponse;
+import com.enovka.gemini4j.model.response.EmbedResponse;
+import com.enovka.gemini4j.model.type.SupportedModelMethod;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.EmbedResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * An {@link EmbedResource} that looks every request up in an {@link EmbeddingStore} before
+ * sending it, and stores the embeddings it receives. Requests whose content, model, task type,
+ * title and output dimensionality were embedded before are answered from the store without a
+ * network call. For a {@link BatchEmbedRequest}, only the requests missing from the store are
+ * sent, as one smaller batch, and the embeddings are merged back in request order.
+ * <p>
+ * The delegate may itself be a {@link BatchingEmbedResourceImpl}, so that misses are coalesced
+ * too. Failing to store an embedding never fails the request; it is logged and the embedding
+ * is simply requested again next time.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class StoredEmbedResourceImpl extends BaseClass implements EmbedResource {
+
+    private final EmbedResource delegate;
+    private final EmbeddingStore store;
+
+    /**
+     * Constructs a new StoredEmbedResourceImpl.
+     *
+     * @param delegate The resource used to request the embeddings missing from the store.
+     * @param store    The store holding the embeddings.
+     * @since 0.2.1
+     */
+    public StoredEmbedResourceImpl(EmbedResource delegate, EmbeddingStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public EmbedResponse execute(EmbedRequest request) throws ResourceException {
+        EmbeddingKey key = keyOf(request);
+        float[] vector = store.get(key);
+        if (vector != null) {
+            return new EmbedResponse(new Embedding(vector));
+        }
+        EmbedResponse response = delegate.execute(request);
+        store(key, response.getEmbedding());
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public AsyncResponse<EmbedResponse> executeAsync(EmbedRequest request) {
+        EmbeddingKey key;
+        try {
+            key = keyOf(request);
+        } catch (ResourceException e) {
+            return AsyncResponse.fromException(e);
+        }
+        float[] vector = store.get(key);
+        if (vector != null) {
+            return AsyncResponse.fromFuture(CompletableFuture.completedFuture(new EmbedResponse(new Embedding(vector))));
+        }
+        return AsyncResponse.fromFuture(delegate.executeAsync(request).thenApply(response -> {
+            store(key, response.getEmbedding());
+            return response;
+        }));
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public BatchEmbedResponse execute(BatchEmbedRequest request) throws ResourceException {
+        PartialBatch batch = lookup(request);
+        if (batch.missing.isEmpty()) {
+            return new BatchEmbedResponse(Arrays.asList(batch.embeddings));
+        }
+        BatchEmbedResponse response = delegate.execute(batch.missingRequest(request));
+        return batch.complete(response);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public AsyncResponse<BatchEmbedResponse> executeAsync(BatchEmbedRequest request) {
+        PartialBatch batch;
+        try {
+            batch = lookup(request);
+        } catch (ResourceException e) {
+            return AsyncResponse.fromException(e);
+        }
+        if (batch.missing.isEmpty()) {
+            return AsyncResponse.fromFuture(CompletableFuture.completedFuture(
+                    new BatchEmbedResponse(Arrays.asList(batch.embeddings))));
+        }
+        return AsyncResponse.fromFuture(delegate.executeAsync(batch.missingRequest(request)).thenApply(response -> {
+            try {
+                return batch.complete(response);
+            } catch (ResourceException e) {
+                throw new CompletionException(e);
+            }
+        }));
+    }
+
+    /**
+     * Returns the store holding the embeddings.
+     *
+     * @return The embedding store.
+     * @since 0.2.1
+     */
+    public EmbeddingStore getStore() {
+        return store;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public List<SupportedModelMethod> getSupportedMethods() {
+        return delegate.getSupportedMethods();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public GeminiClient getGeminiClient() {
+        return delegate.getGeminiClient();
+    }
+
+    /**
+     * Looks every request of a batch up in the store.
+     *
+     * @param request The batch request.
+     * @return The embeddings found and the requests still missing.
+     * @throws ResourceException If the key of a request cannot be computed.
+     */
+    private PartialBatch lookup(BatchEmbedRequest request) throws ResourceException {
+        List<EmbedRequest> requests = request.getRequests() != null ? request.getRequests() : List.of();
+        PartialBatch batch = new PartialBatch(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            EmbeddingKey key = keyOf(requests.get(i));
+            batch.keys[i] = key;
+            float[] vector = store.get(key);
+            if (vector != null) {
+                batch.embeddings[i] = new Embedding(vector);
+            } else {
+                batch.missing.add(i);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Computes the store key of a request.
+     *
+     * @param request The embedding request.
+     * @return The key.
+     * @throws ResourceException If the request content cannot be serialized.
+     */
+    private EmbeddingKey keyOf(EmbedRequest request) throws ResourceException {
+        GeminiClient geminiClient = getGeminiClient();
+        try {
+            return EmbeddingKey.of(geminiClient.getModelName(), request, geminiClient.getJsonService());
+        } catch (JsonException e) {
+            throw new ResourceException("Error computing the embedding key: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stores an embedding received from the API.
+     *
+     * @param key       The key of the request.
+     * @param embedding The embedding received, may be null.
+     */
+    private void store(EmbeddingKey key, Embedding embedding) {
+        if (embedding == null || embedding.getVector() == null) {
+            return;
+        }
+        try {
+            store.put(key, embedding.getVector());
+        } catch (RuntimeException e) {
+            logWarn("Unable to store embedding " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The result of looking a batch up in the store: the embeddings found and the positions of
+     * the requests still missing.
+     */
+    private final class PartialBatch {
+
+        private final EmbeddingKey[] keys;
+        private final Embedding[] embeddings;
+        private final List<Integer> missing = new ArrayList<>();
+
+        private PartialBatch(int size) {
+            this.keys = new EmbeddingKey[size];
+            this.embeddings = new Embedding[size];
+        }
+
+        /**
+         * Builds the batch of the requests missing from the store.
+         *
+         * @param request The original batch request.
+         * @return The batch of missing requests.
+         */
+        private BatchEmbedRequest missingRequest(BatchEmbedRequest request) {
+            if (missing.size() == embeddings.length) {
+                return request;
+            }
+            List<EmbedRequest> requests = new ArrayList<>(missing.size());
+            missing.forEach(i -> requests.add(request.getRequests().get(i)));
+            return BatchEmbedRequest.builder().withRequests(requests).build();
+        }
+
+        /**
+         * Stores the embeddings received for the missing requests and merges them with the
+         * stored ones.
+         *
+         * @param response The response to the batch of missing requests.
+         * @return The response to the whole batch.
+         * @throws ResourceException If the response does not hold one embedding per request.
+         */
+        private BatchEmbedResponse complete(BatchEmbedResponse response) throws ResourceException {
+            List<Embedding> received = response.getEmbeddings();
+            if (received == null || received.size() != missing.size()) {
+                throw new ResourceException(String.format(
+                        "Batch embedding returned %d embeddings for %d requests.",
+                        received == null ? 0 : received.size(), missing.size()));
+            }
+            for (int i = 0; i < missing.size(); i++) {
+                int position = missing.get(i);
+                embeddings[position] = received.get(i);
+                store(keys[position], received.get(i));
+            }
+            return new BatchEmbedResponse(Arrays.asList(embeddings));
+        }
+    }
+}
@@ -26,7 +26,7 @@ import java.util.List;
  */
 public class TokensResourceImpl extends BaseAbstractResource<TokensResponse, TokensRequest> implements TokensResource {
 
-    private static final String COUNT_TOKENS_ENDPOINT = "%s:countTokens";
+    private static final String COUNT_TOKENS_ENDPOINT = "countTokens";
     private static final List<SupportedModelMethod> SUPPORTED_METHODS = List.of(SupportedModelMethod.COUNT_TOKENS);
 
     /**
@@ -55,11 +55,11 @@ public class TokensResourceImpl extends BaseAbstractResource<TokensResponse, Tok
 
     @Override
     public TokensResponse execute(TokensRequest request) throws ResourceException {
-        return this.get(request, TokensResponse.class);
+        return this.post(request, TokensResponse.class);
     }
 
     @Override
     public AsyncResponse<TokensResponse> executeAsync(TokensRequest request) {
-        return this.getAsync(request, TokensResponse.class);
+        return this.postAsync(request, TokensResponse.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,474 @@
+package com.enovka.gemini4j.resource.pipeline;
+
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.quota.CalibratedTokenEstimator;
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.infrastructure.tool.ChunkingConfig;
+import com.enovka.gemini4j.infrastructure.tool.LargeStringSplitter;
+import com.enovka.gemini4j.infrastructure.tool.TextChunkIterator;
+import com.enovka.gemini4j.model.Model;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.model.response.GenerateContentResponseView;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.registry.ModelRegistry;
+import com.enovka.gemini4j.resource.spec.GenerateResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Processes documents larger than the context window of a model with a parallel map-reduce
+ * over a {@link GenerateResource}.
+ * <p>
+ * The document is split into chunks that fit a token budget, derived from
+ * {@link Model#getInputTokenLimit()} unless configured. Every chunk is sent with the map
+ * instruction, with at most {@link DocumentPipelineConfig#getMaxConcurrency()} requests in
+ * flight, and as soon as one completes the next chunk is sent. The partial results are then
+ * grouped, in order, into groups that fit the same budget and merged with the reduce
+ * instruction, stage after stage, until a single result remains. With N chunks the run takes
+ * about N / maxConcurrency + log(N) request latencies instead of N.
+ * <p>
+ * Tokens are estimated locally with the client's calibrated estimator, if any, so splitting
+ * sends no request. Cancelling the returned response cancels the requests in flight and sends
+ * no further request; the first failed request fails the run the same way.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class DocumentPipeline extends BaseClass {
+
+    private static final int DEFAULT_INPUT_TOKEN_LIMIT = 32768;
+    private static final String SEPARATOR = "\n\n";
+    private static final int MAX_CHUNK_CHARS = 1 << 26;
+
+    private final GenerateResource generateResource;
+    private final DocumentPipelineConfig config;
+    private final CalibratedTokenEstimator estimator;
+    private final Executor executor;
+
+    /**
+     * Constructs a new DocumentPipeline with the default configuration.
+     *
+     * @param generateResource The resource used to send the generation requests.
+     * @since 0.2.1
+     */
+    public DocumentPipeline(GenerateResource generateResource) {
+        this(generateResource, DocumentPipelineConfig.defaults());
+    }
+
+    /**
+     * Constructs a new DocumentPipeline.
+     *
+     * @param generateResource The resource used to send the generation requests.
+     * @param config           The pipeline configuration.
+     * @throws IllegalArgumentException If the concurrency or the fan-in is invalid.
+     * @since 0.2.1
+     */
+    public DocumentPipeline(GenerateResource generateResource, DocumentPipelineConfig config) {
+        if (config.getMaxConcurrency() <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than zero.");
+        }
+        if (config.getReduceFanIn() < 2) {
+            throw new IllegalArgumentException("reduceFanIn must be at least 2.");
+        }
+        this.generateResource = generateResource;
+        this.config = config;
+        this.executor = config.getExecutor() != null ? config.getExecutor() : ForkJoinPool.commonPool();
+        GeminiClient geminiClient = generateResource.getGeminiClient();
+        this.estimator = geminiClient.getTokenCalibrator() != null
+                ? geminiClient.getTokenCalibrator().getEstimator() : new CalibratedTokenEstimator();
+    }
+
+    /**
+     * Processes a document and waits for the result.
+     *
+     * @param document The document.
+     * @return The final result.
+     * @throws ResourceException If a request fails or the thread is interrupted.
+     * @since 0.2.1
+     */
+    public String execute(String document) throws ResourceException {
+        AsyncResponse<String> response = executeAsync(document, null);
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResourceException("Thread interrupted while processing the document.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ResourceException) {
+                throw (ResourceException) cause;
+            }
+            throw new ResourceException("Error processing the document: "
+                    + (cause != null ? cause.getMessage() : e.getMessage()), cause);
+        }
+    }
+
+    /**
+     * Processes a document asynchronously.
+     *
+     * @param document The document.
+     * @param listener Receives the progress of every stage, may be null.
+     * @return An {@link AsyncResponse} completed with the final result. Cancelling it cancels
+     *         the run.
+     * @since 0.2.1
+     */
+    public AsyncResponse<String> executeAsync(String document, PipelineProgressListener listener) {
+        if (document == null || document.isEmpty()) {
+            return AsyncResponse.fromFuture(CompletableFuture.completedFuture(""));
+        }
+        return run(listener, mapBudget -> {
+            String model = modelName();
+            List<String> chunks = LargeStringSplitter.splitByTokens(document, mapBudget,
+                    text -> estimator.estimateText(model, text));
+            logDebug("Split the document into " + chunks.size() + " chunks of at most " + mapBudget + " tokens.");
+            return new Chunks(chunks.iterator(), chunks.size(), null);
+        });
+    }
+
+    /**
+     * Processes the document read from a reader asynchronously. The document is split while
+     * it is read, as chunks are needed, so only the chunks in flight and the partial results
+     * are held in memory; the map stage reports a total of -1 until the last chunk has been
+     * read. The reader is read on the executor of the configuration, and closed when the
+     * run completes.
+     *
+     * @param reader   The reader of the document.
+     * @param listener Receives the progress of every stage, may be null.
+     * @return An {@link AsyncResponse} completed with the final result. Cancelling it cancels
+     *         the run.
+     * @since 0.2.1
+     */
+    public AsyncResponse<String> executeAsync(Reader reader, PipelineProgressListener listener) {
+        return run(listener, mapBudget -> {
+            TextChunkIterator chunks = LargeStringSplitter.chunks(reader, chunkingConfig(mapBudget));
+            return new Chunks(chunks, -1, chunks);
+        });
+    }
+
+    /**
+     * Processes a document file asynchronously. The file is memory-mapped and split while it
+     * is read, as described in {@link #executeAsync(Reader, PipelineProgressListener)}.
+     *
+     * @param path     The document file.
+     * @param charset  The charset of the file.
+     * @param listener Receives the progress of every stage, may be null.
+     * @return An {@link AsyncResponse} completed with the final result, or failed with a
+     *         {@link ResourceException} if the file cannot be opened. Cancelling it cancels the
+     *         run.
+     * @since 0.2.1
+     */
+    public AsyncResponse<String> executeAsync(Path path, Charset charset, PipelineProgressListener listener) {
+        return run(listener, mapBudget -> {
+            try {
+                TextChunkIterator chunks = LargeStringSplitter.chunks(path, charset, chunkingConfig(mapBudget));
+                return new Chunks(chunks, -1, chunks);
+            } catch (IOException e) {
+                throw new CompletionException(new ResourceException("Error reading the document " + path, e));
+            }
+        });
+    }
+
+    /**
+     * Resolves the token budgets, then runs the map stage over the chunks returned by the
+     * given function and the reduce stages over its results. The chunks are created and the
+     * first requests launched on the executor, never on the caller or HTTP client threads.
+     *
+     * @param listener Receives the progress of every stage, may be null.
+     * @param chunker  Returns the chunks of the document for a map token budget.
+     * @return An {@link AsyncResponse} completed with the final result.
+     */
+    private AsyncResponse<String> run(PipelineProgressListener listener,
+                                      IntFunction<Chunks> chunker) {
+        Run run = new Run(listener);
+        resolveChunkTokens().thenAcceptAsync(chunkTokens -> {
+            if (run.result.isDone()) {
+                return;
+            }
+            Chunks chunks = chunker.apply(budget(chunkTokens, config.getMapInstruction()));
+            if (chunks.source != null) {
+                run.result.whenComplete((text, exception) -> closeQuietly(chunks.source));
+            }
+            run.stage(0, chunks.iterator, chunks.total, config.getMapInstruction())
+                    .thenCompose(partials -> run.reduce(1, partials, budget(chunkTokens, config.getReduceInstruction())))
+                    .whenComplete(run::finish);
+        }, executor).exceptionally(exception -> {
+            run.finish(null, exception);
+            return null;
+        });
+        return AsyncResponse.fromFuture(run.result);
+    }
+
+    private ChunkingConfig chunkingConfig(int mapBudget) {
+        String model = modelName();
+        return ChunkingConfig.builder()
+                .withMaxChunkChars((int) Math.min(MAX_CHUNK_CHARS, Math.max(2, mapBudget * 8L)))
+                .withMaxTokens(mapBudget)
+                .withTokenCounter(text -> estimator.estimateText(model, text))
+                .build();
+    }
+
+    private void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logWarn("Error closing the document: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the token budget of a chunk from the configuration or from the input token
+     * limit of the client's model, loading the models if needed.
+     *
+     * @return A future completed with the token budget of a chunk.
+     */
+    private CompletableFuture<Integer> resolveChunkTokens() {
+        if (config.getChunkTokens() != null) {
+            return CompletableFuture.completedFuture(config.getChunkTokens());
+        }
+        ModelRegistry modelRegistry = generateResource.getGeminiClient().getModelRegistry();
+        if (modelRegistry == null) {
+            return CompletableFuture.completedFuture(chunkTokens(Optional.empty()));
+        }
+        Optional<Model> model = modelRegistry.findLoadedModel(modelName());
+        if (model.isPresent()) {
+            return CompletableFuture.completedFuture(chunkTokens(model));
+        }
+        return modelRegistry.refreshAsync()
+                .handle((models, exception) -> chunkTokens(modelRegistry.findLoadedModel(modelName())));
+    }
+
+    private int chunkTokens(Optional<Model> model) {
+        int limit = model.map(Model::getInputTokenLimit).orElse(DEFAULT_INPUT_TOKEN_LIMIT);
+        return Math.max(1, (int) (limit * config.getInputBudgetRatio()));
+    }
+
+    private int budget(int chunkTokens, String instruction) {
+        return Math.max(1, chunkTokens - estimator.estimateText(modelName(), instruction));
+    }
+
+    private String modelName() {
+        return generateResource.getGeminiClient().getModelName();
+    }
+
+    private GenerateRequest buildRequest(String instruction, String text) {
+        return GenerateRequestBuilder.builder()
+                .withModel(modelName())
+                .withSystemInstruction(instruction)
+                .withUserContent(text)
+                .withTemperature(config.getTemperature())
+                .withOutputLength(config.getMaxOutputTokens())
+                .build();
+    }
+
+    /**
+     * The chunks of a document: their iterator, their number or -1 if unknown, and the source
+     * to close at the end of the run, if any.
+     */
+    private static final class Chunks {
+
+        private final Iterator<String> iterator;
+        private final int total;
+        private final Closeable source;
+
+        private Chunks(Iterator<String> iterator, int total, Closeable source) {
+            this.iterator = iterator;
+            this.total = total;
+            this.source = source;
+        }
+    }
+
+    /**
+     * The state of one run: its result, the requests in flight and the progress listener.
+     */
+    private final class Run {
+
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        private final PipelineProgressListener listener;
+
+        private Run(PipelineProgressListener listener) {
+            this.listener = listener;
+            result.whenComplete((text, exception) -> {
+                if (exception != null) {
+                    inFlight.forEach(request -> request.cancel(true));
+                }
+            });
+        }
+
+        /**
+         * Merges partial results stage after stage until a single one remains.
+         */
+        private CompletableFuture<String> reduce(int stage, List<String> partials, int budget) {
+            if (partials.size() <= 1) {
+                return CompletableFuture.completedFuture(partials.isEmpty() ? "" : partials.get(0));
+            }
+            List<String> groups = new ArrayList<>();
+            List<Boolean> merged = new ArrayList<>();
+            String model = modelName();
+            int start = 0;
+            while (start < partials.size()) {
+                int end = start + 1;
+                int tokens = estimator.estimateText(model, partials.get(start));
+                while (end < partials.size() && end - start < config.getReduceFanIn()) {
+                    int next = estimator.estimateText(model, partials.get(end));
+                    if (end - start >= 2 && tokens + next > budget) {
+                        break;
+                    }
+                    tokens += next;
+                    end++;
+                }
+                groups.add(String.join(SEPARATOR, partials.subList(start, end)));
+                merged.add(end - start > 1);
+                start = end;
+            }
+            List<String> toMerge = new ArrayList<>();
+            for (int i = 0; i < groups.size(); i++) {
+                if (merged.get(i)) {
+                    toMerge.add(groups.get(i));
+                }
+            }
+            return stage(stage, toMerge.iterator(), toMerge.size(), config.getReduceInstruction()).thenCompose(outputs -> {
+                List<String> next = new ArrayList<>(groups.size());
+                int output = 0;
+                for (int i = 0; i < groups.size(); i++) {
+                    next.add(merged.get(i) ? outputs.get(output++) : groups.get(i));
+                }
+                return reduce(stage + 1, next, budget);
+            });
+        }
+
+        /**
+         * Sends one request per input with the given instruction, keeping at most
+         * maxConcurrency of them in flight. The inputs are pulled from the iterator only when
+         * a request can be sent.
+         */
+        private CompletableFuture<List<String>> stage(int stage, Iterator<String> inputs, int knownTotal,
+                                                      String instruction) {
+            CompletableFuture<List<String>> stageResult = new CompletableFuture<>();
+            List<String> outputs = new ArrayList<>();
+            int[] counts = new int[2];
+            boolean[] exhausted = new boolean[1];
+            Runnable[] launch = new Runnable[1];
+            launch[0] = () -> {
+                String input;
+                int index;
+                synchronized (outputs) {
+                    if (result.isDone() || stageResult.isDone()) {
+                        return;
+                    }
+                    try {
+                        exhausted[0] = exhausted[0] || !inputs.hasNext();
+                        if (exhausted[0]) {
+                            if (counts[1] == counts[0]) {
+                                stageResult.complete(new ArrayList<>(outputs));
+                            }
+                            return;
+                        }
+                        input = inputs.next();
+                    } catch (RuntimeException e) {
+                        stageResult.completeExceptionally(e);
+                        return;
+                    }
+                    index = counts[0]++;
+                    outputs.add(null);
+                }
+                AsyncResponse<?> request = sendRequest(buildRequest(instruction, input), text -> {
+                    int done;
+                    int total;
+                    synchronized (outputs) {
+                        outputs.set(index, text);
+                        done = ++counts[1];
+                        total = exhausted[0] ? counts[0] : knownTotal;
+                    }
+                    if (listener != null) {
+                        listener.onProgress(stage, done, total);
+                    }
+                    relaunch(launch[0], stageResult);
+                }, stageResult::completeExceptionally);
+                if (result.isDone()) {
+                    request.cancel(true);
+                }
+            };
+            for (int i = 0; i < config.getMaxConcurrency() && !stageResult.isDone(); i++) {
+                launch[0].run();
+            }
+            return stageResult;
+        }
+
+        /**
+         * Runs the launch of the next request on the executor, so that completions neither
+         * read the inputs on the HTTP client threads nor recurse on the stack of requests that
+         * completed immediately, such as response cache hits.
+         */
+        private void relaunch(Runnable launch, CompletableFuture<?> stageResult) {
+            try {
+                executor.execute(launch);
+            } catch (RejectedExecutionException e) {
+                stageResult.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Sends a request and hands its text to the success or failure handler.
+         */
+        private AsyncResponse<?> sendRequest(GenerateRequest request, Consumer<String> onText,
+                                             Consumer<Throwable> onFailure) {
+            AsyncResponse<GenerateContentResponseView> response = generateResource.executeViewAsync(request);
+            inFlight.add(response);
+            response.whenComplete((view, exception) -> {
+                inFlight.remove(response);
+                if (exception != null) {
+                    onFailure.accept(exception);
+                    return;
+                }
+                String text;
+                try {
+                    text = view.getFirstCandidateText();
+                } catch (RuntimeException e) {
+                    onFailure.accept(e);
+                    return;
+                }
+                if (text == null) {
+                    onFailure.accept(new ResourceException("The model returned no text."));
+                } else {
+                    onText.accept(text);
+                }
+            });
+            return response;
+        }
+
+        private void finish(String text, Throwable exception) {
+            if (exception == null) {
+                result.complete(text);
+            } else {
+                Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                        ? exception.getCause() : exception;
+                if (!(cause instanceof CancellationException) || !result.isDone()) {
+                    result.completeExceptionally(cause);
+                }
+            }
+        }
+    }
+}
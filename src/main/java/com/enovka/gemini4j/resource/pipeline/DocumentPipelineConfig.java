@@ -0,0 +1,86 @@
+package com.enovka.gemini4j.resource.pipeline;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Immutable configuration of a {@link DocumentPipeline}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class DocumentPipelineConfig {
+
+    /**
+     * The system instruction sent with every chunk of the document in the map stage.
+     */
+    @Builder.Default
+    private final String mapInstruction = "Summarize the following part of a larger document. "
+            + "Keep every fact, name and figure needed to answer questions about the whole document.";
+
+    /**
+     * The system instruction sent with every group of partial results in the reduce stages.
+     */
+    @Builder.Default
+    private final String reduceInstruction = "The following texts summarize consecutive parts of a "
+            + "document. Merge them into a single summary, in order, keeping every important fact.";
+
+    /**
+     * The maximum number of generation requests in flight at once. Defaults to 8.
+     */
+    @Builder.Default
+    private final int maxConcurrency = 8;
+
+    /**
+     * The maximum number of tokens of a chunk or of a group of partial results, or null to
+     * derive it from the input token limit of the model. Defaults to null.
+     */
+    private final Integer chunkTokens;
+
+    /**
+     * The fraction of the model's input token limit used for a chunk when
+     * {@link #getChunkTokens()} is null. Smaller chunks give more detailed partial results
+     * and more parallelism. Defaults to 0.5.
+     */
+    @Builder.Default
+    private final double inputBudgetRatio = 0.5;
+
+    /**
+     * The maximum number of partial results merged by one reduce request. Defaults to 16.
+     */
+    @Builder.Default
+    private final int reduceFanIn = 16;
+
+    /**
+     * The temperature of every request, or null for the model default.
+     */
+    private final Double temperature;
+
+    /**
+     * The maximum number of output tokens of every request, or null for the model default.
+     * Bounding it keeps the partial results small enough to be merged in few reduce stages.
+     */
+    private final Integer maxOutputTokens;
+
+    /**
+     * The executor on which the next chunk is read and its request sent once a request completes, or null for
+     * the common fork-join pool. Reading the chunks never runs on the HTTP client threads nor
+     * recursively on the stack of a request that completed immediately; configure a dedicated
+     * executor when the chunks come from slow I/O.
+     */
+    private final Executor executor;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static DocumentPipelineConfig defaults() {
+        return DocumentPipelineConfig.builder().build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.enovka.gemini4j.resource.pipeline;
+
+import com.enovka.gemini4j.model.Embedding;
+
+/**
+ * Receives the embeddings computed by an {@link EmbeddingPipeline}. It is called from the
+ * threads completing the batch requests, in order within a batch but not across batches, so
+ * it must be thread-safe.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@FunctionalInterface
+public interface EmbeddedChunkConsumer {
+
+    /**
+     * Called with the embedding of every chunk.
+     *
+     * @param index     The position of the chunk in the text, starting at 0.
+     * @param chunk     The chunk.
+     * @param embedding The embedding of the chunk.
+     * @since 0.2.1
+     */
+    void accept(long index, String chunk, Embedding embedding);
+}
@@ -0,0 +1,246 @@
+package com.enovka.gemini4j.resource.pipeline;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.model.Embedding;
+import com.enovka.gemini4j.model.request.BatchEmbedRequest;
+import com.enovka.gemini4j.model.response.BatchEmbedResponse;
+import com.enovka.gemini4j.resource.builder.request.BatchEmbedRequestBuilder;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.EmbedResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Embeds a stream of chunks, typically a {@link com.enovka.gemini4j.infrastructure.tool.TextChunkIterator}
+ * over a large text, through {@code batchEmbedContents} calls of an {@link EmbedResource}.
+ * <p>
+ * Chunks are pulled from the iterator only when a batch can be sent, with at most
+ * {@link EmbeddingPipelineConfig#getMaxConcurrency()} batches in flight, so only the chunks in
+ * flight are held in memory whatever the length of the text. Every embedding is handed to an
+ * {@link EmbeddedChunkConsumer} as soon as its batch completes, for example to store it in an
+ * {@link com.enovka.gemini4j.infrastructure.vector.VectorIndex}.
+ * <p>
+ * Cancelling the returned response cancels the batches in flight and sends no further batch;
+ * the first failed batch fails the run the same way. An iterator that is {@link Closeable} is
+ * closed when the run completes.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class EmbeddingPipeline extends BaseClass {
+
+    private final EmbedResource embedResource;
+    private final EmbeddingPipelineConfig config;
+    private final Executor executor;
+
+    /**
+     * Constructs a new EmbeddingPipeline with the default configuration.
+     *
+     * @param embedResource The resource used to send the batches.
+     * @since 0.2.1
+     */
+    public EmbeddingPipeline(EmbedResource embedResource) {
+        this(embedResource, EmbeddingPipelineConfig.defaults());
+    }
+
+    /**
+     * Constructs a new EmbeddingPipeline.
+     *
+     * @param embedResource The resource used to send the batches.
+     * @param config        The pipeline configuration.
+     * @throws IllegalArgumentException If the batch size or the concurrency is not positive.
+     * @since 0.2.1
+     */
+    public EmbeddingPipeline(EmbedResource embedResource, EmbeddingPipelineConfig config) {
+        if (config.getBatchSize() <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero.");
+        }
+        if (config.getMaxConcurrency() <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than zero.");
+        }
+        this.embedResource = embedResource;
+        this.config = config;
+        this.executor = config.getExecutor() != null ? config.getExecutor() : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Embeds every chunk and waits for the last embedding.
+     *
+     * @param chunks   The chunks to embed.
+     * @param consumer Receives the embedding of every chunk.
+     * @return The number of chunks embedded.
+     * @throws ResourceException If a batch fails or the thread is interrupted.
+     * @since 0.2.1
+     */
+    public long execute(Iterator<String> chunks, EmbeddedChunkConsumer consumer) throws ResourceException {
+        AsyncResponse<Long> response = executeAsync(chunks, consumer);
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResourceException("Thread interrupted while embedding the chunks.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ResourceException) {
+                throw (ResourceException) cause;
+            }
+            throw new ResourceException("Error embedding the chunks: "
+                    + (cause != null ? cause.getMessage() : e.getMessage()), cause);
+        }
+    }
+
+    /**
+     * Embeds every chunk asynchronously. After the first batches, the iterator is read on the
+     * executor of the configuration.
+     *
+     * @param chunks   The chunks to embed.
+     * @param consumer Receives the embedding of every chunk.
+     * @return An {@link AsyncResponse} completed with the number of chunks embedded.
+     *         Cancelling it cancels the run.
+     * @since 0.2.1
+     */
+    public AsyncResponse<Long> executeAsync(Iterator<String> chunks, EmbeddedChunkConsumer consumer) {
+        Run run = new Run(chunks, consumer);
+        if (chunks instanceof Closeable) {
+            run.result.whenComplete((count, exception) -> {
+                try {
+                    ((Closeable) chunks).close();
+                } catch (IOException e) {
+                    logWarn("Error closing the chunks: " + e.getMessage());
+                }
+            });
+        }
+        for (int i = 0; i < config.getMaxConcurrency() && !run.result.isDone(); i++) {
+            run.launch();
+        }
+        return AsyncResponse.fromFuture(run.result);
+    }
+
+    /**
+     * The state of one run: the chunks, the batches in flight and the result.
+     */
+    private final class Run {
+
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+        private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        private final Iterator<String> chunks;
+        private final EmbeddedChunkConsumer consumer;
+        private long nextIndex;
+        private int batches;
+        private boolean exhausted;
+
+        private Run(Iterator<String> chunks, EmbeddedChunkConsumer consumer) {
+            this.chunks = chunks;
+            this.consumer = consumer;
+            result.whenComplete((count, exception) -> {
+                if (exception != null) {
+                    inFlight.forEach(batch -> batch.cancel(true));
+                }
+            });
+        }
+
+        /**
+         * Sends the next batch, or completes the run once the chunks are exhausted and no
+         * batch is in flight.
+         */
+        private void launch() {
+            List<String> texts = new ArrayList<>(config.getBatchSize());
+            long firstIndex;
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    while (texts.size() < config.getBatchSize() && !exhausted) {
+                        exhausted = !chunks.hasNext();
+                        if (!exhausted) {
+                            String chunk = chunks.next();
+                            if (!chunk.isEmpty()) {
+                                texts.add(chunk);
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                if (texts.isEmpty()) {
+                    if (batches == 0) {
+                        result.complete(nextIndex);
+                    }
+                    return;
+                }
+                firstIndex = nextIndex;
+                nextIndex += texts.size();
+                batches++;
+            }
+            BatchEmbedRequest request = BatchEmbedRequestBuilder.builder()
+                    .withModel(embedResource.getGeminiClient().getModelName())
+                    .withTaskType(config.getTaskType())
+                    .withOutputDimensionality(config.getOutputDimensionality())
+                    .withTexts(texts)
+                    .build();
+            AsyncResponse<BatchEmbedResponse> response = embedResource.executeAsync(request);
+            inFlight.add(response);
+            response.whenComplete((batch, exception) -> {
+                inFlight.remove(response);
+                if (exception == null) {
+                    exception = deliver(firstIndex, texts, batch);
+                }
+                if (exception != null) {
+                    result.completeExceptionally(exception);
+                    return;
+                }
+                synchronized (this) {
+                    batches--;
+                }
+                relaunch();
+            });
+            if (result.isDone()) {
+                response.cancel(true);
+            }
+        }
+
+        /**
+         * Runs the launch of the next batch on the executor, so that completions neither read
+         * the chunks on the HTTP client threads nor recurse on the stack of batches that
+         * completed immediately.
+         */
+        private void relaunch() {
+            try {
+                executor.execute(this::launch);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private Throwable deliver(long firstIndex, List<String> texts, BatchEmbedResponse batch) {
+            List<Embedding> embeddings = batch != null ? batch.getEmbeddings() : null;
+            if (embeddings == null || embeddings.size() != texts.size()) {
+                return new ResourceException("Expected " + texts.size() + " embeddings but received "
+                        + (embeddings == null ? 0 : embeddings.size()) + ".");
+            }
+            try {
+                for (int i = 0; i < texts.size(); i++) {
+                    consumer.accept(firstIndex + i, texts.get(i), embeddings.get(i));
+                }
+            } catch (RuntimeException e) {
+                return e;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.enovka.gemini4j.resource.pipeline;
+
+import com.enovka.gemini4j.model.type.TaskTypeEnum;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Immutable configuration of an {@link EmbeddingPipeline}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class EmbeddingPipelineConfig {
+
+    /**
+     * The number of chunks sent in one {@code batchEmbedContents} call. Defaults to 100, the
+     * limit accepted by the API.
+     */
+    @Builder.Default
+    private final int batchSize = 100;
+
+    /**
+     * The maximum number of batches in flight at once. Defaults to 4.
+     */
+    @Builder.Default
+    private final int maxConcurrency = 4;
+
+    /**
+     * The task type of the embeddings, or null for the model default. Defaults to
+     * {@link TaskTypeEnum#RETRIEVAL_DOCUMENT}.
+     */
+    @Builder.Default
+    private final TaskTypeEnum taskType = TaskTypeEnum.RETRIEVAL_DOCUMENT;
+
+    /**
+     * The dimensionality of the embeddings, or null for the model default.
+     */
+    private final Integer outputDimensionality;
+
+    /**
+     * The executor on which the next batch is read and sent once a request completes, or null for
+     * the common fork-join pool. Reading the chunks never runs on the HTTP client threads nor
+     * recursively on the stack of a request that completed immediately; configure a dedicated
+     * executor when the chunks come from slow I/O.
+     */
+    private final Executor executor;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static EmbeddingPipelineConfig defaults() {
+        return EmbeddingPipelineConfig.builder().build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.enovka.gemini4j.resource.pipeline;
+
+/**
+ * Receives the progress of a {@link DocumentPipeline} run. It is called from the threads
+ * completing the generation requests, so it must be thread-safe and return quickly.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@FunctionalInterface
+public interface PipelineProgressListener {
+
+    /**
+     * Called every time a request of a stage completes.
+     *
+     * @param stage     The stage: 0 for the map stage over the chunks of the document, then
+     *                  1, 2 and so on for the successive reduce stages.
+     * @param completed The number of requests of the stage completed so far.
+     * @param total     The number of requests of the stage, or -1 while the chunks of a
+     *                  document read from a stream are still being read.
+     * @since 0.2.1
+     */
+    void onProgress(int stage, int completed, int total);
+}
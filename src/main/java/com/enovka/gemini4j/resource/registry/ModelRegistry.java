@@ -0,0 +1,326 @@
+package com.enovka.gemini4j.resource.registry;
+
+import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.model.ListModel;
+import com.enovka.gemini4j.model.Model;
+import com.enovka.gemini4j.model.type.SupportedModelMethod;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.ModelResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the metadata of the available models, indexed by name, so that looking up a model
+ * or checking its capabilities does not cost a request.
+ * <p>
+ * The first read loads every page of the model list and waits for it. Later reads are served
+ * from memory. Once the list is older than {@link ModelRegistryConfig#getTtl()}, reads keep
+ * returning it while a single background request refreshes it (stale-while-revalidate), so
+ * callers never wait on a refresh after the first load. A failed background refresh is logged
+ * and the loaded models are kept until the next attempt.
+ * <p>
+ * Instances are thread-safe. Concurrent loads and refreshes share a single request.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ModelRegistry extends BaseClass {
+
+    private static final String MODELS_PREFIX = "models/";
+
+    private final ModelResource modelResource;
+    private final Integer pageSize;
+    private final long ttlNanos;
+    private final Map<String, Model> modelsByName = new ConcurrentHashMap<>();
+    private final AtomicReference<CompletableFuture<List<Model>>> pendingLoad = new AtomicReference<>();
+    private volatile List<Model> models;
+    private volatile long loadedAt;
+
+    /**
+     * Constructs a new ModelRegistry with the default configuration.
+     *
+     * @param modelResource The resource used to list the models.
+     * @since 0.2.1
+     */
+    public ModelRegistry(ModelResource modelResource) {
+        this(modelResource, ModelRegistryConfig.defaults());
+    }
+
+    /**
+     * Constructs a new ModelRegistry.
+     *
+     * @param modelResource The resource used to list the models.
+     * @param config        The configuration of the registry.
+     * @since 0.2.1
+     */
+    public ModelRegistry(ModelResource modelResource, ModelRegistryConfig config) {
+        this.modelResource = modelResource;
+        this.pageSize = config.getPageSize();
+        this.ttlNanos = config.getTtl().toNanos();
+    }
+
+    /**
+     * Returns every available model, in the order listed by the API.
+     *
+     * @return The models.
+     * @throws ResourceException If the models were never loaded and loading them fails.
+     * @since 0.2.1
+     */
+    public List<Model> getModels() throws ResourceException {
+        return load();
+    }
+
+    /**
+     * Returns every available model as a single, unpaginated {@link ListModel}.
+     *
+     * @return The models.
+     * @throws ResourceException If the models were never loaded and loading them fails.
+     * @since 0.2.1
+     */
+    public ListModel getListModel() throws ResourceException {
+        return ListModel.newBuilder().withModels(load()).build();
+    }
+
+    /**
+     * Returns the model with the given name.
+     *
+     * @param modelName The name of the model, with or without the "models/" prefix.
+     * @return The model.
+     * @throws ResourceException If the model does not exist, or if the models were never
+     *                           loaded and loading them fails.
+     * @since 0.2.1
+     */
+    public Model getModel(String modelName) throws ResourceException {
+        load();
+        Model model = modelName != null ? modelsByName.get(normalize(modelName)) : null;
+        if (model == null) {
+            throw new ResourceException("Model not found: " + modelName);
+        }
+        return model;
+    }
+
+    /**
+     * Returns the loaded models, without sending any request and without triggering a
+     * refresh.
+     *
+     * @return The models, or empty if they are not loaded yet.
+     * @since 0.2.1
+     */
+    public Optional<List<Model>> findLoadedModels() {
+        return Optional.ofNullable(models);
+    }
+
+    /**
+     * Returns the model with the given name if the models are loaded, without sending any
+     * request and without triggering a refresh.
+     *
+     * @param modelName The name of the model, with or without the "models/" prefix.
+     * @return The model, or empty if the models are not loaded yet or the model is unknown.
+     * @since 0.2.1
+     */
+    public Optional<Model> findLoadedModel(String modelName) {
+        return modelName != null ? Optional.ofNullable(modelsByName.get(normalize(modelName))) : Optional.empty();
+    }
+
+    /**
+     * Returns whether the given model supports a method, according to the loaded models.
+     * This never sends a request.
+     *
+     * @param modelName The name of the model, with or without the "models/" prefix.
+     * @param method    The method.
+     * @return True if the model is loaded and lists the method among its supported generation
+     *         methods.
+     * @since 0.2.1
+     */
+    public boolean supports(String modelName, SupportedModelMethod method) {
+        return findLoadedModel(modelName).map(model -> supports(model, method)).orElse(false);
+    }
+
+    /**
+     * Checks that the given model supports every method of a resource, according to the
+     * loaded models. This never sends a request: if the models are not loaded yet, or the
+     * model is not listed, for example because it is a tuned model, the check passes.
+     *
+     * @param modelName The name of the model, with or without the "models/" prefix.
+     * @param methods   The methods the model must support.
+     * @throws ResourceException If the model is listed but lacks one of the methods.
+     * @since 0.2.1
+     */
+    public void validate(String modelName, Collection<SupportedModelMethod> methods) throws ResourceException {
+        Optional<Model> model = findLoadedModel(modelName);
+        if (model.isEmpty() || methods == null) {
+            return;
+        }
+        List<String> unsupported = methods.stream()
+                .filter(method -> !supports(model.get(), method))
+                .map(SupportedModelMethod::getValue)
+                .collect(Collectors.toList());
+        if (!unsupported.isEmpty()) {
+            throw new ResourceException("Model " + model.get().getName() + " does not support " + unsupported);
+        }
+    }
+
+    /**
+     * Returns whether the models are loaded and younger than the configured time to live.
+     *
+     * @return True if the models are fresh.
+     * @since 0.2.1
+     */
+    public boolean isFresh() {
+        return models != null && System.nanoTime() - loadedAt < ttlNanos;
+    }
+
+    /**
+     * Reloads the models and waits for them.
+     *
+     * @return The reloaded models.
+     * @throws ResourceException If loading the models fails.
+     * @since 0.2.1
+     */
+    public List<Model> refresh() throws ResourceException {
+        return await(startLoad());
+    }
+
+    /**
+     * Reloads the models asynchronously. If a load is already in progress, its result is
+     * returned instead of sending another request.
+     *
+     * @return An {@link AsyncResponse} completed with the reloaded models.
+     * @since 0.2.1
+     */
+    public AsyncResponse<ListModel> refreshAsync() {
+        return AsyncResponse.fromFuture(startLoad().thenApply(loaded -> ListModel.newBuilder()
+                .withModels(loaded)
+                .build()));
+    }
+
+    /**
+     * Returns the loaded models, loading them first if needed and starting a background
+     * refresh if they are stale.
+     *
+     * @return The models.
+     * @throws ResourceException If the models were never loaded and loading them fails.
+     */
+    private List<Model> load() throws ResourceException {
+        List<Model> current = models;
+        if (current == null) {
+            return await(startLoad());
+        }
+        if (System.nanoTime() - loadedAt >= ttlNanos) {
+            startLoad();
+        }
+        return current;
+    }
+
+    /**
+     * Starts loading every page of the model list, unless a load is already in progress.
+     *
+     * @return A future completed with the loaded models.
+     */
+    private CompletableFuture<List<Model>> startLoad() {
+        while (true) {
+            CompletableFuture<List<Model>> pending = pendingLoad.get();
+            if (pending != null) {
+                return pending;
+            }
+            CompletableFuture<List<Model>> started = new CompletableFuture<>();
+            if (pendingLoad.compareAndSet(null, started)) {
+                fetchPages(null, new ArrayList<>()).whenComplete((loaded, exception) -> {
+                    if (exception == null) {
+                        install(loaded);
+                    } else if (models != null) {
+                        logWarn("Failed to refresh the models, keeping the loaded ones: " + exception.getMessage());
+                    }
+                    pendingLoad.compareAndSet(started, null);
+                    if (exception == null) {
+                        started.complete(loaded);
+                    } else {
+                        started.completeExceptionally(exception);
+                    }
+                });
+                return started;
+            }
+        }
+    }
+
+    /**
+     * Fetches the page with the given token and every following page.
+     *
+     * @param pageToken The token of the page, or null for the first page.
+     * @param loaded    The models of the pages already fetched.
+     * @return A future completed with the models of every page.
+     */
+    private CompletableFuture<List<Model>> fetchPages(String pageToken, List<Model> loaded) {
+        return modelResource.listModelsAsync(pageSize, pageToken).thenCompose(page -> {
+            if (page.getModels() != null) {
+                loaded.addAll(page.getModels());
+            }
+            String nextPageToken = page.getNextPageToken();
+            return nextPageToken != null && !nextPageToken.isEmpty()
+                    ? fetchPages(nextPageToken, loaded)
+                    : CompletableFuture.completedFuture(loaded);
+        });
+    }
+
+    /**
+     * Replaces the loaded models. Models are added before the ones no longer listed are
+     * removed, so concurrent lookups never miss a model listed by both versions.
+     *
+     * @param loaded The models.
+     */
+    private void install(List<Model> loaded) {
+        Map<String, Model> index = new ConcurrentHashMap<>();
+        for (Model model : loaded) {
+            if (model.getName() != null) {
+                index.put(normalize(model.getName()), model);
+            }
+        }
+        modelsByName.putAll(index);
+        modelsByName.keySet().retainAll(index.keySet());
+        models = List.copyOf(loaded);
+        loadedAt = System.nanoTime();
+        logDebug("Loaded " + loaded.size() + " models.");
+    }
+
+    /**
+     * Waits for a load and unwraps its failure.
+     *
+     * @param future The load.
+     * @return The loaded models.
+     * @throws ResourceException If the load fails or the thread is interrupted.
+     */
+    private List<Model> await(CompletableFuture<List<Model>> future) throws ResourceException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceException("Thread interrupted while loading the models.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ResourceException) {
+                throw (ResourceException) cause;
+            }
+            throw new ResourceException("Error loading the models: "
+                    + (cause != null ? cause.getMessage() : e.getMessage()), cause);
+        }
+    }
+
+    private static boolean supports(Model model, SupportedModelMethod method) {
+        return model.getSupportedGenerationMethods() != null
+                && model.getSupportedGenerationMethods().contains(method.getValue());
+    }
+
+    private static String normalize(String modelName) {
+        return modelName.contains("/") ? modelName : MODELS_PREFIX + modelName;
+    }
+}
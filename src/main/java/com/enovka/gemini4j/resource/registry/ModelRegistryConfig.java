@@ -0,0 +1,41 @@
+package com.enovka.gemini4j.resource.registry;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Immutable configuration of a {@link ModelRegistry}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+@Getter
+@Builder(setterPrefix = "with", toBuilder = true)
+public class ModelRegistryConfig {
+
+    /**
+     * How long a loaded model list is considered fresh. Reading the registry after that
+     * returns the loaded models and refreshes them in the background. Defaults to one hour.
+     */
+    @Builder.Default
+    private final Duration ttl = Duration.ofHours(1);
+
+    /**
+     * The number of models requested per page, or null to let the server choose. Defaults to
+     * 1000, the largest page size the API accepts.
+     */
+    @Builder.Default
+    private final Integer pageSize = 1000;
+
+    /**
+     * Returns the default configuration.
+     *
+     * @return The default configuration.
+     * @since 0.2.1
+     */
+    public static ModelRegistryConfig defaults() {
+        return ModelRegistryConfig.builder().build();
+    }
+}
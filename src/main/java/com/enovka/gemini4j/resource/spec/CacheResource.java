@@ -7,8 +7,11 @@ import com.enovka.gemini4j.model.response.EmptyResponse;
 import com.enovka.gemini4j.model.response.ListCacheResponse;
 import com.enovka.gemini4j.resource.exception.ResourceException;
 import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+import com.enovka.gemini4j.resource.spec.base.PrefetchingPageIterator;
 import com.enovka.gemini4j.resource.spec.base.Resource;
 
+import java.util.stream.Stream;
+
 /**
  * Interface defining the contract for interacting with the cached content resource of the Gemini API.
  * This resource provides methods for creating, retrieving, listing, updating, and deleting cached
@@ -74,6 +77,35 @@ public interface CacheResource extends Resource {
      */
     AsyncResponse<ListCacheResponse> listCachedContentsAsync(Integer pageSize, String pageToken);
 
+    /**
+     * Lazily iterates over every cached content, one page at a time. The next page is
+     * requested as soon as the current one arrives, so it is in flight while the current page
+     * is being consumed. No request is sent before the iteration starts.
+     *
+     * @param pageSize The maximum number of cached contents per page, or null for the API's
+     *                 default.
+     * @return An iterator over the cached contents, which throws a
+     *         {@link java.util.concurrent.CompletionException} wrapping the cause of the failure
+     *         if a page cannot be retrieved.
+     * @see <a href="https://ai.google.dev/gemini-api/docs/reference/rest/v1beta/cachedContents/list">Gemini API Cached Contents List Documentation</a>
+     * @since 0.2.1
+     */
+    PrefetchingPageIterator<ListCacheResponse, CacheResponse> iterateCachedContents(Integer pageSize);
+
+    /**
+     * Lazily streams every cached content, one page at a time, prefetching the next page as
+     * {@link #iterateCachedContents(Integer)} does. Closing the stream cancels the prefetch.
+     *
+     * @param pageSize The maximum number of cached contents per page, or null for the API's
+     *                 default.
+     * @return A sequential stream over the cached contents.
+     * @see <a href="https://ai.google.dev/gemini-api/docs/reference/rest/v1beta/cachedContents/list">Gemini API Cached Contents List Documentation</a>
+     * @since 0.2.1
+     */
+    default Stream<CacheResponse> streamCachedContents(Integer pageSize) {
+        return iterateCachedContents(pageSize).stream();
+    }
+
     /**
      * Retrieves a specific cached content entry from the Gemini API by its resource name.
      *
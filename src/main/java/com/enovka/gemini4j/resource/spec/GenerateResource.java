@@ -1,6 +1,8 @@
 package com.enovka.gemini4j.resource.spec;
 
+import com.enovka.gemini4j.infrastructure.http.spec.StreamCallback;
 import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.model.response.GenerateContentResponseView;
 import com.enovka.gemini4j.model.response.GenerateResponse;
 import com.enovka.gemini4j.model.response.internal.GenerateContentResponse;
 import com.enovka.gemini4j.resource.exception.ResourceException;
@@ -36,4 +38,43 @@ public interface GenerateResource extends MultiTurnConversationAware {
      * @since 0.2.0
      */
     AsyncResponse<GenerateContentResponse> executeAsync(GenerateRequest request);
-}
\ No newline at end of file
+
+    /**
+     * Executes a content generation request in streaming mode ({@code streamGenerateContent}).
+     * Partial {@link GenerateContentResponse} chunks are delivered to the callback as soon as the
+     * model emits them, so the time to first token no longer equals the total latency of the
+     * request. The callback is invoked on the HTTP I/O thread and must not block.
+     *
+     * @param request  The {@link GenerateRequest} containing the generation parameters.
+     * @param callback The callback receiving each chunk and the terminal signal.
+     * @return A {@link AsyncResponse} completed with the last chunk when the stream ends, which
+     * can be used to cancel the request.
+     * @since 0.2.1
+     */
+    AsyncResponse<GenerateContentResponse> executeStream(GenerateRequest request, StreamCallback<GenerateContentResponse> callback);
+
+    /**
+     * Executes a content generation request and returns a lazy view over the raw response
+     * instead of the bound {@link GenerateContentResponse}. Only the fields read through the
+     * view are deserialized, which avoids binding every candidate, safety rating and grounding
+     * attribution when only the generated text is needed. Wrap the view with
+     * {@link GenerateResponse#of(GenerateContentResponseView)} to use the usual shortcuts.
+     *
+     * @param request The {@link GenerateRequest} containing the generation parameters.
+     * @return A {@link GenerateContentResponseView} over the response.
+     * @throws ResourceException If an error occurs during content generation.
+     * @since 0.2.1
+     */
+    GenerateContentResponseView executeView(GenerateRequest request) throws ResourceException;
+
+    /**
+     * Executes a content generation request asynchronously and returns a lazy view over the raw
+     * response. See {@link #executeView(GenerateRequest)}.
+     *
+     * @param request The {@link GenerateRequest} containing the generation parameters.
+     * @return A {@link AsyncResponse} representing the asynchronous operation, which can be
+     * used to cancel the request.
+     * @since 0.2.1
+     */
+    AsyncResponse<GenerateContentResponseView> executeViewAsync(GenerateRequest request);
+}
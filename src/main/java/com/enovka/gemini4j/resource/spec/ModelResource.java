@@ -32,6 +32,28 @@ public interface ModelResource extends Resource {
      */
     AsyncResponse<ListModel> listModelsAsync();
 
+    /**
+     * Retrieves one page of the available Gemini models.
+     *
+     * @param pageSize  The maximum number of models to return, or null for the server default.
+     * @param pageToken The token of the page to retrieve, as returned in
+     *                  {@link ListModel#getNextPageToken()}, or null for the first page.
+     * @return A {@link ListModel} containing the models of the page.
+     * @throws ResourceException If an error occurs while fetching the models.
+     * @since 0.2.1
+     */
+    ListModel listModels(Integer pageSize, String pageToken) throws ResourceException;
+
+    /**
+     * Retrieves one page of the available Gemini models asynchronously.
+     *
+     * @param pageSize  The maximum number of models to return, or null for the server default.
+     * @param pageToken The token of the page to retrieve, or null for the first page.
+     * @return A {@link AsyncResponse} representing the asynchronous operation.
+     * @since 0.2.1
+     */
+    AsyncResponse<ListModel> listModelsAsync(Integer pageSize, String pageToken);
+
     /**
      * Retrieves a specific Gemini model by its name.
      *
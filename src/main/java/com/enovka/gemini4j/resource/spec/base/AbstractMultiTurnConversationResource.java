@@ -1,14 +1,18 @@
 package com.enovka.gemini4j.resource.spec.base;
 
 import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.tool.ConversationHistoryPolicy;
 import com.enovka.gemini4j.infrastructure.tool.MultiTurnConversation;
 import com.enovka.gemini4j.model.Content;
 import com.enovka.gemini4j.model.request.GenerateRequest;
 import com.enovka.gemini4j.model.request.spec.Request;
 import com.enovka.gemini4j.model.response.spec.AbstractResponse;
+import com.enovka.gemini4j.resource.context.ContextCacheManager;
+import com.enovka.gemini4j.resource.context.ConversationCacheConfig;
+import com.enovka.gemini4j.resource.context.ConversationCachePromoter;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Abstract base class for resource implementations that support multi-turn
@@ -22,6 +26,7 @@ import java.util.List;
 public abstract class AbstractMultiTurnConversationResource<I extends Request, R extends AbstractResponse> extends BaseAbstractResource<R, I> implements MultiTurnConversationAware {
 
     protected MultiTurnConversation multiTurnConversation = new MultiTurnConversation();
+    private volatile ConversationCachePromoter conversationCachePromoter;
 
     /**
      * Constructs a new AbstractMultiTurnConversationResource with the
@@ -80,20 +85,108 @@ public abstract class AbstractMultiTurnConversationResource<I extends Request, R
     }
 
     /**
-     * Prepares the request for a multi-turn conversation. This method
-     * adds the current user input to the conversation history, ensuring
-     * that the context is maintained across multiple turns.
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public MultiTurnConversation getMultiTurnConversation() {
+        return multiTurnConversation;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public void setConversationHistoryPolicy(ConversationHistoryPolicy policy) {
+        multiTurnConversation.setHistoryPolicy(policy);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 0.2.1
+     */
+    @Override
+    public synchronized void setConversationCaching(ConversationCacheConfig config) {
+        ContextCacheManager contextCacheManager = getContextCacheManager();
+        if (config != null && contextCacheManager == null) {
+            throw new IllegalStateException("Conversation caching requires a context cache manager.");
+        }
+        if (conversationCachePromoter != null) {
+            conversationCachePromoter.reset();
+        }
+        conversationCachePromoter = config != null ? new ConversationCachePromoter(contextCacheManager, config) : null;
+    }
+
+    /**
+     * Returns the context cache manager the requests of this resource are applied to, which
+     * conversation caching registers the history with.
+     *
+     * @return The context cache manager, or null if the resource has none.
+     * @since 0.2.1
+     */
+    protected ContextCacheManager getContextCacheManager() {
+        return null;
+    }
+
+    /**
+     * Prepares the request for a multi-turn conversation. When tracking is enabled, the
+     * conversation history is prepended to the contents of the request, and the pinned system
+     * instruction is used if the request has none. The request itself is not modified.
+     * With conversation caching enabled, a long history is also promoted to a cached prefix,
+     * which the context cache manager then substitutes for it.
      *
      * @param request The request object.
-     * @return The updated request object with the conversation history.
+     * @return The request to send, with the conversation history.
      * @since 0.2.0
      */
     protected GenerateRequest prepareMultiTurnRequest(GenerateRequest request) {
-        if (isMultiTurnConversationEnabled()) {
-            List<Content> updatedContents = new ArrayList<>(request.getContents());
-            multiTurnConversation.addContent(updatedContents.get(updatedContents.size() - 1));
-            request.setContents(updatedContents);
+        GenerateRequest prepared = multiTurnConversation.prepareRequest(request);
+        ConversationCachePromoter promoter = conversationCachePromoter;
+        if (promoter != null && isMultiTurnConversationEnabled()) {
+            promoter.promote(multiTurnConversation, request, prepared);
+        }
+        return prepared;
+    }
+
+    /**
+     * Adds a completed turn to the conversation history when tracking is enabled: the
+     * contents of the request as given by the caller, then the content of the response.
+     *
+     * @param request  The request as given by the caller, without the history.
+     * @param response The content of the response, may be null.
+     * @since 0.2.1
+     */
+    protected void recordTurn(GenerateRequest request, Content response) {
+        multiTurnConversation.recordTurn(request, response);
+    }
+
+    /**
+     * Adds a turn to the conversation history once its response arrives, before the returned
+     * response completes, so that the next request sent by the caller sees it. Cancelling the
+     * returned response cancels the request.
+     *
+     * @param request  The request as given by the caller, without the history.
+     * @param response The pending response.
+     * @param content  Extracts the content of the response.
+     * @param <T>      The type of the response.
+     * @return The response, completed once the turn is recorded.
+     * @since 0.2.1
+     */
+    protected <T> AsyncResponse<T> recordTurnAsync(GenerateRequest request, AsyncResponse<T> response,
+                                                   Function<T, Content> content) {
+        if (!isMultiTurnConversationEnabled()) {
+            return response;
         }
-        return request;
+        AsyncResponse<T> recorded = AsyncResponse.fromFuture(response.thenApply(result -> {
+            recordTurn(request, content.apply(result));
+            return result;
+        }));
+        recorded.whenComplete((result, exception) -> {
+            if (recorded.isCancelled()) {
+                response.cancel(true);
+            }
+        });
+        return recorded;
     }
-}
\ No newline at end of file
+}
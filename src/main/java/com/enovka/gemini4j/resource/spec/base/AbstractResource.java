@@ -1,20 +1,35 @@
 package com.enovka.gemini4j.resource.spec.base;
 
 import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCache;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCacheKeys;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCachePolicy;
+import com.enovka.gemini4j.infrastructure.http.HedgingPolicy;
+import com.enovka.gemini4j.infrastructure.http.RequestHedger;
 import com.enovka.gemini4j.infrastructure.http.exception.HttpException;
 import com.enovka.gemini4j.infrastructure.http.spec.AsyncCallback;
 import com.enovka.gemini4j.infrastructure.http.spec.HttpResponse;
+import com.enovka.gemini4j.infrastructure.http.spec.StreamCallback;
 import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
+import com.enovka.gemini4j.infrastructure.quota.QuotaGovernor;
+import com.enovka.gemini4j.infrastructure.quota.QuotaReservation;
 import com.enovka.gemini4j.infrastructure.tool.BaseClass;
 import com.enovka.gemini4j.model.request.spec.Request;
 import com.enovka.gemini4j.model.response.spec.AbstractResponse;
+import com.enovka.gemini4j.model.response.spec.UsageMetadataAware;
 import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.registry.ModelRegistry;
 import org.apache.hc.core5.http.ContentType;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * <p>A powerful and flexible abstract base class for all Gemini API resource implementations,
@@ -45,6 +60,9 @@ import java.util.concurrent.CompletionException;
  *     {@link ResourceException}, simplifying error management for clients.</li>
  *     <li>**Centralized Header Management:** Handles the construction of standard headers,
  *     including authentication and content type, ensuring consistency across requests.</li>
+ *     <li>**Response Caching:** Serves deterministic requests from the client's
+ *     {@link ResponseCache} when a {@link ResponseCachePolicy} is configured, without spending
+ *     quota or a round trip.</li>
  * </ul>
  *
  * @param <I> The type of request object this resource handles.
@@ -54,6 +72,7 @@ import java.util.concurrent.CompletionException;
 public abstract class AbstractResource< I extends Request> extends BaseClass implements Resource {
 
     protected final GeminiClient geminiClient;
+    private volatile RequestHedger requestHedger;
 
     /**
      * Constructs a new AbstractResource with the required GeminiClient.
@@ -183,12 +202,49 @@ public abstract class AbstractResource< I extends Request> extends BaseClass imp
      * @throws ResourceException If any error occurs during the request.
      */
     protected  <ResponseType extends AbstractResponse, RequestType extends Request> ResponseType executeRequest(String method, String endpoint, RequestType requestObject, ContentType contentType, Class<ResponseType> responseType) throws ResourceException {
+        validateModelSupport();
         String uri = buildEndpointUrl(endpoint, null);
         Map<String, String> headers = buildHeaders(contentType);
+        QuotaGovernor quotaGovernor = resolveQuotaGovernor(requestObject);
+        ResponseCache responseCache = resolveResponseCache(requestObject);
+        if (quotaGovernor == null && responseCache == null) {
+            try {
+                HttpResponse httpResponse = executeHttpRequest(method, uri, requestObject, headers, contentType);
+                return deserializeResponse(httpResponse, responseType);
+            } catch (HttpException | JsonException e) {
+                throw new ResourceException("Error during request: " + e.getMessage(), e);
+            }
+        }
 
         try {
-            HttpResponse httpResponse = executeHttpRequest(method, uri, requestObject, headers, contentType);
-            return deserializeResponse(httpResponse, responseType);
+            byte[] body = geminiClient.getJsonService().serializeToBytes(requestObject);
+            String cacheKey = null;
+            if (responseCache != null) {
+                cacheKey = buildCacheKey(method, endpoint, body);
+                ResponseType cached = getCachedResponse(responseCache, cacheKey, responseType);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            QuotaReservation reservation = quotaGovernor != null
+                    ? quotaGovernor.reserve(quotaGovernor.estimateTokens(body)) : null;
+            HttpResponse httpResponse;
+            try {
+                httpResponse = executeSerializedHttpRequest(method, uri, body, headers, contentType);
+            } catch (HttpException e) {
+                if (reservation != null) {
+                    reservation.release();
+                }
+                throw e;
+            }
+            ResponseType response = null;
+            try {
+                response = deserializeResponse(httpResponse, responseType);
+            } finally {
+                reconcileQuota(reservation, response);
+            }
+            putCachedResponse(responseCache, cacheKey, httpResponse);
+            return response;
         } catch (HttpException | JsonException e) {
             throw new ResourceException("Error during request: " + e.getMessage(), e);
         }
@@ -208,12 +264,38 @@ public abstract class AbstractResource< I extends Request> extends BaseClass imp
      * @return An {@link AsyncResponse} object representing the asynchronous operation.
      */
     protected <ResponseType extends AbstractResponse, RequestType extends Request> AsyncResponse<ResponseType> executeRequestAsync(String method, String endpoint, RequestType requestObject, ContentType contentType, Class<ResponseType> responseType) {
+        try {
+            validateModelSupport();
+        } catch (ResourceException e) {
+            return AsyncResponse.fromException(e);
+        }
         String uri = buildEndpointUrl(endpoint, null);
         Map<String, String> headers = buildHeaders(contentType);
+        QuotaGovernor quotaGovernor = resolveQuotaGovernor(requestObject);
+        RequestHedger requestHedger = resolveRequestHedger(requestObject);
+        ResponseCache responseCache = resolveResponseCache(requestObject);
 
         CompletableFuture<ResponseType> responseFuture;
         try {
-            responseFuture = executeSpecificRequestAsync(method, uri, requestObject, headers, responseType);
+            if (quotaGovernor == null && requestHedger == null && responseCache == null) {
+                responseFuture = executeSpecificRequestAsync(method, uri, requestObject, headers, responseType);
+            } else {
+                byte[] body = requestObject != null ? geminiClient.getJsonService().serializeToBytes(requestObject) : null;
+                String cacheKey = null;
+                if (responseCache != null) {
+                    cacheKey = buildCacheKey(method, endpoint, body);
+                    ResponseType cached = getCachedResponse(responseCache, cacheKey, responseType);
+                    if (cached != null) {
+                        return AsyncResponse.fromFuture(CompletableFuture.completedFuture(cached));
+                    }
+                }
+                String key = cacheKey;
+                Supplier<CompletableFuture<ResponseType>> attempt = () -> executeSerializedRequestAsync(method, uri, body, headers, responseType, responseCache, key);
+                Supplier<CompletableFuture<ResponseType>> dispatcher = requestHedger == null
+                        ? attempt
+                        : () -> requestHedger.execute(attempt, quotaGovernor == null ? attempt : () -> executeHedgeWithQuota(quotaGovernor, body, attempt));
+                responseFuture = quotaGovernor == null ? dispatcher.get() : executeWithQuotaAsync(quotaGovernor, body, dispatcher);
+            }
         } catch (JsonException e) {
             return AsyncResponse.fromException(new ResourceException(e));
         }
@@ -238,7 +320,26 @@ public abstract class AbstractResource< I extends Request> extends BaseClass imp
      * @since 0.2.0
      */
     protected <RequestType extends Request> HttpResponse executeHttpRequest(String method, String url, RequestType requestObject, Map<String, String> headers, ContentType contentType) throws HttpException, JsonException {
-        String body = requestObject != null ? geminiClient.getJsonService().serialize(requestObject) : null;
+        byte[] body = requestObject != null ? geminiClient.getJsonService().serializeToBytes(requestObject) : null;
+        return executeSerializedHttpRequest(method, url, body, headers, contentType);
+    }
+
+    /**
+     * Executes an HTTP request whose body has already been serialized, so callers that need the
+     * body beforehand (for example, to estimate its tokens) serialize it only once. The body
+     * stays in the UTF-8 bytes produced by the {@link com.enovka.gemini4j.infrastructure.json.spec.JsonService}
+     * all the way to the wire.
+     *
+     * @param method      The HTTP method (e.g., "GET", "POST").
+     * @param url         The full URL of the API endpoint.
+     * @param body        The UTF-8 encoded request body, may be null.
+     * @param headers     The headers to include in the request.
+     * @param contentType The content type of the request.
+     * @return The HTTP response.
+     * @throws HttpException If an HTTP error occurs during the request.
+     * @since 0.2.1
+     */
+    protected HttpResponse executeSerializedHttpRequest(String method, String url, byte[] body, Map<String, String> headers, ContentType contentType) throws HttpException {
         switch (method.toUpperCase()) {
             case "GET":
                 return geminiClient.getHttpClient().get(url, headers);
@@ -269,104 +370,462 @@ public abstract class AbstractResource< I extends Request> extends BaseClass imp
      * @since 0.2.0
      */
     protected <ResponseType extends AbstractResponse, RequestType extends Request> CompletableFuture<ResponseType> executeSpecificRequestAsync(String method, String uri, RequestType requestObject, Map<String, String> headers, Class<ResponseType> responseType) throws JsonException {
-        String body = requestObject != null ? geminiClient.getJsonService().serialize(requestObject) : null;
+        byte[] body = requestObject != null ? geminiClient.getJsonService().serializeToBytes(requestObject) : null;
+        return executeSerializedRequestAsync(method, uri, body, headers, responseType);
+    }
+
+    /**
+     * Asynchronously executes an HTTP request whose body has already been serialized and
+     * deserializes the response.
+     *
+     * @param method         The HTTP method (e.g., "GET", "POST").
+     * @param uri            The full URI of the API endpoint.
+     * @param body           The UTF-8 encoded request body, may be null.
+     * @param headers        The headers to include in the request.
+     * @param responseType   The class of the expected response object.
+     * @param <ResponseType> The type of the response object.
+     * @return A {@link CompletableFuture} resolving to the deserialized response object.
+     * @since 0.2.1
+     */
+    protected <ResponseType extends AbstractResponse> CompletableFuture<ResponseType> executeSerializedRequestAsync(String method, String uri, byte[] body, Map<String, String> headers, Class<ResponseType> responseType) {
+        return executeSerializedRequestAsync(method, uri, body, headers, responseType, null, null);
+    }
+
+    /**
+     * Asynchronously executes an HTTP request whose body has already been serialized,
+     * deserializes the response and stores it in the response cache once it deserialized
+     * successfully.
+     *
+     * @param method         The HTTP method (e.g., "GET", "POST").
+     * @param uri            The full URI of the API endpoint.
+     * @param body           The UTF-8 encoded request body, may be null.
+     * @param headers        The headers to include in the request.
+     * @param responseType   The class of the expected response object.
+     * @param responseCache  The cache storing the response, or null to leave it uncached.
+     * @param cacheKey       The key of the response in the cache.
+     * @param <ResponseType> The type of the response object.
+     * @return A {@link CompletableFuture} resolving to the deserialized response object.
+     * @since 0.2.1
+     */
+    private <ResponseType extends AbstractResponse> CompletableFuture<ResponseType> executeSerializedRequestAsync(String method, String uri, byte[] body, Map<String, String> headers, Class<ResponseType> responseType, ResponseCache responseCache, String cacheKey) {
+        AsyncCallback<HttpResponse> callback = new AsyncCallback<>() {
+            @Override
+            public void onSuccess(HttpResponse result) {
+                logDebug("Async " + method + " request completed with status " + result.getStatusCode());
+            }
+
+            @Override
+            public void onError(Throwable exception) {
+                logDebug("Async " + method + " request failed: " + exception.getMessage());
+            }
+        };
+        CompletableFuture<HttpResponse> httpFuture;
         switch (method.toUpperCase()) {
             case "GET":
-                CompletableFuture<ResponseType> completableFutureGet = new CompletableFuture<>();
-                return geminiClient.getHttpClient().getAsync(uri, headers, new AsyncCallback<HttpResponse>() {
-                    @Override
-                    public void onSuccess(HttpResponse result) {
-                        try {
-                            completableFutureGet.complete(deserializeResponse(result, responseType));
-                        } catch (ResourceException e) {
-                            completableFutureGet.completeExceptionally(e);
-                        }
-                    }
-
-                    @Override
-                    public void onError(Throwable exception) {
-                        completableFutureGet.completeExceptionally(new ResourceException(exception));
-                    }
-                }).thenApply(httpResponse -> {
-                    try {
-                        return deserializeResponse(httpResponse, responseType);
-                    } catch (ResourceException e) {
-                        throw new CompletionException(e);
-                    }
-                });
+                httpFuture = geminiClient.getHttpClient().getAsync(uri, headers, callback);
+                break;
             case "POST":
-                CompletableFuture<ResponseType> completableFuturePost = new CompletableFuture<>();
-                return geminiClient.getHttpClient().postAsync(uri, body, headers, ContentType.APPLICATION_JSON, new AsyncCallback<HttpResponse>() {
-                    @Override
-                    public void onSuccess(HttpResponse result) {
-                        try {
-                            completableFuturePost.complete(deserializeResponse(result, responseType));
-                        } catch (ResourceException e) {
-                            completableFuturePost.completeExceptionally(e);
-                        }
-                    }
-
-                    @Override
-                    public void onError(Throwable exception) {
-                        completableFuturePost.completeExceptionally(new ResourceException(exception));
-                    }
-                }).thenApply(httpResponse -> {
-                    try {
-                        return deserializeResponse(httpResponse, responseType);
-                    } catch (ResourceException e) {
-                        throw new CompletionException(e);
-                    }
-                });
+                httpFuture = geminiClient.getHttpClient().postAsync(uri, body, headers, ContentType.APPLICATION_JSON, callback);
+                break;
             case "PATCH":
-                CompletableFuture<ResponseType> completableFuturePatch = new CompletableFuture<>();
-                return geminiClient.getHttpClient().patchAsync(uri, body, headers, ContentType.APPLICATION_JSON, new AsyncCallback<HttpResponse>() {
-                    @Override
-                    public void onSuccess(HttpResponse result) {
-                        try {
-                            completableFuturePatch.complete(deserializeResponse(result, responseType));
-                        } catch (ResourceException e) {
-                            completableFuturePatch.completeExceptionally(e);
-                        }
-                    }
-
-                    @Override
-                    public void onError(Throwable exception) {
-                        completableFuturePatch.completeExceptionally(new ResourceException(exception));
-                    }
-                }).thenApply(httpResponse -> {
-                    try {
-                        return deserializeResponse(httpResponse, responseType);
-                    } catch (ResourceException e) {
-                        throw new CompletionException(e);
-                    }
-                });
+                httpFuture = geminiClient.getHttpClient().patchAsync(uri, body, headers, ContentType.APPLICATION_JSON, callback);
+                break;
             case "DELETE":
-                CompletableFuture<ResponseType> completableFutureDelete = new CompletableFuture<>();
-                return geminiClient.getHttpClient().deleteAsync(uri, headers, new AsyncCallback<HttpResponse>() {
-                    @Override
-                    public void onSuccess(HttpResponse result) {
-                        try {
-                            completableFutureDelete.complete(deserializeResponse(result, responseType));
-                        } catch (ResourceException e) {
-                            completableFutureDelete.completeExceptionally(e);
-                        }
-                    }
-
-                    @Override
-                    public void onError(Throwable exception) {
-                        completableFutureDelete.completeExceptionally(new ResourceException(exception));
-                    }
-                }).thenApply(httpResponse -> {
-                    try {
-                        return deserializeResponse(httpResponse, responseType);
-                    } catch (ResourceException e) {
-                        throw new CompletionException(e);
-                    }
-                });
+                httpFuture = geminiClient.getHttpClient().deleteAsync(uri, headers, callback);
+                break;
             default:
                 throw new IllegalArgumentException("Unsupported HTTP method: " + method);
         }
+        CompletableFuture<ResponseType> responseFuture = httpFuture.thenApply(httpResponse -> {
+            ResponseType response;
+            try {
+                response = deserializeResponse(httpResponse, responseType);
+            } catch (ResourceException e) {
+                throw new CompletionException(e);
+            }
+            putCachedResponse(responseCache, cacheKey, httpResponse);
+            return response;
+        });
+        // Cancelling the deserialized future must abort the HTTP exchange, e.g. for hedge losers.
+        responseFuture.whenComplete((response, exception) -> {
+            if (exception instanceof CancellationException && !httpFuture.isDone()) {
+                httpFuture.cancel(true);
+            }
+        });
+        return responseFuture;
+    }
+    /**
+     * Executes a streaming POST request against the specified endpoint using Server-Sent Events
+     * ({@code alt=sse}). Every event received is deserialized into {@code responseType} and
+     * handed to the callback immediately, so the first chunk becomes available as soon as the
+     * server emits it. The returned {@link AsyncResponse} completes with the last chunk received,
+     * which carries the final finish reason and usage metadata.
+     * <p>
+     * If a chunk cannot be deserialized the stream is cancelled and both the callback and the
+     * returned response are failed with a {@link ResourceException}.
+     *
+     * @param endpoint       The API endpoint path.
+     * @param requestObject  The request object to be serialized and sent in the request body.
+     * @param responseType   The class of each streamed chunk.
+     * @param callback       The callback receiving every chunk and the terminal signal.
+     * @param <ResponseType> The type of the streamed chunks.
+     * @return An {@link AsyncResponse} completed with the last chunk once the stream ends.
+     * @since 0.2.1
+     */
+    protected <ResponseType extends AbstractResponse, RequestType extends Request> AsyncResponse<ResponseType> executeStreamRequest(String endpoint, RequestType requestObject, Class<ResponseType> responseType, StreamCallback<ResponseType> callback) {
+        try {
+            validateModelSupport();
+        } catch (ResourceException e) {
+            callback.onError(e);
+            return AsyncResponse.fromException(e);
+        }
+        String uri = buildEndpointUrl(endpoint, Map.of("alt", "sse"));
+        Map<String, String> headers = buildHeaders(ContentType.APPLICATION_JSON);
+
+        byte[] body;
+        try {
+            body = geminiClient.getJsonService().serializeToBytes(requestObject);
+        } catch (JsonException e) {
+            ResourceException exception = new ResourceException(e);
+            callback.onError(exception);
+            return AsyncResponse.fromException(exception);
+        }
+
+        QuotaGovernor quotaGovernor = resolveQuotaGovernor(requestObject);
+        if (quotaGovernor == null) {
+            return AsyncResponse.fromFuture(startStream(uri, body, headers, responseType, callback));
+        }
+        AtomicBoolean dispatched = new AtomicBoolean();
+        CompletableFuture<ResponseType> resultFuture = executeWithQuotaAsync(quotaGovernor, body, () -> {
+            dispatched.set(true);
+            return startStream(uri, body, headers, responseType, callback);
+        });
+        resultFuture.whenComplete((result, exception) -> {
+            if (exception instanceof CancellationException && !dispatched.get()) {
+                callback.onCanceled();
+            }
+        });
+        return AsyncResponse.fromFuture(resultFuture);
+    }
+
+    /**
+     * Opens the Server-Sent Events stream and forwards every deserialized chunk to the callback.
+     *
+     * @param uri            The full URI of the streaming endpoint.
+     * @param body           The UTF-8 encoded request body.
+     * @param headers        The headers to include in the request.
+     * @param responseType   The class of each streamed chunk.
+     * @param callback       The callback receiving every chunk and the terminal signal.
+     * @param <ResponseType> The type of the streamed chunks.
+     * @return A {@link CompletableFuture} completed with the last chunk once the stream ends.
+     * @since 0.2.1
+     */
+    private <ResponseType extends AbstractResponse> CompletableFuture<ResponseType> startStream(String uri, byte[] body, Map<String, String> headers, Class<ResponseType> responseType, StreamCallback<ResponseType> callback) {
+        CompletableFuture<ResponseType> resultFuture = new CompletableFuture<>();
+        AtomicReference<ResponseType> lastChunk = new AtomicReference<>();
+        CompletableFuture<Void> streamFuture = geminiClient.getHttpClient().postStream(uri, body, headers, ContentType.APPLICATION_JSON, new StreamCallback<String>() {
+            @Override
+            public void onNext(String element) {
+                if (resultFuture.isDone()) {
+                    return;
+                }
+                ResponseType chunk;
+                try {
+                    chunk = geminiClient.getJsonService().deserialize(element, responseType);
+                } catch (JsonException e) {
+                    ResourceException exception = new ResourceException("Error deserializing streamed chunk: " + e.getMessage(), e);
+                    if (resultFuture.completeExceptionally(exception)) {
+                        callback.onError(exception);
+                    }
+                    return;
+                }
+                lastChunk.set(chunk);
+                callback.onNext(chunk);
+            }
+
+            @Override
+            public void onComplete() {
+                if (resultFuture.complete(lastChunk.get())) {
+                    callback.onComplete();
+                }
+            }
+
+            @Override
+            public void onError(Throwable exception) {
+                ResourceException resourceException = new ResourceException(exception);
+                if (resultFuture.completeExceptionally(resourceException)) {
+                    callback.onError(resourceException);
+                }
+            }
+
+            @Override
+            public void onCanceled() {
+                if (resultFuture.cancel(false)) {
+                    callback.onCanceled();
+                }
+            }
+        });
+
+        resultFuture.whenComplete((result, exception) -> {
+            if (exception != null && !streamFuture.isDone()) {
+                streamFuture.cancel(true);
+            }
+        });
+
+        return resultFuture;
+    }
+
+    /**
+     * Indicates whether requests sent by this resource consume the tokens per minute quota and
+     * must therefore go through the client's {@link QuotaGovernor}. Resources whose requests do
+     * not count against that quota (model listing, token counting, caching) keep the default.
+     *
+     * @return {@code true} if requests are governed, {@code false} otherwise.
+     * @since 0.2.1
+     */
+    protected boolean isQuotaGoverned() {
+        return false;
+    }
+
+    /**
+     * Returns the quota governor that applies to the given request.
+     *
+     * @param requestObject The request about to be sent, may be null.
+     * @return The governor, or null when the request is not governed.
+     * @since 0.2.1
+     */
+    protected QuotaGovernor resolveQuotaGovernor(Request requestObject) {
+        if (requestObject == null || !isQuotaGoverned()) {
+            return null;
+        }
+        return geminiClient.getQuotaGovernor();
     }
+
+    /**
+     * Indicates whether requests sent by this resource are idempotent and may therefore be
+     * hedged according to the client's {@link HedgingPolicy}. Resources whose requests have
+     * side effects (caching, for instance) keep the default.
+     *
+     * @return {@code true} if asynchronous requests may be hedged, {@code false} otherwise.
+     * @since 0.2.1
+     */
+    protected boolean isHedgeable() {
+        return false;
+    }
+
+    /**
+     * Returns the hedger that applies to the given request. The hedger is created lazily from
+     * the client's {@link HedgingPolicy} and kept per resource, so its latency history reflects
+     * this resource's endpoint only; it is recreated if the client's policy changes.
+     *
+     * @param requestObject The request about to be sent, may be null.
+     * @return The hedger, or null when the request is not hedged.
+     * @since 0.2.1
+     */
+    protected RequestHedger resolveRequestHedger(Request requestObject) {
+        if (requestObject == null || !isHedgeable()) {
+            return null;
+        }
+        HedgingPolicy hedgingPolicy = geminiClient.getHedgingPolicy();
+        if (hedgingPolicy == null) {
+            return null;
+        }
+        RequestHedger hedger = requestHedger;
+        if (hedger == null || hedger.getPolicy() != hedgingPolicy) {
+            hedger = new RequestHedger(hedgingPolicy);
+            requestHedger = hedger;
+        }
+        return hedger;
+    }
+
+    /**
+     * Indicates whether responses of this resource are a pure function of the request and may
+     * therefore be served from the client's {@link ResponseCache}. Resources whose responses
+     * change over time or whose requests have side effects keep the default.
+     *
+     * @return {@code true} if responses may be cached, {@code false} otherwise.
+     * @since 0.2.1
+     */
+    protected boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * Indicates whether the given request always yields the same response. Resources that
+     * sample their responses override this to report whether sampling is disabled for the
+     * request.
+     *
+     * @param requestObject The request about to be sent.
+     * @return {@code true} if the request is deterministic, {@code false} otherwise.
+     * @since 0.2.1
+     */
+    protected boolean isDeterministic(Request requestObject) {
+        return true;
+    }
+
+    /**
+     * Returns the response cache that applies to the given request: the cache of the client's
+     * {@link ResponseCachePolicy}, provided this resource is cacheable and the request is
+     * deterministic or the policy forces caching of non-deterministic requests.
+     *
+     * @param requestObject The request about to be sent, may be null.
+     * @return The cache, or null when the response must not be cached.
+     * @since 0.2.1
+     */
+    protected ResponseCache resolveResponseCache(Request requestObject) {
+        if (requestObject == null || !isCacheable()) {
+            return null;
+        }
+        ResponseCachePolicy policy = geminiClient.getResponseCachePolicy();
+        if (policy == null || policy.getCache() == null) {
+            return null;
+        }
+        if (!policy.isCacheNonDeterministic() && !isDeterministic(requestObject)) {
+            return null;
+        }
+        return policy.getCache();
+    }
+
+    /**
+     * Builds the cache key of a request from the base URL, model, endpoint, method and
+     * serialized body. The API key is not part of the key.
+     *
+     * @param method   The HTTP method.
+     * @param endpoint The API endpoint path.
+     * @param body     The UTF-8 encoded request body, may be null.
+     * @return The cache key.
+     * @since 0.2.1
+     */
+    protected String buildCacheKey(String method, String endpoint, byte[] body) {
+        String scope = method.toUpperCase() + " " + geminiClient.getBaseUrl()
+                + geminiClient.getModelName() + ":" + endpoint;
+        return ResponseCacheKeys.of(scope, body);
+    }
+
+    /**
+     * Looks a response up in the cache. A cached response that no longer deserializes, for
+     * example after a model change, is dropped and treated as a miss.
+     *
+     * @param responseCache  The cache.
+     * @param cacheKey       The key of the response.
+     * @param responseType   The class of the expected response object.
+     * @param <ResponseType> The type of the response object.
+     * @return The cached response, or null on a miss.
+     */
+    private <ResponseType extends AbstractResponse> ResponseType getCachedResponse(ResponseCache responseCache, String cacheKey, Class<ResponseType> responseType) {
+        byte[] cached = responseCache.get(cacheKey);
+        if (cached == null) {
+            return null;
+        }
+        try {
+            return deserializeResponse(new HttpResponse(200, Map.of(), cached, StandardCharsets.UTF_8), responseType);
+        } catch (ResourceException e) {
+            logWarn("Dropping unreadable cached response: " + e.getMessage());
+            responseCache.invalidate(cacheKey);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a successful response in the cache.
+     *
+     * @param responseCache The cache, or null to leave the response uncached.
+     * @param cacheKey      The key of the response.
+     * @param httpResponse  The HTTP response.
+     */
+    private void putCachedResponse(ResponseCache responseCache, String cacheKey, HttpResponse httpResponse) {
+        if (responseCache != null && httpResponse.getStatusCode() < 300) {
+            responseCache.put(cacheKey, httpResponse.getBodyBytes());
+        }
+    }
+
+    /**
+     * Reserves quota for a request without blocking, dispatches it once the reservation is due
+     * and reconciles the reservation with the usage reported in the response. The reservation
+     * is released if the request fails, and the request is never dispatched if the returned
+     * future is cancelled while it is still waiting for quota.
+     *
+     * @param quotaGovernor  The governor to reserve quota from.
+     * @param body           The UTF-8 encoded request body, used to estimate its tokens.
+     * @param dispatcher     Supplies the future of the actual request.
+     * @param <ResponseType> The type of the response object.
+     * @return A {@link CompletableFuture} completed with the outcome of the request.
+     * @since 0.2.1
+     */
+    protected <ResponseType extends AbstractResponse> CompletableFuture<ResponseType> executeWithQuotaAsync(QuotaGovernor quotaGovernor, byte[] body, Supplier<CompletableFuture<ResponseType>> dispatcher) {
+        CompletableFuture<ResponseType> resultFuture = new CompletableFuture<>();
+        quotaGovernor.reserveAsync(quotaGovernor.estimateTokens(body)).thenAccept(reservation -> {
+            if (resultFuture.isDone()) {
+                reservation.release();
+                return;
+            }
+            CompletableFuture<ResponseType> request = dispatcher.get();
+            request.whenComplete((response, exception) -> {
+                if (exception != null) {
+                    reservation.release();
+                    resultFuture.completeExceptionally(exception);
+                } else {
+                    reconcileQuota(reservation, response);
+                    resultFuture.complete(response);
+                }
+            });
+            resultFuture.whenComplete((response, exception) -> {
+                if (exception instanceof CancellationException && !request.isDone()) {
+                    request.cancel(true);
+                }
+            });
+        });
+        return resultFuture;
+    }
+
+    /**
+     * Dispatches a hedged duplicate of a request only if quota is available for it right now,
+     * so hedging never exceeds the quota of the governor. The reservation of the hedge is
+     * reconciled with its response, or released if the hedge fails or loses the race.
+     *
+     * @param quotaGovernor  The governor to reserve quota from.
+     * @param body           The UTF-8 encoded request body, used to estimate its tokens.
+     * @param dispatcher     Supplies the future of the hedge.
+     * @param <ResponseType> The type of the response object.
+     * @return The future of the hedge, or null if no quota is available for it.
+     * @since 0.2.1
+     */
+    protected <ResponseType extends AbstractResponse> CompletableFuture<ResponseType> executeHedgeWithQuota(QuotaGovernor quotaGovernor, byte[] body, Supplier<CompletableFuture<ResponseType>> dispatcher) {
+        QuotaReservation reservation = quotaGovernor.tryReserve(quotaGovernor.estimateTokens(body));
+        if (reservation == null) {
+            logDebug("No quota available for a hedged request. Skipping the hedge.");
+            return null;
+        }
+        CompletableFuture<ResponseType> hedge = dispatcher.get();
+        hedge.whenComplete((response, exception) -> {
+            if (exception != null) {
+                reservation.release();
+            } else {
+                reconcileQuota(reservation, response);
+            }
+        });
+        return hedge;
+    }
+
+    /**
+     * Settles a quota reservation against the usage reported by a response. Responses that do
+     * not implement {@link UsageMetadataAware} keep the estimate as the charge.
+     *
+     * @param reservation The reservation to settle, may be null.
+     * @param response    The response received, may be null.
+     * @since 0.2.1
+     */
+    protected void reconcileQuota(QuotaReservation reservation, AbstractResponse response) {
+        if (reservation == null) {
+            return;
+        }
+        if (response instanceof UsageMetadataAware) {
+            reservation.reconcile(((UsageMetadataAware) response).getUsageMetadata());
+        } else {
+            reservation.reconcile(null);
+        }
+    }
+
     /**
      * Builds standard headers for API requests, including authentication and content type.
      *
@@ -381,7 +840,9 @@ public abstract class AbstractResource< I extends Request> extends BaseClass imp
     }
 
     /**
-     * Deserializes the HTTP response into an object of the specified type.
+     * Deserializes the HTTP response into an object of the specified type. The JSON is parsed
+     * straight from the raw bytes of the response body, which is never decoded into a
+     * {@code String}.
      *
      * @param httpResponse The HTTP response.
      * @param responseType The class of the expected response object.
@@ -392,13 +853,41 @@ public abstract class AbstractResource< I extends Request> extends BaseClass imp
      */
     protected <ResponseType extends AbstractResponse> ResponseType deserializeResponse(HttpResponse httpResponse, Class<ResponseType> responseType) throws ResourceException {
         try {
-            String responseBody = httpResponse.getBody();
+            byte[] responseBody = httpResponse.getBodyBytes();
             return geminiClient.getJsonService().deserialize(responseBody, responseType);
         } catch (JsonException e) {
             throw new ResourceException("Error deserializing response: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Checks that the client's model supports the methods of this resource, according to the
+     * models already loaded by the client's {@link ModelRegistry}. No request is sent: the
+     * check passes when the models are not loaded yet or the model is not listed.
+     *
+     * @throws ResourceException If the model is known not to support one of the methods.
+     * @since 0.2.1
+     */
+    protected void validateModelSupport() throws ResourceException {
+        ModelRegistry modelRegistry = geminiClient.getModelRegistry();
+        if (isModelScoped() && modelRegistry != null) {
+            modelRegistry.validate(geminiClient.getModelName(), getSupportedMethods());
+        }
+    }
+
+    /**
+     * Returns whether the endpoints of this resource are methods of the client's model, in
+     * which case {@link #buildEndpointUrl(String, Map)} prefixes them with the model name.
+     * Resources addressing top-level collections, such as models or cached contents, override
+     * this method to return false.
+     *
+     * @return True to prefix endpoints with the model name.
+     * @since 0.2.1
+     */
+    protected boolean isModelScoped() {
+        return true;
+    }
+
     /**
      * Builds the URL for the API endpoint, including the base URL, model name, endpoint path,
      * and query parameters.
@@ -411,7 +900,10 @@ public abstract class AbstractResource< I extends Request> extends BaseClass imp
     protected String buildEndpointUrl(String endpoint, Map<String, ?> queryParams) {
         StringBuilder urlBuilder = new StringBuilder(geminiClient.getBaseUrl());
         if (endpoint != null && !endpoint.isEmpty()) {
-            urlBuilder.append(geminiClient.getModelName()).append(":").append(endpoint);
+            if (isModelScoped()) {
+                urlBuilder.append(geminiClient.getModelName()).append(":");
+            }
+            urlBuilder.append(endpoint);
         }
         addQueryParams(urlBuilder, queryParams);
         addQueryParam(urlBuilder, "key", geminiClient.getApiKey());
@@ -2,6 +2,7 @@ package com.enovka.gemini4j.resource.spec.base;
 
 import com.enovka.gemini4j.resource.exception.ResourceException;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -24,6 +25,12 @@ public class AsyncResponse<T> extends CompletableFuture<T> {
 
     AsyncResponse(CompletableFuture<T> future) {
         future.whenComplete(this::complete);
+        // Propagate cancellation back to the source so the underlying request is aborted.
+        this.whenComplete((result, throwable) -> {
+            if (throwable instanceof CancellationException && !future.isDone()) {
+                future.cancel(true);
+            }
+        });
     }
 
     private void complete(T result, Throwable throwable) {
@@ -1,6 +1,9 @@
 package com.enovka.gemini4j.resource.spec.base;
 
+import com.enovka.gemini4j.infrastructure.tool.ConversationHistoryPolicy;
+import com.enovka.gemini4j.infrastructure.tool.MultiTurnConversation;
 import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.resource.context.ConversationCacheConfig;
 
 import java.util.List;
 
@@ -47,4 +50,33 @@ public interface MultiTurnConversationAware extends Resource {
      * Clears the conversation history for this resource.
      */
     void clearConversationHistory();
-}
\ No newline at end of file
+
+    /**
+     * Returns the conversation of this resource, which exposes its pinned system
+     * instruction, its summary and its size.
+     *
+     * @return The conversation.
+     * @since 0.2.1
+     */
+    MultiTurnConversation getMultiTurnConversation();
+
+    /**
+     * Sets the policy bounding the conversation history of this resource.
+     *
+     * @param policy The history policy.
+     * @since 0.2.1
+     */
+    void setConversationHistoryPolicy(ConversationHistoryPolicy policy);
+
+    /**
+     * Enables the automatic promotion of a long conversation history to a server-side cached
+     * content, so that each turn sends only the turns added since the last promotion, or
+     * disables it.
+     *
+     * @param config The promotion configuration, or null to disable promotion and delete the
+     *               cached content of the conversation.
+     * @throws IllegalStateException If the resource has no context cache manager.
+     * @since 0.2.1
+     */
+    void setConversationCaching(ConversationCacheConfig config);
+}
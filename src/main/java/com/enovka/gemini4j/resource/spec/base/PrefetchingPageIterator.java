@@ -0,0 +1,124 @@
+package com.enovka.gemini4j.resource.spec.base;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy {@link Iterator} over the items of a paginated list operation. The request for the
+ * next page is sent as soon as a page arrives, so it is in flight while the caller consumes
+ * the current page; a full listing then takes about one round trip per page in total, instead
+ * of one round trip plus the consumer's processing time per page.
+ * <p>
+ * No request is sent before the first call to {@link #hasNext()} or {@link #next()}. At most
+ * one page is fetched ahead. A failed request is rethrown from {@link #hasNext()} as a
+ * {@link CompletionException} whose cause is the original exception. Instances are not
+ * thread-safe.
+ *
+ * @param <P> The type of the pages.
+ * @param <T> The type of the items.
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class PrefetchingPageIterator<P, T> implements Iterator<T>, AutoCloseable {
+
+    private final Function<String, CompletableFuture<P>> pageFetcher;
+    private final Function<P, List<T>> itemsExtractor;
+    private final Function<P, String> tokenExtractor;
+    private Iterator<T> current = Collections.emptyIterator();
+    private CompletableFuture<P> pending;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * Constructs a new PrefetchingPageIterator.
+     *
+     * @param pageFetcher    Requests the page with the given token, or the first page when the
+     *                       token is null.
+     * @param itemsExtractor Returns the items of a page, possibly null.
+     * @param tokenExtractor Returns the token of the page following a page, or null or empty
+     *                       on the last page.
+     * @since 0.2.1
+     */
+    public PrefetchingPageIterator(Function<String, CompletableFuture<P>> pageFetcher,
+                                   Function<P, List<T>> itemsExtractor,
+                                   Function<P, String> tokenExtractor) {
+        this.pageFetcher = pageFetcher;
+        this.itemsExtractor = itemsExtractor;
+        this.tokenExtractor = tokenExtractor;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws CompletionException If the request for a page failed.
+     * @since 0.2.1
+     */
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            pending = closed ? null : pageFetcher.apply(null);
+        }
+        while (!current.hasNext()) {
+            if (pending == null) {
+                return false;
+            }
+            P page = pending.join();
+            String token = tokenExtractor.apply(page);
+            pending = token != null && !token.isEmpty() && !closed ? pageFetcher.apply(token) : null;
+            List<T> items = itemsExtractor.apply(page);
+            current = items != null ? items.iterator() : Collections.emptyIterator();
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws CompletionException If the request for a page failed.
+     * @since 0.2.1
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Returns a sequential stream over the remaining items. Closing the stream closes this
+     * iterator.
+     *
+     * @return The stream.
+     * @since 0.2.1
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    /**
+     * Stops fetching pages and cancels the request for the next page, if any. Items of the
+     * page already received can still be iterated.
+     *
+     * @since 0.2.1
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.enovka.gemini4j.cache;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.cache.DiskResponseCache;
+import com.enovka.gemini4j.infrastructure.cache.InMemoryResponseCache;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCache;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCachePolicy;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCacheStats;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.model.response.internal.GenerateContentResponse;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import com.enovka.gemini4j.resource.spec.GenerateResource;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link ResponseCache} implementations and their integration with the
+ * resources. The integration tests use WireMock, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ResponseCacheTest {
+
+    private static final String RESPONSE = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"cached\"}],"
+            + "\"role\":\"model\"},\"finishReason\":\"STOP\"}],"
+            + "\"usageMetadata\":{\"promptTokenCount\":3,\"candidatesTokenCount\":1,\"totalTokenCount\":4}}";
+
+    private WireMockServer wireMockServer;
+
+    /**
+     * Starts the WireMock server.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlPathMatching(".*generateContent"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(RESPONSE)));
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that the in-memory cache evicts the least recently used entries once its capacity
+     * in bytes is exceeded.
+     */
+    @Test
+    public void testInMemoryCacheEvictsLeastRecentlyUsed() {
+        InMemoryResponseCache cache = new InMemoryResponseCache(30, null);
+        cache.put("a", new byte[10]);
+        cache.put("b", new byte[10]);
+        cache.put("c", new byte[10]);
+        assertNotNull(cache.get("a"));
+
+        cache.put("d", new byte[10]);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        ResponseCacheStats stats = cache.getStats();
+        assertEquals(1, stats.getEvictions());
+        assertEquals(3, stats.getEntryCount());
+        assertEquals(30, stats.getSizeBytes());
+        assertEquals(4, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.8, stats.getHitRate(), 1e-9);
+        assertEquals(40, stats.getHitBytes());
+    }
+
+    /**
+     * Tests that entries expire once their time to live has elapsed.
+     *
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testInMemoryCacheExpiresEntries() throws InterruptedException {
+        InMemoryResponseCache cache = new InMemoryResponseCache(1024, Duration.ofMillis(50));
+        cache.put("a", new byte[10]);
+        assertNotNull(cache.get("a"));
+
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertNull(cache.get("a"));
+        ResponseCacheStats stats = cache.getStats();
+        assertEquals(1, stats.getExpirations());
+        assertEquals(0, stats.getEntryCount());
+        assertEquals(0, stats.getSizeBytes());
+    }
+
+    /**
+     * Tests that the disk cache survives being reopened and evicts its oldest entries once its
+     * capacity in bytes is exceeded.
+     *
+     * @param directory A temporary directory.
+     * @throws Exception If the directory cannot be used.
+     */
+    @Test
+    public void testDiskCachePersistsAndEvicts(@TempDir Path directory) throws Exception {
+        DiskResponseCache cache = new DiskResponseCache(directory, 25, Duration.ofHours(1));
+        cache.put("a", "0123456789".getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals("0123456789".getBytes(StandardCharsets.UTF_8), cache.get("a"));
+        assertNull(cache.get("missing"));
+
+        DiskResponseCache reopened = new DiskResponseCache(directory, 25, Duration.ofHours(1));
+        assertEquals(1, reopened.getStats().getEntryCount());
+        assertEquals(10, reopened.getStats().getSizeBytes());
+        assertArrayEquals("0123456789".getBytes(StandardCharsets.UTF_8), reopened.get("a"));
+
+        directory.resolve(fileName("a")).toFile().setLastModified(System.currentTimeMillis() - 10_000);
+        reopened.put("b", new byte[10]);
+        reopened.put("c", new byte[10]);
+
+        assertNull(reopened.get("a"));
+        assertNotNull(reopened.get("b"));
+        assertEquals(1, reopened.getStats().getEvictions());
+        assertEquals(20, reopened.getStats().getSizeBytes());
+
+        reopened.clear();
+        assertEquals(0, reopened.getStats().getEntryCount());
+        assertNull(reopened.get("b"));
+    }
+
+    /**
+     * Tests that a deterministic generation request is answered from the cache the second
+     * time, while a sampled one always reaches the API unless caching is forced.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testGenerateResponsesAreCachedOnlyWhenDeterministic() throws Exception {
+        InMemoryResponseCache cache = new InMemoryResponseCache(1024 * 1024, Duration.ofMinutes(5));
+        GenerateResource resource = ResourceBuilder.builder(client(ResponseCachePolicy.of(cache)))
+                .buildGenerationResource();
+
+        GenerateContentResponse first = resource.execute(request(0.0));
+        GenerateContentResponse second = resource.execute(request(0.0));
+        GenerateContentResponse third = resource.executeAsync(request(0.0)).get(5, TimeUnit.SECONDS);
+
+        assertEquals("cached", first.getCandidates().get(0).getContent().getParts().get(0).getText());
+        assertEquals("cached", second.getCandidates().get(0).getContent().getParts().get(0).getText());
+        assertEquals("cached", third.getCandidates().get(0).getContent().getParts().get(0).getText());
+        wireMockServer.verify(1, postRequestedFor(urlPathMatching(".*generateContent")));
+        assertEquals(2, cache.getStats().getHits());
+
+        resource.execute(request(0.7));
+        resource.execute(request(0.7));
+        wireMockServer.verify(3, postRequestedFor(urlPathMatching(".*generateContent")));
+
+        GenerateResource forced = ResourceBuilder.builder(client(ResponseCachePolicy.builder()
+                        .withCache(cache)
+                        .withCacheNonDeterministic(true)
+                        .build()))
+                .buildGenerationResource();
+        forced.execute(request(0.7));
+        forced.executeAsync(request(0.7)).get(5, TimeUnit.SECONDS);
+        wireMockServer.verify(4, postRequestedFor(urlPathMatching(".*generateContent")));
+    }
+
+    private GeminiClient client(ResponseCachePolicy policy) {
+        return GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel("models/gemini-test")
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .withResponseCachePolicy(policy)
+                .build();
+    }
+
+    private static GenerateRequest request(double temperature) {
+        return GenerateRequestBuilder.builder()
+                .withModel("models/gemini-test")
+                .withUserContent("What is cached?")
+                .withTemperature(temperature)
+                .build();
+    }
+
+    private static String fileName(String key) throws Exception {
+        byte[] digest = java.security.MessageDigest.getInstance("SHA-256")
+                .digest(key.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex + ".json";
+    }
+}
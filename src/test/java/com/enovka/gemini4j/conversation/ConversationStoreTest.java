@@ -0,0 +1,318 @@
+package com.enovka.gemini4j.conversation;
+
+import com.enovka.gemini4j.infrastructure.conversation.ConversationPersistence;
+import com.enovka.gemini4j.infrastructure.conversation.ConversationStore;
+import com.enovka.gemini4j.infrastructure.conversation.ConversationStoreConfig;
+import com.enovka.gemini4j.infrastructure.conversation.FileConversationPersistence;
+import com.enovka.gemini4j.infrastructure.conversation.InMemoryConversationStore;
+import com.enovka.gemini4j.infrastructure.json.impl.JacksonJsonService;
+import com.enovka.gemini4j.infrastructure.tool.ConversationSnapshot;
+import com.enovka.gemini4j.infrastructure.tool.MultiTurnConversation;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Part;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link ConversationStore} implementations.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ConversationStoreTest {
+
+    /**
+     * Tests that sessions updated concurrently from many threads keep separate, complete
+     * histories.
+     *
+     * @throws Exception If a thread fails.
+     */
+    @Test
+    public void testConcurrentSessionsKeepSeparateHistories() throws Exception {
+        ConversationStore store = new InMemoryConversationStore(ConversationStoreConfig.builder()
+                .withStripes(8)
+                .build());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int turn = 0; turn < 10; turn++) {
+                        for (int session = 0; session < 200; session++) {
+                            store.getOrCreate("session-" + session)
+                                    .recordTurn(request("question " + session), model("answer " + session));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(200, store.size());
+        MultiTurnConversation conversation = store.getIfPresent("session-42");
+        assertEquals(80, conversation.getTurnCount());
+        List<Content> history = conversation.getConversationHistory();
+        for (int i = 0; i < history.size(); i += 2) {
+            assertEquals("question 42", text(history.get(i)));
+            assertEquals("answer 42", text(history.get(i + 1)));
+        }
+        assertNull(store.getIfPresent("session-200"));
+    }
+
+    /**
+     * Tests that idle sessions and the least recently used sessions beyond the limit are
+     * evicted.
+     *
+     * @throws Exception If the thread is interrupted.
+     */
+    @Test
+    public void testIdleAndExcessSessionsAreEvicted() throws Exception {
+        ConversationStore store = new InMemoryConversationStore(ConversationStoreConfig.builder()
+                .withStripes(1)
+                .withMaxSessions(3)
+                .withIdleTimeout(Duration.ofMillis(200))
+                .build());
+
+        for (int session = 0; session < 5; session++) {
+            store.getOrCreate("session-" + session);
+        }
+        assertEquals(3, store.size());
+        assertNull(store.getIfPresent("session-0"));
+        assertNull(store.getIfPresent("session-1"));
+
+        Thread.sleep(300);
+        store.getOrCreate("session-4");
+        assertEquals(1, store.size());
+        assertEquals(0, store.evictIdle());
+        Thread.sleep(300);
+        assertEquals(1, store.evictIdle());
+        assertEquals(0, store.size());
+    }
+
+    /**
+     * Tests that evicted and closed sessions are restored from a file persistence, and that
+     * ended sessions are deleted from it.
+     *
+     * @param directory A temporary directory.
+     * @throws Exception If the persistence fails.
+     */
+    @Test
+    public void testSessionsAreRestoredFromFiles(@TempDir Path directory) throws Exception {
+        FileConversationPersistence persistence = new FileConversationPersistence(directory, new JacksonJsonService());
+        ConversationStoreConfig config = ConversationStoreConfig.builder()
+                .withStripes(1)
+                .withMaxSessions(1)
+                .withPersistence(persistence)
+                .build();
+        ConversationStore store = new InMemoryConversationStore(config);
+        MultiTurnConversation first = store.getOrCreate("user/1");
+        first.setSystemInstruction(model("You are a librarian."));
+        first.recordTurn(request("where are the atlases?"), model("second floor"));
+        store.getOrCreate("user/2").recordTurn(request("hello"), model("hi"));
+        assertNull(store.getIfPresent("user/1"));
+
+        MultiTurnConversation restored = store.getOrCreate("user/1");
+        assertNotSame(first, restored);
+        assertEquals("You are a librarian.", text(restored.getSystemInstruction()));
+        assertEquals(List.of("where are the atlases?", "second floor"),
+                restored.getConversationHistory().stream().map(ConversationStoreTest::text)
+                        .collect(Collectors.toList()));
+        store.close();
+        assertEquals(0, store.size());
+
+        ConversationStore reopened = new InMemoryConversationStore(config);
+        assertEquals("hi", text(reopened.getOrCreate("user/2").getConversationHistory().get(1)));
+        reopened.remove("user/2");
+        assertTrue(reopened.getOrCreate("user/2").getConversationHistory().isEmpty());
+    }
+
+    /**
+     * Tests that a conversation acquired by an in-flight request is not evicted, so the turn
+     * recorded when its response arrives is saved.
+     */
+    @Test
+    public void testAcquiredSessionsAreNotEvicted() {
+        MapConversationPersistence persistence = new MapConversationPersistence();
+        ConversationStore store = new InMemoryConversationStore(ConversationStoreConfig.builder()
+                .withStripes(1)
+                .withMaxSessions(1)
+                .withPersistence(persistence)
+                .build());
+
+        MultiTurnConversation acquired = store.acquire("user/1");
+        store.getOrCreate("user/2");
+        assertSame(acquired, store.getIfPresent("user/1"));
+        assertEquals(2, store.size());
+
+        acquired.recordTurn(request("where are the atlases?"), model("second floor"));
+        store.release("user/1", acquired);
+        store.getOrCreate("user/3");
+        assertNull(store.getIfPresent("user/1"));
+        assertEquals(1, store.getOrCreate("user/1").getTurnCount());
+    }
+
+    /**
+     * Tests that concurrent first accesses to a persisted session, loaded slowly, share one
+     * conversation, so no turn is recorded on a conversation dropped from the store.
+     *
+     * @throws Exception If a thread fails.
+     */
+    @Test
+    public void testConcurrentFirstAccessesShareOneConversation() throws Exception {
+        CountDownLatch loading = new CountDownLatch(2);
+        MapConversationPersistence persistence = new MapConversationPersistence() {
+            @Override
+            public ConversationSnapshot load(String sessionId) throws IOException {
+                loading.countDown();
+                try {
+                    loading.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.load(sessionId);
+            }
+        };
+        ConversationStore store = new InMemoryConversationStore(ConversationStoreConfig.builder()
+                .withPersistence(persistence)
+                .build());
+
+        CompletableFuture<MultiTurnConversation> first = CompletableFuture.supplyAsync(() -> store.acquire("user/1"));
+        CompletableFuture<MultiTurnConversation> second = CompletableFuture.supplyAsync(() -> store.acquire("user/1"));
+        MultiTurnConversation conversation = first.get(5, TimeUnit.SECONDS);
+        assertSame(conversation, second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, persistence.loads.get());
+        assertEquals(1, store.size());
+
+        conversation.recordTurn(request("hello"), model("hi"));
+        store.release("user/1", conversation);
+        store.release("user/1", conversation);
+        store.close();
+        assertEquals(2, persistence.snapshots.get("user/1").getHistory().size());
+        assertEquals(0, store.size());
+    }
+
+    /**
+     * Tests that the persistence is called outside the lock of the stripe: other sessions are
+     * served while a conversation is being saved, and the session being saved is restored
+     * from the snapshot in flight.
+     *
+     * @throws Exception If the save does not complete in time.
+     */
+    @Test
+    public void testSavesRunOutsideTheStripeLock() throws Exception {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MapConversationPersistence persistence = new MapConversationPersistence() {
+            @Override
+            public void save(String sessionId, ConversationSnapshot snapshot) throws IOException {
+                if (sessionId.equals("user/1")) {
+                    saving.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.save(sessionId, snapshot);
+            }
+        };
+        ConversationStore store = new InMemoryConversationStore(ConversationStoreConfig.builder()
+                .withStripes(1)
+                .withMaxSessions(1)
+                .withPersistence(persistence)
+                .build());
+        store.getOrCreate("user/1").recordTurn(request("hello"), model("hi"));
+
+        CompletableFuture<MultiTurnConversation> evicting = CompletableFuture.supplyAsync(() -> store.getOrCreate("user/2"));
+        assertTrue(saving.await(5, TimeUnit.SECONDS));
+        assertNotNull(CompletableFuture.supplyAsync(() -> store.getIfPresent("user/2")).get(5, TimeUnit.SECONDS));
+        int loads = persistence.loads.get();
+        MultiTurnConversation restored = CompletableFuture.supplyAsync(() -> store.getOrCreate("user/1"))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(1, restored.getTurnCount());
+        assertEquals(loads, persistence.loads.get());
+
+        release.countDown();
+        evicting.get(5, TimeUnit.SECONDS);
+        store.close();
+        assertEquals(2, persistence.snapshots.get("user/1").getHistory().size());
+    }
+
+    /**
+     * Tests that the number of stripes is reduced to fit a smaller maximum number of
+     * sessions, so the limit holds.
+     */
+    @Test
+    public void testMaxSessionsBelowStripesIsEnforced() {
+        ConversationStore store = new InMemoryConversationStore(ConversationStoreConfig.builder()
+                .withStripes(64)
+                .withMaxSessions(3)
+                .build());
+
+        for (int session = 0; session < 100; session++) {
+            store.getOrCreate("session-" + session);
+        }
+        assertTrue(store.size() <= 3, store.size() + " sessions");
+    }
+
+    private static GenerateRequest request(String question) {
+        return GenerateRequestBuilder.builder().withModel("models/gemini-test").withUserContent(question).build();
+    }
+
+    private static Content model(String text) {
+        return Content.builder().withRole("model").withParts(List.of(Part.builder().withText(text).build())).build();
+    }
+
+    private static String text(Content content) {
+        return content.getParts().get(0).getText();
+    }
+
+    /**
+     * A persistence keeping the snapshots in memory and counting the loads.
+     */
+    private static class MapConversationPersistence implements ConversationPersistence {
+
+        private final Map<String, ConversationSnapshot> snapshots = new ConcurrentHashMap<>();
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public ConversationSnapshot load(String sessionId) throws IOException {
+            loads.incrementAndGet();
+            return snapshots.get(sessionId);
+        }
+
+        @Override
+        public void save(String sessionId, ConversationSnapshot snapshot) throws IOException {
+            snapshots.put(sessionId, snapshot);
+        }
+
+        @Override
+        public void delete(String sessionId) throws IOException {
+            snapshots.remove(sessionId);
+        }
+    }
+}
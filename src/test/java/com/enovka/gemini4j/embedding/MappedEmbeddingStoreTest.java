@@ -0,0 +1,180 @@
+package com.enovka.gemini4j.embedding;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.embedding.EmbeddingKey;
+import com.enovka.gemini4j.infrastructure.embedding.MappedEmbeddingStore;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Embedding;
+import com.enovka.gemini4j.model.Part;
+import com.enovka.gemini4j.model.request.BatchEmbedRequest;
+import com.enovka.gemini4j.model.request.EmbedRequest;
+import com.enovka.gemini4j.model.response.BatchEmbedResponse;
+import com.enovka.gemini4j.model.type.TaskTypeEnum;
+import com.enovka.gemini4j.resource.RecordingEmbedResource;
+import com.enovka.gemini4j.resource.impl.StoredEmbedResourceImpl;
+import com.enovka.gemini4j.resource.spec.EmbedResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link MappedEmbeddingStore} and the {@link StoredEmbedResourceImpl}. The
+ * resource tests use an in-memory {@link EmbedResource} whose embeddings hold the length of
+ * the embedded text, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class MappedEmbeddingStoreTest {
+
+    private GeminiClient geminiClient;
+
+    /**
+     * Creates the client used to compute the embedding keys.
+     */
+    @BeforeEach
+    public void setUp() {
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel("models/text-embedding-004")
+                .build();
+    }
+
+    /**
+     * Tests that vectors survive reopening the store and that new segments are started when
+     * the current one is full.
+     *
+     * @param directory A temporary directory.
+     * @throws Exception If the store cannot be used.
+     */
+    @Test
+    public void testVectorsArePersistedAcrossSegments(@TempDir Path directory) throws Exception {
+        int segmentBytes = 16 + 3 * (36 + 8 * Float.BYTES);
+        try (MappedEmbeddingStore store = new MappedEmbeddingStore(directory, segmentBytes)) {
+            for (int i = 0; i < 10; i++) {
+                store.put(key("text " + i), vector(i));
+            }
+            store.put(key("text 0"), vector(42));
+            assertEquals(10, store.size());
+            assertEquals(4, store.getSegmentCount());
+            assertArrayEquals(vector(0), store.get(key("text 0")));
+            assertNull(store.get(key("missing")));
+        }
+
+        try (MappedEmbeddingStore reopened = new MappedEmbeddingStore(directory, segmentBytes)) {
+            assertEquals(10, reopened.size());
+            for (int i = 0; i < 10; i++) {
+                assertArrayEquals(vector(i), reopened.get(key("text " + i)));
+            }
+            reopened.put(key("text 10"), vector(10));
+            reopened.put(key("text 11"), vector(11));
+            reopened.put(key("text 12"), vector(12));
+            assertEquals(5, reopened.getSegmentCount());
+            assertArrayEquals(vector(11), reopened.get(key("text 11")));
+        }
+    }
+
+    /**
+     * Tests that a store expecting another dimension refuses to open existing segments and to
+     * store vectors of the wrong dimension.
+     *
+     * @param directory A temporary directory.
+     * @throws Exception If the store cannot be used.
+     */
+    @Test
+    public void testSegmentsOfAnotherDimensionAreRejected(@TempDir Path directory) throws Exception {
+        try (MappedEmbeddingStore store = new MappedEmbeddingStore(directory, 4096, 8)) {
+            store.put(key("text"), vector(1));
+            assertThrows(IllegalArgumentException.class, () -> store.put(key("short"), new float[4]));
+        }
+
+        IOException failure = assertThrows(IOException.class, () -> new MappedEmbeddingStore(directory, 4096, 16));
+        assertTrue(failure.getMessage().contains("8 dimensions"));
+        try (MappedEmbeddingStore reopened = new MappedEmbeddingStore(directory, 4096, 8)) {
+            assertArrayEquals(vector(1), reopened.get(key("text")));
+        }
+    }
+
+    /**
+     * Tests that the key covers the task type and the output dimensionality of the request.
+     *
+     * @throws Exception If a key cannot be computed.
+     */
+    @Test
+    public void testKeyDependsOnEmbeddingParameters() throws Exception {
+        EmbedRequest request = request("text");
+        EmbeddingKey key = EmbeddingKey.of("models/text-embedding-004", request, geminiClient.getJsonService());
+
+        assertEquals(key, EmbeddingKey.of("models/text-embedding-004", request("text"), geminiClient.getJsonService()));
+        assertEquals(key, EmbeddingKey.fromBytes(key.toBytes()));
+        assertNotEquals(key, EmbeddingKey.of("models/other", request, geminiClient.getJsonService()));
+        assertNotEquals(key, EmbeddingKey.of("models/text-embedding-004",
+                request.toBuilder().withTaskType(TaskTypeEnum.RETRIEVAL_QUERY).build(), geminiClient.getJsonService()));
+        assertNotEquals(key, EmbeddingKey.of("models/text-embedding-004",
+                request.toBuilder().withOutputDimensionality(256).build(), geminiClient.getJsonService()));
+    }
+
+    /**
+     * Tests that the resource answers stored embeddings without calling its delegate and only
+     * sends the missing requests of a batch.
+     *
+     * @param directory A temporary directory.
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testResourceOnlySendsMissingEmbeddings(@TempDir Path directory) throws Exception {
+        RecordingEmbedResource delegate = new RecordingEmbedResource(geminiClient);
+        try (MappedEmbeddingStore store = new MappedEmbeddingStore(directory)) {
+            StoredEmbedResourceImpl resource = new StoredEmbedResourceImpl(delegate, store);
+
+            assertArrayEquals(new float[]{1}, resource.execute(request("a")).getEmbedding().getVector());
+            assertArrayEquals(new float[]{1}, resource.execute(request("a")).getEmbedding().getVector());
+            assertArrayEquals(new float[]{1}, resource.executeAsync(request("a"))
+                    .get(5, TimeUnit.SECONDS).getEmbedding().getVector());
+            assertEquals(1, delegate.getRequests().size());
+
+            BatchEmbedResponse response = resource.execute(BatchEmbedRequest.builder()
+                    .withRequests(List.of(request("a"), request("bbb"), request("cc")))
+                    .build());
+            List<Embedding> embeddings = response.getEmbeddings();
+            assertArrayEquals(new float[]{1}, embeddings.get(0).getVector());
+            assertArrayEquals(new float[]{3}, embeddings.get(1).getVector());
+            assertArrayEquals(new float[]{2}, embeddings.get(2).getVector());
+            assertEquals(1, delegate.getBatches().size());
+            assertEquals(2, delegate.getBatches().get(0).getRequests().size());
+
+            BatchEmbedResponse stored = resource.executeAsync(BatchEmbedRequest.builder()
+                    .withRequests(List.of(request("cc"), request("bbb")))
+                    .build()).get(5, TimeUnit.SECONDS);
+            assertArrayEquals(new float[]{2}, stored.getEmbeddings().get(0).getVector());
+            assertEquals(1, delegate.getBatches().size());
+            assertEquals(3, store.size());
+        }
+    }
+
+    private EmbeddingKey key(String text) throws Exception {
+        return EmbeddingKey.of(geminiClient.getModelName(), request(text), geminiClient.getJsonService());
+    }
+
+    private static float[] vector(int seed) {
+        float[] vector = new float[8];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = seed + i / 10f;
+        }
+        return vector;
+    }
+
+    private static EmbedRequest request(String text) {
+        return EmbedRequest.builder()
+                .withContent(Content.builder().withParts(List.of(Part.builder().withText(text).build())).build())
+                .build();
+    }
+}
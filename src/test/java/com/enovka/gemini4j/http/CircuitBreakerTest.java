@@ -0,0 +1,151 @@
+package com.enovka.gemini4j.http;
+
+import com.enovka.gemini4j.infrastructure.http.AdaptiveConcurrencyLimiter;
+import com.enovka.gemini4j.infrastructure.http.CircuitBreaker;
+import com.enovka.gemini4j.infrastructure.http.CircuitBreakerConfig;
+import com.enovka.gemini4j.infrastructure.http.CircuitBreakerState;
+import com.enovka.gemini4j.infrastructure.http.ConcurrencyLimitConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link CircuitBreaker} and the {@link AdaptiveConcurrencyLimiter}. It
+ * verifies the breaker state transitions on failures and slow calls, and that the concurrency
+ * limit rejects excess requests, shrinks under overload and grows back while healthy.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Tests that the breaker opens once the failure rate reaches its threshold, rejects calls
+     * while open, and closes again after successful trial calls.
+     *
+     * @throws InterruptedException If the test is interrupted while waiting.
+     */
+    @Test
+    public void testBreakerOpensAndRecovers() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(CircuitBreakerConfig.builder()
+                .withSlidingWindowSize(10)
+                .withMinimumCalls(4)
+                .withOpenDuration(Duration.ofMillis(50))
+                .withHalfOpenCalls(2)
+                .build());
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onSuccess(FAST);
+        }
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onError(FAST);
+        }
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+
+        TimeUnit.MILLISECONDS.sleep(80);
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+    }
+
+    /**
+     * Tests that slow successful calls open the breaker, and that a failed trial call reopens
+     * it.
+     *
+     * @throws InterruptedException If the test is interrupted while waiting.
+     */
+    @Test
+    public void testSlowCallsOpenBreakerAndFailedTrialReopens() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(CircuitBreakerConfig.builder()
+                .withSlidingWindowSize(5)
+                .withMinimumCalls(5)
+                .withSlowCallDuration(Duration.ofMillis(100))
+                .withOpenDuration(Duration.ofMillis(20))
+                .withHalfOpenCalls(2)
+                .build());
+
+        long slow = TimeUnit.MILLISECONDS.toNanos(200);
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(slow);
+        }
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+
+        TimeUnit.MILLISECONDS.sleep(40);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onError(FAST);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    /**
+     * Tests that the limiter rejects requests above its limit, shrinks multiplicatively on
+     * overload and grows back additively while requests succeed.
+     */
+    @Test
+    public void testConcurrencyLimitAdaptsToOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(ConcurrencyLimitConfig.builder()
+                .withInitialLimit(10)
+                .withMinLimit(2)
+                .withMaxLimit(12)
+                .build());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+
+        limiter.onSuccess(FAST);
+        for (int i = 0; i < 9; i++) {
+            limiter.onDropped(FAST);
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(3, limiter.getLimit());
+
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+            limiter.onSuccess(FAST);
+        }
+        assertTrue(limiter.getLimit() > 3);
+        assertTrue(limiter.getLimit() <= 12);
+    }
+
+    /**
+     * Tests that a sudden latency increase shrinks the limit even without errors.
+     */
+    @Test
+    public void testConcurrencyLimitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(ConcurrencyLimitConfig.builder()
+                .withInitialLimit(20)
+                .build());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(FAST);
+        }
+        assertEquals(20, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(FAST * 20);
+        }
+        assertTrue(limiter.getLimit() < 20);
+    }
+}
@@ -1,9 +1,16 @@
 package com.enovka.gemini4j.http;
 
+import com.enovka.gemini4j.infrastructure.http.CircuitBreakerConfig;
+import com.enovka.gemini4j.infrastructure.http.RejectionPolicy;
+import com.enovka.gemini4j.infrastructure.http.RetryPolicy;
+import com.enovka.gemini4j.infrastructure.http.TokenBucketRateLimiter;
 import com.enovka.gemini4j.infrastructure.http.exception.HttpException;
 import com.enovka.gemini4j.infrastructure.http.factory.HttpClientBuilder;
+import com.enovka.gemini4j.infrastructure.http.factory.RateLimiterType;
+import com.enovka.gemini4j.infrastructure.http.spec.AsyncCallback;
 import com.enovka.gemini4j.infrastructure.http.spec.HttpClient;
 import com.enovka.gemini4j.infrastructure.http.spec.HttpResponse;
+import com.enovka.gemini4j.infrastructure.http.spec.StreamCallback;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
@@ -12,10 +19,19 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -132,6 +148,31 @@ public class HttpClientTest {
         System.out.println("testPostRequestWithHeadersAndBody completed successfully.");
     }
 
+    /**
+     * Tests that a body given as bytes is sent unchanged and that the response body is exposed
+     * as raw bytes, decoded lazily with the charset of the response.
+     *
+     * @throws HttpException If an HTTP error occurs.
+     */
+    @Test
+    public void testPostRequestWithByteBody() throws HttpException {
+        String requestBody = "{\"message\": \"Ol\u00e1, mundo \u2603\"}";
+        stubFor(post(urlEqualTo("/bytes"))
+                .withRequestBody(equalToJson(requestBody))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json; charset=UTF-8")
+                        .withBody("{\"reply\": \"\u00e7a va\"}")));
+
+        HttpResponse response = httpClient.post(wireMockServer.baseUrl() + "/bytes",
+                requestBody.getBytes(StandardCharsets.UTF_8), new HashMap<>(), ContentType.APPLICATION_JSON);
+
+        assertEquals(200, response.getStatusCode());
+        assertArrayEquals("{\"reply\": \"\u00e7a va\"}".getBytes(StandardCharsets.UTF_8), response.getBodyBytes());
+        assertEquals("{\"reply\": \"\u00e7a va\"}", response.getBody());
+        verify(postRequestedFor(urlEqualTo("/bytes"))
+                .withRequestBody(binaryEqualTo(requestBody.getBytes(StandardCharsets.UTF_8))));
+    }
+
     /**
      * Tests that the correct {@link HttpException} is thrown when a client
      * error (4xx status code) occurs.
@@ -197,4 +238,330 @@ public class HttpClientTest {
 
         System.out.println("testHttpServerError completed successfully.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a Server-Sent Events response is split into individual events, including
+     * multi-line data fields and a final event without a trailing blank line, and that the
+     * stream completion is signalled once all events have been delivered.
+     *
+     * @throws Exception If the stream does not complete in time.
+     * @since 0.2.1
+     */
+    @Test
+    public void testPostStreamDeliversEvents() throws Exception {
+        stubFor(post(urlEqualTo("/stream"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "text/event-stream")
+                        .withBody(": keep-alive\r\ndata: {\"n\":1}\r\n\r\ndata: {\"n\":\r\ndata: 2}\n\ndata: {\"n\":3}")));
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        httpClient.postStream(wireMockServer.baseUrl() + "/stream", "{}", new HashMap<>(),
+                ContentType.APPLICATION_JSON, new StreamCallback<>() {
+                    @Override
+                    public void onNext(String element) {
+                        events.add(element);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.set(true);
+                    }
+
+                    @Override
+                    public void onError(Throwable exception) {
+                        fail(exception);
+                    }
+                }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("{\"n\":1}", "{\"n\":\n2}", "{\"n\":3}"), events);
+        assertTrue(completed.get());
+    }
+
+    /**
+     * Tests that an HTTP error returned by a streaming endpoint fails the stream with an
+     * {@link HttpException} carrying the status code instead of being parsed as events.
+     *
+     * @since 0.2.1
+     */
+    @Test
+    public void testPostStreamHttpError() {
+        stubFor(post(urlEqualTo("/stream"))
+                .willReturn(aResponse().withStatus(429).withBody("data: quota")));
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> future = httpClient.postStream(wireMockServer.baseUrl() + "/stream", "{}",
+                new HashMap<>(), ContentType.APPLICATION_JSON, new StreamCallback<>() {
+                    @Override
+                    public void onNext(String element) {
+                        events.add(element);
+                    }
+
+                    @Override
+                    public void onError(Throwable exception) {
+                    }
+                });
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(HttpException.class, exception.getCause());
+        assertEquals(429, ((HttpException) exception.getCause()).getStatusCode());
+        assertTrue(events.isEmpty());
+    }
+
+    /**
+     * Tests that an asynchronous request issued while the rate limiter is exhausted and the
+     * pending queue is full fails fast with status 429 instead of blocking the caller or
+     * reaching the server.
+     *
+     * @since 0.2.1
+     */
+    @Test
+    public void testAsyncRequestRejectedWhenPendingQueueIsFull() {
+        stubFor(get(urlEqualTo("/limited")).willReturn(aResponse().withStatus(200).withBody("ok")));
+
+        HttpClient limitedClient = HttpClientBuilder.builder()
+                .withRateLimiterType(RateLimiterType.CUSTOM)
+                .withCustomRateLimiter(new TokenBucketRateLimiter(1, Duration.ofHours(1)))
+                .withMaxPendingRequests(0)
+                .withRejectionPolicy(RejectionPolicy.FAIL_FAST)
+                .build().build();
+
+        AtomicBoolean rejected = new AtomicBoolean();
+        AsyncCallback<HttpResponse> callback = new AsyncCallback<>() {
+            @Override
+            public void onSuccess(HttpResponse result) {
+            }
+
+            @Override
+            public void onError(Throwable exception) {
+                rejected.set(true);
+            }
+        };
+        CompletableFuture<HttpResponse> first = limitedClient.getAsync(
+                wireMockServer.baseUrl() + "/limited", new HashMap<>(), callback);
+        CompletableFuture<HttpResponse> second = limitedClient.getAsync(
+                wireMockServer.baseUrl() + "/limited", new HashMap<>(), callback);
+
+        assertTrue(second.isCompletedExceptionally());
+        assertTrue(rejected.get());
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> second.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(HttpException.class, exception.getCause());
+        assertEquals(429, ((HttpException) exception.getCause()).getStatusCode());
+        assertDoesNotThrow(() -> first.get(10, TimeUnit.SECONDS));
+        verify(1, getRequestedFor(urlEqualTo("/limited")));
+    }
+
+    /**
+     * Tests that a synchronous request failing with a retryable status is retried and that the
+     * {@code Retry-After} header sets the minimum delay before the next attempt.
+     *
+     * @throws HttpException If the request fails after the retry.
+     * @since 0.2.1
+     */
+    @Test
+    public void testSyncRetryHonorsRetryAfter() throws HttpException {
+        stubFor(get(urlEqualTo("/retry")).inScenario("retry")
+                .whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "1"))
+                .willSetStateTo("recovered"));
+        stubFor(get(urlEqualTo("/retry")).inScenario("retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200).withBody("ok")));
+
+        HttpClient retryingClient = HttpClientBuilder.builder()
+                .withRetryPolicy(RetryPolicy.builder().withBaseDelay(Duration.ofMillis(10)).build())
+                .build().build();
+
+        long start = System.nanoTime();
+        HttpResponse response = retryingClient.get(wireMockServer.baseUrl() + "/retry", new HashMap<>());
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 900);
+        verify(2, getRequestedFor(urlEqualTo("/retry")));
+    }
+
+    /**
+     * Tests that a client built without a retry policy sends a failed POST only once, since
+     * a retry could bill the request twice.
+     *
+     * @since 0.2.1
+     */
+    @Test
+    public void testRequestsAreNotRetriedByDefault() {
+        stubFor(post(urlEqualTo("/retry")).willReturn(aResponse().withStatus(500)));
+
+        HttpClient defaultClient = HttpClientBuilder.builder().build().build();
+
+        HttpException exception = assertThrows(HttpException.class, () -> defaultClient.post(
+                wireMockServer.baseUrl() + "/retry", "{}", new HashMap<>(), ContentType.APPLICATION_JSON));
+        assertEquals(500, exception.getStatusCode());
+        verify(1, postRequestedFor(urlEqualTo("/retry")));
+    }
+
+    /**
+     * Tests that an asynchronous request is retried up to the maximum number of attempts and
+     * then fails with the status code of the last attempt.
+     *
+     * @since 0.2.1
+     */
+    @Test
+    public void testAsyncRetryStopsAfterMaxAttempts() {
+        stubFor(post(urlEqualTo("/retry")).willReturn(aResponse().withStatus(500)));
+
+        HttpClient retryingClient = HttpClientBuilder.builder()
+                .withRetryPolicy(RetryPolicy.builder()
+                        .withMaxAttempts(3)
+                        .withBaseDelay(Duration.ofMillis(5))
+                        .withMaxDelay(Duration.ofMillis(50))
+                        .build())
+                .build().build();
+
+        CompletableFuture<HttpResponse> future = retryingClient.postAsync(wireMockServer.baseUrl() + "/retry", "{}",
+                new HashMap<>(), ContentType.APPLICATION_JSON, new AsyncCallback<>() {
+                    @Override
+                    public void onSuccess(HttpResponse result) {
+                    }
+
+                    @Override
+                    public void onError(Throwable exception) {
+                    }
+                });
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(HttpException.class, exception.getCause());
+        assertEquals(500, ((HttpException) exception.getCause()).getStatusCode());
+        verify(3, postRequestedFor(urlEqualTo("/retry")));
+    }
+
+    /**
+     * Tests that a request timing out on the client is not sent again by default, since it may
+     * still be processed upstream.
+     *
+     * @throws Exception If the thread is interrupted.
+     * @since 0.2.1
+     */
+    @Test
+    public void testTimedOutRequestIsNotRetried() throws Exception {
+        stubFor(post(urlEqualTo("/slow")).willReturn(aResponse().withStatus(200).withFixedDelay(1500)));
+
+        HttpClient retryingClient = HttpClientBuilder.builder()
+                .withResponseTimeout(300)
+                .withRetryPolicy(RetryPolicy.builder().withBaseDelay(Duration.ofMillis(5)).build())
+                .build().build();
+
+        assertThrows(HttpException.class, () -> retryingClient.post(wireMockServer.baseUrl() + "/slow", "{}",
+                new HashMap<>(), ContentType.APPLICATION_JSON));
+        Thread.sleep(300);
+
+        verify(1, postRequestedFor(urlEqualTo("/slow")));
+    }
+
+    /**
+     * Tests that non-retryable statuses and an exhausted retry budget both stop retries.
+     *
+     * @since 0.2.1
+     */
+    @Test
+    public void testRetryBudgetAndNonRetryableStatus() {
+        stubFor(get(urlEqualTo("/missing")).willReturn(aResponse().withStatus(404)));
+        stubFor(get(urlEqualTo("/unavailable")).willReturn(aResponse().withStatus(503)));
+
+        HttpClient retryingClient = HttpClientBuilder.builder()
+                .withRetryPolicy(RetryPolicy.builder()
+                        .withBaseDelay(Duration.ofMillis(5))
+                        .withRetryBudgetRatio(0)
+                        .withRetryBudgetBurst(0)
+                        .build())
+                .build().build();
+
+        assertThrows(HttpException.class,
+                () -> retryingClient.get(wireMockServer.baseUrl() + "/missing", new HashMap<>()));
+        assertThrows(HttpException.class,
+                () -> retryingClient.get(wireMockServer.baseUrl() + "/unavailable", new HashMap<>()));
+
+        verify(1, getRequestedFor(urlEqualTo("/missing")));
+        verify(1, getRequestedFor(urlEqualTo("/unavailable")));
+    }
+
+    /**
+     * Tests that an open circuit breaker rejects requests with HTTP 503 without sending them.
+     *
+     * @since 0.2.1
+     */
+    @Test
+    public void testOpenCircuitBreakerFailsFast() {
+        stubFor(get(urlEqualTo("/degraded")).willReturn(aResponse().withStatus(500)));
+
+        HttpClient guardedClient = HttpClientBuilder.builder()
+                .withRetryPolicy(RetryPolicy.none())
+                .withCircuitBreakerConfig(CircuitBreakerConfig.builder()
+                        .withSlidingWindowSize(4)
+                        .withMinimumCalls(2)
+                        .withOpenDuration(Duration.ofMinutes(1))
+                        .build())
+                .build().build();
+
+        for (int i = 0; i < 2; i++) {
+            HttpException failure = assertThrows(HttpException.class,
+                    () -> guardedClient.get(wireMockServer.baseUrl() + "/degraded", new HashMap<>()));
+            assertEquals(500, failure.getStatusCode());
+        }
+        HttpException rejection = assertThrows(HttpException.class,
+                () -> guardedClient.get(wireMockServer.baseUrl() + "/degraded", new HashMap<>()));
+        assertEquals(503, rejection.getStatusCode());
+
+        verify(2, getRequestedFor(urlEqualTo("/degraded")));
+    }
+
+    /**
+     * Tests that failed streams are reported to the circuit breaker with their status code, so
+     * that a streaming endpoint answering HTTP 503 opens the circuit.
+     *
+     * @since 0.2.1
+     */
+    @Test
+    public void testStreamServerErrorsOpenCircuitBreaker() {
+        stubFor(post(urlEqualTo("/stream"))
+                .willReturn(aResponse().withStatus(503)
+                        .withHeader("Content-Type", "text/event-stream")
+                        .withHeader("Retry-After", "1")
+                        .withBody("data: overloaded\n\n")));
+
+        HttpClient guardedClient = HttpClientBuilder.builder()
+                .withRetryPolicy(RetryPolicy.none())
+                .withCircuitBreakerConfig(CircuitBreakerConfig.builder()
+                        .withSlidingWindowSize(4)
+                        .withMinimumCalls(2)
+                        .withOpenDuration(Duration.ofMinutes(1))
+                        .build())
+                .build().build();
+        StreamCallback<String> callback = new StreamCallback<>() {
+            @Override
+            public void onNext(String element) {
+            }
+
+            @Override
+            public void onError(Throwable exception) {
+            }
+        };
+
+        for (int i = 0; i < 2; i++) {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> guardedClient.postStream(wireMockServer.baseUrl() + "/stream", "{}", new HashMap<>(),
+                            ContentType.APPLICATION_JSON, callback).get(10, TimeUnit.SECONDS));
+            HttpException cause = assertInstanceOf(HttpException.class, failure.getCause());
+            assertEquals(503, cause.getStatusCode());
+            assertEquals(503, RetryPolicy.responseStatusCode(cause));
+            assertEquals("1", cause.getResponseHeaders().get("Retry-After"));
+        }
+        ExecutionException rejection = assertThrows(ExecutionException.class,
+                () -> guardedClient.postStream(wireMockServer.baseUrl() + "/stream", "{}", new HashMap<>(),
+                        ContentType.APPLICATION_JSON, callback).get(10, TimeUnit.SECONDS));
+        assertTrue(rejection.getCause().getMessage().contains("Circuit breaker"));
+
+        verify(2, postRequestedFor(urlEqualTo("/stream")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.enovka.gemini4j.http;
+
+import com.enovka.gemini4j.infrastructure.http.RateLimiter;
+import com.enovka.gemini4j.infrastructure.http.SlidingWindowRateLimiter;
+import com.enovka.gemini4j.infrastructure.http.TokenBucketRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link RateLimiter} implementations. It verifies burst capacity, the
+ * non-blocking acquisition styles and that concurrent callers never obtain more permits than
+ * the configured limit.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class RateLimiterTest {
+
+    /**
+     * Tests that the token bucket grants a full burst and then refuses further permits until
+     * the window advances.
+     */
+    @Test
+    public void testTokenBucketBurst() {
+        RateLimiter rateLimiter = new TokenBucketRateLimiter(5, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiter.tryAcquire(), "Permit " + i + " should be granted");
+        }
+        assertFalse(rateLimiter.tryAcquire());
+    }
+
+    /**
+     * Tests that concurrent callers racing on {@code tryAcquire} obtain exactly the configured
+     * number of permits.
+     *
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testTokenBucketConcurrentTryAcquire() throws InterruptedException {
+        RateLimiter rateLimiter = new TokenBucketRateLimiter(100, Duration.ofHours(1));
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        for (int i = 0; i < 400; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (rateLimiter.tryAcquire()) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, granted.get());
+    }
+
+    /**
+     * Tests that {@code acquireAsync} completes immediately while permits are available and
+     * completes later, without blocking the caller, once the bucket is empty.
+     *
+     * @throws Exception If the asynchronous permit is not granted in time.
+     */
+    @Test
+    public void testTokenBucketAcquireAsync() throws Exception {
+        RateLimiter rateLimiter = new TokenBucketRateLimiter(2, Duration.ofMillis(200));
+        assertTrue(rateLimiter.acquireAsync().isDone());
+        assertTrue(rateLimiter.acquireAsync().isDone());
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> delayed = rateLimiter.acquireAsync();
+        assertFalse(delayed.isDone());
+        delayed.get(2, TimeUnit.SECONDS);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+    }
+
+    /**
+     * Tests that the sliding window limiter refuses permits once the window is full and grants
+     * them asynchronously after the oldest request expires.
+     *
+     * @throws Exception If the asynchronous permit is not granted in time.
+     */
+    @Test
+    public void testSlidingWindowAcquireAsync() throws Exception {
+        RateLimiter rateLimiter = new SlidingWindowRateLimiter(2, Duration.ofMillis(100));
+        assertTrue(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+        rateLimiter.acquireAsync().get(2, TimeUnit.SECONDS);
+    }
+}
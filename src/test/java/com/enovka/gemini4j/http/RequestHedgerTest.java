@@ -0,0 +1,122 @@
+package com.enovka.gemini4j.http;
+
+import com.enovka.gemini4j.infrastructure.http.HedgingPolicy;
+import com.enovka.gemini4j.infrastructure.http.LatencyTracker;
+import com.enovka.gemini4j.infrastructure.http.RequestHedger;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link RequestHedger}. It verifies that a slow attempt is hedged, that the
+ * losing attempt is cancelled, that the hedge budget bounds the number of duplicates and that
+ * latency percentiles are computed over the recorded samples.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class RequestHedgerTest {
+
+    /**
+     * Tests that a request still pending after the hedge delay is duplicated, that the hedge
+     * answer completes the request, that the slow attempt is cancelled and that the latency
+     * recorded is the one the caller saw, hedge delay included.
+     *
+     * @throws Exception If the hedged request does not complete in time.
+     */
+    @Test
+    public void testSlowAttemptIsHedgedAndCancelled() throws Exception {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.fixedDelay(Duration.ofMillis(20)));
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = hedger.execute(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            if (!attempts.isEmpty()) {
+                attempt.complete("hedge");
+            }
+            attempts.add(attempt);
+            return attempt;
+        });
+
+        assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.size());
+        assertTrue(attempts.get(0).isCancelled());
+        assertEquals(1, hedger.getLatencyTracker().getSampleCount());
+        assertTrue(hedger.getLatencyTracker().percentile(1.0) >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    /**
+     * Tests that no hedge is sent once the hedge budget is exhausted.
+     *
+     * @throws Exception If the request does not complete in time.
+     */
+    @Test
+    public void testHedgeBudgetPreventsDuplicates() throws Exception {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder()
+                .withDelay(Duration.ofMillis(10))
+                .withBudgetRatio(0)
+                .withBudgetBurst(0)
+                .build());
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<String> result = hedger.execute(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> attempt.complete("primary"));
+            return attempt;
+        });
+
+        assertEquals("primary", result.get(5, TimeUnit.SECONDS));
+        assertEquals(1, attempts.size());
+    }
+
+    /**
+     * Tests that a hedge declined by its dispatcher, for example for lack of quota, leaves the
+     * first attempt to complete the request.
+     *
+     * @throws Exception If the request does not complete in time.
+     */
+    @Test
+    public void testDeclinedHedgeKeepsFirstAttempt() throws Exception {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.fixedDelay(Duration.ofMillis(10)));
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        CountDownLatch declined = new CountDownLatch(1);
+
+        CompletableFuture<String> result = hedger.execute(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> attempt.complete("primary"));
+            return attempt;
+        }, () -> {
+            declined.countDown();
+            return null;
+        });
+
+        assertEquals("primary", result.get(5, TimeUnit.SECONDS));
+        assertTrue(declined.await(5, TimeUnit.SECONDS));
+        assertEquals(1, attempts.size());
+    }
+
+    /**
+     * Tests that learned hedging waits for enough samples and that percentiles are computed
+     * over the recorded latencies.
+     */
+    @Test
+    public void testLatencyTrackerPercentile() {
+        LatencyTracker tracker = new LatencyTracker(10);
+        assertEquals(-1, tracker.percentile(0.5));
+        for (int i = 1; i <= 20; i++) {
+            tracker.record(i);
+        }
+        assertEquals(10, tracker.getSampleCount());
+        assertEquals(15, tracker.percentile(0.5));
+        assertEquals(20, tracker.percentile(1.0));
+    }
+}
@@ -4,15 +4,30 @@ import com.enovka.gemini4j.infrastructure.json.builder.JsonServiceBuilder;
 import com.enovka.gemini4j.infrastructure.json.exception.JsonException;
 import com.enovka.gemini4j.infrastructure.json.spec.JsonService;
 import com.enovka.gemini4j.infrastructure.tool.BaseClass;
+import com.enovka.gemini4j.model.Candidate;
+import com.enovka.gemini4j.model.Embedding;
 import com.enovka.gemini4j.model.Model;
+import com.enovka.gemini4j.model.response.BatchEmbedResponse;
+import com.enovka.gemini4j.model.response.GenerateContentResponseView;
+import com.enovka.gemini4j.model.response.GenerateResponse;
+import com.enovka.gemini4j.model.response.internal.GenerateContentResponse;
+import com.enovka.gemini4j.model.type.FinishReasonEnum;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -58,7 +73,7 @@ public class JsonServiceTest extends BaseClass {
         System.out.println("Model object: " + model);
 
         String expectedJson
-                = "{\"error\":null,\"name\":\"models/test-model\",\"baseModelId\":\"test-model\",\"version\":\"001\",\"displayName\":\"Test Model\",\"description\":\"A test model for Gemini4J.\",\"inputTokenLimit\":4096,\"outputTokenLimit\":4096,\"supportedGenerationMethods\":[\"generateText\"],\"temperature\":0.5,\"maxTemperature\":null,\"topP\":0.8,\"topK\":40}";
+                = "{\"name\":\"models/test-model\",\"baseModelId\":\"test-model\",\"version\":\"001\",\"displayName\":\"Test Model\",\"description\":\"A test model for Gemini4J.\",\"inputTokenLimit\":4096,\"outputTokenLimit\":4096,\"supportedGenerationMethods\":[\"generateText\"],\"temperature\":0.5,\"topP\":0.8,\"topK\":40}";
         String actualJson = jsonService.serialize(model);
         System.out.println("Serialized JSON: " + actualJson);
 
@@ -96,9 +111,7 @@ public class JsonServiceTest extends BaseClass {
         Model actualModel = jsonService.deserialize(json, Model.class);
         System.out.println("Deserialized model: " + actualModel);
 
-        String expectedModelJson = jsonService.serialize(expectedModel);
-
-        assertEquals(json, expectedModelJson);
+        assertEquals(jsonService.serialize(expectedModel), jsonService.serialize(actualModel));
         System.out.println("Deserialization successful.");
     }
 
@@ -135,4 +148,96 @@ public class JsonServiceTest extends BaseClass {
                         Model.class));
         System.out.println("DeserializeMissingFields test successful.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that embeddings are read into primitive vectors, that the list view exposes the
+     * same values, and that they serialize back to a {@code values} array.
+     *
+     * @throws JsonException If an error occurs during deserialization.
+     */
+    @Test
+    public void testDeserializeEmbeddingsIntoPrimitiveVectors() throws JsonException {
+        String json = "{\"embeddings\":[{\"values\":[0.5,-1,0.25]},"
+                + "{\"values\":[2.0],\"unknown\":{\"nested\":[1]}}]}";
+
+        BatchEmbedResponse response = jsonService.deserialize(json, BatchEmbedResponse.class);
+
+        Embedding first = response.getEmbeddings().get(0);
+        assertArrayEquals(new float[]{0.5f, -1f, 0.25f}, first.getVector());
+        assertEquals(List.of(0.5, -1.0, 0.25), first.getValues());
+        assertEquals(3, first.asFloatBuffer().remaining());
+        assertArrayEquals(new float[]{2.0f}, response.getEmbeddings().get(1).getVector());
+        assertThrows(UnsupportedOperationException.class, () -> first.getValues().set(0, 1.0));
+        assertEquals("{\"values\":[0.5,-1.0,0.25]}", jsonService.serialize(first));
+    }
+
+    /**
+     * Tests that the byte and stream based methods produce and read the same UTF-8 JSON as the
+     * {@code String} based ones, and leave the streams open.
+     *
+     * @throws JsonException If an error occurs during serialization or deserialization.
+     */
+    @Test
+    public void testSerializeAndDeserializeBytesAndStreams() throws JsonException {
+        Model model = Model.newBuilder().withName("models/test-model")
+                .withDisplayName("Modèle \u00e9t\u00e9 \u2603")
+                .withInputTokenLimit(4096).build();
+        String json = jsonService.serialize(model);
+
+        byte[] bytes = jsonService.serializeToBytes(model);
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), bytes);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        jsonService.serializeTo(model, output);
+        assertArrayEquals(bytes, output.toByteArray());
+        assertFalse(closed.get());
+
+        assertEquals(json, jsonService.serialize(jsonService.deserialize(bytes, Model.class)));
+        assertEquals(json, jsonService.serialize(jsonService.deserialize(new ByteArrayInputStream(bytes), Model.class)));
+        assertThrows(JsonException.class, () -> jsonService.deserialize(new byte[0], Model.class));
+    }
+
+    /**
+     * Tests that a {@link GenerateContentResponseView} reads single fields of a response on
+     * demand and binds the same response as the {@link JsonService} when asked to.
+     *
+     * @throws JsonException If an error occurs during deserialization.
+     */
+    @Test
+    public void testGenerateContentResponseViewReadsFieldsOnDemand() throws JsonException {
+        String json = "{\"candidates\":["
+                + "{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\"first\"}]},\"finishReason\":\"STOP\","
+                + "\"safetyRatings\":[{\"category\":\"HARM_CATEGORY_HARASSMENT\",\"probability\":\"NEGLIGIBLE\"}]},"
+                + "{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\"second\"}]},\"finishReason\":\"MAX_TOKENS\"}],"
+                + "\"usageMetadata\":{\"promptTokenCount\":3,\"candidatesTokenCount\":5,\"totalTokenCount\":8}}";
+        GenerateContentResponseView view = GenerateContentResponseView.of(json);
+
+        assertEquals("first", view.getFirstCandidateText());
+        assertEquals("model", view.getFirstCandidateContent().getRole());
+        assertEquals(FinishReasonEnum.STOP, view.getFirstCandidateFinishReason());
+        assertEquals(2, view.getCandidateCount());
+        assertEquals(8, view.getUsageMetadata().getTotalTokenCount());
+        assertEquals("second", view.read("/candidates/1/content/parts/0/text", String.class));
+        assertNull(view.read("/candidates/2", Candidate.class));
+        assertNull(view.getError());
+
+        GenerateResponse response = GenerateResponse.of(view);
+        assertEquals("first", response.getGeneratedText());
+        assertEquals(jsonService.serialize(jsonService.deserialize(json, GenerateContentResponse.class)),
+                jsonService.serialize(response.getGenerateContentResponse()));
+
+        assertThrows(IllegalStateException.class,
+                () -> GenerateContentResponseView.of("{\"candidates\":[{\"content\":").getFirstCandidateText());
+
+        GenerateResponse failed = GenerateResponse.of(GenerateContentResponseView.of("{\"error\":{\"code\":400,"
+                + "\"message\":\"bad\"},\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"ignored\"}]}}]}"));
+        assertNull(failed.getGeneratedText());
+        assertNull(failed.getGeneratedContent());
+    }
+}
@@ -0,0 +1,106 @@
+package com.enovka.gemini4j.quota;
+
+import com.enovka.gemini4j.infrastructure.quota.CalibratedTokenEstimator;
+import com.enovka.gemini4j.model.Blob;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Part;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link CalibratedTokenEstimator}. It verifies the default estimates of
+ * text and content trees, and that observations fit the coefficients of one model family
+ * without affecting the others.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class CalibratedTokenEstimatorTest {
+
+    private static final String[] WORDS = {"the", "library", "catalogue", "lists", "every", "book",
+            "on", "shelf", "and", "its", "author", "published", "in", "year", "with", "notes"};
+
+    /**
+     * Tests that the default coefficients give plausible estimates for prose, numbers and
+     * non-ASCII text, and that media parts are charged a fixed amount.
+     */
+    @Test
+    public void testDefaultEstimates() {
+        CalibratedTokenEstimator estimator = new CalibratedTokenEstimator();
+        int prose = estimator.estimateText(null, "The quick brown fox jumps over the lazy dog.");
+        assertTrue(prose >= 8 && prose <= 14, "prose estimate was " + prose);
+        assertEquals(10, estimator.estimateText(null, "1234567890"));
+        assertEquals(0, estimator.estimateText(null, "   \n\t"));
+        assertTrue(estimator.estimateText(null, "図書館の目録") >= 5);
+
+        Content image = Content.builder()
+                .withParts(List.of(Part.builder().withInlineData(new Blob("image/png", "AAAA")).build()))
+                .withRole("user")
+                .build();
+        assertEquals(CalibratedTokenEstimator.MEDIA_PART_TOKENS, estimator.estimate(null, image));
+
+        GenerateRequest request = request("gemini-1.5-flash", "Which shelf holds the atlas?");
+        assertEquals(estimator.estimateText(null, "You are a librarian.")
+                        + estimator.estimateText(null, "Which shelf holds the atlas?"),
+                estimator.estimate(null, request), 1);
+        assertTrue(estimator.estimate("{\"contents\":[{\"parts\":[{\"text\":\"Hi\"}]}]}") > 1);
+    }
+
+    /**
+     * Tests that observing the token counts of a tokenizer charging one token per three
+     * characters brings the estimates of that family within ten percent of the truth, while
+     * another family keeps the default coefficients.
+     */
+    @Test
+    public void testObservationsCalibrateOneFamily() {
+        CalibratedTokenEstimator estimator = new CalibratedTokenEstimator();
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            GenerateRequest request = request("models/gemini-1.5-flash-002", sentence(random));
+            estimator.observe(null, request, trueTokens(request));
+        }
+
+        assertEquals("gemini-1.5", CalibratedTokenEstimator.familyOf("models/gemini-1.5-flash-002"));
+        assertEquals(200, estimator.getSampleCount("models/gemini-1.5-pro"));
+        assertEquals(0, estimator.getSampleCount("models/gemini-2.0-flash"));
+        GenerateRequest probe = request("models/gemini-1.5-pro", sentence(random) + " " + sentence(random));
+        double error = Math.abs(estimator.estimate(null, probe) - trueTokens(probe)) / (double) trueTokens(probe);
+        assertTrue(error < 0.1, "relative error was " + error);
+        assertArrayEquals(new CalibratedTokenEstimator().getCoefficients(null),
+                estimator.getCoefficients("models/gemini-2.0-flash"));
+    }
+
+    private static GenerateRequest request(String model, String question) {
+        return GenerateRequestBuilder.builder()
+                .withModel(model)
+                .withSystemInstruction("You are a librarian.")
+                .withUserContent(question)
+                .build();
+    }
+
+    private static String sentence(Random random) {
+        StringBuilder sentence = new StringBuilder();
+        int words = 5 + random.nextInt(30);
+        for (int i = 0; i < words; i++) {
+            sentence.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            if (random.nextInt(8) == 0) {
+                sentence.append(random.nextInt(2000));
+            }
+        }
+        return sentence.append('.').toString();
+    }
+
+    private static long trueTokens(GenerateRequest request) {
+        long characters = request.getSystemInstruction().getParts().get(0).getText().length();
+        for (Content content : request.getContents()) {
+            characters += content.getParts().get(0).getText().length();
+        }
+        return (characters + 2) / 3;
+    }
+}
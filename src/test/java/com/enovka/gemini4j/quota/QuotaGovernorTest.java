@@ -0,0 +1,109 @@
+package com.enovka.gemini4j.quota;
+
+import com.enovka.gemini4j.infrastructure.quota.CharacterTokenEstimator;
+import com.enovka.gemini4j.infrastructure.quota.QuotaGovernor;
+import com.enovka.gemini4j.infrastructure.quota.QuotaReservation;
+import com.enovka.gemini4j.model.UsageMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link QuotaGovernor}. It verifies that token reservations are bounded by
+ * the tokens per minute quota, that reconciliation against the reported usage refunds or
+ * charges the difference to the estimate, and that requests are governed independently.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class QuotaGovernorTest {
+
+    /**
+     * Tests that reservations within the quota are granted immediately and that a reservation
+     * exceeding the remaining tokens has to wait.
+     */
+    @Test
+    public void testTokenReservationWaitsWhenQuotaIsExhausted() {
+        QuotaGovernor governor = new QuotaGovernor(0, 1000);
+        assertTrue(governor.reserveAsync(600).isDone());
+        assertTrue(governor.reserveAsync(400).isDone());
+
+        CompletableFuture<QuotaReservation> delayed = governor.reserveAsync(100);
+        assertFalse(delayed.isDone());
+        delayed.cancel(true);
+    }
+
+    /**
+     * Tests that reconciling an over-estimated reservation refunds the unused tokens.
+     */
+    @Test
+    public void testReconcileRefundsOverEstimate() {
+        QuotaGovernor governor = new QuotaGovernor(0, 1000);
+        QuotaReservation reservation = governor.reserve(800);
+        assertTrue(governor.getAvailableTokens() <= 200);
+
+        reservation.reconcile(UsageMetadata.builder()
+                .withPromptTokenCount(60)
+                .withCandidatesTokenCount(40)
+                .build());
+
+        assertTrue(reservation.isSettled());
+        assertTrue(governor.getAvailableTokens() >= 890);
+    }
+
+    /**
+     * Tests that reconciling an under-estimated reservation charges the extra tokens, and that
+     * a reservation is settled only once.
+     */
+    @Test
+    public void testReconcileChargesUnderEstimateOnce() {
+        QuotaGovernor governor = new QuotaGovernor(0, 1000);
+        QuotaReservation reservation = governor.reserve(100);
+
+        reservation.reconcile(UsageMetadata.builder().withTotalTokenCount(700).build());
+        reservation.release();
+
+        assertTrue(governor.getAvailableTokens() <= 310);
+    }
+
+    /**
+     * Tests that releasing a reservation refunds its tokens but not its request.
+     */
+    @Test
+    public void testReleaseRefundsTokensOnly() {
+        QuotaGovernor governor = new QuotaGovernor(2, 1000);
+        governor.reserve(500).release();
+        governor.reserve(500).release();
+
+        assertTrue(governor.getAvailableTokens() >= 990);
+        assertEquals(0, governor.getAvailableRequests());
+        assertFalse(governor.reserveAsync(1).isDone());
+    }
+
+    /**
+     * Tests that a non-blocking reservation is granted only while quota is available, and that
+     * a refused one consumes nothing.
+     */
+    @Test
+    public void testTryReserveRefusesWhenQuotaIsExhausted() {
+        QuotaGovernor governor = new QuotaGovernor(2, 1000);
+        assertNotNull(governor.tryReserve(700));
+        assertNull(governor.tryReserve(500));
+        assertEquals(1, governor.getAvailableRequests());
+
+        assertNotNull(governor.tryReserve(300));
+        assertNull(governor.tryReserve(0));
+    }
+
+    /**
+     * Tests that the character based estimator rounds up.
+     */
+    @Test
+    public void testCharacterTokenEstimator() {
+        CharacterTokenEstimator estimator = new CharacterTokenEstimator();
+        assertEquals(0, estimator.estimate(null));
+        assertEquals(3, estimator.estimate("123456789"));
+    }
+}
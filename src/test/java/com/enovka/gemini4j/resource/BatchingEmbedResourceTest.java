@@ -0,0 +1,136 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Part;
+import com.enovka.gemini4j.model.request.EmbedRequest;
+import com.enovka.gemini4j.model.response.EmbedResponse;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.impl.BatchingEmbedResourceImpl;
+import com.enovka.gemini4j.resource.impl.EmbedBatchPolicy;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link BatchingEmbedResourceImpl}. It uses a
+ * {@link RecordingEmbedResource} as the delegate, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class BatchingEmbedResourceTest {
+
+    private static final String MODEL = "models/text-embedding-004";
+
+    private RecordingEmbedResource delegate;
+
+    /**
+     * Creates the in-memory delegate.
+     */
+    @BeforeEach
+    public void setUp() {
+        GeminiClient geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .build();
+        delegate = new RecordingEmbedResource(geminiClient);
+    }
+
+    /**
+     * Tests that concurrent single requests are sent as one batch and that every caller gets
+     * its own embedding.
+     *
+     * @throws Exception If a request fails or times out.
+     */
+    @Test
+    public void testConcurrentRequestsAreCoalesced() throws Exception {
+        BatchingEmbedResourceImpl resource = new BatchingEmbedResourceImpl(delegate, EmbedBatchPolicy.builder()
+                .withMaxBatchSize(100)
+                .withMaxDelay(Duration.ofMillis(200))
+                .build());
+        ExecutorService executor = Executors.newFixedThreadPool(40);
+        try {
+            List<Future<EmbedResponse>> responses = new ArrayList<>();
+            for (int i = 1; i <= 40; i++) {
+                String text = "x".repeat(i);
+                responses.add(executor.submit(() -> resource.execute(request(text))));
+            }
+            for (int i = 1; i <= 40; i++) {
+                EmbedResponse response = responses.get(i - 1).get(5, TimeUnit.SECONDS);
+                assertEquals(List.of((double) i), response.getEmbedding().getValues());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(delegate.getBatches().size() <= 2);
+        assertEquals(40, delegate.getBatches().stream().mapToInt(batch -> batch.getRequests().size()).sum());
+        assertTrue(delegate.getBatches().stream().flatMap(batch -> batch.getRequests().stream())
+                .allMatch(request -> MODEL.equals(request.getModel())));
+    }
+
+    /**
+     * Tests that a full batch is sent at once, that the remainder is sent when the delay
+     * elapses, and that a request cancelled before dispatch is left out.
+     *
+     * @throws Exception If a request fails or times out.
+     */
+    @Test
+    public void testFullBatchIsSentImmediatelyAndCancelledRequestsAreDropped() throws Exception {
+        BatchingEmbedResourceImpl resource = new BatchingEmbedResourceImpl(delegate, EmbedBatchPolicy.builder()
+                .withMaxBatchSize(3)
+                .withMaxDelay(Duration.ofMillis(50))
+                .build());
+
+        List<AsyncResponse<EmbedResponse>> firstBatch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            firstBatch.add(resource.executeAsync(request("abc")));
+        }
+        assertEquals(1, delegate.getBatches().size());
+        assertEquals(0, resource.getQueuedRequests());
+
+        AsyncResponse<EmbedResponse> kept = resource.executeAsync(request("ab"));
+        AsyncResponse<EmbedResponse> cancelled = resource.executeAsync(request("a"));
+        cancelled.cancel(true);
+
+        assertEquals(List.of(2.0), kept.get(5, TimeUnit.SECONDS).getEmbedding().getValues());
+        for (AsyncResponse<EmbedResponse> response : firstBatch) {
+            assertEquals(List.of(3.0), response.get(5, TimeUnit.SECONDS).getEmbedding().getValues());
+        }
+        assertEquals(2, delegate.getBatches().size());
+        assertEquals(1, delegate.getBatches().get(1).getRequests().size());
+    }
+
+    /**
+     * Tests that a failed batch fails every request it contains.
+     */
+    @Test
+    public void testBatchFailureIsPropagatedToEveryCaller() {
+        delegate.setFailure(new ResourceException("quota exceeded"));
+        BatchingEmbedResourceImpl resource = new BatchingEmbedResourceImpl(delegate, EmbedBatchPolicy.builder()
+                .withMaxBatchSize(2)
+                .build());
+
+        AsyncResponse<EmbedResponse> first = resource.executeAsync(request("a"));
+        ResourceException exception = assertThrows(ResourceException.class, () -> resource.execute(request("b")));
+        assertEquals("quota exceeded", exception.getMessage());
+        assertTrue(first.isCompletedExceptionally());
+    }
+
+    private static EmbedRequest request(String text) {
+        return EmbedRequest.builder()
+                .withContent(Content.builder().withParts(List.of(Part.builder().withText(text).build())).build())
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.model.CacheResponse;
+import com.enovka.gemini4j.model.response.ListCacheResponse;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.CacheResource;
+import com.enovka.gemini4j.resource.spec.base.PrefetchingPageIterator;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for listing cached contents with the {@link CacheResource}. It uses WireMock, so
+ * no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class CacheResourceTest {
+
+    private WireMockServer wireMockServer;
+    private CacheResource cacheResource;
+
+    /**
+     * Starts the WireMock server with three pages of cached contents.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        stubPage(null, "page+2", "a", "b");
+        stubPage("page+2", "page+3", "c", "d");
+        stubPage("page+3", null, "e");
+        cacheResource = ResourceBuilder.builder(GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel("models/gemini-test")
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .build()).buildCachedContentResource();
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that a single page is requested with its size and token.
+     *
+     * @throws ResourceException If the request fails.
+     */
+    @Test
+    public void testListCachedContents() throws ResourceException {
+        ListCacheResponse first = cacheResource.listCachedContents(2, null);
+        ListCacheResponse second = cacheResource.listCachedContentsAsync(2, first.getNextPageToken()).join();
+
+        assertEquals(List.of("cachedContents/a", "cachedContents/b"), names(first.getCachedContents()));
+        assertEquals(List.of("cachedContents/c", "cachedContents/d"), names(second.getCachedContents()));
+        wireMockServer.verify(getRequestedFor(urlPathEqualTo("/cachedContents"))
+                .withQueryParam("pageSize", equalTo("2"))
+                .withQueryParam("pageToken", equalTo("page+2")));
+    }
+
+    /**
+     * Tests that the iterator requests the next page while the current one is consumed, and
+     * that the stream returns every cached content in order.
+     *
+     * @throws Exception If the wait is interrupted.
+     */
+    @Test
+    public void testIteratorPrefetchesNextPage() throws Exception {
+        PrefetchingPageIterator<ListCacheResponse, CacheResponse> iterator = cacheResource.iterateCachedContents(2);
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/cachedContents")));
+
+        assertEquals("cachedContents/a", iterator.next().getName());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (wireMockServer.findAll(getRequestedFor(urlPathEqualTo("/cachedContents"))).size() < 2
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/cachedContents")));
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/cachedContents"))
+                .withQueryParam("pageToken", equalTo("page+3")));
+
+        try (Stream<CacheResponse> stream = cacheResource.streamCachedContents(2)) {
+            assertEquals(List.of("cachedContents/a", "cachedContents/b", "cachedContents/c", "cachedContents/d",
+                    "cachedContents/e"), names(stream.collect(Collectors.toList())));
+        }
+    }
+
+    /**
+     * Tests that a failed page request is rethrown by the iterator.
+     */
+    @Test
+    public void testIteratorRethrowsFailures() {
+        wireMockServer.stubFor(get(urlPathEqualTo("/cachedContents"))
+                .withQueryParam("pageToken", equalTo("page+3"))
+                .willReturn(aResponse().withStatus(403).withBody("{\"error\":{\"code\":403}}")));
+        PrefetchingPageIterator<ListCacheResponse, CacheResponse> iterator = cacheResource.iterateCachedContents(2);
+        for (int i = 0; i < 4; i++) {
+            iterator.next();
+        }
+
+        CompletionException exception = assertThrows(CompletionException.class, iterator::hasNext);
+        assertNotNull(exception.getCause());
+    }
+
+    private void stubPage(String token, String nextToken, String... ids) {
+        String items = Stream.of(ids)
+                .map(id -> "{\"name\":\"cachedContents/" + id + "\",\"model\":\"models/gemini-test\"}")
+                .collect(Collectors.joining(","));
+        String body = "{\"cachedContents\":[" + items + "]"
+                + (nextToken != null ? ",\"nextPageToken\":\"" + nextToken + "\"" : "") + "}";
+        wireMockServer.stubFor(get(urlPathEqualTo("/cachedContents"))
+                .withQueryParam("pageToken", token != null ? equalTo(token) : absent())
+                .willReturn(okJson(body).withFixedDelay(100)));
+    }
+
+    private static List<String> names(List<CacheResponse> responses) {
+        return responses.stream().map(CacheResponse::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,383 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.http.spec.StreamCallback;
+import com.enovka.gemini4j.infrastructure.tool.ConversationHistoryPolicy;
+import com.enovka.gemini4j.model.CacheContent;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.model.response.internal.GenerateContentResponse;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.builder.request.CacheRequestBuilder;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import com.enovka.gemini4j.resource.context.ContextCacheConfig;
+import com.enovka.gemini4j.resource.context.ContextCacheManager;
+import com.enovka.gemini4j.resource.context.ContextCacheStats;
+import com.enovka.gemini4j.resource.context.ConversationCacheConfig;
+import com.enovka.gemini4j.resource.spec.GenerateResource;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link ContextCacheManager}. It uses WireMock, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ContextCacheManagerTest {
+
+    private static final String MODEL = "models/gemini-test";
+    private static final String RESPONSE = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"answer\"}],"
+            + "\"role\":\"model\"},\"finishReason\":\"STOP\"}]}";
+
+    private WireMockServer wireMockServer;
+    private GeminiClient geminiClient;
+
+    /**
+     * Starts the WireMock server and stubs the generation and cached content endpoints.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlPathMatching(".*generateContent"))
+                .willReturn(okJson(RESPONSE)));
+        wireMockServer.stubFor(post(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(containing("Library catalogue"))
+                .willReturn(okJson("{\"name\":\"cachedContents/library\",\"model\":\"" + MODEL + "\"}")
+                        .withFixedDelay(200)));
+        wireMockServer.stubFor(post(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(containing("Museum catalogue"))
+                .willReturn(okJson("{\"name\":\"cachedContents/museum\",\"model\":\"" + MODEL + "\"}")));
+        wireMockServer.stubFor(patch(urlPathMatching("/cachedContents/.*"))
+                .willReturn(okJson("{\"name\":\"cachedContents/library\",\"model\":\"" + MODEL + "\"}")));
+        wireMockServer.stubFor(delete(urlPathMatching("/cachedContents/.*"))
+                .willReturn(okJson("{}")));
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .build();
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that concurrent requests starting with a registered prefix share a single cached
+     * content and are sent without the prefix, while other requests are sent unchanged.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testMatchingRequestsReuseOneCachedContent() throws Exception {
+        ContextCacheManager manager = ResourceBuilder.builder(geminiClient)
+                .buildContextCacheManager(ContextCacheConfig.defaults());
+        manager.register(prefix("Library catalogue"));
+        GenerateResource resource = ResourceBuilder.builder(geminiClient).buildGenerationResource(manager);
+
+        List<CompletableFuture<?>> responses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            responses.add(resource.executeAsync(request("Library catalogue", "Which shelf holds book " + i + "?")));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get();
+        resource.execute(request("Unrelated catalogue", "Which shelf?"));
+
+        wireMockServer.verify(1, postRequestedFor(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(matchingJsonPath("$.ttl", equalTo("3600s")))
+                .withRequestBody(matchingJsonPath("$.systemInstruction")));
+        List<LoggedRequest> generated = wireMockServer.findAll(postRequestedFor(urlPathMatching(".*generateContent")));
+        assertEquals(6, generated.size());
+        long rewritten = generated.stream()
+                .map(LoggedRequest::getBodyAsString)
+                .filter(body -> body.contains("\"cachedContent\":\"cachedContents/library\""))
+                .peek(body -> assertFalse(body.contains("systemInstruction")))
+                .peek(body -> assertFalse(body.contains("Library catalogue")))
+                .count();
+        assertEquals(5, rewritten);
+
+        ContextCacheStats stats = manager.getStats();
+        assertEquals(5, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getCreations());
+    }
+
+    /**
+     * Tests that a request is sent in full when its cached content cannot be created, and that
+     * the creation is not attempted again before the retry backoff has elapsed.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testFailedCreationSendsRequestInFull() throws Exception {
+        wireMockServer.stubFor(post(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(containing("Broken catalogue"))
+                .willReturn(aResponse().withStatus(400).withBody("{\"error\":{\"code\":400}}")));
+        ContextCacheManager manager = ResourceBuilder.builder(geminiClient)
+                .buildContextCacheManager(ContextCacheConfig.defaults());
+        manager.register(prefix("Broken catalogue"));
+
+        GenerateRequest applied = manager.apply(request("Broken catalogue", "Which shelf?"));
+
+        assertNull(applied.getCachedContent());
+        assertNotNull(applied.getSystemInstruction());
+        assertEquals(3, applied.getContents().size());
+        ResourceBuilder.builder(geminiClient).buildGenerationResource(manager)
+                .execute(request("Broken catalogue", "Which shelf?"));
+        wireMockServer.verify(postRequestedFor(urlPathMatching(".*generateContent"))
+                .withRequestBody(containing("Broken catalogue")));
+        assertNull(manager.apply(request("Broken catalogue", "Which floor?")).getCachedContent());
+        wireMockServer.verify(1, postRequestedFor(urlPathEqualTo("/cachedContents")));
+
+        ContextCacheManager retrying = ResourceBuilder.builder(geminiClient)
+                .buildContextCacheManager(ContextCacheConfig.builder()
+                        .withCreationRetryBackoff(Duration.ZERO)
+                        .build());
+        retrying.register(prefix("Broken catalogue"));
+        retrying.apply(request("Broken catalogue", "Which shelf?"));
+        retrying.apply(request("Broken catalogue", "Which floor?"));
+        wireMockServer.verify(3, postRequestedFor(urlPathEqualTo("/cachedContents")));
+    }
+
+    /**
+     * Tests that cancelling a response sent through the context cache manager cancels the
+     * request sent once the cached content was ready.
+     *
+     * @throws Exception If the thread is interrupted.
+     */
+    @Test
+    public void testCancellationReachesRequestSentWithCachedContent() throws Exception {
+        wireMockServer.stubFor(post(urlPathMatching(".*streamGenerateContent"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "text/event-stream")
+                        .withBody("data: " + RESPONSE + "\n\n")
+                        .withFixedDelay(5000)));
+        ContextCacheManager manager = ResourceBuilder.builder(geminiClient)
+                .buildContextCacheManager(ContextCacheConfig.defaults());
+        manager.register(prefix("Library catalogue"));
+        GenerateResource resource = ResourceBuilder.builder(geminiClient).buildGenerationResource(manager);
+        CountDownLatch canceled = new CountDownLatch(1);
+
+        CompletableFuture<?> response = resource.executeStream(request("Library catalogue", "Which shelf?"),
+                new StreamCallback<>() {
+                    @Override
+                    public void onNext(GenerateContentResponse element) {
+                    }
+
+                    @Override
+                    public void onError(Throwable exception) {
+                    }
+
+                    @Override
+                    public void onCanceled() {
+                        canceled.countDown();
+                    }
+                });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (wireMockServer.findAll(postRequestedFor(urlPathMatching(".*streamGenerateContent"))).isEmpty()
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        wireMockServer.verify(1, postRequestedFor(urlPathMatching(".*streamGenerateContent"))
+                .withRequestBody(containing("\"cachedContent\":\"cachedContents/library\"")));
+
+        assertTrue(response.cancel(true));
+        assertTrue(canceled.await(2, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that a cached content whose prefix is removed while it is being created is
+     * deleted, and that the request waiting for it is sent in full.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testCachedContentOfRemovedPrefixIsDeleted() throws Exception {
+        ContextCacheManager manager = ResourceBuilder.builder(geminiClient)
+                .buildContextCacheManager(ContextCacheConfig.defaults());
+        manager.register(prefix("Library catalogue"));
+
+        CompletableFuture<GenerateRequest> applied = manager.applyAsync(request("Library catalogue", "Which shelf?"));
+        manager.unregister(prefix("Library catalogue"));
+
+        assertNull(applied.get(5, TimeUnit.SECONDS).getCachedContent());
+        awaitDeletion("/cachedContents/library");
+    }
+
+    /**
+     * Tests that a used cached content is refreshed before it expires, that the least recently
+     * used prefix is evicted and deleted, and that closing the manager deletes the rest.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testRefreshEvictionAndClose() throws Exception {
+        ContextCacheManager manager = ResourceBuilder.builder(geminiClient)
+                .buildContextCacheManager(ContextCacheConfig.builder()
+                        .withTtl(Duration.ofSeconds(4))
+                        .withRefreshBefore(Duration.ofSeconds(2))
+                        .withMaxEntries(1)
+                        .build());
+
+        assertEquals("cachedContents/library", manager.acquire(prefix("Library catalogue")));
+        assertEquals("cachedContents/library",
+                manager.apply(request("Library catalogue", "Which shelf?")).getCachedContent());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (manager.getStats().getRefreshes() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        wireMockServer.verify(1, patchRequestedFor(urlPathEqualTo("/cachedContents/library"))
+                .withQueryParam("updateMask", equalTo("ttl"))
+                .withRequestBody(matchingJsonPath("$.ttl", equalTo("4s"))));
+        assertEquals(1, manager.getStats().getRefreshes());
+
+        assertEquals("cachedContents/museum", manager.acquire(prefix("Museum catalogue")));
+        wireMockServer.verify(1, deleteRequestedFor(urlPathEqualTo("/cachedContents/library")));
+        assertEquals(1, manager.getStats().getEvictions());
+        assertNull(manager.apply(request("Library catalogue", "Which shelf?")).getCachedContent());
+
+        manager.close();
+        wireMockServer.verify(1, deleteRequestedFor(urlPathEqualTo("/cachedContents/museum")));
+    }
+
+    /**
+     * Tests that a long conversation is promoted to a cached content, that later turns send
+     * only the turns added since, and that the cached content is re-based as the history
+     * grows and deleted when caching is disabled.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testConversationIsPromotedAndRebased() throws Exception {
+        wireMockServer.stubFor(post(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(containing("question 0"))
+                .willReturn(okJson("{\"name\":\"cachedContents/conversation\",\"model\":\"" + MODEL + "\"}")));
+        wireMockServer.stubFor(post(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(containing("question 2"))
+                .willReturn(okJson("{\"name\":\"cachedContents/rebased\",\"model\":\"" + MODEL + "\"}")));
+        ContextCacheManager manager = ResourceBuilder.builder(geminiClient)
+                .buildContextCacheManager(ContextCacheConfig.defaults());
+        GenerateResource resource = ResourceBuilder.builder(geminiClient).buildGenerationResource(manager);
+        resource.enableMultiTurnConversation(true);
+        resource.setConversationHistoryPolicy(ConversationHistoryPolicy.builder()
+                .withTokenCounter(content -> 10)
+                .build());
+        resource.setConversationCaching(ConversationCacheConfig.builder()
+                .withPromotionThresholdTokens(20)
+                .withRebaseThresholdTokens(30)
+                .build());
+
+        for (int i = 0; i < 4; i++) {
+            resource.execute(GenerateRequestBuilder.builder().withModel(MODEL)
+                    .withUserContent("question " + i).build());
+        }
+
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo("/cachedContents")));
+        wireMockServer.verify(postRequestedFor(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(matchingJsonPath("$.contents.length()", equalTo("2"))));
+        wireMockServer.verify(postRequestedFor(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(matchingJsonPath("$.contents.length()", equalTo("6"))));
+        List<String> generated = wireMockServer.findAll(postRequestedFor(urlPathMatching(".*generateContent")))
+                .stream().map(LoggedRequest::getBodyAsString).collect(Collectors.toList());
+        assertEquals(4, generated.size());
+        assertFalse(generated.get(0).contains("cachedContent"));
+        assertTrue(generated.get(1).contains("\"cachedContent\":\"cachedContents/conversation\""));
+        assertFalse(generated.get(1).contains("question 0"));
+        assertTrue(generated.get(2).contains("\"cachedContent\":\"cachedContents/conversation\""));
+        assertTrue(generated.get(2).contains("question 1"));
+        assertTrue(generated.get(3).contains("\"cachedContent\":\"cachedContents/rebased\""));
+        assertFalse(generated.get(3).contains("question 2"));
+        awaitDeletion("/cachedContents/conversation");
+
+        resource.setConversationCaching(null);
+        awaitDeletion("/cachedContents/rebased");
+        assertThrows(IllegalStateException.class, () -> ResourceBuilder.builder(geminiClient)
+                .buildGenerationResource().setConversationCaching(ConversationCacheConfig.defaults()));
+    }
+
+    /**
+     * Tests that a conversation running past its turn limit re-bases its cached content once
+     * per batch of evicted turns, rather than on every turn once the history slides.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testLongConversationRebasesOncePerEvictedBatch() throws Exception {
+        wireMockServer.stubFor(post(urlPathEqualTo("/cachedContents"))
+                .withRequestBody(containing("question"))
+                .willReturn(okJson("{\"name\":\"cachedContents/conversation\",\"model\":\"" + MODEL + "\"}")));
+        ContextCacheManager manager = ResourceBuilder.builder(geminiClient)
+                .buildContextCacheManager(ContextCacheConfig.defaults());
+        GenerateResource resource = ResourceBuilder.builder(geminiClient).buildGenerationResource(manager);
+        resource.enableMultiTurnConversation(true);
+        resource.setConversationHistoryPolicy(ConversationHistoryPolicy.builder()
+                .withMaxTurns(4)
+                .withEvictionTarget(0.5)
+                .withTokenCounter(content -> 10)
+                .build());
+        resource.setConversationCaching(ConversationCacheConfig.builder()
+                .withPromotionThresholdTokens(20)
+                .withRebaseThresholdTokens(1000)
+                .build());
+
+        for (int i = 0; i < 12; i++) {
+            resource.execute(GenerateRequestBuilder.builder().withModel(MODEL)
+                    .withUserContent("question " + i).build());
+        }
+
+        int creations = wireMockServer.findAll(postRequestedFor(urlPathEqualTo("/cachedContents"))).size();
+        assertTrue(creations <= 4, creations + " cached contents created");
+        resource.setConversationCaching(null);
+        manager.close();
+    }
+
+    private void awaitDeletion(String path) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (wireMockServer.findAll(deleteRequestedFor(urlPathEqualTo(path))).isEmpty()
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        wireMockServer.verify(1, deleteRequestedFor(urlPathEqualTo(path)));
+    }
+
+    private CacheContent prefix(String catalogue) {
+        return CacheRequestBuilder.builder()
+                .withModel(MODEL)
+                .withSystemInstruction("You are a librarian.")
+                .withTextContent(catalogue, "user")
+                .withTextContent("Noted.", "model")
+                .build()
+                .getCacheContent();
+    }
+
+    private GenerateRequest request(String catalogue, String question) {
+        return GenerateRequestBuilder.builder()
+                .withModel(MODEL)
+                .withSystemInstruction("You are a librarian.")
+                .withTextContent(catalogue, "user")
+                .withTextContent("Noted.", "model")
+                .withUserContent(question)
+                .build();
+    }
+}
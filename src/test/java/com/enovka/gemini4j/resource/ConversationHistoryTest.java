@@ -0,0 +1,168 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.conversation.InMemoryConversationStore;
+import com.enovka.gemini4j.infrastructure.tool.ConversationHistoryPolicy;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Part;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import com.enovka.gemini4j.resource.conversation.ConversationSessionManager;
+import com.enovka.gemini4j.resource.conversation.GenerateConversationSummarizer;
+import com.enovka.gemini4j.resource.spec.GenerateResource;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the bounded conversation history of a {@link GenerateResource}. It uses
+ * WireMock, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ConversationHistoryTest {
+
+    private static final String MODEL = "models/gemini-test";
+    private static final String ENDPOINT = "/" + MODEL + ":generateContent";
+
+    private WireMockServer wireMockServer;
+    private GeminiClient geminiClient;
+
+    /**
+     * Starts the WireMock server, answering summarization requests with a summary and every
+     * other request with an answer.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlPathEqualTo(ENDPOINT))
+                .willReturn(okJson(response("answer"))));
+        wireMockServer.stubFor(post(urlPathEqualTo(ENDPOINT))
+                .withRequestBody(containing("Summarize the conversation transcript"))
+                .willReturn(okJson(response("the reader asked about atlases"))));
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .build();
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that requests carry the pinned system instruction, the summary and a bounded
+     * window of turns, whatever the length of the session.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testRequestsCarryABoundedHistory() throws Exception {
+        ResourceBuilder resourceBuilder = ResourceBuilder.builder(geminiClient);
+        GenerateResource resource = resourceBuilder.buildGenerationResource();
+        resource.enableMultiTurnConversation(true);
+        resource.setConversationHistoryPolicy(ConversationHistoryPolicy.builder()
+                .withMaxTurns(2)
+                .withEvictionTarget(1.0)
+                .withSummarizer(resourceBuilder.buildConversationSummarizer())
+                .build());
+        resource.getMultiTurnConversation().setSystemInstruction(Content.builder()
+                .withParts(List.of(Part.builder().withText("You are a librarian.").build()))
+                .build());
+
+        for (int i = 0; i < 6; i++) {
+            if (i % 2 == 0) {
+                resource.execute(request("question " + i));
+            } else {
+                resource.executeAsync(request("question " + i)).get(5, TimeUnit.SECONDS);
+            }
+            resource.getMultiTurnConversation().awaitSummaries().get(5, TimeUnit.SECONDS);
+        }
+        resource.execute(request("last question"));
+
+        wireMockServer.verify(postRequestedFor(urlPathEqualTo(ENDPOINT))
+                .withRequestBody(matchingJsonPath("$.contents.length()", equalTo("6")))
+                .withRequestBody(matchingJsonPath("$.contents[0].parts[0].text",
+                        equalTo(GenerateConversationSummarizer.SUMMARY_PREFIX + "the reader asked about atlases")))
+                .withRequestBody(matchingJsonPath("$.contents[1].parts[0].text", equalTo("question 4")))
+                .withRequestBody(matchingJsonPath("$.contents[5].parts[0].text", equalTo("last question")))
+                .withRequestBody(matchingJsonPath("$.systemInstruction.parts[0].text",
+                        equalTo("You are a librarian."))));
+        wireMockServer.verify(0, postRequestedFor(urlPathEqualTo(ENDPOINT))
+                .withRequestBody(matchingJsonPath("$.contents.length()", equalTo("8"))));
+        assertEquals(5, resource.getConversationHistory().size());
+    }
+
+    /**
+     * Tests that the history is left untouched when multi-turn conversation is disabled.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testDisabledConversationSendsRequestsAsGiven() throws Exception {
+        GenerateResource resource = ResourceBuilder.builder(geminiClient).buildGenerationResource();
+
+        resource.execute(request("question 0"));
+        resource.execute(request("question 1"));
+
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo(ENDPOINT))
+                .withRequestBody(matchingJsonPath("$.contents.length()", equalTo("1"))));
+        assertTrue(resource.getConversationHistory().isEmpty());
+    }
+
+    /**
+     * Tests that a single resource serves several sessions, each request carrying the history
+     * of its own session only.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testSessionsShareOneResource() throws Exception {
+        ConversationSessionManager sessions = ResourceBuilder.builder(geminiClient)
+                .buildConversationSessionManager(new InMemoryConversationStore());
+
+        sessions.executeView("alice", request("alice question 0"));
+        sessions.executeViewAsync("bob", request("bob question 0")).get(5, TimeUnit.SECONDS);
+        sessions.executeViewAsync("alice", request("alice question 1")).get(5, TimeUnit.SECONDS);
+        sessions.executeView("bob", request("bob question 1"));
+
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo(ENDPOINT))
+                .withRequestBody(matchingJsonPath("$.contents.length()", equalTo("3"))));
+        wireMockServer.verify(postRequestedFor(urlPathEqualTo(ENDPOINT))
+                .withRequestBody(matchingJsonPath("$.contents[0].parts[0].text", equalTo("bob question 0")))
+                .withRequestBody(matchingJsonPath("$.contents[2].parts[0].text", equalTo("bob question 1"))));
+        assertEquals(4, sessions.getConversation("alice").getConversationHistory().size());
+        sessions.endSession("alice");
+        assertEquals(1, sessions.getConversationStore().size());
+        assertThrows(IllegalArgumentException.class, () -> {
+            GenerateResource tracking = ResourceBuilder.builder(geminiClient).buildGenerationResource();
+            tracking.enableMultiTurnConversation(true);
+            new ConversationSessionManager(tracking, new InMemoryConversationStore());
+        });
+    }
+
+    private static GenerateRequest request(String question) {
+        return GenerateRequestBuilder.builder().withModel(MODEL).withUserContent(question).build();
+    }
+
+    private static String response(String text) {
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}],\"role\":\"model\"}}]}";
+    }
+}
@@ -0,0 +1,277 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.cache.InMemoryResponseCache;
+import com.enovka.gemini4j.infrastructure.cache.ResponseCachePolicy;
+import com.enovka.gemini4j.infrastructure.tool.LargeStringSplitter;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.pipeline.DocumentPipeline;
+import com.enovka.gemini4j.resource.pipeline.DocumentPipelineConfig;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link DocumentPipeline}. It uses WireMock, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class DocumentPipelineTest {
+
+    private static final String MODEL = "models/gemini-test";
+    private static final int DELAY_MILLIS = 150;
+
+    private WireMockServer wireMockServer;
+    private GeminiClient geminiClient;
+
+    /**
+     * Starts the WireMock server, answering every generation request with a short summary
+     * after a fixed delay.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlPathEqualTo("/" + MODEL + ":generateContent"))
+                .willReturn(okJson("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"summary\"}],"
+                        + "\"role\":\"model\"}}]}").withFixedDelay(DELAY_MILLIS)));
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .build();
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that a document larger than the chunk budget is mapped in parallel, within the
+     * concurrency bound, and reduced stage after stage into a single result.
+     *
+     * @throws Exception If the run fails.
+     */
+    @Test
+    public void testMapReduceWithinConcurrencyBound() throws Exception {
+        DocumentPipeline pipeline = ResourceBuilder.builder(geminiClient).buildDocumentPipeline(
+                DocumentPipelineConfig.builder()
+                        .withChunkTokens(60)
+                        .withMaxConcurrency(2)
+                        .withReduceFanIn(3)
+                        .build());
+        Map<Integer, Integer> totals = new ConcurrentHashMap<>();
+        Map<Integer, Integer> completed = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        String result = pipeline.executeAsync(document(12), (stage, done, total) -> {
+            totals.put(stage, total);
+            completed.merge(stage, 1, Integer::sum);
+        }).get(30, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("summary", result);
+        int chunks = totals.get(0);
+        assertTrue(chunks >= 4, "the document was split into " + chunks + " chunks");
+        assertTrue(totals.size() >= 2, "there were " + (totals.size() - 1) + " reduce stages");
+        assertEquals(totals, completed);
+        assertEquals(1, totals.get(totals.size() - 1));
+        int requests = totals.values().stream().mapToInt(Integer::intValue).sum();
+        wireMockServer.verify(requests, postRequestedFor(urlPathEqualTo("/" + MODEL + ":generateContent")));
+        wireMockServer.verify(1, postRequestedFor(urlPathEqualTo("/" + MODEL + ":generateContent"))
+                .withRequestBody(containing("Paragraph 0 ")));
+
+        int sequentialLatencies = 0;
+        for (int total : totals.values()) {
+            sequentialLatencies += (total + 1) / 2;
+        }
+        assertTrue(elapsedMillis >= (long) sequentialLatencies * DELAY_MILLIS - 50,
+                "more than two requests were in flight, the run took " + elapsedMillis + " ms");
+    }
+
+    /**
+     * Tests that requests answered from the response cache, which complete immediately, do not
+     * launch the next request recursively on the stack of the completed one.
+     *
+     * @throws Exception If the run fails.
+     */
+    @Test
+    public void testCachedResponsesDoNotRecurse() throws Exception {
+        GeminiClient cachingClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .withResponseCachePolicy(ResponseCachePolicy.of(
+                        new InMemoryResponseCache(1024 * 1024, Duration.ofMinutes(5))))
+                .build();
+        DocumentPipeline pipeline = ResourceBuilder.builder(cachingClient).buildDocumentPipeline(
+                DocumentPipelineConfig.builder()
+                        .withChunkTokens(60)
+                        .withMaxConcurrency(1)
+                        .withTemperature(0.0)
+                        .build());
+        StringBuilder document = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            document.append("Every paragraph describes the same shelf of the library.\n\n");
+        }
+        int[] maxDepth = new int[1];
+
+        String result = pipeline.executeAsync(document.toString(), (stage, done, total) -> {
+            synchronized (maxDepth) {
+                maxDepth[0] = Math.max(maxDepth[0], Thread.currentThread().getStackTrace().length);
+            }
+        }).get(30, TimeUnit.SECONDS);
+
+        assertEquals("summary", result);
+        assertTrue(maxDepth[0] < 400, "the stack grew to " + maxDepth[0] + " frames");
+    }
+
+    /**
+     * Tests that a document fitting a single chunk is processed with one request and no
+     * reduce stage, and that an empty document sends no request.
+     *
+     * @throws Exception If the run fails.
+     */
+    @Test
+    public void testSmallDocumentsSkipTheReduceStages() throws Exception {
+        DocumentPipeline pipeline = ResourceBuilder.builder(geminiClient)
+                .buildDocumentPipeline(DocumentPipelineConfig.builder().withChunkTokens(1000).build());
+
+        assertEquals("summary", pipeline.execute(document(2)));
+        assertEquals("", pipeline.execute(""));
+        wireMockServer.verify(1, postRequestedFor(urlPathMatching(".*generateContent")));
+    }
+
+    /**
+     * Tests that cancelling a run sends no further request.
+     *
+     * @throws Exception If the test is interrupted.
+     */
+    @Test
+    public void testCancelStopsSendingRequests() throws Exception {
+        DocumentPipeline pipeline = ResourceBuilder.builder(geminiClient).buildDocumentPipeline(
+                DocumentPipelineConfig.builder().withChunkTokens(60).withMaxConcurrency(2).build());
+
+        AsyncResponse<String> response = pipeline.executeAsync(document(12), null);
+        Thread.sleep(DELAY_MILLIS / 3);
+        response.cancel(true);
+        Thread.sleep(DELAY_MILLIS * 3);
+
+        assertTrue(response.isCancelled());
+        wireMockServer.verify(2, postRequestedFor(urlPathMatching(".*generateContent")));
+    }
+
+    /**
+     * Tests that a document file is split while it is read, and that the map stage reports its
+     * total once the last chunk has been read.
+     *
+     * @param directory A temporary directory.
+     * @throws Exception If the run fails.
+     */
+    @Test
+    public void testDocumentFileIsStreamed(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("catalogue.txt");
+        Files.writeString(file, document(12));
+        DocumentPipeline pipeline = ResourceBuilder.builder(geminiClient).buildDocumentPipeline(
+                DocumentPipelineConfig.builder().withChunkTokens(80).withMaxConcurrency(3).build());
+        Map<Integer, Integer> totals = new ConcurrentHashMap<>();
+
+        String result = pipeline.executeAsync(file, StandardCharsets.UTF_8,
+                (stage, done, total) -> totals.merge(stage, total, Math::max)).get(30, TimeUnit.SECONDS);
+
+        assertEquals("summary", result);
+        assertTrue(totals.get(0) > 1, "the document was split into " + totals.get(0) + " chunks");
+        wireMockServer.verify(1, postRequestedFor(urlPathMatching(".*generateContent"))
+                .withRequestBody(containing("Paragraph 11 ")));
+        ExecutionException missing = assertThrows(ExecutionException.class, () -> pipeline.executeAsync(
+                directory.resolve("missing.txt"), StandardCharsets.UTF_8, null).get());
+        assertInstanceOf(ResourceException.class, missing.getCause());
+    }
+
+    /**
+     * Tests that a document reader is only read on the executor of the configuration, never on
+     * the thread starting the run.
+     *
+     * @throws Exception If the run fails.
+     */
+    @Test
+    public void testReaderIsReadOnTheExecutor() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "pipeline-executor"));
+        Set<String> readers = ConcurrentHashMap.newKeySet();
+        Reader reader = new FilterReader(new StringReader(document(12))) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                readers.add(Thread.currentThread().getName());
+                return super.read(buffer, offset, length);
+            }
+        };
+        try {
+            DocumentPipeline pipeline = ResourceBuilder.builder(geminiClient).buildDocumentPipeline(
+                    DocumentPipelineConfig.builder().withChunkTokens(80).withMaxConcurrency(3)
+                            .withExecutor(executor).build());
+
+            assertEquals("summary", pipeline.executeAsync(reader, null).get(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(Set.of("pipeline-executor"), readers);
+    }
+
+    /**
+     * Tests that the token splitter keeps every chunk within the budget, prefers paragraph
+     * boundaries and loses no text.
+     */
+    @Test
+    public void testSplitByTokensRespectsTheBudget() {
+        String document = document(12);
+        List<String> chunks = LargeStringSplitter.splitByTokens(document, 100, text -> (text.length() + 3) / 4);
+
+        assertTrue(chunks.size() > 1);
+        assertEquals(document, String.join("", chunks));
+        for (String chunk : chunks) {
+            assertTrue((chunk.length() + 3) / 4 <= 100, "chunk of " + chunk.length() + " characters");
+        }
+        assertTrue(chunks.get(0).endsWith("\n\n"));
+    }
+
+    private static String document(int paragraphs) {
+        StringBuilder document = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            document.append("Paragraph ").append(i)
+                    .append(" describes the shelves of the library, the atlases they hold and the ")
+                    .append("catalogue numbers of every volume kept in the northern reading room.\n\n");
+        }
+        return document.toString();
+    }
+}
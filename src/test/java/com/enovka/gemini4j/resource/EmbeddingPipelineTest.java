@@ -0,0 +1,137 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.tool.ChunkingConfig;
+import com.enovka.gemini4j.infrastructure.tool.LargeStringSplitter;
+import com.enovka.gemini4j.infrastructure.tool.TextChunkIterator;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.pipeline.EmbeddingPipeline;
+import com.enovka.gemini4j.resource.pipeline.EmbeddingPipelineConfig;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link EmbeddingPipeline}. It uses WireMock, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class EmbeddingPipelineTest {
+
+    private static final String MODEL = "models/text-embedding-004";
+
+    private WireMockServer wireMockServer;
+    private GeminiClient geminiClient;
+
+    /**
+     * Starts the WireMock server, answering every batch with two embeddings.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlPathEqualTo("/" + MODEL + ":batchEmbedContents"))
+                .willReturn(okJson("{\"embeddings\":[{\"values\":[1.0,0.0]},{\"values\":[0.0,1.0]}]}")));
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .build();
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that streamed chunks are embedded in batches and handed to the consumer with
+     * their position.
+     *
+     * @throws Exception If the run fails.
+     */
+    @Test
+    public void testStreamedChunksAreEmbeddedInBatches() throws Exception {
+        EmbeddingPipeline pipeline = ResourceBuilder.builder(geminiClient).buildEmbeddingPipeline(
+                EmbeddingPipelineConfig.builder().withBatchSize(2).withMaxConcurrency(2).build());
+        TextChunkIterator chunks = LargeStringSplitter.chunks(text(8),
+                ChunkingConfig.builder().withMaxChunkChars(40).build());
+        Map<Long, String> embedded = new ConcurrentHashMap<>();
+
+        long count = pipeline.execute(chunks, (index, chunk, embedding) -> {
+            assertEquals(2, embedding.getValues().size());
+            assertNull(embedded.put(index, chunk));
+        });
+
+        assertEquals(8, count);
+        assertEquals(8, embedded.size());
+        for (long i = 0; i < 8; i++) {
+            assertEquals("Shelf " + i + " holds atlases.\n\n", embedded.get(i));
+        }
+        wireMockServer.verify(4, postRequestedFor(urlPathEqualTo("/" + MODEL + ":batchEmbedContents"))
+                .withRequestBody(matchingJsonPath("$.requests[1].taskType", equalTo("RETRIEVAL_DOCUMENT"))));
+        assertFalse(chunks.hasNext());
+    }
+
+    /**
+     * Tests that the batches following the first ones are read and sent on the configured
+     * executor rather than on the threads completing the batches.
+     *
+     * @throws Exception If the run fails.
+     */
+    @Test
+    public void testNextBatchesAreLaunchedOnTheExecutor() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        EmbeddingPipeline pipeline = ResourceBuilder.builder(geminiClient).buildEmbeddingPipeline(
+                EmbeddingPipelineConfig.builder()
+                        .withBatchSize(2)
+                        .withMaxConcurrency(1)
+                        .withExecutor(command -> {
+                            executions.incrementAndGet();
+                            ForkJoinPool.commonPool().execute(command);
+                        })
+                        .build());
+
+        long count = pipeline.execute(LargeStringSplitter.chunks(text(8),
+                ChunkingConfig.builder().withMaxChunkChars(40).build()), (index, chunk, embedding) -> { });
+
+        assertEquals(8, count);
+        assertEquals(4, executions.get());
+    }
+
+    /**
+     * Tests that a batch answered with the wrong number of embeddings fails the run.
+     */
+    @Test
+    public void testMissingEmbeddingsFailTheRun() {
+        EmbeddingPipeline pipeline = ResourceBuilder.builder(geminiClient).buildEmbeddingPipeline(
+                EmbeddingPipelineConfig.builder().withBatchSize(3).build());
+
+        assertThrows(ResourceException.class, () -> pipeline.execute(LargeStringSplitter.chunks(text(3),
+                ChunkingConfig.builder().withMaxChunkChars(40).build()), (index, chunk, embedding) -> { }));
+    }
+
+    private static String text(int shelves) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < shelves; i++) {
+            text.append("Shelf ").append(i).append(" holds atlases.\n\n");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,165 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.model.Model;
+import com.enovka.gemini4j.model.type.SupportedModelMethod;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.builder.request.EmbedRequestBuilder;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.registry.ModelRegistry;
+import com.enovka.gemini4j.resource.registry.ModelRegistryConfig;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link ModelRegistry}. It uses WireMock, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ModelRegistryTest {
+
+    private static final String MODEL = "models/gemini-test";
+
+    private WireMockServer wireMockServer;
+    private GeminiClient geminiClient;
+
+    /**
+     * Starts the WireMock server with two pages of models.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        stubPage(null, "page-2", 0, model(MODEL, "generateContent", "countTokens"));
+        stubPage("page-2", null, 0, model("models/embedding-test", "embedContent"));
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .build();
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that concurrent first reads load every page once and that later lookups are served
+     * from memory.
+     *
+     * @throws Exception If a lookup fails.
+     */
+    @Test
+    public void testLoadsEveryPageOnce() throws Exception {
+        ModelRegistry registry = ResourceBuilder.builder(geminiClient)
+                .buildModelRegistry(ModelRegistryConfig.builder().withPageSize(1).build());
+
+        List<CompletableFuture<Model>> lookups = List.of(
+                CompletableFuture.supplyAsync(() -> lookup(registry, MODEL)),
+                CompletableFuture.supplyAsync(() -> lookup(registry, "embedding-test")));
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).get();
+
+        assertEquals(MODEL, lookups.get(0).get().getName());
+        assertEquals("models/embedding-test", lookups.get(1).get().getName());
+        assertEquals(List.of(MODEL, "models/embedding-test"), names(registry.getModels()));
+        assertThrows(ResourceException.class, () -> registry.getModel("models/unknown"));
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/models"))
+                .withQueryParam("pageSize", equalTo("1"))
+                .withQueryParam("pageToken", absent()));
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/models"))
+                .withQueryParam("pageToken", equalTo("page-2")));
+    }
+
+    /**
+     * Tests that stale models are served while a single background request refreshes them.
+     *
+     * @throws Exception If a lookup fails.
+     */
+    @Test
+    public void testServesStaleModelsWhileRefreshing() throws Exception {
+        ModelRegistry registry = ResourceBuilder.builder(geminiClient)
+                .buildModelRegistry(ModelRegistryConfig.builder().withTtl(Duration.ofMillis(100)).build());
+        assertEquals(2, registry.getModels().size());
+        stubPage(null, null, 500, model(MODEL, "generateContent"), model("models/gemini-next", "generateContent"));
+        Thread.sleep(150);
+
+        assertFalse(registry.isFresh());
+        assertEquals(2, registry.getModels().size());
+        assertEquals(2, registry.getModels().size());
+        assertFalse(registry.findLoadedModel("models/gemini-next").isPresent());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!registry.isFresh() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(List.of(MODEL, "models/gemini-next"), names(registry.getModels()));
+        assertFalse(registry.findLoadedModel("models/embedding-test").isPresent());
+        wireMockServer.verify(3, getRequestedFor(urlPathEqualTo("/models")));
+    }
+
+    /**
+     * Tests that resources are checked against the loaded capabilities of the client's model
+     * without sending a request, and only once the models are loaded.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testValidatesResourceMethods() throws Exception {
+        ModelRegistry registry = geminiClient.getModelRegistry();
+        assertFalse(registry.supports(MODEL, SupportedModelMethod.GENERATE_CONTENT));
+        geminiClient.getModel(MODEL);
+
+        assertTrue(registry.supports(MODEL, SupportedModelMethod.GENERATE_CONTENT));
+        assertFalse(registry.supports(MODEL, SupportedModelMethod.EMBED_CONTENT));
+        ResourceException exception = assertThrows(ResourceException.class, () -> ResourceBuilder
+                .builder(geminiClient).buildEmbedResource()
+                .execute(EmbedRequestBuilder.builder().withModel(MODEL).withText("text").build()));
+        assertTrue(exception.getMessage().contains("embedContent"));
+        wireMockServer.verify(0, postRequestedFor(anyUrl()));
+        assertEquals(2, geminiClient.getGeminiModels().getModels().size());
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/models")));
+    }
+
+    private void stubPage(String token, String nextToken, int delay, String... models) {
+        String body = "{\"models\":[" + String.join(",", models) + "]"
+                + (nextToken != null ? ",\"nextPageToken\":\"" + nextToken + "\"" : "") + "}";
+        wireMockServer.stubFor(get(urlPathEqualTo("/models"))
+                .withQueryParam("pageToken", token != null ? equalTo(token) : absent())
+                .willReturn(okJson(body).withFixedDelay(delay)));
+    }
+
+    private static String model(String name, String... methods) {
+        return "{\"name\":\"" + name + "\",\"supportedGenerationMethods\":[\""
+                + String.join("\",\"", methods) + "\"]}";
+    }
+
+    private static Model lookup(ModelRegistry registry, String name) {
+        try {
+            return registry.getModel(name);
+        } catch (ResourceException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> names(List<Model> models) {
+        return models.stream().map(Model::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.model.Embedding;
+import com.enovka.gemini4j.model.request.BatchEmbedRequest;
+import com.enovka.gemini4j.model.request.EmbedRequest;
+import com.enovka.gemini4j.model.response.BatchEmbedResponse;
+import com.enovka.gemini4j.model.response.EmbedResponse;
+import com.enovka.gemini4j.model.type.SupportedModelMethod;
+import com.enovka.gemini4j.resource.exception.ResourceException;
+import com.enovka.gemini4j.resource.spec.EmbedResource;
+import com.enovka.gemini4j.resource.spec.base.AsyncResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An in-memory {@link EmbedResource} for tests. It records the requests it receives and
+ * embeds every text as a one-dimensional vector holding the length of the text.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public final class RecordingEmbedResource implements EmbedResource {
+
+    private final GeminiClient geminiClient;
+    private final List<EmbedRequest> requests = new CopyOnWriteArrayList<>();
+    private final List<BatchEmbedRequest> batches = new CopyOnWriteArrayList<>();
+    private volatile ResourceException failure;
+
+    /**
+     * Creates the resource.
+     *
+     * @param geminiClient The client returned by {@link #getGeminiClient()}.
+     */
+    public RecordingEmbedResource(GeminiClient geminiClient) {
+        this.geminiClient = geminiClient;
+    }
+
+    /**
+     * Returns the single requests received so far.
+     *
+     * @return The single requests, in arrival order.
+     */
+    public List<EmbedRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Returns the batch requests received so far.
+     *
+     * @return The batch requests, in arrival order.
+     */
+    public List<BatchEmbedRequest> getBatches() {
+        return batches;
+    }
+
+    /**
+     * Makes every following request fail with the given exception.
+     *
+     * @param failure The exception to fail with, or {@code null} to succeed again.
+     */
+    public void setFailure(ResourceException failure) {
+        this.failure = failure;
+    }
+
+    @Override
+    public EmbedResponse execute(EmbedRequest request) throws ResourceException {
+        requests.add(request);
+        if (failure != null) {
+            throw failure;
+        }
+        return new EmbedResponse(embed(request));
+    }
+
+    @Override
+    public AsyncResponse<EmbedResponse> executeAsync(EmbedRequest request) {
+        try {
+            return AsyncResponse.fromFuture(CompletableFuture.completedFuture(execute(request)));
+        } catch (ResourceException e) {
+            return AsyncResponse.fromException(e);
+        }
+    }
+
+    @Override
+    public BatchEmbedResponse execute(BatchEmbedRequest request) throws ResourceException {
+        batches.add(request);
+        if (failure != null) {
+            throw failure;
+        }
+        List<Embedding> embeddings = new ArrayList<>();
+        for (EmbedRequest embedRequest : request.getRequests()) {
+            embeddings.add(embed(embedRequest));
+        }
+        return new BatchEmbedResponse(embeddings);
+    }
+
+    @Override
+    public AsyncResponse<BatchEmbedResponse> executeAsync(BatchEmbedRequest request) {
+        try {
+            return AsyncResponse.fromFuture(CompletableFuture.completedFuture(execute(request)));
+        } catch (ResourceException e) {
+            return AsyncResponse.fromException(e);
+        }
+    }
+
+    @Override
+    public List<SupportedModelMethod> getSupportedMethods() {
+        return List.of(SupportedModelMethod.EMBED_CONTENT);
+    }
+
+    @Override
+    public GeminiClient getGeminiClient() {
+        return geminiClient;
+    }
+
+    private static Embedding embed(EmbedRequest request) {
+        return new Embedding(new float[]{request.getContent().getParts().get(0).getText().length()});
+    }
+}
@@ -0,0 +1,139 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.model.request.BatchEmbedRequest;
+import com.enovka.gemini4j.model.request.EmbedRequest;
+import com.enovka.gemini4j.model.request.TokensRequest;
+import com.enovka.gemini4j.model.response.BatchEmbedResponse;
+import com.enovka.gemini4j.model.response.EmbedResponse;
+import com.enovka.gemini4j.model.response.TokensResponse;
+import com.enovka.gemini4j.model.response.internal.GenerateContentResponse;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.builder.request.BatchEmbedRequestBuilder;
+import com.enovka.gemini4j.resource.builder.request.EmbedRequestBuilder;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import com.enovka.gemini4j.resource.builder.request.TokensRequestBuilder;
+import com.enovka.gemini4j.resource.spec.EmbedResource;
+import com.enovka.gemini4j.resource.spec.GenerateResource;
+import com.enovka.gemini4j.resource.spec.TokensResource;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the URLs and methods the resources send their requests with. It uses
+ * WireMock, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class ResourceEndpointTest {
+
+    private static final String MODEL = "models/gemini-test";
+
+    private WireMockServer wireMockServer;
+    private GeminiClient geminiClient;
+
+    /**
+     * Starts the WireMock server.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .build();
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that generation requests are posted to the generateContent method of the model.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testGenerateContentPath() throws Exception {
+        wireMockServer.stubFor(post(urlPathEqualTo("/" + MODEL + ":generateContent"))
+                .willReturn(okJson("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"answer\"}],"
+                        + "\"role\":\"model\"},\"finishReason\":\"STOP\"}]}")));
+        GenerateResource resource = ResourceBuilder.builder(geminiClient).buildGenerationResource();
+
+        GenerateContentResponse response = resource.execute(GenerateRequestBuilder.builder()
+                .withModel(MODEL).withUserContent("question").build());
+        resource.executeAsync(GenerateRequestBuilder.builder()
+                .withModel(MODEL).withUserContent("question").build()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("answer", response.getCandidates().get(0).getContent().getParts().get(0).getText());
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo("/" + MODEL + ":generateContent")));
+    }
+
+    /**
+     * Tests that token counting requests are posted to the countTokens method of the model.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testCountTokensPath() throws Exception {
+        wireMockServer.stubFor(post(urlPathEqualTo("/" + MODEL + ":countTokens"))
+                .willReturn(okJson("{\"totalTokens\":7}")));
+        TokensResource resource = ResourceBuilder.builder(geminiClient).buildCountTokensResource();
+        TokensRequest request = TokensRequestBuilder.builder()
+                .withGenerateContentRequest(GenerateRequestBuilder.builder()
+                        .withModel(MODEL).withUserContent("question").build())
+                .build();
+
+        TokensResponse response = resource.execute(request);
+        resource.executeAsync(request).get(5, TimeUnit.SECONDS);
+
+        assertEquals(7, response.getTotalTokens());
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo("/" + MODEL + ":countTokens"))
+                .withRequestBody(containing("question")));
+    }
+
+    /**
+     * Tests that single and batch embedding requests are posted to the embedContent and
+     * batchEmbedContents methods of the model.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testEmbedContentPaths() throws Exception {
+        wireMockServer.stubFor(post(urlPathEqualTo("/" + MODEL + ":embedContent"))
+                .willReturn(okJson("{\"embedding\":{\"values\":[0.5,0.25]}}")));
+        wireMockServer.stubFor(post(urlPathEqualTo("/" + MODEL + ":batchEmbedContents"))
+                .willReturn(okJson("{\"embeddings\":[{\"values\":[0.5,0.25]},{\"values\":[0.125,1.0]}]}")));
+        EmbedResource resource = ResourceBuilder.builder(geminiClient).buildEmbedResource();
+        EmbedRequest request = EmbedRequestBuilder.builder().withModel(MODEL).withText("atlas").build();
+        BatchEmbedRequest batchRequest = BatchEmbedRequestBuilder.builder()
+                .withModel(MODEL).withTexts(List.of("atlas", "globe")).build();
+
+        EmbedResponse response = resource.execute(request);
+        resource.executeAsync(request).get(5, TimeUnit.SECONDS);
+        BatchEmbedResponse batchResponse = resource.execute(batchRequest);
+        resource.executeAsync(batchRequest).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, response.getEmbedding().getValues().size());
+        assertEquals(2, batchResponse.getEmbeddings().size());
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo("/" + MODEL + ":embedContent")));
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo("/" + MODEL + ":batchEmbedContents")));
+    }
+}
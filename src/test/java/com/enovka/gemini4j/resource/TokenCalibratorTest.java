@@ -0,0 +1,148 @@
+package com.enovka.gemini4j.resource;
+
+import com.enovka.gemini4j.client.builder.GeminiClientBuilder;
+import com.enovka.gemini4j.client.spec.GeminiClient;
+import com.enovka.gemini4j.infrastructure.quota.CalibratedTokenEstimator;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Part;
+import com.enovka.gemini4j.model.request.GenerateRequest;
+import com.enovka.gemini4j.resource.builder.ResourceBuilder;
+import com.enovka.gemini4j.resource.builder.request.GenerateRequestBuilder;
+import com.enovka.gemini4j.resource.calibration.TokenCalibrationConfig;
+import com.enovka.gemini4j.resource.calibration.TokenCalibrator;
+import com.enovka.gemini4j.resource.spec.GenerateResource;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link TokenCalibrator}. It uses WireMock, so no API key is required.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class TokenCalibratorTest {
+
+    private static final String MODEL = "models/gemini-test";
+
+    private WireMockServer wireMockServer;
+    private CalibratedTokenEstimator estimator;
+    private GeminiClient geminiClient;
+
+    /**
+     * Starts the WireMock server and builds a client calibrating every sampled request.
+     */
+    @BeforeEach
+    public void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlPathMatching(".*generateContent"))
+                .willReturn(okJson("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"answer\"}],"
+                        + "\"role\":\"model\"}}],\"usageMetadata\":{\"promptTokenCount\":40,"
+                        + "\"candidatesTokenCount\":1,\"totalTokenCount\":41}}")));
+        wireMockServer.stubFor(post(urlPathEqualTo("/" + MODEL + ":countTokens"))
+                .willReturn(okJson("{\"totalTokens\":12}")));
+        estimator = new CalibratedTokenEstimator();
+        geminiClient = GeminiClientBuilder.builder()
+                .withApiKey("test")
+                .withModel(MODEL)
+                .withBaseUrl(wireMockServer.baseUrl() + "/")
+                .withTokenCalibration(estimator, TokenCalibrationConfig.builder().withSampleRate(1.0).build())
+                .build();
+    }
+
+    /**
+     * Stops the WireMock server.
+     */
+    @AfterEach
+    public void tearDown() {
+        wireMockServer.stop();
+    }
+
+    /**
+     * Tests that the prompt token count of a response calibrates the estimator without any
+     * extra request.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testUsageMetadataCalibratesWithoutCountingTokens() throws Exception {
+        GenerateResource resource = ResourceBuilder.builder(geminiClient).buildGenerationResource();
+        int before = geminiClient.getTokenCalibrator().estimate(request(null));
+
+        resource.execute(request(null));
+        resource.executeAsync(request(null)).get();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (estimator.getSampleCount(MODEL) < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, estimator.getSampleCount(MODEL));
+        assertTrue(geminiClient.getTokenCalibrator().estimate(request(null)) > before);
+        wireMockServer.verify(0, postRequestedFor(urlPathMatching(".*countTokens")));
+    }
+
+    /**
+     * Tests that a request referencing a cached content is sampled with countTokens over its
+     * contents instead.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testCachedRequestIsSampledWithCountTokens() throws Exception {
+        ResourceBuilder.builder(geminiClient).buildGenerationResource().execute(request("cachedContents/library"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (estimator.getSampleCount(MODEL) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, estimator.getSampleCount(MODEL));
+        wireMockServer.verify(1, postRequestedFor(urlPathEqualTo("/" + MODEL + ":countTokens"))
+                .withRequestBody(matchingJsonPath("$.contents[0].parts[0].text")));
+    }
+
+    /**
+     * Tests that requests built without a model are calibrated under the client's model
+     * rather than the default family.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void testRequestWithoutModelCalibratesClientModel() throws Exception {
+        ResourceBuilder.builder(geminiClient).buildGenerationResource().execute(GenerateRequest.builder()
+                .withContents(List.of(Content.builder()
+                        .withRole("user")
+                        .withParts(List.of(Part.builder()
+                                .withText("Which shelf holds the atlas of the northern coast?")
+                                .build()))
+                        .build()))
+                .build());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (estimator.getSampleCount(MODEL) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, estimator.getSampleCount(MODEL));
+        assertEquals(0, estimator.getSampleCount(null));
+    }
+
+    private GenerateRequest request(String cachedContent) {
+        GenerateRequestBuilder builder = GenerateRequestBuilder.builder()
+                .withModel(MODEL)
+                .withUserContent("Which shelf holds the atlas of the northern coast?");
+        if (cachedContent != null) {
+            builder.withCachedContent(cachedContent);
+        } else {
+            builder.withSystemInstruction("You are a librarian.");
+        }
+        return builder.build();
+    }
+}
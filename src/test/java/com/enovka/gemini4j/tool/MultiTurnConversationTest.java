@@ -0,0 +1,153 @@
+package com.enovka.gemini4j.tool;
+
+import com.enovka.gemini4j.infrastructure.tool.ConversationHistoryPolicy;
+import com.enovka.gemini4j.infrastructure.tool.MultiTurnConversation;
+import com.enovka.gemini4j.model.Content;
+import com.enovka.gemini4j.model.Part;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link MultiTurnConversation} history policies.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class MultiTurnConversationTest {
+
+    /**
+     * Tests that a long session keeps a sliding window of whole turns, and that the history
+     * snapshot is shared until the history changes.
+     */
+    @Test
+    public void testSlidingWindowOfTurns() {
+        MultiTurnConversation conversation = new MultiTurnConversation(
+                ConversationHistoryPolicy.builder().withMaxTurns(3).withEvictionTarget(1.0).build());
+        conversation.enableMultiTurnConversation(true);
+
+        for (int i = 0; i < 500; i++) {
+            conversation.addContent(content("user", "question " + i));
+            conversation.addContent(content("model", "answer " + i));
+        }
+
+        List<Content> history = conversation.getConversationHistory();
+        assertEquals(6, history.size());
+        assertEquals(3, conversation.getTurnCount());
+        assertEquals("question 497", text(history.get(0)));
+        assertEquals("answer 499", text(history.get(5)));
+        assertSame(history, conversation.getConversationHistory());
+        assertThrows(UnsupportedOperationException.class, () -> history.add(content("user", "late")));
+    }
+
+    /**
+     * Tests that the token limit counts the pinned system instruction, which is never
+     * evicted, and keeps at least the latest turn.
+     */
+    @Test
+    public void testTokenBudgetWithPinnedSystemInstruction() {
+        MultiTurnConversation conversation = new MultiTurnConversation(ConversationHistoryPolicy.builder()
+                .withMaxTurns(null)
+                .withMaxTokens(100)
+                .withEvictionTarget(1.0)
+                .withTokenCounter(content -> text(content).length())
+                .build());
+        conversation.enableMultiTurnConversation(true);
+        conversation.setSystemInstruction(content(null, "x".repeat(40)));
+
+        for (int i = 0; i < 50; i++) {
+            conversation.addContent(content("user", "question " + i));
+            conversation.addContent(content("model", "answer " + i));
+        }
+
+        assertTrue(conversation.getHistoryTokens() <= 100, conversation.getHistoryTokens() + " tokens");
+        assertEquals(3, conversation.getTurnCount());
+        assertEquals(40, text(conversation.getSystemInstruction()).length());
+
+        conversation.addContent(content("user", "y".repeat(200)));
+        assertEquals(1, conversation.getTurnCount());
+        assertEquals(1, conversation.getConversationHistory().size());
+    }
+
+    /**
+     * Tests that evicted turns are summarized one batch at a time, without blocking the
+     * conversation, and that the summary opens the history.
+     *
+     * @throws Exception If the summaries are not completed in time.
+     */
+    @Test
+    public void testEvictedTurnsAreSummarized() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Content>> pending = new CopyOnWriteArrayList<>();
+        MultiTurnConversation conversation = new MultiTurnConversation(ConversationHistoryPolicy.builder()
+                .withMaxTurns(2)
+                .withEvictionTarget(1.0)
+                .withSummarizer((previous, evicted) -> {
+                    batchSizes.add(evicted.size());
+                    CompletableFuture<Content> summary = new CompletableFuture<>();
+                    pending.add(summary);
+                    return summary.thenApply(ignored -> content("user", "summary of "
+                            + (previous == null ? "" : text(previous) + " + ") + evicted.size()));
+                })
+                .build());
+        conversation.enableMultiTurnConversation(true);
+
+        for (int i = 0; i < 5; i++) {
+            conversation.addContent(content("user", "question " + i));
+            conversation.addContent(content("model", "answer " + i));
+        }
+        assertEquals(List.of(2), batchSizes);
+        assertFalse(conversation.awaitSummaries().isDone());
+        assertNull(conversation.getSummary());
+
+        pending.get(0).complete(null);
+        assertEquals(List.of(2, 4), batchSizes);
+        pending.get(1).complete(null);
+        conversation.awaitSummaries().get(5, TimeUnit.SECONDS);
+
+        List<Content> history = conversation.getConversationHistory();
+        assertEquals("summary of summary of 2 + 4", text(history.get(0)));
+        assertEquals("question 3", text(history.get(1)));
+        assertEquals(5, history.size());
+    }
+
+    /**
+     * Tests that an exceeded limit evicts the history down to the eviction target, so the
+     * start of the history only changes once every few turns.
+     */
+    @Test
+    public void testEvictionGoesDownToTheEvictionTarget() {
+        MultiTurnConversation conversation = new MultiTurnConversation(ConversationHistoryPolicy.builder()
+                .withMaxTurns(4)
+                .withEvictionTarget(0.5)
+                .build());
+        conversation.enableMultiTurnConversation(true);
+        Set<String> firstQuestions = new HashSet<>();
+
+        for (int i = 0; i < 20; i++) {
+            conversation.addContent(content("user", "question " + i));
+            conversation.addContent(content("model", "answer " + i));
+            assertTrue(conversation.getTurnCount() <= 4, conversation.getTurnCount() + " turns");
+            firstQuestions.add(text(conversation.getConversationHistory().get(0)));
+        }
+
+        assertEquals(7, firstQuestions.size(), firstQuestions.toString());
+        assertThrows(IllegalArgumentException.class, () -> conversation.setHistoryPolicy(
+                ConversationHistoryPolicy.builder().withEvictionTarget(0).build()));
+    }
+
+    private static Content content(String role, String text) {
+        return Content.builder().withRole(role).withParts(List.of(Part.builder().withText(text).build())).build();
+    }
+
+    private static String text(Content content) {
+        return content.getParts().get(0).getText();
+    }
+}
@@ -0,0 +1,137 @@
+package com.enovka.gemini4j.tool;
+
+import com.enovka.gemini4j.infrastructure.tool.ChunkingConfig;
+import com.enovka.gemini4j.infrastructure.tool.LargeStringSplitter;
+import com.enovka.gemini4j.infrastructure.tool.TextChunkIterator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link TextChunkIterator} returned by the {@code chunks} methods of
+ * {@link LargeStringSplitter}.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class TextChunkIteratorTest {
+
+    /**
+     * Tests that chunks respect the size, end at paragraph or sentence boundaries and
+     * concatenate back to the text.
+     */
+    @Test
+    public void testChunksEndAtPreferredBoundaries() {
+        String text = text(40);
+        List<String> chunks = LargeStringSplitter.chunks(text,
+                ChunkingConfig.builder().withMaxChunkChars(500).build()).stream().collect(Collectors.toList());
+
+        assertTrue(chunks.size() > 5);
+        assertEquals(text, String.join("", chunks));
+        for (String chunk : chunks.subList(0, chunks.size() - 1)) {
+            assertTrue(chunk.length() <= 500);
+            assertTrue(chunk.endsWith("\n\n") || chunk.endsWith(". "), "chunk ending with '"
+                    + chunk.substring(chunk.length() - 5) + "'");
+        }
+        assertTrue(chunks.stream().anyMatch(chunk -> chunk.endsWith("\n\n")));
+    }
+
+    /**
+     * Tests that consecutive chunks overlap by a whole number of words, no longer than the
+     * configured overlap.
+     */
+    @Test
+    public void testOverlapStartsAtWordBoundaries() {
+        String text = text(20);
+        List<String> chunks = LargeStringSplitter.chunks(new StringReader(text),
+                        ChunkingConfig.builder().withMaxChunkChars(300).withOverlapChars(60).build())
+                .stream().collect(Collectors.toList());
+
+        assertTrue(chunks.size() > 3);
+        int position = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            String chunk = chunks.get(i);
+            position = i == 0 ? 0 : text.indexOf(chunk, position);
+            assertTrue(position >= 0, "chunk " + i + " is not part of the text");
+            if (i > 0) {
+                String previous = chunks.get(i - 1);
+                int overlap = text.indexOf(previous, position - previous.length()) + previous.length() - position;
+                assertTrue(overlap > 0 && overlap <= 60, "overlap of " + overlap + " characters");
+                assertTrue(Character.isWhitespace(text.charAt(position - 1)));
+            }
+        }
+        assertTrue(text.endsWith(chunks.get(chunks.size() - 1)));
+    }
+
+    /**
+     * Tests that a memory-mapped file with multi-byte characters is decoded entirely, and
+     * that a token budget bounds every chunk.
+     *
+     * @param directory A temporary directory.
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testMappedFileWithTokenBudget(@TempDir Path directory) throws IOException {
+        String text = text(30).replace("library", "bibliothèque 図書館 📚");
+        Path file = directory.resolve("catalogue.txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder joined = new StringBuilder();
+        try (TextChunkIterator chunks = LargeStringSplitter.chunks(file, StandardCharsets.UTF_8,
+                ChunkingConfig.builder()
+                        .withMaxChunkChars(4000)
+                        .withMaxTokens(50)
+                        .withTokenCounter(chunk -> chunk.split("\\s+").length)
+                        .build())) {
+            while (chunks.hasNext()) {
+                String chunk = chunks.next();
+                assertTrue(chunk.split("\\s+").length <= 50);
+                joined.append(chunk);
+            }
+        }
+        assertEquals(text, joined.toString());
+    }
+
+    /**
+     * Tests that an overlap larger than the chunks cut by a token budget is capped, so that
+     * every chunk still moves the window forward by at least half of its length.
+     */
+    @Test
+    public void testOverlapIsCappedByTokenBudgetedChunks() {
+        String text = text(40);
+        List<String> chunks = LargeStringSplitter.chunks(new StringReader(text),
+                        ChunkingConfig.builder()
+                                .withMaxChunkChars(4000)
+                                .withOverlapChars(1000)
+                                .withMaxTokens(20)
+                                .withTokenCounter(chunk -> chunk.split("\\s+").length)
+                                .build())
+                .stream().collect(Collectors.toList());
+
+        long chars = chunks.stream().mapToLong(String::length).sum();
+        assertTrue(chars <= 2L * text.length(), chunks.size() + " chunks of " + chars + " characters in total");
+        for (String chunk : chunks) {
+            assertTrue(chunk.split("\\s+").length <= 20);
+        }
+        assertTrue(text.endsWith(chunks.get(chunks.size() - 1)));
+    }
+
+    private static String text(int paragraphs) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            text.append("Paragraph ").append(i).append(" lists the atlases of the library. ")
+                    .append("Every volume has a catalogue number and a shelf. ")
+                    .append("Readers may borrow them for two weeks.\n\n");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package com.enovka.gemini4j.vector;
+
+import com.enovka.gemini4j.infrastructure.vector.FlatVectorIndex;
+import com.enovka.gemini4j.infrastructure.vector.HnswVectorIndex;
+import com.enovka.gemini4j.infrastructure.vector.VectorIndex;
+import com.enovka.gemini4j.infrastructure.vector.VectorSearchResult;
+import com.enovka.gemini4j.model.Embedding;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link VectorIndex} implementations.
+ *
+ * @author Everson Novka &lt;enovka@gmail.com&gt;
+ * @since 0.2.1
+ */
+public class VectorIndexTest {
+
+    /**
+     * Tests that the flat index ranks vectors by cosine similarity, regardless of their scale.
+     */
+    @Test
+    public void testFlatIndexRanksByCosineSimilarity() {
+        FlatVectorIndex index = new FlatVectorIndex(2);
+        index.add("east", new Embedding(new float[]{10, 0}));
+        index.add("north", new float[]{0, 1});
+        index.add("north-east", new float[]{1, 1});
+        index.add("west", new float[]{-3, 0});
+
+        List<VectorSearchResult> results = index.search(new float[]{1, 0.1f}, 3);
+
+        assertEquals(3, results.size());
+        assertEquals("east", results.get(0).getId());
+        assertEquals("north-east", results.get(1).getId());
+        assertEquals("north", results.get(2).getId());
+        assertTrue(results.get(0).getScore() > 0.99f);
+        assertEquals(4, index.search(new float[]{1, 0}, 10).size());
+        assertThrows(IllegalArgumentException.class, () -> index.add("bad", new float[]{1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> index.search(new float[]{1, 0}, 0));
+    }
+
+    /**
+     * Tests that the HNSW index finds most of the exact nearest neighbors.
+     */
+    @Test
+    public void testHnswRecallAgainstFlatIndex() {
+        int dimension = 32;
+        Random random = new Random(7);
+        FlatVectorIndex flat = new FlatVectorIndex(dimension);
+        HnswVectorIndex hnsw = new HnswVectorIndex(dimension);
+        for (int i = 0; i < 3000; i++) {
+            float[] vector = randomVector(random, dimension);
+            flat.add("v" + i, vector);
+            hnsw.add("v" + i, vector);
+        }
+
+        int found = 0;
+        int expected = 0;
+        for (int q = 0; q < 100; q++) {
+            float[] query = randomVector(random, dimension);
+            Set<String> exact = ids(flat.search(query, 10));
+            Set<String> approximate = ids(hnsw.search(query, 10));
+            expected += exact.size();
+            approximate.retainAll(exact);
+            found += approximate.size();
+        }
+
+        assertEquals(3000, hnsw.size());
+        assertTrue(found >= expected * 0.9, "recall@10 was " + (double) found / expected);
+    }
+
+    /**
+     * Tests that searches running during additions always return valid results.
+     *
+     * @throws Exception If a search fails.
+     */
+    @Test
+    public void testSearchesDuringAdditions() throws Exception {
+        int dimension = 16;
+        HnswVectorIndex index = new HnswVectorIndex(dimension);
+        AtomicBoolean done = new AtomicBoolean();
+        CompletableFuture<Integer> reader = CompletableFuture.supplyAsync(() -> {
+            Random random = new Random(3);
+            int searches = 0;
+            while (!done.get()) {
+                for (VectorSearchResult result : index.search(randomVector(random, dimension), 5)) {
+                    assertNotNull(result.getId());
+                }
+                searches++;
+            }
+            return searches;
+        });
+        Random random = new Random(5);
+        for (int i = 0; i < 2000; i++) {
+            index.add("v" + i, randomVector(random, dimension));
+        }
+        done.set(true);
+
+        assertTrue(reader.get(10, TimeUnit.SECONDS) > 0);
+        assertEquals(5, index.search(randomVector(random, dimension), 5).size());
+    }
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static Set<String> ids(List<VectorSearchResult> results) {
+        Set<String> ids = new HashSet<>();
+        results.forEach(result -> ids.add(result.getId()));
+        return ids;
+    }
+}